@@ -63,6 +63,8 @@ def executeGate():
     with VM('server', 'product'):
         with Task('TestTypes', tasks) as t:
             if t: runTypeTestCases()
+        with Task('TestUnit', tasks) as t:
+            if t: runUnitTestCases()
     with VM('server', 'product'):
         with Task('TestPolglot', tasks) as t:
             if t: runPolyglotTestCases()
@@ -120,6 +122,8 @@ def travis1(args=None):
     with VM('server', 'product'):
         with Task('TestTypes', tasks) as t:
             if t: runTypeTestCases()
+        with Task('TestUnit', tasks) as t:
+            if t: runUnitTestCases()
     with VM('server', 'product'):
         with Task('TestSulong', tasks) as t:
             if t: runTruffleTestCases()
@@ -464,6 +468,7 @@ def runTests(args=None):
     runLLVMTestCases()
     runTruffleTestCases()
     runTypeTestCases()
+    runUnitTestCases()
     runPolyglotTestCases()
     runInteropTestCases()
     runAsmTestCases()
@@ -510,7 +515,12 @@ def runTruffleTestCases(args=None):
 def runTypeTestCases(args=None):
     """runs the type test cases"""
     vmArgs, _ = truffle_extract_VM_args(args)
-    return unittest(getCommonUnitTestOptions() + vmArgs + ['com.oracle.truffle.llvm.types.floating.test'])
+    return unittest(getCommonUnitTestOptions() + vmArgs + ['com.oracle.truffle.llvm.types.floating.test', 'com.oracle.truffle.llvm.types.test'])
+
+def runUnitTestCases(args=None):
+    """runs the unit test cases of the nodes and parsers"""
+    vmArgs, _ = truffle_extract_VM_args(args)
+    return unittest(getCommonUnitTestOptions() + vmArgs + ['com.oracle.truffle.llvm.test.unit'])
 
 def runPolyglotTestCases(args=None):
     """runs the type test cases"""
@@ -830,6 +840,7 @@ mx.update_commands(_suite, {
     'su-tests-sulong' : [runTruffleTestCases, ''],
     'su-tests-nwcc' : [runNWCCTestCases, ''],
     'su-tests-types' : [runTypeTestCases, ''],
+    'su-tests-unit' : [runUnitTestCases, ''],
     'su-tests-polyglot' : [runPolyglotTestCases, ''],
     'su-tests-interop' : [runInteropTestCases, ''],
     'su-tests-asm' : [runAsmTestCases, ''],
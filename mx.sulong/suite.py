@@ -220,9 +220,11 @@ suite = {
         "com.oracle.truffle.llvm",
         "com.oracle.truffle.llvm.tools",
         "mx:JUNIT",
+        "mx:JMH",
       ],
       "checkstyle" : "com.oracle.truffle.llvm.test",
       "javaCompliance" : "1.8",
+      "annotationProcessors" : ["mx:JMH"],
       "workingSets" : "Truffle, LLVM",
       "license" : "BSD-new",
     },
@@ -232,9 +234,12 @@ suite = {
       "sourceDirs" : ["src"],
       "dependencies" : [
         "com.oracle.truffle.llvm",
+        "com.oracle.truffle.llvm.tools",
+        "mx:JMH",
       ],
       "checkstyle" : "com.oracle.truffle.llvm",
       "javaCompliance" : "1.8",
+      "annotationProcessors" : ["mx:JMH"],
       "workingSets" : "Truffle, LLVM",
       "license" : "BSD-new",
     },
@@ -395,12 +400,20 @@ suite = {
       "license" : "BSD-new",
     },
 
+    "com.oracle.truffle.llvm.nativeint.native" : {
+      "subDir" : "projects",
+      "native" : True,
+      "results" : ["bin/<lib:sulongtrampolines>"],
+      "license" : "BSD-new",
+    },
+
     "com.oracle.truffle.llvm.nativeint" : {
       "subDir" : "projects",
       "sourceDirs" : ["src"],
       "dependencies" : [
         "graal-core:GRAAL_TRUFFLE_HOTSPOT",
-        "com.oracle.truffle.llvm.parser"
+        "com.oracle.truffle.llvm.parser",
+        "com.oracle.truffle.llvm.nativeint.native"
        ],
       "checkstyle" : "com.oracle.truffle.llvm",
       "javaCompliance" : "1.8",
@@ -477,7 +490,8 @@ suite = {
        "XTEXT_ANTLR_RUNTIME",
        "XTEXT_UTIL",
        "ECLIPSE_EQUINOX",
-       "mx:JUNIT"
+       "mx:JUNIT",
+       "mx:JMH"
       ],
       "distDependencies" : [
         "truffle:TRUFFLE_API",
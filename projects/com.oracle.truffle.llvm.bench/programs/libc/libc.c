@@ -0,0 +1,75 @@
+/*
+ * Calls one C library function in a loop. The function is selected by the first argument, so that
+ * the same program measures both the Java substitution and the native function.
+ */
+#include <math.h>
+#include <stdlib.h>
+#include <string.h>
+
+#define ITERATIONS 1000000
+#define LENGTH 256
+
+static char buffer1[LENGTH + 1];
+static char buffer2[LENGTH + 1];
+static char buffer3[LENGTH + 1];
+
+int main(int argc, char **argv) {
+  const char *function = argv[1];
+  long result = 0;
+  double sum = 0;
+  for (int i = 0; i < LENGTH; i++) {
+    buffer1[i] = buffer2[i] = 'a' + i % 26;
+  }
+  if (strcmp(function, "strlen") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      result += strlen(buffer1 + i % 8);
+    }
+  } else if (strcmp(function, "strcmp") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      result += strcmp(buffer1, buffer2);
+    }
+  } else if (strcmp(function, "strcpy") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      result += strcpy(buffer3, buffer1 + i % 8)[0];
+    }
+  } else if (strcmp(function, "memcmp") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      result += memcmp(buffer1, buffer2, LENGTH);
+    }
+  } else if (strcmp(function, "memchr") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      result += (char *)memchr(buffer1, 'z' + 1, LENGTH) == NULL;
+    }
+  } else if (strcmp(function, "abs") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      result += abs(i - ITERATIONS / 2);
+    }
+  } else if (strcmp(function, "fabs") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      sum += fabs(i - ITERATIONS / 2.0);
+    }
+  } else if (strcmp(function, "floor") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      sum += floor(i / 3.0);
+    }
+  } else if (strcmp(function, "sqrt") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      sum += sqrt(i);
+    }
+  } else if (strcmp(function, "pow") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      sum += pow(i, 1.5);
+    }
+  } else if (strcmp(function, "exp") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      sum += exp(i / (double)ITERATIONS);
+    }
+  } else if (strcmp(function, "log") == 0) {
+    for (int i = 0; i < ITERATIONS; i++) {
+      sum += log(i + 1.0);
+    }
+  } else {
+    abort();
+  }
+  return (result + (long)sum) & 0x7f;
+}
@@ -0,0 +1,46 @@
+/*
+ * A bytecode interpreter loop with 256 opcodes spread over a wide range, which are dispatched with a binary search.
+ */
+#include <stdio.h>
+
+#define CODE_LENGTH 4096
+#define ITERATIONS 2000
+#define OPCODE_COUNT 256
+#define STACK_SIZE 16
+
+#define OPCODE(n) ((n) * 7919 + 13)
+
+#define OP(n)                                                        \
+  case OPCODE(n):                                                    \
+    stack[(n) % STACK_SIZE] += acc;                                  \
+    acc = (acc << ((n) % 5)) ^ stack[((n)*7) % STACK_SIZE] ^ (n);    \
+    break;
+#define OP4(n) OP(n) OP(n + 1) OP(n + 2) OP(n + 3)
+#define OP16(n) OP4(n) OP4(n + 4) OP4(n + 8) OP4(n + 12)
+#define OP64(n) OP16(n) OP16(n + 16) OP16(n + 32) OP16(n + 48)
+
+static int code[CODE_LENGTH];
+
+int main() {
+  unsigned long stack[STACK_SIZE] = { 0 };
+  unsigned long acc = 1;
+  unsigned int seed = 42;
+  for (int i = 0; i < CODE_LENGTH; i++) {
+    seed = seed * 1103515245u + 12345u;
+    code[i] = OPCODE((seed >> 16) % OPCODE_COUNT);
+  }
+  for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+    for (int pc = 0; pc < CODE_LENGTH; pc++) {
+      switch (code[pc]) {
+        OP64(0)
+        OP64(64)
+        OP64(128)
+        OP64(192)
+      default:
+        acc--;
+      }
+    }
+  }
+  printf("%lu\n", acc);
+  return 0;
+}
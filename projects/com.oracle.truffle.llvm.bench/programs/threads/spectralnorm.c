@@ -0,0 +1,104 @@
+/*
+ * The spectral-norm program of the benchmark game, parallelized with pthreads. Each thread computes
+ * a slice of every matrix-vector product, and the threads meet at a barrier built from a mutex and
+ * a condition variable after each product. The thread count is the first argument.
+ */
+#include <math.h>
+#include <pthread.h>
+#include <stdio.h>
+#include <stdlib.h>
+
+#define N 1000
+#define ITERATIONS 10
+#define MAX_THREADS 64
+
+static double u[N];
+static double v[N];
+static double tmp[N];
+
+static int thread_count;
+
+static pthread_mutex_t barrier_mutex = PTHREAD_MUTEX_INITIALIZER;
+static pthread_cond_t barrier_cond = PTHREAD_COND_INITIALIZER;
+static int barrier_waiting;
+static int barrier_generation;
+
+static void barrier_wait(void) {
+  pthread_mutex_lock(&barrier_mutex);
+  int generation = barrier_generation;
+  if (++barrier_waiting == thread_count) {
+    barrier_waiting = 0;
+    barrier_generation++;
+    pthread_cond_broadcast(&barrier_cond);
+  } else {
+    while (generation == barrier_generation) {
+      pthread_cond_wait(&barrier_cond, &barrier_mutex);
+    }
+  }
+  pthread_mutex_unlock(&barrier_mutex);
+}
+
+static double eval_A(int i, int j) { return 1.0 / ((i + j) * (i + j + 1) / 2 + i + 1); }
+
+static void mul_Av(const double *in, double *out, int begin, int end) {
+  for (int i = begin; i < end; i++) {
+    double sum = 0;
+    for (int j = 0; j < N; j++) {
+      sum += eval_A(i, j) * in[j];
+    }
+    out[i] = sum;
+  }
+}
+
+static void mul_Atv(const double *in, double *out, int begin, int end) {
+  for (int i = begin; i < end; i++) {
+    double sum = 0;
+    for (int j = 0; j < N; j++) {
+      sum += eval_A(j, i) * in[j];
+    }
+    out[i] = sum;
+  }
+}
+
+static void mul_AtAv(const double *in, double *out, int begin, int end) {
+  mul_Av(in, tmp, begin, end);
+  barrier_wait();
+  mul_Atv(tmp, out, begin, end);
+  barrier_wait();
+}
+
+static void *worker(void *arg) {
+  long id = (long)arg;
+  int begin = (int)(N * id / thread_count);
+  int end = (int)(N * (id + 1) / thread_count);
+  for (int i = 0; i < ITERATIONS; i++) {
+    mul_AtAv(u, v, begin, end);
+    mul_AtAv(v, u, begin, end);
+  }
+  return NULL;
+}
+
+int main(int argc, char **argv) {
+  thread_count = argc > 1 ? atoi(argv[1]) : 1;
+  if (thread_count < 1 || thread_count > MAX_THREADS) {
+    return 1;
+  }
+  for (int i = 0; i < N; i++) {
+    u[i] = 1;
+  }
+  pthread_t threads[MAX_THREADS];
+  for (long id = 0; id < thread_count; id++) {
+    pthread_create(&threads[id], NULL, worker, (void *)id);
+  }
+  for (int id = 0; id < thread_count; id++) {
+    pthread_join(threads[id], NULL);
+  }
+  double vBv = 0;
+  double vv = 0;
+  for (int i = 0; i < N; i++) {
+    vBv += u[i] * v[i];
+    vv += v[i] * v[i];
+  }
+  printf("%0.9f\n", sqrt(vBv / vv));
+  return 0;
+}
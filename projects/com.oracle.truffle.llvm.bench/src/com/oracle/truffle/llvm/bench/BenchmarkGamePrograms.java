@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+import com.oracle.truffle.llvm.tools.Clang;
+import com.oracle.truffle.llvm.tools.Clang.ClangOptions;
+import com.oracle.truffle.llvm.tools.Clang.ClangOptions.OptimizationLevel;
+import com.oracle.truffle.llvm.tools.LLVMAssembler;
+
+/**
+ * Locates and compiles the programs of the language benchmark game suite (see
+ * <code>mx su-pullbenchmarkgame</code>) for use in microbenchmarks.
+ */
+public final class BenchmarkGamePrograms {
+
+    private static final File SUITE = new File(LLVMBaseOptionFacade.getProjectRoot() + File.separator + "com.oracle.truffle.llvm.test", "suites/benchmarkgame/");
+
+    private static final String IR_EXTENSION = ".ll";
+    private static final String BITCODE_EXTENSION = ".bc";
+
+    private BenchmarkGamePrograms() {
+    }
+
+    public static File getSource(String path) {
+        File source = new File(SUITE, path);
+        if (!source.isFile()) {
+            throw new IllegalArgumentException(source + " does not exist, please run mx su-pullbenchmarkgame");
+        }
+        return source;
+    }
+
+    /**
+     * Compiles a benchmark game program to textual LLVM IR.
+     *
+     * @param path the path of the program relative to the suite root, e.g.
+     *            <code>fasta/fasta.gcc-4.gcc.c</code>
+     * @return the <code>.ll</code> file
+     */
+    public static File compileToIR(String path) {
+        File source = getSource(path);
+        try {
+            File destination = File.createTempFile(source.getName(), IR_EXTENSION);
+            destination.deleteOnExit();
+            Clang.compileToLLVMIR(source, destination, ClangOptions.builder().optimizationLevel(OptimizationLevel.O1));
+            return destination;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compiles a benchmark game program to an LLVM bitcode file.
+     *
+     * @param path the path of the program relative to the suite root
+     * @return the <code>.bc</code> file
+     */
+    public static File compileToBitcode(String path) {
+        File irFile = compileToIR(path);
+        LLVMAssembler.assembleToBitcodeFile(irFile);
+        String irPath = irFile.getPath();
+        File bitcodeFile = new File(irPath.substring(0, irPath.length() - IR_EXTENSION.length()) + BITCODE_EXTENSION);
+        bitcodeFile.deleteOnExit();
+        return bitcodeFile;
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench.memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMMemCopy;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMMemMove;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMMemSet;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+
+/**
+ * Measures the memory operations behind the {@link LLVMMemCopy}, {@link LLVMMemMove} and
+ * {@link LLVMMemSet} intrinsics across sizes, for both the general and the unrolled small-length
+ * paths. Moves are measured with disjoint ranges and with ranges that overlap by half in either
+ * direction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MemoryIntrinsicsBenchmark {
+
+    private static final int WORD_ALIGNMENT = 8;
+
+    @Param({"8", "64", "256", "4096", "65536"}) public int size;
+
+    private LLVMAddress source;
+    private LLVMAddress destination;
+
+    @Setup
+    public void setup() {
+        source = LLVMHeap.allocateZeroedMemory(2 * size);
+        destination = LLVMHeap.allocateZeroedMemory(2 * size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LLVMHeap.freeMemory(source);
+        LLVMHeap.freeMemory(destination);
+    }
+
+    @Benchmark
+    public LLVMAddress memCopy() {
+        LLVMHeap.memCopy(destination, source, size, WORD_ALIGNMENT, false);
+        return destination;
+    }
+
+    @Benchmark
+    public LLVMAddress memCopyUnaligned() {
+        LLVMHeap.memCopy(destination.increment(1), source, size, 1, false);
+        return destination;
+    }
+
+    @Benchmark
+    public LLVMAddress memCopyUnrolled() {
+        if (LLVMHeap.isUnrollableLength(size)) {
+            LLVMHeap.memCopyUnrolled(destination, source, size);
+        }
+        return destination;
+    }
+
+    @Benchmark
+    public LLVMAddress memMoveDisjoint() {
+        LLVMHeap.memMove(destination, source, size, WORD_ALIGNMENT, false);
+        return destination;
+    }
+
+    @Benchmark
+    public LLVMAddress memMoveOverlappingForward() {
+        LLVMHeap.memMove(source, source.increment(size / 2), size, WORD_ALIGNMENT, false);
+        return source;
+    }
+
+    @Benchmark
+    public LLVMAddress memMoveOverlappingBackward() {
+        LLVMHeap.memMove(source.increment(size / 2), source, size, WORD_ALIGNMENT, false);
+        return source;
+    }
+
+    @Benchmark
+    public LLVMAddress memMoveShiftByOne() {
+        LLVMHeap.memMove(source.increment(1), source, size, 1, false);
+        return source;
+    }
+
+    @Benchmark
+    public LLVMAddress memMoveUnrolled() {
+        if (LLVMHeap.isUnrollableLength(size)) {
+            LLVMHeap.memMoveUnrolled(source.increment(size / 2), source, size);
+        }
+        return source;
+    }
+
+    @Benchmark
+    public LLVMAddress memSet() {
+        LLVMHeap.memSet(destination, (byte) 1, size, WORD_ALIGNMENT, false);
+        return destination;
+    }
+
+    @Benchmark
+    public LLVMAddress memSetUnrolled() {
+        if (LLVMHeap.isUnrollableLength(size)) {
+            LLVMHeap.memSetUnrolled(destination, (byte) 1, size);
+        }
+        return destination;
+    }
+
+}
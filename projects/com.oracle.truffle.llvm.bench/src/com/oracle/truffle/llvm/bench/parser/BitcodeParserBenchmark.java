@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.llvm.bench.BenchmarkGamePrograms;
+
+import uk.ac.man.cs.llvm.bc.Bitstream;
+import uk.ac.man.cs.llvm.bc.CursorParser;
+import uk.ac.man.cs.llvm.bc.Parser;
+import uk.ac.man.cs.llvm.bc.ParserListener;
+import uk.ac.man.cs.llvm.bc.ParserResult;
+import uk.ac.man.cs.llvm.bc.blocks.Block;
+
+/**
+ * Compares the immutable {@link Parser} with the mutable {@link CursorParser} on real bitcode. Both
+ * only decode the bitstream and hand the records to a listener that ignores them, so the numbers
+ * reflect the cost of the parser itself rather than the model construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BitcodeParserBenchmark {
+
+    @Param({"fasta/fasta.gcc-4.gcc.c", "mandelbrot/mandelbrot.gcc-8.gcc.c", "spectralnorm/spectralnorm.gcc-2.gcc.c", "binarytrees/binarytrees.gcc.c"}) public String program;
+
+    private Bitstream stream;
+
+    @Setup
+    public void setup() {
+        stream = Bitstream.create(BenchmarkGamePrograms.compileToBitcode(program).getPath());
+    }
+
+    @Benchmark
+    public long immutableParser() {
+        Parser parser = new Parser(stream, Block.ROOT, ParserListener.DEFAULT);
+        parser = parser.read(Integer.SIZE).getParser();
+        while (parser.getOffset() < stream.size()) {
+            ParserResult result = parser.readId();
+            parser = parser.getOperation(result.getValue()).apply(result.getParser());
+        }
+        return parser.getOffset();
+    }
+
+    @Benchmark
+    public long cursorParser() {
+        CursorParser parser = new CursorParser(stream, Block.ROOT, ParserListener.DEFAULT);
+        parser.read(Integer.SIZE);
+        parser.parse();
+        return parser.getOffset();
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.bench.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.llvm.LLVM;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionRegistry;
+import com.oracle.truffle.llvm.parser.factories.NodeFactoryFacadeImpl;
+import com.oracle.truffle.llvm.runtime.LLVMPropertyOptimizationConfiguration;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+
+/**
+ * Measures the startup cost of a module with many functions. The generated module defines
+ * <code>functions</code> trivial functions and a main function that calls the last one, so that
+ * the time is spent on parsing, translating and registering functions rather than on running them.
+ * {@link #registerFunctions()} isolates the part of the {@link LLVMFunctionRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LargeModuleBenchmark {
+
+    @Param({"100000"}) public int functions;
+
+    private File irFile;
+
+    private RootCallTarget callTarget;
+
+    @Setup
+    public void setup() {
+        try {
+            irFile = File.createTempFile("functions", ".ll");
+            irFile.deleteOnExit();
+            try (PrintWriter writer = new PrintWriter(irFile)) {
+                for (int i = 0; i < functions; i++) {
+                    writer.printf("define i32 @f%d() {%n  ret i32 %d%n}%n%n", i, i);
+                }
+                writer.printf("define i32 @main() {%n  %%1 = call i32 @f%d()%n  ret i32 0%n}%n", functions - 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        callTarget = Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(0));
+    }
+
+    @Benchmark
+    public int loadModule() {
+        return LLVM.executeMain(irFile);
+    }
+
+    @Benchmark
+    public LLVMFunctionDescriptor[] registerFunctions() {
+        LLVMContext context = new LLVMContext(new NodeFactoryFacadeImpl(), new LLVMPropertyOptimizationConfiguration());
+        LLVMFunctionRegistry registry = context.getFunctionRegistry();
+        Map<LLVMFunctionDescriptor, RootCallTarget> callTargets = new HashMap<>();
+        for (int i = 0; i < functions; i++) {
+            callTargets.put(registry.createFunctionDescriptor("@f" + i, LLVMRuntimeType.I32, new LLVMRuntimeType[0], false), callTarget);
+        }
+        registry.register(callTargets);
+        return registry.getFunctionDescriptors();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/*
+ * A fixed pool of native entry points for Sulong functions whose address escapes to native code.
+ * Each trampoline forwards its integer and pointer arguments, which the x86-64 System V ABI passes
+ * in registers, to NativeTrampolines.upcall together with its slot number. The Java side decides
+ * which Sulong function a slot stands for.
+ *
+ * A Java thread may only enter a trampoline while it is inside NativeTrampolines.callNative, since
+ * only a JNI downcall leaves the thread in a state in which it can call back into Java. Threads
+ * that native code created are attached to the VM for the duration of the callback.
+ */
+#include <jni.h>
+#include <stdint.h>
+#include <stdio.h>
+#include <stdlib.h>
+
+#define TRAMPOLINE_COUNT 256
+#define UPCALL_CLASS "com/oracle/truffle/llvm/nativeint/NativeTrampolines"
+#define UPCALL_SIGNATURE "(IZJJJJJJ)J"
+
+typedef int64_t (*native_function)(int64_t, int64_t, int64_t, int64_t, int64_t, int64_t);
+
+static JavaVM *javaVM;
+static jclass upcallClass;
+static jmethodID upcallMethod;
+
+/* the number of active callNative invocations on this thread */
+static __thread int downcallDepth;
+
+static int64_t upcall(jint slot, int64_t arg0, int64_t arg1, int64_t arg2, int64_t arg3, int64_t arg4, int64_t arg5) {
+  JNIEnv *env;
+  jboolean attached = JNI_FALSE;
+  if ((*javaVM)->GetEnv(javaVM, (void **)&env, JNI_VERSION_1_8) == JNI_OK) {
+    if (downcallDepth == 0) {
+      fprintf(stderr, "a native function called a Sulong function, but Sulong did not call it through NativeTrampolines.callNative\n");
+      abort();
+    }
+  } else {
+    if ((*javaVM)->AttachCurrentThread(javaVM, (void **)&env, NULL) != JNI_OK) {
+      return 0;
+    }
+    attached = JNI_TRUE;
+  }
+  jlong result = (*env)->CallStaticLongMethod(env, upcallClass, upcallMethod, slot, attached, arg0, arg1, arg2, arg3, arg4, arg5);
+  if ((*env)->ExceptionCheck(env)) {
+    /* upcall catches all exceptions, this is a bug in the runtime itself */
+    (*env)->ExceptionDescribe(env);
+    (*env)->ExceptionClear(env);
+  }
+  if (attached) {
+    (*javaVM)->DetachCurrentThread(javaVM);
+  }
+  return result;
+}
+
+/* the slots are numbered with two hexadecimal digits, so that token pasting yields their names */
+#define TRAMPOLINE(high, low)                                                                                         \
+  static int64_t trampoline_##high##low(int64_t arg0, int64_t arg1, int64_t arg2, int64_t arg3, int64_t arg4, int64_t arg5) { \
+    return upcall(0x##high##low, arg0, arg1, arg2, arg3, arg4, arg5);                                                 \
+  }
+#define ENTRY(high, low) trampoline_##high##low,
+
+#define ROW(macro, high)                                                                                               \
+  macro(high, 0) macro(high, 1) macro(high, 2) macro(high, 3) macro(high, 4) macro(high, 5) macro(high, 6) macro(high, 7) \
+  macro(high, 8) macro(high, 9) macro(high, a) macro(high, b) macro(high, c) macro(high, d) macro(high, e) macro(high, f)
+#define TABLE(macro)                                                                                                   \
+  ROW(macro, 0) ROW(macro, 1) ROW(macro, 2) ROW(macro, 3) ROW(macro, 4) ROW(macro, 5) ROW(macro, 6) ROW(macro, 7)       \
+  ROW(macro, 8) ROW(macro, 9) ROW(macro, a) ROW(macro, b) ROW(macro, c) ROW(macro, d) ROW(macro, e) ROW(macro, f)
+
+TABLE(TRAMPOLINE)
+
+static const native_function trampolines[TRAMPOLINE_COUNT] = {TABLE(ENTRY)};
+
+JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
+  JNIEnv *env;
+  if ((*vm)->GetEnv(vm, (void **)&env, JNI_VERSION_1_8) != JNI_OK) {
+    return JNI_ERR;
+  }
+  jclass localClass = (*env)->FindClass(env, UPCALL_CLASS);
+  if (localClass == NULL) {
+    return JNI_ERR;
+  }
+  upcallClass = (*env)->NewGlobalRef(env, localClass);
+  upcallMethod = (*env)->GetStaticMethodID(env, upcallClass, "upcall", UPCALL_SIGNATURE);
+  if (upcallMethod == NULL) {
+    return JNI_ERR;
+  }
+  javaVM = vm;
+  return JNI_VERSION_1_8;
+}
+
+JNIEXPORT jint JNICALL Java_com_oracle_truffle_llvm_nativeint_NativeTrampolines_getTrampolineCount(JNIEnv *env, jclass clazz) {
+  return TRAMPOLINE_COUNT;
+}
+
+JNIEXPORT jlong JNICALL Java_com_oracle_truffle_llvm_nativeint_NativeTrampolines_getTrampoline(JNIEnv *env, jclass clazz, jint slot) {
+  return (jlong)(intptr_t)trampolines[slot];
+}
+
+JNIEXPORT jlong JNICALL Java_com_oracle_truffle_llvm_nativeint_NativeTrampolines_callNative(JNIEnv *env, jclass clazz, jlong function, jlong arg0, jlong arg1, jlong arg2, jlong arg3, jlong arg4,
+                                                                                          jlong arg5) {
+  downcallDepth++;
+  int64_t result = ((native_function)(intptr_t)function)(arg0, arg1, arg2, arg3, arg4, arg5);
+  downcallDepth--;
+  return result;
+}
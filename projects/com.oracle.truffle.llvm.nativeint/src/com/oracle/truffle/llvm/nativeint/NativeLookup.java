@@ -30,9 +30,10 @@
 package com.oracle.truffle.llvm.nativeint;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.graal.truffle.hotspot.nfi.HotSpotNativeFunctionInterface;
 import com.oracle.graal.truffle.hotspot.nfi.HotSpotNativeFunctionPointer;
@@ -50,22 +51,47 @@ import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReaso
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
 public class NativeLookup {
 
     static final int LOOKUP_FAILURE = 0;
 
+    private static final int PROT_READ = 1;
+    private static final int PROT_WRITE = 2;
+
+    private static NativeFunctionHandle mprotect;
+
+    private static NativeFunctionHandle errnoLocation;
+
+    private static NativeFunctionHandle free;
+
+    private static NativeFunctionHandle realloc;
+
     private static NativeFunctionInterface nfi;
 
     private static NativeLibraryHandle[] libraryHandles;
 
+    private static Method lookupFunctionPointer;
+
+    /**
+     * The addresses of the symbols looked up so far, including the failed lookups. The libraries
+     * that are searched are fixed by the DynamicLibraryPaths option once the first symbol is looked
+     * up, so the name identifies an entry.
+     */
+    private static final Map<String, Long> resolvedSymbols = new ConcurrentHashMap<>();
+
     private final Map<LLVMFunctionDescriptor, Integer> nativeFunctionLookupStats;
 
-    private final Map<LLVMFunctionDescriptor, NativeFunctionHandle> cachedNativeFunctions = new WeakHashMap<>();
+    /**
+     * The handles of native functions by call signature. A function that takes variable arguments
+     * has a handle for each distinct list of argument types that it is called with.
+     */
+    private final Map<NativeSignature, NativeFunctionHandle> cachedNativeFunctions = new ConcurrentHashMap<>();
 
     private final NodeFactoryFacade facade;
 
-    private static NativeFunctionInterface getNFI() {
+    private static synchronized NativeFunctionInterface getNFI() {
         CompilerAsserts.neverPartOfCompilation();
         if (nfi == null) {
             nfi = NativeFunctionInterfaceRuntime.getNativeFunctionInterface();
@@ -76,7 +102,7 @@ public class NativeLookup {
         return nfi;
     }
 
-    private static NativeLibraryHandle[] getLibraryHandles() {
+    private static synchronized NativeLibraryHandle[] getLibraryHandles() {
         CompilerAsserts.neverPartOfCompilation();
         if (libraryHandles == null) {
             libraryHandles = getNativeFunctionHandles();
@@ -104,12 +130,24 @@ public class NativeLookup {
         }
     }
 
-    // TODO extend foreign function interface API
     private static long lookupSymbol(String name) {
-        try {
+        return resolvedSymbols.computeIfAbsent(name, NativeLookup::uncachedLookupSymbol);
+    }
+
+    // TODO extend foreign function interface API
+    private static synchronized Method getLookupFunctionPointer() throws NoSuchMethodException {
+        if (lookupFunctionPointer == null) {
             Method method = HotSpotNativeFunctionInterface.class.getDeclaredMethod("lookupFunctionPointer", String.class, NativeLibraryHandle.class, boolean.class);
-            HotSpotNativeFunctionInterface face = (HotSpotNativeFunctionInterface) getNFI();
             method.setAccessible(true);
+            lookupFunctionPointer = method;
+        }
+        return lookupFunctionPointer;
+    }
+
+    private static long uncachedLookupSymbol(String name) {
+        try {
+            Method method = getLookupFunctionPointer();
+            HotSpotNativeFunctionInterface face = (HotSpotNativeFunctionInterface) getNFI();
             HotSpotNativeLibraryHandle handle;
             if (getLibraryHandles().length == 0) {
                 handle = new HotSpotNativeLibraryHandle("", 0);
@@ -145,24 +183,62 @@ public class NativeLookup {
 
     public NativeFunctionHandle getNativeHandle(LLVMFunctionDescriptor function, LLVMExpressionNode[] args) {
         CompilerAsserts.neverPartOfCompilation();
-        if (cachedNativeFunctions.containsKey(function)) {
-            return cachedNativeFunctions.get(function);
-        } else {
-            NativeFunctionHandle handle = uncachedGetNativeFunctionHandle(function, args);
-            // FIXME we should also cache var args!
-            if (!function.isVarArgs()) {
-                cachedNativeFunctions.put(function, handle);
+        NativeSignature signature = new NativeSignature(function, getJavaClassses(args));
+        NativeFunctionHandle handle = cachedNativeFunctions.get(signature);
+        if (handle == null) {
+            handle = uncachedGetNativeFunctionHandle(function, signature.parameterTypes);
+            if (handle != null) {
+                cachedNativeFunctions.putIfAbsent(signature, handle);
+            }
+        }
+        if (handle != null) {
+            recordNativeCallSite(function);
+        }
+        return handle;
+    }
+
+    /**
+     * Resolves the native function ahead of its first call, so that the call finds its handle in
+     * the cache. Functions with variable arguments are skipped, since their signature depends on
+     * the call site.
+     *
+     * @param function a function that is not defined by the program
+     */
+    public void preResolve(LLVMFunctionDescriptor function) {
+        CompilerAsserts.neverPartOfCompilation();
+        if (function.isVarArgs() || isUnsupported(function.getName().substring(1)) || !hasJavaClass(function.getReturnType())) {
+            return;
+        }
+        Class<?>[] paramTypes = new Class<?>[function.getParameterTypes().length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            if (!hasJavaClass(function.getParameterTypes()[i])) {
+                // the type cannot be passed to native code, a call reports this
+                return;
+            }
+            paramTypes[i] = getJavaClass(function.getParameterTypes()[i]);
+        }
+        NativeSignature signature = new NativeSignature(function, paramTypes);
+        if (!cachedNativeFunctions.containsKey(signature)) {
+            try {
+                NativeFunctionHandle handle = uncachedGetNativeFunctionHandle(function, paramTypes);
+                if (handle != null) {
+                    cachedNativeFunctions.putIfAbsent(signature, handle);
+                }
+            } catch (UnsatisfiedLinkError e) {
+                // the function does not exist, a call reports this
             }
-            return handle;
         }
     }
 
-    private NativeFunctionHandle uncachedGetNativeFunctionHandle(LLVMFunctionDescriptor function, LLVMExpressionNode[] args) {
+    private static boolean isUnsupported(String functionName) {
+        return functionName.equals("fork") || functionName.equals("pipe");
+    }
+
+    private NativeFunctionHandle uncachedGetNativeFunctionHandle(LLVMFunctionDescriptor function, Class<?>[] paramTypes) {
         Class<?> retType = getJavaClass(function.getReturnType());
-        Class<?>[] paramTypes = getJavaClassses(args);
         String functionName = function.getName().substring(1);
         NativeFunctionHandle functionHandle;
-        if (functionName.equals("fork") || functionName.equals("pthread_create") || functionName.equals("pipe")) {
+        if (isUnsupported(functionName)) {
             throw new LLVMUnsupportedException(UnsupportedReason.MULTITHREADING);
         }
         if (LLVMBaseOptionFacade.getDynamicLibraryPaths() == null) {
@@ -170,13 +246,20 @@ public class NativeLookup {
         } else {
             functionHandle = getNFI().getFunctionHandle(getLibraryHandles(), functionName, retType, paramTypes);
         }
-        if (LLVMBaseOptionFacade.printNativeCallStats() && functionHandle != null) {
+        return functionHandle;
+    }
+
+    /**
+     * Counts a call site of a native function for the PrintNativeCallStats option. Call sites call
+     * this method once, when they resolve the function.
+     */
+    public void recordNativeCallSite(LLVMFunctionDescriptor function) {
+        if (LLVMBaseOptionFacade.printNativeCallStats()) {
             recordNativeFunctionCallSite(function);
         }
-        return functionHandle;
     }
 
-    private void recordNativeFunctionCallSite(LLVMFunctionDescriptor function) {
+    private synchronized void recordNativeFunctionCallSite(LLVMFunctionDescriptor function) {
         CompilerAsserts.neverPartOfCompilation();
         Integer val = nativeFunctionLookupStats.get(function);
         int newVal;
@@ -197,6 +280,29 @@ public class NativeLookup {
         return types;
     }
 
+    /**
+     * Whether {@link #getJavaClass} supports the type.
+     */
+    private static boolean hasJavaClass(LLVMRuntimeType type) {
+        switch (type) {
+            case I1:
+            case I8:
+            case I16:
+            case I32:
+            case I64:
+            case FLOAT:
+            case DOUBLE:
+            case VOID:
+            case ADDRESS:
+            case STRUCT:
+            case X86_FP80:
+            case FUNCTION_ADDRESS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private static Class<?> getJavaClass(LLVMRuntimeType type) {
         switch (type) {
             case I1:
@@ -227,8 +333,97 @@ public class NativeLookup {
         }
     }
 
+    /**
+     * Changes the protection of whole pages with <code>mprotect</code>.
+     *
+     * @param address the page aligned start of the memory
+     * @param length the length of the memory, a multiple of the page size
+     * @param readOnly whether the memory becomes read-only or readable and writable
+     * @throws IllegalStateException if <code>mprotect</code> fails
+     */
+    public static synchronized void protectMemory(long address, long length, boolean readOnly) {
+        CompilerAsserts.neverPartOfCompilation();
+        if (mprotect == null) {
+            mprotect = getNFI().getFunctionHandle("mprotect", int.class, long.class, long.class, int.class);
+            // looked up in advance, since a lookup after the failed call could overwrite errno
+            errnoLocation = getNFI().getFunctionHandle("__errno_location", long.class);
+            if (errnoLocation == null) {
+                errnoLocation = getNFI().getFunctionHandle("__error", long.class);
+            }
+        }
+        int protection = readOnly ? PROT_READ : PROT_READ | PROT_WRITE;
+        int result = (int) mprotect.call(address, length, protection);
+        if (result != 0) {
+            String errno = errnoLocation == null ? "unknown" : Integer.toString(LLVMMemory.getI32((long) errnoLocation.call()));
+            throw new IllegalStateException(String.format("mprotect of %d bytes at 0x%x failed with errno %s", length, address, errno));
+        }
+    }
+
+    private static synchronized NativeFunctionHandle getFree() {
+        if (free == null) {
+            free = getNFI().getFunctionHandle("free", void.class, long.class);
+        }
+        return free;
+    }
+
+    private static synchronized NativeFunctionHandle getRealloc() {
+        if (realloc == null) {
+            realloc = getNFI().getFunctionHandle("realloc", long.class, long.class, long.class);
+        }
+        return realloc;
+    }
+
+    /**
+     * Releases memory with the <code>free</code> of the C library.
+     *
+     * @param address a pointer that the C library allocated
+     */
+    public static void freeNativeMemory(long address) {
+        CompilerAsserts.neverPartOfCompilation();
+        getFree().call(address);
+    }
+
+    /**
+     * Resizes memory with the <code>realloc</code> of the C library.
+     *
+     * @param address a pointer that the C library allocated
+     * @param size the new size in bytes
+     * @return the resized memory, or 0 if it could not be allocated
+     */
+    public static long reallocateNativeMemory(long address, long size) {
+        CompilerAsserts.neverPartOfCompilation();
+        return (long) getRealloc().call(address, size);
+    }
+
     public Map<LLVMFunctionDescriptor, Integer> getNativeFunctionLookupStats() {
         return nativeFunctionLookupStats;
     }
 
+    private static final class NativeSignature {
+
+        private final LLVMFunctionDescriptor function;
+
+        private final Class<?>[] parameterTypes;
+
+        NativeSignature(LLVMFunctionDescriptor function, Class<?>[] parameterTypes) {
+            this.function = function;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * function.hashCode() + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof NativeSignature)) {
+                return false;
+            }
+            NativeSignature other = (NativeSignature) obj;
+            return function.equals(other.function) && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+    }
+
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nativeint;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+
+/**
+ * Gives Java callbacks a native address, through the trampolines of the native library in
+ * <code>com.oracle.truffle.llvm.nativeint.native</code>. A trampoline passes up to
+ * {@link #MAX_ARGUMENTS} integer or pointer arguments to its callback, and returns an integer or
+ * pointer.
+ *
+ * A Java thread can only call back into Java while it is inside a JNI native method, so native
+ * functions that may call a trampoline have to be called through {@link #callNative}. The library
+ * aborts the process if a trampoline is called from a Java thread outside of it. Threads that the
+ * native code created itself are attached to the VM for the callback.
+ */
+public final class NativeTrampolines {
+
+    public static final int MAX_ARGUMENTS = 6;
+
+    private static final String LIBRARY_NAME = "sulongtrampolines";
+    private static final String LIBRARY_PROJECT = "com.oracle.truffle.llvm.nativeint.native";
+
+    /**
+     * A Java function that native code can call through a trampoline. Arguments that the callee
+     * does not declare contain arbitrary values.
+     */
+    public interface NativeCallback {
+
+        /**
+         * @param attachedThread whether the native code called the trampoline on a thread that it
+         *            created itself, rather than on a Java thread that is inside
+         *            {@link NativeTrampolines#callNative}
+         */
+        long call(boolean attachedThread, long arg0, long arg1, long arg2, long arg3, long arg4, long arg5);
+
+    }
+
+    private static AtomicReferenceArray<NativeCallback> callbacks;
+    private static int nextSlot;
+    private static final Deque<Integer> releasedSlots = new ArrayDeque<>();
+
+    /**
+     * Exceptions cannot unwind through native frames, so they are kept until the native code
+     * returns to Sulong.
+     */
+    private static final ThreadLocal<Throwable> pendingExceptions = new ThreadLocal<>();
+
+    private NativeTrampolines() {
+    }
+
+    private static native int getTrampolineCount();
+
+    private static native long getTrampoline(int slot);
+
+    /**
+     * Calls a native function with up to {@link #MAX_ARGUMENTS} integer or pointer arguments, and
+     * returns its integer or pointer result. Unlike a call through the NFI, the native function can
+     * call trampolines. {@link #initialize} must have been called before.
+     */
+    public static native long callNative(long function, long arg0, long arg1, long arg2, long arg3, long arg4, long arg5);
+
+    /**
+     * Loads the native library, if this has not happened yet.
+     */
+    public static synchronized void initialize() {
+        CompilerAsserts.neverPartOfCompilation();
+        if (callbacks == null) {
+            System.load(getLibraryPath());
+            callbacks = new AtomicReferenceArray<>(getTrampolineCount());
+        }
+    }
+
+    /**
+     * Assigns a trampoline to a callback.
+     *
+     * @return the slot of the trampoline, or <code>-1</code> if all trampolines are in use
+     */
+    public static synchronized int createTrampoline(NativeCallback callback) {
+        initialize();
+        int slot;
+        if (!releasedSlots.isEmpty()) {
+            slot = releasedSlots.pop();
+        } else if (nextSlot < callbacks.length()) {
+            slot = nextSlot++;
+        } else {
+            return -1;
+        }
+        callbacks.set(slot, callback);
+        return slot;
+    }
+
+    /**
+     * Returns the native address of a trampoline.
+     */
+    public static synchronized long getTrampolineAddress(int slot) {
+        CompilerAsserts.neverPartOfCompilation();
+        return getTrampoline(slot);
+    }
+
+    /**
+     * Makes a trampoline available to {@link #createTrampoline} again. Until then, calls through
+     * the trampoline return <code>0</code> without calling anything.
+     */
+    public static synchronized void releaseTrampoline(int slot) {
+        CompilerAsserts.neverPartOfCompilation();
+        assert callbacks.get(slot) != null;
+        callbacks.set(slot, null);
+        releasedSlots.push(slot);
+    }
+
+    private static String getLibraryPath() {
+        String path = LLVMBaseOptionFacade.getNativeCallbackLibrary();
+        if (path == null) {
+            File libraryDirectory = new File(LLVMBaseOptionFacade.getProjectRoot() + File.separator + LIBRARY_PROJECT, "bin");
+            path = new File(libraryDirectory, System.mapLibraryName(LIBRARY_NAME)).getAbsolutePath();
+        }
+        return path;
+    }
+
+    /**
+     * Called by the trampolines.
+     */
+    @SuppressWarnings("unused")
+    private static long upcall(int slot, boolean attachedThread, long arg0, long arg1, long arg2, long arg3, long arg4, long arg5) {
+        if (pendingExceptions.get() != null) {
+            // the native code has not yet returned after an earlier callback failed
+            return 0;
+        }
+        NativeCallback callback = callbacks.get(slot);
+        if (callback == null) {
+            // the native code kept the address of a released trampoline
+            return 0;
+        }
+        try {
+            return callback.call(attachedThread, arg0, arg1, arg2, arg3, arg4, arg5);
+        } catch (Throwable t) {
+            pendingExceptions.set(t);
+            return 0;
+        }
+    }
+
+    /**
+     * Throws the exception of a callback that the current thread called from native code, if any.
+     * Native call sites call this method after the native function returned.
+     */
+    @TruffleBoundary
+    public static void rethrowPendingException() {
+        Throwable exception = pendingExceptions.get();
+        if (exception != null) {
+            pendingExceptions.remove();
+            if (exception instanceof RuntimeException) {
+                throw (RuntimeException) exception;
+            } else if (exception instanceof Error) {
+                throw (Error) exception;
+            } else {
+                throw new AssertionError(exception);
+            }
+        }
+    }
+
+}
@@ -30,18 +30,23 @@
 package com.oracle.truffle.llvm.nodes.impl.base;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import com.oracle.nfi.api.NativeFunctionHandle;
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.ExecutionContext;
 import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.llvm.nativeint.NativeLookup;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.parser.NodeFactoryFacade;
 import com.oracle.truffle.llvm.runtime.LLVMOptimizationConfiguration;
+import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.memory.LLVMStack;
 
@@ -56,15 +61,33 @@ public class LLVMContext extends ExecutionContext {
 
     private final LLVMStack stack = new LLVMStack();
 
+    /**
+     * The stacks of the threads started by <code>pthread_create</code>. All other threads share
+     * {@link #stack}.
+     */
+    private final ThreadLocal<LLVMStack> threadStacks = ThreadLocal.withInitial(() -> stack);
+
+    private final Assumption singleThreaded = Truffle.getRuntime().createAssumption("single threaded");
+
+    private final LLVMThreadContext threadContext = new LLVMThreadContext(this);
+
+    private final LLVMNativeCallbacks nativeCallbacks = new LLVMNativeCallbacks(this);
+
     private Object[] mainArguments;
 
     private Source sourceFile;
 
     private boolean parseOnly;
 
+    /**
+     * The number of function descriptors that {@link #preResolveNativeFunctions()} has already
+     * looked at.
+     */
+    private int preResolvedFunctions;
+
     public LLVMContext(NodeFactoryFacade facade, LLVMOptimizationConfiguration optimizationConfig) {
         nativeLookup = new NativeLookup(facade);
-        this.registry = new LLVMFunctionRegistry(optimizationConfig, facade);
+        this.registry = new LLVMFunctionRegistry(optimizationConfig, facade, this);
     }
 
     public RootCallTarget getFunction(LLVMFunctionDescriptor function) {
@@ -96,16 +119,89 @@ public class LLVMContext extends ExecutionContext {
         return completeFunctionDescriptors[validFunctionIndex];
     }
 
+    /**
+     * Looks up the native functions among the functions that were declared since the last call and
+     * that no registered module defines. The lookups run in parallel on the common fork-join pool.
+     */
+    public synchronized void preResolveNativeFunctions() {
+        CompilerAsserts.neverPartOfCompilation();
+        LLVMFunctionDescriptor[] descriptors = registry.getFunctionDescriptors();
+        int end = preResolvedFunctions;
+        while (end < descriptors.length && descriptors[end] != null) {
+            end++;
+        }
+        Arrays.stream(descriptors, preResolvedFunctions, end).parallel().filter(this::isNativeFunction).forEach(nativeLookup::preResolve);
+        preResolvedFunctions = end;
+    }
+
+    private boolean isNativeFunction(LLVMFunctionDescriptor function) {
+        String name = function.getName();
+        return name.startsWith("@") && !name.startsWith("@llvm.") && registry.lookup(function) == null;
+    }
+
     public long getNativeHandle(String functionName) {
         return nativeLookup.getNativeHandle(functionName);
     }
 
+    public void recordNativeCallSite(LLVMFunctionDescriptor function) {
+        nativeLookup.recordNativeCallSite(getFunctionDescriptor(function));
+    }
+
     public Map<LLVMFunctionDescriptor, Integer> getNativeFunctionLookupStats() {
         return nativeLookup.getNativeFunctionLookupStats();
     }
 
+    /**
+     * Returns the stack of the current thread. As long as the program has not started a thread,
+     * this is always the stack allocated for the main function.
+     */
     public LLVMStack getStack() {
-        return stack;
+        if (singleThreaded.isValid()) {
+            return stack;
+        }
+        return getThreadStack();
+    }
+
+    /**
+     * Publishes the stack pointer of a Sulong function that is about to call a foreign function, so
+     * that calls from the foreign language back into Sulong allocate their frames below the frames
+     * that are still live. Returns the previous stack pointer for {@link #exitForeignCall}.
+     */
+    public LLVMAddress enterForeignCall(LLVMAddress stackPointer) {
+        return getStack().setStackPointer(stackPointer);
+    }
+
+    public void exitForeignCall(LLVMAddress previousStackPointer) {
+        getStack().setStackPointer(previousStackPointer);
+    }
+
+    /**
+     * Returns the stack pointer with which a call from a foreign language into Sulong starts.
+     */
+    public LLVMAddress getForeignEntryStackPointer() {
+        return getStack().getStackPointer();
+    }
+
+    @TruffleBoundary
+    private LLVMStack getThreadStack() {
+        return threadStacks.get();
+    }
+
+    void setThreadStack(LLVMStack threadStack) {
+        singleThreaded.invalidate();
+        threadStacks.set(threadStack);
+    }
+
+    void removeThreadStack() {
+        threadStacks.remove();
+    }
+
+    public LLVMThreadContext getThreadContext() {
+        return threadContext;
+    }
+
+    public LLVMNativeCallbacks getNativeCallbacks() {
+        return nativeCallbacks;
     }
 
     public void setMainArguments(Object[] mainArguments) {
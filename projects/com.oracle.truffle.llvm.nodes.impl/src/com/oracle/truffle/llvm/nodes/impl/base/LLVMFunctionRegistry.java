@@ -29,6 +29,8 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.base;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +49,12 @@ import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
 
 /**
  * Manages Sulong functions and intrinsified native functions.
+ *
+ * Functions can be registered and looked up from several threads. Registrations are serialized,
+ * and publish new arrays through volatile fields, so that readers never need a lock.
+ *
+ * Descriptors are found by name through a hash index, and both arrays grow geometrically, so that
+ * registering the functions of a module takes time linear in their number.
  */
 public class LLVMFunctionRegistry {
 
@@ -58,29 +66,38 @@ public class LLVMFunctionRegistry {
 
     private final Map<String, NodeFactory<? extends LLVMNode>> intrinsics;
     private final NodeFactoryFacade facade;
+    private final LLVMContext context;
 
     /**
      * The function index assigned to the next function descriptor.
      */
     private int currentFunctionIndex = REAL_FUNCTION_START_INDEX;
 
+    /**
+     * Indexes the function descriptors by name. Only accessed while holding the lock.
+     */
+    private final Map<String, LLVMFunctionDescriptor> functionsByName = new HashMap<>();
+
     /**
      * Maps a function index (see {@link LLVMFunctionDescriptor#getFunctionIndex()} to a call
      * target.
      */
-    @CompilationFinal private RootCallTarget[] functionPtrCallTargetMap;
+    @CompilationFinal private volatile RootCallTarget[] functionPtrCallTargetMap;
 
     /**
      * Maps a function index (see {@link LLVMFunctionDescriptor#getFunctionIndex()} to a function
-     * descriptor.
+     * descriptor. The array may be longer than the number of functions, the unused elements are
+     * <code>null</code>.
      */
-    @CompilationFinal private LLVMFunctionDescriptor[] functionDescriptors = new LLVMFunctionDescriptor[REAL_FUNCTION_START_INDEX];
+    @CompilationFinal private volatile LLVMFunctionDescriptor[] functionDescriptors = new LLVMFunctionDescriptor[REAL_FUNCTION_START_INDEX];
 
-    public LLVMFunctionRegistry(LLVMOptimizationConfiguration optimizationConfig, NodeFactoryFacade facade) {
+    public LLVMFunctionRegistry(LLVMOptimizationConfiguration optimizationConfig, NodeFactoryFacade facade, LLVMContext context) {
         this.facade = facade;
+        this.context = context;
         this.intrinsics = facade.getFunctionSubstitutionFactories(optimizationConfig);
         functionPtrCallTargetMap = new RootCallTarget[REAL_FUNCTION_START_INDEX + intrinsics.size() + 1];
         functionDescriptors[0] = LLVMFunctionDescriptor.create(ZERO_FUNCTION, LLVMRuntimeType.ILLEGAL, new LLVMRuntimeType[0], false, 0);
+        functionsByName.put(ZERO_FUNCTION, functionDescriptors[0]);
         registerIntrinsics();
     }
 
@@ -93,23 +110,30 @@ public class LLVMFunctionRegistry {
      */
     public RootCallTarget lookup(LLVMFunctionDescriptor function) {
         int functionIndex = function.getFunctionIndex();
-        if (functionIndex >= 0 && functionIndex < functionPtrCallTargetMap.length) {
-            RootCallTarget result = functionPtrCallTargetMap[functionIndex];
+        RootCallTarget[] callTargets = functionPtrCallTargetMap;
+        if (functionIndex >= 0 && functionIndex < callTargets.length) {
+            RootCallTarget result = callTargets[functionIndex];
             return result;
         } else {
             return null;
         }
     }
 
-    public void register(Map<LLVMFunctionDescriptor, RootCallTarget> functionCallTargets) {
+    /**
+     * Registers the call targets of all functions that a module defines at once.
+     */
+    public synchronized void register(Map<LLVMFunctionDescriptor, RootCallTarget> functionCallTargets) {
         CompilerAsserts.neverPartOfCompilation();
-        int maxFunctionIndex = Math.max(maxIndex(functionCallTargets) + 1, functionPtrCallTargetMap.length);
-        RootCallTarget[] newFunctionPtrCallTargetMap = new RootCallTarget[maxFunctionIndex];
-        System.arraycopy(functionPtrCallTargetMap, 0, newFunctionPtrCallTargetMap, 0, functionPtrCallTargetMap.length);
-        for (LLVMFunctionDescriptor func : functionCallTargets.keySet()) {
-            newFunctionPtrCallTargetMap[func.getFunctionIndex()] = functionCallTargets.get(func);
+        RootCallTarget[] callTargets = functionPtrCallTargetMap;
+        int maxFunctionIndex = maxIndex(functionCallTargets);
+        if (maxFunctionIndex >= callTargets.length) {
+            callTargets = Arrays.copyOf(callTargets, grow(callTargets.length, maxFunctionIndex + 1));
+        }
+        for (Map.Entry<LLVMFunctionDescriptor, RootCallTarget> entry : functionCallTargets.entrySet()) {
+            callTargets[entry.getKey().getFunctionIndex()] = entry.getValue();
         }
-        functionPtrCallTargetMap = newFunctionPtrCallTargetMap;
+        // written even if the array did not grow, to publish the new elements
+        functionPtrCallTargetMap = callTargets;
     }
 
     private static int maxIndex(Map<LLVMFunctionDescriptor, RootCallTarget> functionCallTargets) {
@@ -120,17 +144,15 @@ public class LLVMFunctionRegistry {
         return maxIndex;
     }
 
+    private static int grow(int length, int minLength) {
+        return Math.max(length + (length >> 1), minLength);
+    }
+
     private void registerIntrinsics() {
         for (String intrinsicFunction : intrinsics.keySet()) {
             LLVMFunctionDescriptor function = createFunctionDescriptor(intrinsicFunction, LLVMRuntimeType.ILLEGAL, new LLVMRuntimeType[0], false);
             NodeFactory<? extends LLVMNode> nodeFactory = intrinsics.get(intrinsicFunction);
-            List<Class<? extends Node>> executionSignature = nodeFactory.getExecutionSignature();
-            int nrArguments = executionSignature.size();
-            LLVMNode[] args = new LLVMNode[nrArguments];
-            for (int i = 0; i < nrArguments; i++) {
-                args[i] = facade.createFunctionArgNode(i, executionSignature.get(i));
-            }
-            LLVMNode intrinsicNode = nodeFactory.createNode((Object[]) args);
+            LLVMNode intrinsicNode = nodeFactory.createNode(createIntrinsicArguments(nodeFactory));
             RootNode functionRoot = facade.createFunctionSubstitutionRootNode(intrinsicNode);
             RootCallTarget callTarget = Truffle.getRuntime().createCallTarget(functionRoot);
             assert functionPtrCallTargetMap[function.getFunctionIndex()] == null;
@@ -138,6 +160,25 @@ public class LLVMFunctionRegistry {
         }
     }
 
+    /**
+     * Creates the arguments of an intrinsic node, namely a node that reads each of the function's
+     * arguments, followed by the context for intrinsics that declare it as their last field.
+     */
+    private Object[] createIntrinsicArguments(NodeFactory<? extends LLVMNode> nodeFactory) {
+        List<Class<? extends Node>> executionSignature = nodeFactory.getExecutionSignature();
+        int nrArguments = executionSignature.size();
+        List<Class<?>> nodeSignature = nodeFactory.getNodeSignatures().get(0);
+        boolean needsContext = nodeSignature.size() > nrArguments && nodeSignature.get(nodeSignature.size() - 1) == LLVMContext.class;
+        Object[] args = new Object[needsContext ? nrArguments + 1 : nrArguments];
+        for (int i = 0; i < nrArguments; i++) {
+            args[i] = facade.createFunctionArgNode(i, executionSignature.get(i));
+        }
+        if (needsContext) {
+            args[nrArguments] = context;
+        }
+        return args;
+    }
+
     /**
      * Creates an unique function descriptor identified by the given <code>name</code>.
      *
@@ -147,21 +188,35 @@ public class LLVMFunctionRegistry {
      * @param varArgs
      * @return the function descriptor
      */
-    public LLVMFunctionDescriptor createFunctionDescriptor(String name, LLVMRuntimeType returnType, LLVMRuntimeType[] paramTypes, boolean varArgs) {
+    public synchronized LLVMFunctionDescriptor createFunctionDescriptor(String name, LLVMRuntimeType returnType, LLVMRuntimeType[] paramTypes, boolean varArgs) {
         CompilerAsserts.neverPartOfCompilation();
-        for (int i = 0; i < functionDescriptors.length; i++) {
-            if (functionDescriptors[i].getName().equals(name)) {
-                return functionDescriptors[i];
-            }
+        LLVMFunctionDescriptor existing = functionsByName.get(name);
+        if (existing != null) {
+            return existing;
         }
         LLVMFunctionDescriptor function = LLVMFunctionDescriptor.create(name, returnType, paramTypes, varArgs, currentFunctionIndex++);
-        LLVMFunctionDescriptor[] newFunctions = new LLVMFunctionDescriptor[functionDescriptors.length + 1];
-        System.arraycopy(functionDescriptors, 0, newFunctions, 0, functionDescriptors.length);
-        newFunctions[function.getFunctionIndex()] = function;
-        functionDescriptors = newFunctions;
+        LLVMFunctionDescriptor[] descriptors = functionDescriptors;
+        if (function.getFunctionIndex() >= descriptors.length) {
+            descriptors = Arrays.copyOf(descriptors, grow(descriptors.length, function.getFunctionIndex() + 1));
+        }
+        descriptors[function.getFunctionIndex()] = function;
+        functionsByName.put(name, function);
+        // written even if the array did not grow, to publish the new element
+        functionDescriptors = descriptors;
         return function;
     }
 
+    /**
+     * Looks up the function descriptor with the given <code>name</code>.
+     *
+     * @param name the function's name
+     * @return the function descriptor, <code>null</code> if there is no such function
+     */
+    public synchronized LLVMFunctionDescriptor lookupFunctionDescriptor(String name) {
+        CompilerAsserts.neverPartOfCompilation();
+        return functionsByName.get(name);
+    }
+
     /**
      * Creates a function descriptor from the given <code>index</code> that has previously been
      * obtained by {@link LLVMFunctionDescriptor#getFunctionIndex()} .
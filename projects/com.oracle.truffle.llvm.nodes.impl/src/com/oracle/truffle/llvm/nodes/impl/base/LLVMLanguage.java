@@ -31,12 +31,14 @@ package com.oracle.truffle.llvm.nodes.impl.base;
 
 import java.io.IOException;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
-import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 
 @TruffleLanguage.Registration(name = "Sulong", version = "0.01", mimeType = {LLVMLanguage.LLVM_IR_MIME_TYPE, LLVMLanguage.SULONG_LIBRARY_MIME_TYPE})
 public final class LLVMLanguage extends TruffleLanguage<LLVMContext> {
@@ -79,6 +81,24 @@ public final class LLVMLanguage extends TruffleLanguage<LLVMContext> {
     public static final String LLVM_SOURCE_FILE_KEY = "Sulong Source File";
     public static final String PARSE_ONLY_KEY = "Parse only";
 
+    /**
+     * The context of the functions that the current thread translates on behalf of the parser.
+     * Threads that translate functions in parallel are not known to the engine, so the context
+     * cannot be found through a node there.
+     */
+    private static final ThreadLocal<LLVMContext> translationContext = new ThreadLocal<>();
+
+    /**
+     * Valid while no thread is between {@link #enterTranslation} and {@link #leaveTranslation}, so
+     * that {@link #findContext0} does not have to consult {@link #translationContext} when
+     * functions are executed.
+     */
+    @CompilationFinal private static Assumption noActiveTranslation = Truffle.getRuntime().createAssumption("no active translation");
+
+    private static final Object translationLock = new Object();
+
+    private static int activeTranslations;
+
     private com.oracle.truffle.api.TruffleLanguage.Env environment;
 
     @Override
@@ -103,12 +123,7 @@ public final class LLVMLanguage extends TruffleLanguage<LLVMContext> {
 
     @Override
     protected Object findExportedSymbol(LLVMContext context, String globalName, boolean onlyExplicit) {
-        for (LLVMFunctionDescriptor descr : context.getFunctionRegistry().getFunctionDescriptors()) {
-            if (descr != null && descr.getName().equals(globalName)) {
-                return descr;
-            }
-        }
-        return null;
+        return context.getFunctionRegistry().lookupFunctionDescriptor(globalName);
     }
 
     @Override
@@ -122,9 +137,45 @@ public final class LLVMLanguage extends TruffleLanguage<LLVMContext> {
     }
 
     public LLVMContext findContext0(Node node) {
+        if (!noActiveTranslation.isValid()) {
+            LLVMContext context = translationContext.get();
+            if (context != null) {
+                return context;
+            }
+        }
         return findContext(node);
     }
 
+    /**
+     * Makes {@link #findContext0} return the given context on the current thread.
+     *
+     * @return the previous translation context of the current thread, which has to be passed to
+     *         {@link #leaveTranslation}
+     */
+    public static LLVMContext enterTranslation(LLVMContext context) {
+        synchronized (translationLock) {
+            if (activeTranslations++ == 0) {
+                noActiveTranslation.invalidate();
+            }
+        }
+        LLVMContext previous = translationContext.get();
+        translationContext.set(context);
+        return previous;
+    }
+
+    public static void leaveTranslation(LLVMContext previous) {
+        if (previous == null) {
+            translationContext.remove();
+        } else {
+            translationContext.set(previous);
+        }
+        synchronized (translationLock) {
+            if (--activeTranslations == 0) {
+                noActiveTranslation = Truffle.getRuntime().createAssumption("no active translation");
+            }
+        }
+    }
+
     public Node createFindContextNode0() {
         return createFindContextNode();
     }
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.base;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.llvm.nativeint.NativeTrampolines;
+import com.oracle.truffle.llvm.nativeint.NativeTrampolines.NativeCallback;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReason;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
+import com.oracle.truffle.llvm.types.memory.LLVMStack;
+
+/**
+ * Gives Sulong functions a native address when they escape to native code, e.g., the comparison
+ * function passed to <code>qsort</code>. Each function gets a trampoline from
+ * {@link NativeTrampolines} when it first escapes, which it keeps until the context is disposed.
+ *
+ * Native functions that receive a Sulong function are called through {@link #callNative}, which
+ * publishes the stack pointer of the caller. A callback on the same thread allocates its frames
+ * below it, on the stack of the thread. Only threads that the native code created get a stack of
+ * their own for the duration of the callback.
+ */
+public final class LLVMNativeCallbacks {
+
+    private final LLVMContext context;
+
+    private final Map<Integer, Long> nativePointers = new HashMap<>();
+    private final List<Integer> trampolineSlots = new ArrayList<>();
+
+    private final Assumption noCallbacks = Truffle.getRuntime().createAssumption("no native callbacks");
+
+    LLVMNativeCallbacks(LLVMContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Returns the address through which native code can call the function. Functions that are not
+     * defined by the program are looked up in the native libraries. Only call sites that call the
+     * native function through {@link #callNative} may pass the address, see
+     * {@link #getNativeSymbol}.
+     */
+    @TruffleBoundary
+    public synchronized long getNativePointer(LLVMFunctionDescriptor function) {
+        Long cached = nativePointers.get(function.getFunctionIndex());
+        if (cached != null) {
+            return cached;
+        }
+        long nativePointer = createNativePointer(getDeclaration(function));
+        nativePointers.put(function.getFunctionIndex(), nativePointer);
+        return nativePointer;
+    }
+
+    private long createNativePointer(LLVMFunctionDescriptor function) {
+        if (context.getFunctionRegistry().isZeroFunctionDescriptor(function)) {
+            return 0;
+        }
+        RootCallTarget callTarget = context.getFunction(function);
+        if (callTarget != null && canCallBack(function)) {
+            int slot = NativeTrampolines.createTrampoline(new LLVMNativeCallback(function, callTarget));
+            if (slot != -1) {
+                noCallbacks.invalidate();
+                trampolineSlots.add(slot);
+                return NativeTrampolines.getTrampolineAddress(slot);
+            }
+        }
+        long nativeSymbol = context.getNativeHandle(function.getName());
+        if (nativeSymbol == 0) {
+            throw new LLVMUnsupportedException(UnsupportedReason.FUNCTION_POINTER_ESCAPES_TO_NATIVE);
+        }
+        return nativeSymbol;
+    }
+
+    /**
+     * Returns the address of a function in the native libraries, for native functions that are
+     * called through the NFI. They cannot call back into Sulong, so functions that exist only in
+     * the program cannot be passed to them.
+     */
+    @TruffleBoundary
+    public long getNativeSymbol(LLVMFunctionDescriptor function) {
+        LLVMFunctionDescriptor declaration = getDeclaration(function);
+        if (context.getFunctionRegistry().isZeroFunctionDescriptor(declaration)) {
+            return 0;
+        }
+        long nativeSymbol = context.getNativeHandle(declaration.getName());
+        if (nativeSymbol == 0) {
+            throw new LLVMUnsupportedException(UnsupportedReason.FUNCTION_POINTER_ESCAPES_TO_NATIVE);
+        }
+        return nativeSymbol;
+    }
+
+    /**
+     * Releases the trampolines of the functions that escaped. Native code must not call them
+     * afterwards.
+     */
+    public synchronized void dispose() {
+        for (int slot : trampolineSlots) {
+            NativeTrampolines.releaseTrampoline(slot);
+        }
+        trampolineSlots.clear();
+        nativePointers.clear();
+    }
+
+    /**
+     * Returns the complete function descriptor, see {@link LLVMFunctionRegistry#createFromIndex}.
+     */
+    private LLVMFunctionDescriptor getDeclaration(LLVMFunctionDescriptor function) {
+        return context.getFunctionRegistry().getFunctionDescriptors()[function.getFunctionIndex()];
+    }
+
+    private static boolean canCallBack(LLVMFunctionDescriptor function) {
+        if (function.isVarArgs() || function.getParameterTypes().length > NativeTrampolines.MAX_ARGUMENTS) {
+            return false;
+        }
+        for (LLVMRuntimeType parameterType : function.getParameterTypes()) {
+            if (parameterType == LLVMRuntimeType.VOID || !isIntegerClass(parameterType)) {
+                return false;
+            }
+        }
+        return isIntegerClass(function.getReturnType());
+    }
+
+    /**
+     * Returns the address of a native function that {@link #callNative} can call, or
+     * <code>0</code> if the function does not exist or its signature is not supported. Call sites
+     * call this method once, when they resolve the function.
+     */
+    @TruffleBoundary
+    public long getNativeFunction(LLVMFunctionDescriptor function) {
+        LLVMFunctionDescriptor declaration = getDeclaration(function);
+        if (declaration.isVarArgs() || declaration.getParameterTypes().length > NativeTrampolines.MAX_ARGUMENTS || !isIntegerClass(declaration.getReturnType())) {
+            return 0;
+        }
+        for (LLVMRuntimeType parameterType : declaration.getParameterTypes()) {
+            if (parameterType == LLVMRuntimeType.VOID || !isIntegerClass(parameterType) && parameterType != LLVMRuntimeType.FUNCTION_ADDRESS) {
+                return 0;
+            }
+        }
+        NativeTrampolines.initialize();
+        long nativeFunction = context.getNativeHandle(declaration.getName());
+        if (nativeFunction != 0) {
+            context.recordNativeCallSite(declaration);
+        }
+        return nativeFunction;
+    }
+
+    /**
+     * Returns the return type of a function whose address {@link #getNativeFunction} returned.
+     */
+    @TruffleBoundary
+    public LLVMRuntimeType getNativeReturnType(LLVMFunctionDescriptor function) {
+        return getDeclaration(function).getReturnType();
+    }
+
+    /**
+     * Calls a native function that may call back into Sulong. The caller has published its stack
+     * pointer with {@link LLVMContext#enterForeignCall}.
+     *
+     * @param nativeFunction an address returned by {@link #getNativeFunction}
+     */
+    @TruffleBoundary
+    public Object callNative(long nativeFunction, LLVMRuntimeType returnType, Object[] arguments) {
+        long[] nativeArguments = new long[NativeTrampolines.MAX_ARGUMENTS];
+        for (int i = 0; i < arguments.length; i++) {
+            nativeArguments[i] = toNativeArgument(arguments[i]);
+        }
+        long result = NativeTrampolines.callNative(nativeFunction, nativeArguments[0], nativeArguments[1], nativeArguments[2], nativeArguments[3], nativeArguments[4], nativeArguments[5]);
+        NativeTrampolines.rethrowPendingException();
+        return returnType == LLVMRuntimeType.VOID ? null : toSulong(returnType, result);
+    }
+
+    private long toNativeArgument(Object value) {
+        if (value instanceof LLVMAddress) {
+            return ((LLVMAddress) value).getVal();
+        } else if (value instanceof LLVMFunctionDescriptor) {
+            return getNativePointer((LLVMFunctionDescriptor) value);
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        } else {
+            return ((Number) value).longValue();
+        }
+    }
+
+    /**
+     * The trampolines pass arguments and return values in the integer registers.
+     */
+    private static boolean isIntegerClass(LLVMRuntimeType type) {
+        switch (type) {
+            case VOID:
+            case I1:
+            case I8:
+            case I16:
+            case I32:
+            case I64:
+            case ADDRESS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Throws the exception of a callback that native code called on the current thread. Native
+     * call sites call this method after the native function returned.
+     */
+    public void checkPendingException() {
+        if (!noCallbacks.isValid()) {
+            NativeTrampolines.rethrowPendingException();
+        }
+    }
+
+    private final class LLVMNativeCallback implements NativeCallback {
+
+        private final LLVMRuntimeType[] parameterTypes;
+        private final LLVMRuntimeType returnType;
+        private final RootCallTarget callTarget;
+
+        LLVMNativeCallback(LLVMFunctionDescriptor function, RootCallTarget callTarget) {
+            this.parameterTypes = function.getParameterTypes();
+            this.returnType = function.getReturnType();
+            this.callTarget = callTarget;
+        }
+
+        @Override
+        public long call(boolean attachedThread, long arg0, long arg1, long arg2, long arg3, long arg4, long arg5) {
+            if (attachedThread) {
+                return callOnThreadStack(arg0, arg1, arg2, arg3, arg4, arg5);
+            }
+            return call(context.getForeignEntryStackPointer(), arg0, arg1, arg2, arg3, arg4, arg5);
+        }
+
+        private long callOnThreadStack(long arg0, long arg1, long arg2, long arg3, long arg4, long arg5) {
+            LLVMStack stack = new LLVMStack();
+            LLVMAddress stackPointer = stack.allocate();
+            context.setThreadStack(stack);
+            try {
+                return call(stackPointer, arg0, arg1, arg2, arg3, arg4, arg5);
+            } finally {
+                context.removeThreadStack();
+                stack.free();
+            }
+        }
+
+        private long call(LLVMAddress stackPointer, long arg0, long arg1, long arg2, long arg3, long arg4, long arg5) {
+            long[] nativeArguments = {arg0, arg1, arg2, arg3, arg4, arg5};
+            Object[] arguments = new Object[LLVMCallNode.ARG_START_INDEX + parameterTypes.length];
+            arguments[0] = stackPointer;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                arguments[LLVMCallNode.ARG_START_INDEX + i] = toSulong(parameterTypes[i], nativeArguments[i]);
+            }
+            return toNative(returnType, callTarget.call(arguments));
+        }
+
+    }
+
+    private static Object toSulong(LLVMRuntimeType type, long value) {
+        switch (type) {
+            case I1:
+                return (byte) value != 0;
+            case I8:
+                return (byte) value;
+            case I16:
+                return (short) value;
+            case I32:
+                return (int) value;
+            case I64:
+                return value;
+            case ADDRESS:
+                return LLVMAddress.fromLong(value);
+            default:
+                throw new AssertionError(type);
+        }
+    }
+
+    private static long toNative(LLVMRuntimeType type, Object value) {
+        switch (type) {
+            case VOID:
+                return 0;
+            case I1:
+                return (boolean) value ? 1 : 0;
+            case I8:
+            case I16:
+            case I32:
+            case I64:
+                return ((Number) value).longValue();
+            case ADDRESS:
+                return ((LLVMAddress) value).getVal();
+            default:
+                throw new AssertionError(type);
+        }
+    }
+
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.base;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.llvm.runtime.LLVMExitException;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReason;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.memory.LLVMAllocator;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+import com.oracle.truffle.llvm.types.memory.LLVMStack;
+
+/**
+ * Backs the POSIX thread functions with Java threads and locks. Every thread started by
+ * {@link #createThread} gets its own {@link LLVMStack} and is identified by its Java thread id.
+ *
+ * Mutexes, condition variables, and once controls are identified by their address in native
+ * memory, so that statically initialized objects (e.g., <code>PTHREAD_MUTEX_INITIALIZER</code>) do
+ * not need an explicit initialization call. All mutexes are recursive.
+ *
+ * A call to <code>exit</code> from any thread ends the whole program with its status. The first
+ * status is recorded and all other threads are interrupted. A thread that waits in
+ * {@link #joinThread}, {@link #lockMutex} or {@link #awaitCondition}, or that calls one of them
+ * later, terminates with the recorded exit. The main thread returns the recorded status. Threads are
+ * daemon threads, so a thread that neither finishes nor calls a thread function does not keep the
+ * process alive.
+ */
+public final class LLVMThreadContext {
+
+    public static final long NO_DEADLINE = -1;
+
+    private static final long NO_THREAD = -1;
+
+    private static final int ONCE_INIT = 0;
+    private static final int ONCE_DONE = 1;
+
+    private final LLVMContext context;
+
+    private final Map<Long, LLVMThread> threads = new ConcurrentHashMap<>();
+    private final Map<Long, ReentrantLock> mutexes = new ConcurrentHashMap<>();
+    private final Map<Long, Object> conditions = new ConcurrentHashMap<>();
+    private final Map<Long, Object> onceControls = new ConcurrentHashMap<>();
+    private final Map<Integer, LLVMThreadKey> keys = new ConcurrentHashMap<>();
+    private final AtomicInteger nextKey = new AtomicInteger();
+    private final AtomicReference<Integer> exitStatus = new AtomicReference<>();
+    private volatile Thread mainThread;
+
+    LLVMThreadContext(LLVMContext context) {
+        this.context = context;
+    }
+
+    private static final class LLVMThread {
+
+        private Thread thread;
+        private Object returnValue = LLVMAddress.NULL_POINTER;
+        private boolean detached;
+        private boolean terminated;
+
+    }
+
+    private static final class LLVMThreadKey {
+
+        private final ThreadLocal<LLVMAddress> values = new ThreadLocal<>();
+        private final RootCallTarget destructor;
+
+        LLVMThreadKey(RootCallTarget destructor) {
+            this.destructor = destructor;
+        }
+
+    }
+
+    /**
+     * Terminates the current thread with a return value, as done by <code>pthread_exit</code>.
+     */
+    public static final class LLVMThreadExitException extends ControlFlowException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object returnValue;
+
+        public LLVMThreadExitException(Object returnValue) {
+            this.returnValue = returnValue;
+        }
+
+        public Object getReturnValue() {
+            return returnValue;
+        }
+
+    }
+
+    /**
+     * Starts a thread that calls <code>startRoutine</code> with <code>argument</code>.
+     *
+     * @return the id of the new thread
+     */
+    @TruffleBoundary
+    public long createThread(LLVMFunctionDescriptor startRoutine, LLVMAddress argument) {
+        RootCallTarget callTarget = getSulongFunction(startRoutine);
+        LLVMThread llvmThread = new LLVMThread();
+        Thread thread = new Thread(() -> run(llvmThread, callTarget, argument));
+        thread.setDaemon(true);
+        llvmThread.thread = thread;
+        threads.put(thread.getId(), llvmThread);
+        thread.start();
+        return thread.getId();
+    }
+
+    private void run(LLVMThread llvmThread, RootCallTarget startRoutine, LLVMAddress argument) {
+        LLVMStack threadStack = new LLVMStack();
+        LLVMAddress stackPointer = threadStack.allocate();
+        context.setThreadStack(threadStack);
+        Object returnValue = LLVMAddress.NULL_POINTER;
+        boolean exited = false;
+        try {
+            returnValue = startRoutine.call(stackPointer, argument);
+        } catch (LLVMThreadExitException e) {
+            returnValue = e.getReturnValue();
+        } catch (LLVMExitException e) {
+            exit(e.getReturnCode());
+            exited = true;
+        } finally {
+            if (!exited) {
+                runKeyDestructors(stackPointer);
+            }
+            context.removeThreadStack();
+            threadStack.free();
+            LLVMAllocator.releaseThreadCache();
+            synchronized (llvmThread) {
+                llvmThread.returnValue = returnValue;
+                llvmThread.terminated = true;
+                if (llvmThread.detached) {
+                    threads.remove(llvmThread.thread.getId());
+                }
+            }
+        }
+    }
+
+    private void runKeyDestructors(LLVMAddress stackPointer) {
+        for (LLVMThreadKey key : keys.values()) {
+            LLVMAddress value = key.values.get();
+            key.values.remove();
+            if (key.destructor != null && value != null && value.getVal() != 0) {
+                key.destructor.call(stackPointer, value);
+            }
+        }
+    }
+
+    /**
+     * Registers the thread that runs the main function, so that an <code>exit</code> from another
+     * thread can interrupt it.
+     */
+    @TruffleBoundary
+    public void setMainThread(Thread thread) {
+        mainThread = thread;
+    }
+
+    /**
+     * Unregisters the main thread when the program ends, and clears the interrupt that an
+     * <code>exit</code> from another thread sent to it.
+     */
+    @TruffleBoundary
+    public void leaveMainThread() {
+        mainThread = null;
+        if (exitStatus.get() != null) {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Ends the program with the given status, unless another thread already called
+     * <code>exit</code>. The main thread and all other threads are interrupted.
+     */
+    @TruffleBoundary
+    public void exit(int status) {
+        if (exitStatus.compareAndSet(null, status)) {
+            Thread current = Thread.currentThread();
+            for (LLVMThread llvmThread : threads.values()) {
+                if (llvmThread.thread != current) {
+                    llvmThread.thread.interrupt();
+                }
+            }
+            Thread main = mainThread;
+            if (main != null && main != current) {
+                main.interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return the status of the first <code>exit</code> call, or <code>null</code> if no thread
+     *         called it
+     */
+    @TruffleBoundary
+    public Integer getExitStatus() {
+        return exitStatus.get();
+    }
+
+    /**
+     * Terminates the calling thread if the program is exiting, and otherwise restores the interrupt
+     * of an interrupted wait.
+     */
+    private void checkExit(boolean interrupted) {
+        Integer status = exitStatus.get();
+        if (status != null) {
+            throw new LLVMExitException(status);
+        } else if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the termination of a thread.
+     *
+     * @return the value that the thread returned, or <code>null</code> if there is no joinable
+     *         thread with the given id
+     */
+    @TruffleBoundary
+    public Object joinThread(long threadId) {
+        LLVMThread llvmThread = threads.remove(threadId);
+        if (llvmThread == null || llvmThread.thread == Thread.currentThread()) {
+            return null;
+        }
+        boolean interrupted = false;
+        while (true) {
+            checkExit(false);
+            try {
+                llvmThread.thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        checkExit(interrupted);
+        synchronized (llvmThread) {
+            return llvmThread.returnValue;
+        }
+    }
+
+    /**
+     * Waits for the termination of all joinable threads, including the ones that are started while
+     * waiting. Detached threads are not waited for.
+     */
+    @TruffleBoundary
+    public void awaitThreads() {
+        long threadId;
+        while ((threadId = findJoinableThread()) != NO_THREAD) {
+            joinThread(threadId);
+        }
+    }
+
+    private long findJoinableThread() {
+        for (LLVMThread llvmThread : threads.values()) {
+            synchronized (llvmThread) {
+                if (!llvmThread.detached && llvmThread.thread != Thread.currentThread()) {
+                    return llvmThread.thread.getId();
+                }
+            }
+        }
+        return NO_THREAD;
+    }
+
+    @TruffleBoundary
+    public boolean detachThread(long threadId) {
+        LLVMThread llvmThread = threads.get(threadId);
+        if (llvmThread == null) {
+            return false;
+        }
+        synchronized (llvmThread) {
+            llvmThread.detached = true;
+            if (llvmThread.terminated) {
+                threads.remove(threadId);
+            }
+        }
+        return true;
+    }
+
+    public static long getCurrentThreadId() {
+        return Thread.currentThread().getId();
+    }
+
+    @TruffleBoundary
+    public void lockMutex(LLVMAddress mutex) {
+        lockInterruptibly(getMutex(mutex));
+    }
+
+    private void lockInterruptibly(ReentrantLock lock) {
+        boolean interrupted = false;
+        while (true) {
+            checkExit(false);
+            try {
+                lock.lockInterruptibly();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        checkExit(interrupted);
+    }
+
+    @TruffleBoundary
+    public boolean tryLockMutex(LLVMAddress mutex) {
+        return getMutex(mutex).tryLock();
+    }
+
+    /**
+     * @return <code>false</code> if the current thread does not own the mutex
+     */
+    @TruffleBoundary
+    public boolean unlockMutex(LLVMAddress mutex) {
+        ReentrantLock lock = getMutex(mutex);
+        if (!lock.isHeldByCurrentThread()) {
+            return false;
+        }
+        lock.unlock();
+        return true;
+    }
+
+    @TruffleBoundary
+    public void destroyMutex(LLVMAddress mutex) {
+        mutexes.remove(mutex.getVal());
+    }
+
+    private ReentrantLock getMutex(LLVMAddress mutex) {
+        return mutexes.computeIfAbsent(mutex.getVal(), address -> new ReentrantLock());
+    }
+
+    /**
+     * Releases the mutex, waits for a signal on the condition variable, and reacquires the mutex.
+     * The mutex is released only after the monitor of the condition variable has been entered, so
+     * that a signal sent after the release cannot get lost. Since all mutexes are recursive, every
+     * lock that the current thread holds is released, and the same number is acquired again.
+     *
+     * @param deadline the absolute time in milliseconds up to which to wait, or
+     *            {@link #NO_DEADLINE}
+     * @return <code>false</code> if the deadline passed
+     */
+    @TruffleBoundary
+    public boolean awaitCondition(LLVMAddress condition, LLVMAddress mutex, long deadline) {
+        Object monitor = getCondition(condition);
+        ReentrantLock lock = getMutex(mutex);
+        int holdCount = lock.getHoldCount();
+        boolean inTime = true;
+        boolean interrupted = false;
+        checkExit(false);
+        synchronized (monitor) {
+            for (int i = 0; i < holdCount; i++) {
+                lock.unlock();
+            }
+            try {
+                if (deadline == NO_DEADLINE) {
+                    monitor.wait();
+                } else {
+                    long timeout = deadline - System.currentTimeMillis();
+                    if (timeout > 0) {
+                        monitor.wait(timeout);
+                    }
+                    inTime = System.currentTimeMillis() < deadline;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        checkExit(interrupted);
+        if (holdCount > 0) {
+            lockInterruptibly(lock);
+            for (int i = 1; i < holdCount; i++) {
+                lock.lock();
+            }
+        }
+        return inTime;
+    }
+
+    @TruffleBoundary
+    public void signalCondition(LLVMAddress condition) {
+        Object monitor = getCondition(condition);
+        synchronized (monitor) {
+            monitor.notify();
+        }
+    }
+
+    @TruffleBoundary
+    public void broadcastCondition(LLVMAddress condition) {
+        Object monitor = getCondition(condition);
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    @TruffleBoundary
+    public void destroyCondition(LLVMAddress condition) {
+        conditions.remove(condition.getVal());
+    }
+
+    private Object getCondition(LLVMAddress condition) {
+        return conditions.computeIfAbsent(condition.getVal(), address -> new Object());
+    }
+
+    /**
+     * Creates a thread-specific data key, whose destructor is called with the non-null value of a
+     * thread when it terminates.
+     *
+     * @return the new key
+     */
+    @TruffleBoundary
+    public int createKey(LLVMFunctionDescriptor destructor) {
+        int key = nextKey.getAndIncrement();
+        keys.put(key, new LLVMThreadKey(context.getFunction(destructor)));
+        return key;
+    }
+
+    @TruffleBoundary
+    public boolean deleteKey(int key) {
+        return keys.remove(key) != null;
+    }
+
+    @TruffleBoundary
+    public LLVMAddress getSpecific(int key) {
+        LLVMThreadKey threadKey = keys.get(key);
+        if (threadKey == null) {
+            return LLVMAddress.NULL_POINTER;
+        }
+        LLVMAddress value = threadKey.values.get();
+        return value == null ? LLVMAddress.NULL_POINTER : value;
+    }
+
+    @TruffleBoundary
+    public boolean setSpecific(int key, LLVMAddress value) {
+        LLVMThreadKey threadKey = keys.get(key);
+        if (threadKey == null) {
+            return false;
+        }
+        threadKey.values.set(value);
+        return true;
+    }
+
+    /**
+     * Calls <code>initRoutine</code> if no thread has yet called it for the given once control.
+     * Threads that call this method while the routine runs wait for its completion.
+     */
+    @TruffleBoundary
+    public void runOnce(LLVMAddress onceControl, LLVMFunctionDescriptor initRoutine, LLVMAddress stackPointer) {
+        Object monitor = onceControls.computeIfAbsent(onceControl.getVal(), address -> new Object());
+        synchronized (monitor) {
+            if (LLVMMemory.getI32(onceControl) == ONCE_INIT) {
+                getSulongFunction(initRoutine).call(stackPointer);
+                LLVMMemory.putI32(onceControl, ONCE_DONE);
+            }
+        }
+    }
+
+    /**
+     * Thread start routines and once routines must be Sulong functions, since native functions can
+     * only be called through call sites that know their signature.
+     */
+    private RootCallTarget getSulongFunction(LLVMFunctionDescriptor function) {
+        RootCallTarget callTarget = context.getFunction(function);
+        if (callTarget == null) {
+            throw new LLVMUnsupportedException(UnsupportedReason.MULTITHREADING);
+        }
+        return callTarget;
+    }
+
+}
@@ -36,7 +36,7 @@ import com.oracle.truffle.llvm.types.vector.LLVMVector;
 public abstract class LLVMDoubleVectorNode extends LLVMVectorNode {
 
     @Override
-    public LLVMVector<?> executeVector(VirtualFrame frame) {
+    public LLVMVector executeVector(VirtualFrame frame) {
         return executeDoubleVector(frame);
     }
 
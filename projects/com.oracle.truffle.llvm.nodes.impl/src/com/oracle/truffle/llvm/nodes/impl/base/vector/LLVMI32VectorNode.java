@@ -38,7 +38,7 @@ public abstract class LLVMI32VectorNode extends LLVMVectorNode {
     public abstract LLVMI32Vector executeI32Vector(VirtualFrame frame);
 
     @Override
-    public LLVMVector<?> executeVector(VirtualFrame frame) {
+    public LLVMVector executeVector(VirtualFrame frame) {
         return executeI32Vector(frame);
     }
 
@@ -36,7 +36,7 @@ import com.oracle.truffle.llvm.types.vector.LLVMVector;
 public abstract class LLVMI64VectorNode extends LLVMVectorNode {
 
     @Override
-    public LLVMVector<?> executeVector(VirtualFrame frame) {
+    public LLVMVector executeVector(VirtualFrame frame) {
         return executeI64Vector(frame);
     }
 
@@ -40,6 +40,6 @@ public abstract class LLVMVectorNode extends LLVMExpressionNode {
         return executeVector(frame);
     }
 
-    public abstract LLVMVector<?> executeVector(VirtualFrame frame);
+    public abstract LLVMVector executeVector(VirtualFrame frame);
 
 }
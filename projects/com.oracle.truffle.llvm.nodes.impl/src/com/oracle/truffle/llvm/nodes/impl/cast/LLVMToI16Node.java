@@ -39,6 +39,7 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 
 public abstract class LLVMToI16Node extends LLVMI16Node {
@@ -100,6 +101,11 @@ public abstract class LLVMToI16Node extends LLVMI16Node {
     @NodeChild(value = "fromNode", type = LLVMIVarBitNode.class)
     public abstract static class LLVMIVarToI16Node extends LLVMToI16Node {
 
+        @Specialization
+        public short executeI128(LLVMI128 from) {
+            return (short) from.getLow();
+        }
+
         @Specialization
         public short executeI16(LLVMIVarBit from) {
             return from.getShortValue();
@@ -44,6 +44,7 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
 
@@ -124,6 +125,11 @@ public abstract class LLVMToI32Node extends LLVMI32Node {
     @NodeChild(value = "fromNode", type = LLVMIVarBitNode.class)
     public abstract static class LLVMIVarBitToI32Node extends LLVMToI32Node {
 
+        @Specialization
+        public int executeI128(LLVMI128 from) {
+            return (int) from.getLow();
+        }
+
         @Specialization
         public int executeI32(LLVMIVarBit from) {
             return from.getIntValue();
@@ -133,6 +139,11 @@ public abstract class LLVMToI32Node extends LLVMI32Node {
     @NodeChild(value = "fromNode", type = LLVMIVarBitNode.class)
     public abstract static class LLVMIVarBitToI32ZeroExtNode extends LLVMToI32Node {
 
+        @Specialization
+        public int executeI128(LLVMI128 from) {
+            return (int) from.getLow();
+        }
+
         @Specialization
         public int executeI32(LLVMIVarBit from) {
             return from.getZeroExtendedIntValue();
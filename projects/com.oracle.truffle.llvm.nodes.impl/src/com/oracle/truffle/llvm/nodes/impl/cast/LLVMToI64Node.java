@@ -45,6 +45,7 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMFloatVectorNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
 import com.oracle.truffle.llvm.types.vector.LLVMFloatVector;
@@ -126,6 +127,11 @@ public abstract class LLVMToI64Node extends LLVMI64Node {
     @NodeChild(value = "fromNode", type = LLVMIVarBitNode.class)
     public abstract static class LLVMIVarToI64Node extends LLVMToI64Node {
 
+        @Specialization
+        public long executeI128(LLVMI128 from) {
+            return from.getLow();
+        }
+
         @Specialization
         public long executeI64(LLVMIVarBit from) {
             return from.getLongValue();
@@ -135,6 +141,11 @@ public abstract class LLVMToI64Node extends LLVMI64Node {
     @NodeChild(value = "fromNode", type = LLVMIVarBitNode.class)
     public abstract static class LLVMIVarToI64ZeroExtNode extends LLVMToI64Node {
 
+        @Specialization
+        public long executeI128(LLVMI128 from) {
+            return from.getLow();
+        }
+
         @Specialization
         public long executeI64(LLVMIVarBit from) {
             return from.getZeroExtendedLongValue();
@@ -42,6 +42,7 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
 import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
 
@@ -95,6 +96,11 @@ public abstract class LLVMToI8Node extends LLVMI8Node {
     @NodeChild(value = "fromNode", type = LLVMIVarBitNode.class)
     public abstract static class LLVMIVarToI8Node extends LLVMToI8Node {
 
+        @Specialization
+        public byte executeI128(LLVMI128 from) {
+            return (byte) from.getLow();
+        }
+
         @Specialization
         public byte executeI8(LLVMIVarBit from) {
             return from.getByteValue();
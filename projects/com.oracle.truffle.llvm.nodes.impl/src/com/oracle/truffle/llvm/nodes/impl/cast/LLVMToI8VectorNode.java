@@ -30,60 +30,58 @@
 package com.oracle.truffle.llvm.nodes.impl.cast;
 
 import com.oracle.truffle.api.dsl.NodeChild;
-import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI16VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI64VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI8VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
 import com.oracle.truffle.llvm.types.vector.LLVMI32Vector;
 import com.oracle.truffle.llvm.types.vector.LLVMI64Vector;
 import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
-import com.oracle.truffle.llvm.types.vector.LLVMVector;
 
 public abstract class LLVMToI8VectorNode extends LLVMI8VectorNode {
 
-    @ExplodeLoop
-    protected LLVMI8Vector executeI8VectorBody(LLVMAddress target, LLVMVector<? extends Number> from) {
-        int length = from.getLength();
-
-        byte[] values = new byte[length];
-
-        for (int i = 0; i < length; i++) {
-            values[i] = from.getValue(i).byteValue();
-        }
-
-        return LLVMI8Vector.fromI8Array(target, values);
-    }
-
-    @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild(value = "fromNode", type = LLVMI16VectorNode.class)})
+    @NodeChild(value = "fromNode", type = LLVMI16VectorNode.class)
     public abstract static class LLVMI16VectorToI8VectorNode extends LLVMToI8VectorNode {
 
         @Specialization
-        public LLVMI8Vector executeI8Vector(LLVMAddress target, LLVMI16Vector from) {
-            return executeI8VectorBody(target, from);
+        @ExplodeLoop
+        public LLVMI8Vector executeI8Vector(LLVMI16Vector from) {
+            byte[] values = new byte[from.getLength()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (byte) from.getValue(i);
+            }
+            return LLVMI8Vector.create(values);
         }
     }
 
-    @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild(value = "fromNode", type = LLVMI32VectorNode.class)})
+    @NodeChild(value = "fromNode", type = LLVMI32VectorNode.class)
     public abstract static class LLVMI32VectorToI8VectorNode extends LLVMToI8VectorNode {
 
         @Specialization
-        public LLVMI8Vector executeI8Vector(LLVMAddress target, LLVMI32Vector from) {
-            return executeI8VectorBody(target, from);
+        @ExplodeLoop
+        public LLVMI8Vector executeI8Vector(LLVMI32Vector from) {
+            byte[] values = new byte[from.getLength()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (byte) from.getValue(i);
+            }
+            return LLVMI8Vector.create(values);
         }
     }
 
-    @NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild(value = "fromNode", type = LLVMI64VectorNode.class)})
+    @NodeChild(value = "fromNode", type = LLVMI64VectorNode.class)
     public abstract static class LLVMI64VectorToI8VectorNode extends LLVMToI8VectorNode {
 
         @Specialization
-        public LLVMI8Vector executeI8Vector(LLVMAddress target, LLVMI64Vector from) {
-            return executeI8VectorBody(target, from);
+        @ExplodeLoop
+        public LLVMI8Vector executeI8Vector(LLVMI64Vector from) {
+            byte[] values = new byte[from.getLength()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (byte) from.getValue(i);
+            }
+            return LLVMI8Vector.create(values);
         }
     }
 }
@@ -37,15 +37,25 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 
 public abstract class LLVMToVarINode extends LLVMIVarBitNode {
 
+    public abstract int getBits();
+
+    protected boolean isI128() {
+        return getBits() == LLVMI128.BIT_WIDTH;
+    }
+
     @NodeChild(value = "fromNode", type = LLVMI8Node.class)
     @NodeField(type = int.class, name = "bits")
     public abstract static class LLVMI8ToIVarNode extends LLVMToVarINode {
 
-        public abstract int getBits();
+        @Specialization(guards = "isI128()")
+        public LLVMI128 executeI128(byte from) {
+            return LLVMI128.fromLong(from);
+        }
 
         @Specialization
         public LLVMIVarBit executeI8(byte from) {
@@ -57,7 +67,10 @@ public abstract class LLVMToVarINode extends LLVMIVarBitNode {
     @NodeField(type = int.class, name = "bits")
     public abstract static class LLVMI16ToIVarNode extends LLVMToVarINode {
 
-        public abstract int getBits();
+        @Specialization(guards = "isI128()")
+        public LLVMI128 executeI128(short from) {
+            return LLVMI128.fromLong(from);
+        }
 
         @Specialization
         public LLVMIVarBit executeI16(short from) {
@@ -69,7 +82,10 @@ public abstract class LLVMToVarINode extends LLVMIVarBitNode {
     @NodeField(type = int.class, name = "bits")
     public abstract static class LLVMI32ToIVarNode extends LLVMToVarINode {
 
-        public abstract int getBits();
+        @Specialization(guards = "isI128()")
+        public LLVMI128 executeI128(int from) {
+            return LLVMI128.fromLong(from);
+        }
 
         @Specialization
         public LLVMIVarBit executeI32(int from) {
@@ -81,7 +97,10 @@ public abstract class LLVMToVarINode extends LLVMIVarBitNode {
     @NodeField(type = int.class, name = "bits")
     public abstract static class LLVMI32ToIVarZeroExtNode extends LLVMToVarINode {
 
-        public abstract int getBits();
+        @Specialization(guards = "isI128()")
+        public LLVMI128 executeI128(int from) {
+            return LLVMI128.fromUnsignedLong(Integer.toUnsignedLong(from));
+        }
 
         @Specialization
         public LLVMIVarBit executeI32(int from) {
@@ -93,7 +112,10 @@ public abstract class LLVMToVarINode extends LLVMIVarBitNode {
     @NodeField(type = int.class, name = "bits")
     public abstract static class LLVMI64ToIVarNode extends LLVMToVarINode {
 
-        public abstract int getBits();
+        @Specialization(guards = "isI128()")
+        public LLVMI128 executeI128(long from) {
+            return LLVMI128.fromLong(from);
+        }
 
         @Specialization
         public LLVMIVarBit executeI32(long from) {
@@ -105,7 +127,10 @@ public abstract class LLVMToVarINode extends LLVMIVarBitNode {
     @NodeField(type = int.class, name = "bits")
     public abstract static class LLVMI64ToIVarZeroExtNode extends LLVMToVarINode {
 
-        public abstract int getBits();
+        @Specialization(guards = "isI128()")
+        public LLVMI128 executeI128(long from) {
+            return LLVMI128.fromUnsignedLong(from);
+        }
 
         @Specialization
         public LLVMIVarBit executeI32(long from) {
@@ -118,8 +143,6 @@ public abstract class LLVMToVarINode extends LLVMIVarBitNode {
     @NodeField(type = int.class, name = "bits")
     public abstract static class LLVMIVarToIVarNode extends LLVMToVarINode {
 
-        public abstract int getBits();
-
         @Specialization
         public LLVMIVarBit executeI8(LLVMIVarBit from) {
             return LLVMIVarBit.create(getBits(), from.getSignExtendedBytes());
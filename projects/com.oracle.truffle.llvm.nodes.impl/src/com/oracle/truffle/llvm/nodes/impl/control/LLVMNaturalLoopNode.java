@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.control;
+
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMBasicBlockNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMTerminatorNode;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMBlockNode.LLVMLoopDispatchNode;
+
+/**
+ * Executes a natural loop as the terminator of a block without statements that replaces the loop
+ * header in the enclosing dispatch. The successors are the blocks at which the loop exits, which
+ * includes {@link LLVMRetNode#RETURN_FROM_FUNCTION} if a block of the loop returns. The Truffle
+ * loop node counts the iterations of this loop on its own and can compile it by on-stack
+ * replacement.
+ */
+public final class LLVMNaturalLoopNode extends LLVMTerminatorNode {
+
+    @Child private LoopNode loop;
+    private final FrameSlot exitIndexSlot;
+
+    public LLVMNaturalLoopNode(LLVMLoopDispatchNode body, FrameSlot exitIndexSlot, int... exits) {
+        super(exits);
+        this.loop = Truffle.getRuntime().createLoopNode(body);
+        this.exitIndexSlot = exitIndexSlot;
+    }
+
+    @Override
+    public int executeGetSuccessorIndex(VirtualFrame frame) {
+        loop.executeLoop(frame);
+        if (nrSuccessors() == 1) {
+            return LLVMBasicBlockNode.DEFAULT_SUCCESSOR;
+        }
+        return FrameUtil.getIntSafe(frame, exitIndexSlot);
+    }
+
+}
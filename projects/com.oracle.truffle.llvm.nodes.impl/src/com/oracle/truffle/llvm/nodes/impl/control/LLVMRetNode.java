@@ -192,7 +192,7 @@ public abstract class LLVMRetNode extends LLVMTerminatorNode {
     public abstract static class LLVMVectorRetNode extends LLVMRetNode {
 
         @Specialization
-        public int executeGetSuccessorIndex(VirtualFrame frame, LLVMVector<?> retResult) {
+        public int executeGetSuccessorIndex(VirtualFrame frame, LLVMVector retResult) {
             frame.setObject(getRetSlot(), retResult);
             return LLVMBasicBlockNode.DEFAULT_SUCCESSOR;
         }
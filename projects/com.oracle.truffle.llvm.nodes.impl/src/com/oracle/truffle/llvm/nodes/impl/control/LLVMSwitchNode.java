@@ -44,8 +44,8 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 // TODO remove code duplication
 public abstract class LLVMSwitchNode extends LLVMTerminatorNode {
 
-    private static final int DEFAULT_LABEL_INDEX = 0;
-    private static final int CASE_LABEL_START_INDEX = 1;
+    static final int DEFAULT_LABEL_INDEX = 0;
+    static final int CASE_LABEL_START_INDEX = 1;
     @Children final LLVMNode[] phiWriteNodes;
 
     public LLVMSwitchNode(int defaultLabel, int[] successors, LLVMNode[] phiWriteNodes) {
@@ -312,4 +312,96 @@ public abstract class LLVMSwitchNode extends LLVMTerminatorNode {
 
     }
 
+    /**
+     * Base class for switches with constant case values, which look up the successor in a
+     * {@link LLVMSwitchTable} instead of comparing the cases one by one.
+     *
+     * There is no profiling variant: the lookup has no per-case branches that a
+     * {@link ConditionProfile} could weight. The taken successors are still profiled by the
+     * enclosing block node when branch probabilities are injected.
+     */
+    public abstract static class LLVMTableSwitchBaseNode extends LLVMSwitchNode {
+
+        private final LLVMSwitchTable table;
+
+        public LLVMTableSwitchBaseNode(LLVMSwitchTable table, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(defaultLabel, successors, phiWriteNodes);
+            this.table = table;
+        }
+
+        @Override
+        public int executeGetSuccessorIndex(VirtualFrame frame) {
+            long val = executeCondition(frame);
+            executePhiWrites(frame);
+            return table.getSuccessorIndex(val);
+        }
+
+        abstract long executeCondition(VirtualFrame frame);
+
+    }
+
+    public static class LLVMI8TableSwitchNode extends LLVMTableSwitchBaseNode {
+
+        @Child private LLVMI8Node cond;
+
+        public LLVMI8TableSwitchNode(LLVMI8Node cond, LLVMSwitchTable table, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(table, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI8(frame);
+        }
+
+    }
+
+    public static class LLVMI16TableSwitchNode extends LLVMTableSwitchBaseNode {
+
+        @Child private LLVMI16Node cond;
+
+        public LLVMI16TableSwitchNode(LLVMI16Node cond, LLVMSwitchTable table, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(table, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI16(frame);
+        }
+
+    }
+
+    public static class LLVMI32TableSwitchNode extends LLVMTableSwitchBaseNode {
+
+        @Child private LLVMI32Node cond;
+
+        public LLVMI32TableSwitchNode(LLVMI32Node cond, LLVMSwitchTable table, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(table, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI32(frame);
+        }
+
+    }
+
+    public static class LLVMI64TableSwitchNode extends LLVMTableSwitchBaseNode {
+
+        @Child private LLVMI64Node cond;
+
+        public LLVMI64TableSwitchNode(LLVMI64Node cond, LLVMSwitchTable table, int[] successors, int defaultLabel, LLVMNode[] phiWriteNodes) {
+            super(table, successors, defaultLabel, phiWriteNodes);
+            this.cond = cond;
+        }
+
+        @Override
+        long executeCondition(VirtualFrame frame) {
+            return cond.executeI64(frame);
+        }
+
+    }
+
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.control;
+
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+
+/**
+ * Maps the constant case values of a switch to the successor index returned by
+ * {@link LLVMSwitchNode#executeGetSuccessorIndex}. Case values of all integer widths are
+ * sign-extended to <code>long</code>. The strategy is chosen when the AST is constructed.
+ */
+public abstract class LLVMSwitchTable {
+
+    /**
+     * Gets the successor index of the given condition value.
+     *
+     * @param value the sign-extended condition value
+     * @return the index of the matching case label, or the index of the default label
+     */
+    public abstract int getSuccessorIndex(long value);
+
+    /**
+     * A table indexed by the distance of the condition value to the smallest case value. Used when
+     * the case values are dense, so that the table does not contain too many default entries.
+     */
+    public static final class LLVMJumpTable extends LLVMSwitchTable {
+
+        private final long minValue;
+        @CompilationFinal private final int[] successorIndices;
+
+        public LLVMJumpTable(long[] caseValues, long minValue, int tableLength) {
+            CompilerAsserts.neverPartOfCompilation();
+            this.minValue = minValue;
+            successorIndices = new int[tableLength];
+            Arrays.fill(successorIndices, LLVMSwitchNode.DEFAULT_LABEL_INDEX);
+            for (int i = 0; i < caseValues.length; i++) {
+                successorIndices[(int) (caseValues[i] - minValue)] = i + LLVMSwitchNode.CASE_LABEL_START_INDEX;
+            }
+        }
+
+        @Override
+        public int getSuccessorIndex(long value) {
+            // the subtraction may wrap, but only values within the table end up in its range
+            long tableIndex = value - minValue;
+            if (tableIndex >= 0 && tableIndex < successorIndices.length) {
+                return successorIndices[(int) tableIndex];
+            }
+            return LLVMSwitchNode.DEFAULT_LABEL_INDEX;
+        }
+
+    }
+
+    /**
+     * A binary search over the sorted case values. Used for sparse case values, where a jump table
+     * would be mostly empty.
+     */
+    public static final class LLVMBinarySearchTable extends LLVMSwitchTable {
+
+        @CompilationFinal private final long[] sortedValues;
+        @CompilationFinal private final int[] successorIndices;
+
+        public LLVMBinarySearchTable(long[] caseValues) {
+            CompilerAsserts.neverPartOfCompilation();
+            Integer[] order = new Integer[caseValues.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(caseValues[a], caseValues[b]));
+            sortedValues = new long[caseValues.length];
+            successorIndices = new int[caseValues.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedValues[i] = caseValues[order[i]];
+                successorIndices[i] = order[i] + LLVMSwitchNode.CASE_LABEL_START_INDEX;
+            }
+        }
+
+        @Override
+        public int getSuccessorIndex(long value) {
+            int low = 0;
+            int high = sortedValues.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midValue = sortedValues[mid];
+                if (midValue < value) {
+                    low = mid + 1;
+                } else if (midValue > value) {
+                    high = mid - 1;
+                } else {
+                    return successorIndices[mid];
+                }
+            }
+            return LLVMSwitchNode.DEFAULT_LABEL_INDEX;
+        }
+
+    }
+
+}
@@ -50,6 +50,7 @@ import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMNativeCallbacks;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVM80BitFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI64NodeFactory.LLVMAddressToI64NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNodeFactory.LLVMFunctionCallChainNodeGen;
@@ -58,9 +59,8 @@ import com.oracle.truffle.llvm.nodes.impl.func.LLVMNativeCallConvertNode.LLVMRes
 import com.oracle.truffle.llvm.nodes.impl.literals.LLVMFunctionLiteralNode;
 import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI64LiteralNode;
 import com.oracle.truffle.llvm.runtime.LLVMLogger;
-import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException;
-import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReason;
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
@@ -69,34 +69,52 @@ public abstract class LLVMCallNode {
 
     public static final int ARG_START_INDEX = 1;
 
-    protected static LLVMExpressionNode[] prepareForNative(LLVMExpressionNode[] originalArgs, LLVMContext context) {
+    /**
+     * Converts the arguments of a call to the values that native code expects.
+     *
+     * @param callbacks whether the native function is called through
+     *            {@link LLVMResolvedDirectNativeCallbackCallNode}, so that it can call back Sulong
+     *            functions that are passed to it. Through the NFI, only functions that exist in the
+     *            native libraries can be passed.
+     */
+    protected static LLVMExpressionNode[] prepareForNative(LLVMExpressionNode[] originalArgs, LLVMContext context, boolean callbacks) {
         CompilerAsserts.neverPartOfCompilation();
         LLVMExpressionNode[] newNodes = new LLVMExpressionNode[originalArgs.length - LLVMCallNode.ARG_START_INDEX];
         for (int i = 0; i < newNodes.length; i++) {
-            newNodes[i] = getArgNode(originalArgs, i + LLVMCallNode.ARG_START_INDEX, context);
+            newNodes[i] = getArgNode(originalArgs, i + LLVMCallNode.ARG_START_INDEX, context, callbacks);
         }
         return newNodes;
     }
 
-    private static LLVMExpressionNode getArgNode(LLVMExpressionNode[] originalArgs, int i, LLVMContext context) {
+    private static LLVMExpressionNode getArgNode(LLVMExpressionNode[] originalArgs, int i, LLVMContext context, boolean callbacks) {
         if (originalArgs[i] instanceof LLVMAddressNode) {
             return LLVMAddressToI64NodeGen.create((LLVMAddressNode) originalArgs[i]);
         } else if (originalArgs[i] instanceof LLVM80BitFloatNode) {
             throw new AssertionError("foreign function interface does not support 80 bit floats yet");
-        } else if (originalArgs[i] instanceof LLVMFunctionNode) {
+        } else if (originalArgs[i] instanceof LLVMFunctionLiteralNode) {
             LLVMFunctionDescriptor function = ((LLVMFunctionLiteralNode) originalArgs[i]).executeFunction();
-            String functionName = function.getName();
-            long getNativeSymbol = context.getNativeHandle(functionName);
-            if (getNativeSymbol != 0) {
-                return new LLVMI64LiteralNode(getNativeSymbol);
-            } else {
-                throw new LLVMUnsupportedException(UnsupportedReason.FUNCTION_POINTER_ESCAPES_TO_NATIVE);
-            }
+            LLVMNativeCallbacks nativeCallbacks = context.getNativeCallbacks();
+            return new LLVMI64LiteralNode(callbacks ? nativeCallbacks.getNativePointer(function) : nativeCallbacks.getNativeSymbol(function));
+        } else if (originalArgs[i] instanceof LLVMFunctionNode) {
+            return LLVMFunctionToNativeNodeGen.create((LLVMFunctionNode) originalArgs[i], context, callbacks);
         } else {
             return originalArgs[i];
         }
     }
 
+    /**
+     * Whether a call passes a function pointer, which the callee may call back. A native callee
+     * then has to be called through the native callbacks of the context.
+     */
+    protected static boolean passesFunctionPointer(LLVMExpressionNode[] originalArgs) {
+        for (int i = LLVMCallNode.ARG_START_INDEX; i < originalArgs.length; i++) {
+            if (originalArgs[i] instanceof LLVMFunctionNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public abstract static class LLVMAbstractCallNode extends LLVMExpressionNode {
 
         @Children private final LLVMExpressionNode[] args;
@@ -140,7 +158,13 @@ public abstract class LLVMCallNode {
                 LLVMFunctionDescriptor function = functionNode.executeFunction(frame);
                 CallTarget callTarget = context.getFunction(function);
                 if (callTarget == null) {
-                    NativeFunctionHandle nativeHandle = context.getNativeHandle(function, prepareForNative(getArgs(), context));
+                    if (passesFunctionPointer(getArgs())) {
+                        long nativeFunction = context.getNativeCallbacks().getNativeFunction(function);
+                        if (nativeFunction != 0) {
+                            return replace(new LLVMResolvedDirectNativeCallbackCallNode(function, nativeFunction, getArgs(), context)).executeGeneric(frame);
+                        }
+                    }
+                    NativeFunctionHandle nativeHandle = context.getNativeHandle(function, prepareForNative(getArgs(), context, false));
                     if (nativeHandle == null) {
                         throw new IllegalStateException("could not find function " + function.getName());
                     }
@@ -181,16 +205,52 @@ public abstract class LLVMCallNode {
     public static class LLVMResolvedDirectNativeCallNode extends LLVMAbstractCallNode {
 
         private final NativeFunctionHandle functionHandle;
+        private final LLVMContext context;
 
         public LLVMResolvedDirectNativeCallNode(@SuppressWarnings("unused") LLVMFunctionDescriptor function, NativeFunctionHandle nativeFunctionHandle, LLVMExpressionNode[] args,
                         LLVMContext context) {
-            super(prepareForNative(args, context));
+            super(prepareForNative(args, context, false));
             functionHandle = nativeFunctionHandle;
+            this.context = context;
+        }
+
+        @Override
+        public Object executeGeneric(VirtualFrame frame) {
+            Object result = functionHandle.call(evaluateArgs(frame));
+            context.getNativeCallbacks().checkPendingException();
+            return result;
+        }
+
+    }
+
+    /**
+     * Call node for a native function where the function is constant and may call back a Sulong
+     * function that the call passes to it.
+     */
+    public static class LLVMResolvedDirectNativeCallbackCallNode extends LLVMAbstractCallNode {
+
+        @Child private LLVMExpressionNode stackPointer;
+        private final long nativeFunction;
+        private final LLVMRuntimeType returnType;
+        private final LLVMContext context;
+
+        public LLVMResolvedDirectNativeCallbackCallNode(LLVMFunctionDescriptor function, long nativeFunction, LLVMExpressionNode[] args, LLVMContext context) {
+            super(prepareForNative(args, context, true));
+            this.stackPointer = args[0];
+            this.nativeFunction = nativeFunction;
+            this.returnType = context.getNativeCallbacks().getNativeReturnType(function);
+            this.context = context;
         }
 
         @Override
         public Object executeGeneric(VirtualFrame frame) {
-            return functionHandle.call(evaluateArgs(frame));
+            Object[] argValues = evaluateArgs(frame);
+            LLVMAddress previousStackPointer = context.enterForeignCall((LLVMAddress) stackPointer.executeGeneric(frame));
+            try {
+                return context.getNativeCallbacks().callNative(nativeFunction, returnType, argValues);
+            } finally {
+                context.exitForeignCall(previousStackPointer);
+            }
         }
 
     }
@@ -272,7 +332,13 @@ public abstract class LLVMCallNode {
             if (CompilerDirectives.inInterpreter() && !printedNativePerformanceWarning) {
                 printIndirectNativeCallWarning(function);
             }
-            final NativeFunctionHandle nativeHandle = currentContext.getNativeHandle(function, prepareForNative(args, currentContext));
+            if (passesFunctionPointer(args)) {
+                long nativeFunction = currentContext.getNativeCallbacks().getNativeFunction(function);
+                if (nativeFunction != 0) {
+                    return getNativeCallbackCallTarget(currentContext, nativeFunction, currentContext.getNativeCallbacks().getNativeReturnType(function));
+                }
+            }
+            final NativeFunctionHandle nativeHandle = currentContext.getNativeHandle(function, prepareForNative(args, currentContext, false));
             if (nativeHandle == null) {
                 throw new IllegalStateException("could not find function " + function.getName());
             } else {
@@ -283,12 +349,32 @@ public abstract class LLVMCallNode {
                         Object[] arguments = frame.getArguments();
                         Object[] newArguments = new Object[arguments.length - LLVMCallNode.ARG_START_INDEX];
                         System.arraycopy(arguments, LLVMCallNode.ARG_START_INDEX, newArguments, 0, newArguments.length);
-                        return nativeHandle.call(newArguments);
+                        Object result = nativeHandle.call(newArguments);
+                        currentContext.getNativeCallbacks().checkPendingException();
+                        return result;
                     }
                 });
             }
         }
 
+        private static CallTarget getNativeCallbackCallTarget(LLVMContext currentContext, long nativeFunction, LLVMRuntimeType returnType) {
+            return Truffle.getRuntime().createCallTarget(new RootNode(LLVMLanguage.class, null, null) {
+
+                @Override
+                public Object execute(VirtualFrame frame) {
+                    Object[] arguments = frame.getArguments();
+                    Object[] newArguments = new Object[arguments.length - LLVMCallNode.ARG_START_INDEX];
+                    System.arraycopy(arguments, LLVMCallNode.ARG_START_INDEX, newArguments, 0, newArguments.length);
+                    LLVMAddress previousStackPointer = currentContext.enterForeignCall((LLVMAddress) arguments[0]);
+                    try {
+                        return currentContext.getNativeCallbacks().callNative(nativeFunction, returnType, newArguments);
+                    } finally {
+                        currentContext.exitForeignCall(previousStackPointer);
+                    }
+                }
+            });
+        }
+
         @Specialization(limit = "INLINE_CACHE_SIZE", guards = "function.getFunctionIndex() == cachedFunction.getFunctionIndex()")
         protected Object doDirect(VirtualFrame frame, @SuppressWarnings("unused") LLVMFunctionDescriptor function, Object[] arguments, //
                         @SuppressWarnings("unused") @Cached("function") LLVMFunctionDescriptor cachedFunction, //
@@ -159,8 +159,8 @@ public abstract class LLVMCallUnboxNode {
     public abstract static class LLVMVectorCallUnboxNode extends LLVMVectorNode {
 
         @Specialization
-        public LLVMVector<?> executeVector(Object value) {
-            return (LLVMVector<?>) value;
+        public LLVMVector executeVector(Object value) {
+            return (LLVMVector) value;
         }
     }
 
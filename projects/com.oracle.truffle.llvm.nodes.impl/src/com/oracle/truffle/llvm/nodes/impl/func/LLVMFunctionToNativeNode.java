@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.func;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeField;
+import com.oracle.truffle.api.dsl.NodeFields;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMNativeCallbacks;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+
+/**
+ * Converts a function pointer that is passed to a native function to an address that native code
+ * can call. Sulong functions only get an address if the native function is called in a way that
+ * allows it to call them back.
+ */
+@NodeChild(type = LLVMFunctionNode.class)
+@NodeFields({@NodeField(type = LLVMContext.class, name = "context"), @NodeField(type = boolean.class, name = "callbacks")})
+public abstract class LLVMFunctionToNativeNode extends LLVMI64Node {
+
+    protected static final int INLINE_CACHE_SIZE = LLVMBaseOptionFacade.getInlineCacheSize();
+
+    abstract LLVMContext getContext();
+
+    abstract boolean isCallbacks();
+
+    @Specialization(limit = "INLINE_CACHE_SIZE", guards = "function.getFunctionIndex() == cachedFunction.getFunctionIndex()")
+    public long executeCached(@SuppressWarnings("unused") LLVMFunctionDescriptor function, //
+                    @SuppressWarnings("unused") @Cached("function") LLVMFunctionDescriptor cachedFunction, //
+                    @Cached("getNativePointer(cachedFunction)") long nativePointer) {
+        return nativePointer;
+    }
+
+    @Specialization(contains = "executeCached")
+    public long executeUncached(LLVMFunctionDescriptor function) {
+        return getNativePointer(function);
+    }
+
+    protected long getNativePointer(LLVMFunctionDescriptor function) {
+        LLVMNativeCallbacks nativeCallbacks = getContext().getNativeCallbacks();
+        return isCallbacks() ? nativeCallbacks.getNativePointer(function) : nativeCallbacks.getNativeSymbol(function);
+    }
+
+}
@@ -46,22 +46,27 @@ import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMFrameUtil;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMThreadContext.LLVMThreadExitException;
 import com.oracle.truffle.llvm.runtime.LLVMExitException;
 import com.oracle.truffle.llvm.runtime.LLVMLogger;
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.memory.LLVMAllocator;
 
 /**
  * The global entry point initializes the global scope and starts execution with the main function.
  */
 public class LLVMGlobalRootNode extends RootNode {
 
+    private static final int PERCENT = 100;
+
     private final DirectCallNode main;
     @CompilationFinal private final Object[] arguments;
     private final LLVMContext context;
     // FIXME instead make the option system "PE safe"
     private final boolean printNativeStats = LLVMBaseOptionFacade.printNativeCallStats();
+    private final boolean printAllocatorStats = LLVMBaseOptionFacade.printAllocatorStats();
     private final int executionCount = LLVMBaseOptionFacade.getExecutionCount();
     private final boolean printExecutionTime = LLVMBaseOptionFacade.printExecutionTime();
     private final FrameSlot stackPointerSlot;
@@ -80,6 +85,7 @@ public class LLVMGlobalRootNode extends RootNode {
     @ExplodeLoop
     public Object execute(VirtualFrame frame) {
         LLVMAddress stackPointer = context.getStack().getUpperBounds();
+        context.getThreadContext().setMainThread(Thread.currentThread());
         try {
             Object result = null;
             for (int i = 0; i < executionCount; i++) {
@@ -99,16 +105,37 @@ public class LLVMGlobalRootNode extends RootNode {
                     executeStaticInits();
                 }
             }
-            return result;
+            return getExitStatus(result);
         } catch (LLVMExitException e) {
-            return e.getReturnCode();
+            context.getThreadContext().exit(e.getReturnCode());
+            return context.getThreadContext().getExitStatus();
+        } catch (LLVMThreadExitException e) {
+            // pthread_exit in main lets the joinable threads run to completion
+            try {
+                context.getThreadContext().awaitThreads();
+            } catch (LLVMExitException exit) {
+                // another thread called exit while main waited
+            }
+            return getExitStatus(0);
         } finally {
+            context.getThreadContext().leaveMainThread();
             if (printNativeStats) {
                 printNativeCallStats(context);
             }
+            if (printAllocatorStats) {
+                printAllocatorStats();
+            }
         }
     }
 
+    /**
+     * An <code>exit</code> in another thread overrides the result of the main function.
+     */
+    private Object getExitStatus(Object result) {
+        Integer exitStatus = context.getThreadContext().getExitStatus();
+        return exitStatus == null ? result : exitStatus;
+    }
+
     @TruffleBoundary
     private void printExecutionTime() {
         long executionTime = endExecutionTime - startExecutionTime;
@@ -123,6 +150,14 @@ public class LLVMGlobalRootNode extends RootNode {
         }
     }
 
+    @TruffleBoundary
+    private static void printAllocatorStats() {
+        LLVMLogger.unconditionalInfo(String.format("allocator: %d allocations, %d live blocks, %d live bytes, %d reserved bytes", LLVMAllocator.getAllocationCount(),
+                        LLVMAllocator.getLiveBlocks(), LLVMAllocator.getLiveBytes(), LLVMAllocator.getReservedBytes()));
+        LLVMLogger.unconditionalInfo(String.format("allocator: %.1f%% internal fragmentation, %.1f%% external fragmentation, %d frees of native memory",
+                        LLVMAllocator.getInternalFragmentation() * PERCENT, LLVMAllocator.getExternalFragmentation() * PERCENT, LLVMAllocator.getNativeFreeCount()));
+    }
+
     @TruffleBoundary
     private static void printNativeCallStats(LLVMContext context) {
         Map<LLVMFunctionDescriptor, Integer> nativeFunctionCallSites = context.getNativeFunctionLookupStats();
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.func;
+
+import java.util.function.Supplier;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+
+/**
+ * Placeholder for the body of a function whose AST has not been constructed yet. The real body is
+ * built by the front end the first time the function is called, after which this node replaces
+ * itself with it. The enclosing {@link LLVMFunctionStartNode} and its call target stay the same, so
+ * call sites and the function registry never observe the switch.
+ *
+ * The body is built while the program runs, on whichever thread calls the function first, so the
+ * factory runs as a translation for the context of the function, see
+ * {@link LLVMLanguage#enterTranslation}.
+ */
+public final class LLVMLazyFunctionBodyNode extends LLVMExpressionNode {
+
+    private final String functionName;
+    private final LLVMContext context;
+    private Supplier<LLVMExpressionNode> bodyFactory;
+    private LLVMExpressionNode body;
+
+    public LLVMLazyFunctionBodyNode(String functionName, LLVMContext context, Supplier<LLVMExpressionNode> bodyFactory) {
+        this.functionName = functionName;
+        this.context = context;
+        this.bodyFactory = bodyFactory;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        return materialize().executeGeneric(frame);
+    }
+
+    private synchronized LLVMExpressionNode materialize() {
+        if (body == null) {
+            LLVMExpressionNode newBody;
+            LLVMContext previous = LLVMLanguage.enterTranslation(context);
+            try {
+                newBody = bodyFactory.get();
+            } finally {
+                LLVMLanguage.leaveTranslation(previous);
+            }
+            body = replace(newBody, "lazily constructed body of " + functionName);
+            // the front end state captured by the factory is no longer needed
+            bodyFactory = null;
+        }
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return "<lazy " + functionName + ">";
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nativeint.NativeLookup;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMVoidIntrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMAllocator;
+
+/**
+ * Implements the memory allocation functions from stdlib.h with the {@link LLVMAllocator}. Pointers
+ * that native code allocated are released with the functions of the C library.
+ */
+public abstract class LLVMAllocatorIntrinsics {
+
+    @NodeChild(type = LLVMI64Node.class)
+    public abstract static class LLVMMalloc extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(long size) {
+            return LLVMAllocator.malloc(size);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMCalloc extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(long count, long size) {
+            return LLVMAllocator.calloc(count, size);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMRealloc extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress address, long size) {
+            if (LLVMAllocator.isNativeAllocation(address)) {
+                return reallocateNative(address, size);
+            }
+            return LLVMAllocator.realloc(address, size);
+        }
+
+        @TruffleBoundary
+        private static LLVMAddress reallocateNative(LLVMAddress address, long size) {
+            return LLVMAddress.fromLong(NativeLookup.reallocateNativeMemory(address.getVal(), size));
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMAllocatorFree extends LLVMVoidIntrinsic {
+
+        @Specialization
+        public void executeIntrinsic(LLVMAddress address) {
+            if (!LLVMAllocator.free(address)) {
+                freeNative(address);
+            }
+        }
+
+        @TruffleBoundary
+        private static void freeNative(LLVMAddress address) {
+            NativeLookup.freeNativeMemory(address.getVal());
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMPosixMemalign extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress memptr, long alignment, long size) {
+            return LLVMAllocator.posixMemalign(memptr, alignment, size);
+        }
+
+    }
+
+}
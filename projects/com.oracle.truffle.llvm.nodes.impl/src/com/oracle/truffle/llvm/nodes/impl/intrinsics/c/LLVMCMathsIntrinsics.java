@@ -30,15 +30,29 @@
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
 
 import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMDoubleIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
 
 /**
- * Implements the C functions from math.h.
+ * Implements the C functions from math.h, and <code>abs</code> from stdlib.h.
  */
 public abstract class LLVMCMathsIntrinsics {
 
+    /**
+     * Computes <code>pow</code> as specified by C99. Unlike {@link Math#pow}, a base of 1 yields 1
+     * for every exponent, including NaN, and a base of -1 yields 1 for infinite exponents.
+     */
+    public static double pow(double base, double exponent) {
+        if (base == 1.0 || (base == -1.0 && Double.isInfinite(exponent))) {
+            return 1.0;
+        }
+        return Math.pow(base, exponent);
+    }
+
     @NodeChild(type = LLVMDoubleNode.class)
     public abstract static class LLVMSqrt extends LLVMDoubleIntrinsic {
 
@@ -49,4 +63,64 @@ public abstract class LLVMCMathsIntrinsics {
 
     }
 
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMFAbs extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.abs(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMFloor extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.floor(value);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMDoubleNode.class), @NodeChild(type = LLVMDoubleNode.class)})
+    public abstract static class LLVMPow extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double base, double exponent) {
+            return pow(base, exponent);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMExp extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.exp(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMDoubleNode.class)
+    public abstract static class LLVMLog extends LLVMDoubleIntrinsic {
+
+        @Specialization
+        public double executeIntrinsic(double value) {
+            return Math.log(value);
+        }
+
+    }
+
+    @NodeChild(type = LLVMI32Node.class)
+    public abstract static class LLVMAbs extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(int value) {
+            return Math.abs(value);
+        }
+
+    }
+
 }
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.NodeField;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMFunctionNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMThreadContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMThreadContext.LLVMThreadExitException;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMVoidIntrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Implements the functions from pthread.h with the {@link LLVMThreadContext} of the program.
+ * Thread, mutex, and condition variable attributes are ignored.
+ */
+public abstract class LLVMPThreadIntrinsics {
+
+    private static final int SUCCESS = 0;
+    private static final int EPERM = 1;
+    private static final int ESRCH = 3;
+    private static final int EBUSY = 16;
+    private static final int EINVAL = 22;
+    private static final int ETIMEDOUT = 110;
+
+    private static final int STACK_POINTER_ARGUMENT = 0;
+
+    private static final int TIMESPEC_NANOSECONDS_OFFSET = 8;
+    private static final long MILLISECONDS_PER_SECOND = 1000;
+    private static final long NANOSECONDS_PER_MILLISECOND = 1000000;
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMFunctionNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadCreate extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress thread, @SuppressWarnings("unused") LLVMAddress attributes, LLVMFunctionDescriptor startRoutine, LLVMAddress argument) {
+            long threadId = getContext().getThreadContext().createThread(startRoutine, argument);
+            LLVMMemory.putI64(thread, threadId);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadJoin extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(long thread, LLVMAddress returnValue) {
+            Object result = getContext().getThreadContext().joinThread(thread);
+            if (result == null) {
+                return ESRCH;
+            }
+            if (returnValue.getVal() != 0) {
+                LLVMMemory.putAddress(returnValue, (LLVMAddress) result);
+            }
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChild(type = LLVMI64Node.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadDetach extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(long thread) {
+            return getContext().getThreadContext().detachThread(thread) ? SUCCESS : ESRCH;
+        }
+
+    }
+
+    public abstract static class LLVMPThreadSelf extends LLVMI64Intrinsic {
+
+        @Specialization
+        public long executeIntrinsic() {
+            return LLVMThreadContext.getCurrentThreadId();
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMPThreadEqual extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(long thread1, long thread2) {
+            return thread1 == thread2 ? 1 : 0;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMPThreadExit extends LLVMVoidIntrinsic {
+
+        @Specialization
+        public void executeIntrinsic(LLVMAddress returnValue) {
+            throw new LLVMThreadExitException(returnValue);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadMutexInit extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress mutex, @SuppressWarnings("unused") LLVMAddress attributes) {
+            getContext().getThreadContext().destroyMutex(mutex);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadMutexLock extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress mutex) {
+            getContext().getThreadContext().lockMutex(mutex);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadMutexTryLock extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress mutex) {
+            return getContext().getThreadContext().tryLockMutex(mutex) ? SUCCESS : EBUSY;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadMutexUnlock extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress mutex) {
+            return getContext().getThreadContext().unlockMutex(mutex) ? SUCCESS : EPERM;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadMutexDestroy extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress mutex) {
+            getContext().getThreadContext().destroyMutex(mutex);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadCondInit extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress condition, @SuppressWarnings("unused") LLVMAddress attributes) {
+            getContext().getThreadContext().destroyCondition(condition);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadCondWait extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress condition, LLVMAddress mutex) {
+            getContext().getThreadContext().awaitCondition(condition, mutex, LLVMThreadContext.NO_DEADLINE);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadCondTimedWait extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress condition, LLVMAddress mutex, LLVMAddress absoluteTime) {
+            long seconds = LLVMMemory.getI64(absoluteTime);
+            long nanoseconds = LLVMMemory.getI64(absoluteTime.increment(TIMESPEC_NANOSECONDS_OFFSET));
+            long deadline = seconds * MILLISECONDS_PER_SECOND + nanoseconds / NANOSECONDS_PER_MILLISECOND;
+            boolean inTime = getContext().getThreadContext().awaitCondition(condition, mutex, deadline);
+            return inTime ? SUCCESS : ETIMEDOUT;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadCondSignal extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress condition) {
+            getContext().getThreadContext().signalCondition(condition);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadCondBroadcast extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress condition) {
+            getContext().getThreadContext().broadcastCondition(condition);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadCondDestroy extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress condition) {
+            getContext().getThreadContext().destroyCondition(condition);
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMFunctionNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadKeyCreate extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress key, LLVMFunctionDescriptor destructor) {
+            LLVMMemory.putI32(key, getContext().getThreadContext().createKey(destructor));
+            return SUCCESS;
+        }
+
+    }
+
+    @NodeChild(type = LLVMI32Node.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadKeyDelete extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(int key) {
+            return getContext().getThreadContext().deleteKey(key) ? SUCCESS : EINVAL;
+        }
+
+    }
+
+    @NodeChild(type = LLVMI32Node.class)
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadGetSpecific extends LLVMAddressIntrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(int key) {
+            return getContext().getThreadContext().getSpecific(key);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadSetSpecific extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(int key, LLVMAddress value) {
+            return getContext().getThreadContext().setSpecific(key, value) ? SUCCESS : EINVAL;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMFunctionNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
+    public abstract static class LLVMPThreadOnce extends LLVMI32Intrinsic {
+
+        abstract LLVMContext getContext();
+
+        @Specialization
+        public int executeIntrinsic(VirtualFrame frame, LLVMAddress onceControl, LLVMFunctionDescriptor initRoutine) {
+            // the init routine allocates its frame below the one of the caller
+            LLVMAddress stackPointer = (LLVMAddress) frame.getArguments()[STACK_POINTER_ARGUMENT];
+            getContext().getThreadContext().runOnce(onceControl, initRoutine, stackPointer);
+            return SUCCESS;
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.c;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Implements the C functions from string.h.
+ *
+ * The scanning functions read memory a word at a time. Strings are only read with aligned words,
+ * so that a read never crosses a page boundary behind the terminating zero byte; the functions with
+ * an explicit length read unaligned words within that length.
+ */
+public abstract class LLVMStringIntrinsics {
+
+    private static final int WORD_SIZE = Long.BYTES;
+    private static final long WORD_ALIGNMENT_MASK = WORD_SIZE - 1;
+
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * Returns whether one of the bytes of the word is zero, see "Determine if a word has a zero
+     * byte" in Bit Twiddling Hacks.
+     */
+    private static boolean hasZeroByte(long word) {
+        return ((word - LOW_BITS) & ~word & HIGH_BITS) != 0;
+    }
+
+    private static long strlen(long string) {
+        long address = string;
+        while ((address & WORD_ALIGNMENT_MASK) != 0) {
+            if (LLVMMemory.getI8(address) == 0) {
+                return address - string;
+            }
+            address++;
+        }
+        while (!hasZeroByte(LLVMMemory.getI64(address))) {
+            address += WORD_SIZE;
+        }
+        while (LLVMMemory.getI8(address) != 0) {
+            address++;
+        }
+        return address - string;
+    }
+
+    private static int compareBytes(byte b1, byte b2) {
+        return (b1 & LLVMI8Node.MASK) - (b2 & LLVMI8Node.MASK);
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMStrlen extends LLVMI64Intrinsic {
+
+        @Specialization
+        public long executeIntrinsic(LLVMAddress string) {
+            return strlen(string.getVal());
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMStrcmp extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress string1, LLVMAddress string2) {
+            long address1 = string1.getVal();
+            long address2 = string2.getVal();
+            if (((address1 ^ address2) & WORD_ALIGNMENT_MASK) == 0) {
+                // both strings reach a word boundary at the same offset
+                while ((address1 & WORD_ALIGNMENT_MASK) != 0) {
+                    byte b1 = LLVMMemory.getI8(address1);
+                    byte b2 = LLVMMemory.getI8(address2);
+                    if (b1 != b2 || b1 == 0) {
+                        return compareBytes(b1, b2);
+                    }
+                    address1++;
+                    address2++;
+                }
+                while (true) {
+                    long word1 = LLVMMemory.getI64(address1);
+                    if (word1 != LLVMMemory.getI64(address2) || hasZeroByte(word1)) {
+                        break;
+                    }
+                    address1 += WORD_SIZE;
+                    address2 += WORD_SIZE;
+                }
+            }
+            while (true) {
+                byte b1 = LLVMMemory.getI8(address1);
+                byte b2 = LLVMMemory.getI8(address2);
+                if (b1 != b2 || b1 == 0) {
+                    return compareBytes(b1, b2);
+                }
+                address1++;
+                address2++;
+            }
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMMemcmp extends LLVMI32Intrinsic {
+
+        @Specialization
+        public int executeIntrinsic(LLVMAddress memory1, LLVMAddress memory2, long length) {
+            long address1 = memory1.getVal();
+            long address2 = memory2.getVal();
+            long end1 = address1 + length;
+            while (end1 - address1 >= WORD_SIZE && LLVMMemory.getI64(address1) == LLVMMemory.getI64(address2)) {
+                address1 += WORD_SIZE;
+                address2 += WORD_SIZE;
+            }
+            while (address1 != end1) {
+                byte b1 = LLVMMemory.getI8(address1);
+                byte b2 = LLVMMemory.getI8(address2);
+                if (b1 != b2) {
+                    return compareBytes(b1, b2);
+                }
+                address1++;
+                address2++;
+            }
+            return 0;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMMemchr extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress memory, int character, long length) {
+            byte value = (byte) character;
+            long pattern = (value & LLVMI8Node.MASK) * LOW_BITS;
+            long address = memory.getVal();
+            long end = address + length;
+            while (end - address >= WORD_SIZE && !hasZeroByte(LLVMMemory.getI64(address) ^ pattern)) {
+                address += WORD_SIZE;
+            }
+            while (address != end) {
+                if (LLVMMemory.getI8(address) == value) {
+                    return LLVMAddress.fromLong(address);
+                }
+                address++;
+            }
+            return LLVMAddress.NULL_POINTER;
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMStrcpy extends LLVMAddressIntrinsic {
+
+        @Specialization
+        public LLVMAddress executeIntrinsic(LLVMAddress destination, LLVMAddress source) {
+            LLVMHeap.memCopy(destination, source, strlen(source.getVal()) + 1);
+            return destination;
+        }
+
+    }
+
+}
@@ -36,36 +36,41 @@ import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.IndirectCallNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
-import com.oracle.truffle.llvm.types.memory.LLVMStack;
 
 @NodeChildren({@NodeChild("receiver"), @NodeChild("arguments")})
 public abstract class LLVMForeignCallNode extends LLVMExpressionNode {
 
     private final LLVMContext context;
-    private final LLVMStack stack;
 
     protected LLVMForeignCallNode(LLVMContext context) {
         this.context = context;
-        this.stack = context.getStack();
     }
 
     public abstract Object executeCall(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments);
 
+    /**
+     * The common case of a call site that always calls the same function with the same number of
+     * arguments. The arguments are packed with an exploded loop of constant length, so that the
+     * packed array can be virtualized when the callee is inlined.
+     */
     @SuppressWarnings("unused")
-    @Specialization(guards = "function.getFunctionIndex() == functionIndex")
+    @Specialization(guards = {"function.getFunctionIndex() == functionIndex", "arguments.length == argumentCount"})
     public Object callDirect(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments,
                     @Cached("function.getFunctionIndex()") int functionIndex,
+                    @Cached("arguments.length") int argumentCount,
                     @Cached("create(getCallTarget(function))") DirectCallNode callNode) {
         assert function.getReturnType() != LLVMRuntimeType.STRUCT;
-        return callNode.call(frame, packArguments(arguments));
+        return callNode.call(frame, packArguments(arguments, argumentCount));
     }
 
-    @Specialization
+    @Specialization(contains = "callDirect")
     public Object callIndirect(VirtualFrame frame, LLVMFunctionDescriptor function, Object[] arguments,
                     @Cached("create()") IndirectCallNode callNode) {
         assert function.getReturnType() != LLVMRuntimeType.STRUCT;
@@ -76,10 +81,24 @@ public abstract class LLVMForeignCallNode extends LLVMExpressionNode {
         return context.getFunction(function);
     }
 
+    /**
+     * The callee starts its frame at the stack pointer of the innermost Sulong function that called
+     * out to the foreign language, so that it does not overwrite the frames that are still live.
+     */
+    @ExplodeLoop
+    private Object[] packArguments(Object[] arguments, int argumentCount) {
+        final Object[] packedArguments = new Object[LLVMCallNode.ARG_START_INDEX + argumentCount];
+        packedArguments[0] = context.getForeignEntryStackPointer();
+        for (int i = 0; i < argumentCount; i++) {
+            packedArguments[LLVMCallNode.ARG_START_INDEX + i] = arguments[i];
+        }
+        return packedArguments;
+    }
+
     private Object[] packArguments(Object[] arguments) {
-        final Object[] packedArguments = new Object[1 + arguments.length];
-        packedArguments[0] = stack.getUpperBounds();
-        System.arraycopy(arguments, 0, packedArguments, 1, arguments.length);
+        final Object[] packedArguments = new Object[LLVMCallNode.ARG_START_INDEX + arguments.length];
+        packedArguments[0] = context.getForeignEntryStackPointer();
+        System.arraycopy(arguments, 0, packedArguments, LLVMCallNode.ARG_START_INDEX, arguments.length);
         return packedArguments;
     }
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+/**
+ * Decodes the identifier that C code passes to an interop intrinsic, e.g., the member name of
+ * <code>truffle_read</code>.
+ *
+ * The decoded identifier is cached in the node for each address it sees, which makes it a
+ * compilation constant when the address is one (as for string literals). The cached bytes are
+ * compared with the memory on every access, since the program can change the string at an address.
+ * Sites that see more addresses than the inline cache holds use the address-keyed cache of
+ * {@link LLVMTruffleIntrinsicUtil#readIdentifier}.
+ */
+public abstract class LLVMIdentifierNode extends Node {
+
+    protected static final int INLINE_CACHE_SIZE = LLVMBaseOptionFacade.getInlineCacheSize();
+
+    public abstract String executeWithTarget(LLVMAddress address);
+
+    @SuppressWarnings("unused")
+    @Specialization(limit = "INLINE_CACHE_SIZE", guards = {"address.getVal() == cachedAddress", "contentEquals(cachedAddress, cachedBytes)"})
+    protected String doCached(LLVMAddress address, @Cached("address.getVal()") long cachedAddress, @Cached("getBytes(address)") byte[] cachedBytes,
+                    @Cached("toString(cachedBytes)") String cachedIdentifier) {
+        return cachedIdentifier;
+    }
+
+    @Specialization(contains = "doCached")
+    protected String doUncached(LLVMAddress address) {
+        return LLVMTruffleIntrinsicUtil.readIdentifier(address);
+    }
+
+    protected static byte[] getBytes(LLVMAddress address) {
+        return LLVMTruffleIntrinsicUtil.readBytes(address);
+    }
+
+    protected static String toString(byte[] bytes) {
+        return LLVMTruffleIntrinsicUtil.decode(bytes);
+    }
+
+    protected static boolean contentEquals(long address, byte[] bytes) {
+        return LLVMTruffleIntrinsicUtil.contentEquals(address, bytes);
+    }
+
+}
@@ -32,6 +32,7 @@ package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.ArityException;
@@ -42,6 +43,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMBooleanIntrinsic;
@@ -50,40 +52,34 @@ import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMFloa
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI32Intrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI64Intrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMI8Intrinsic;
+import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMTruffleObject;
 
 public final class LLVMTruffleExecute {
 
     private static final int NAMED_ARGS = 1;
 
-    private static Object doExecute(VirtualFrame frame, Node foreignExecute, LLVMTruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType) {
-        int argsLength = getFunctionArgumentLength(frame);
-        Object[] args = new Object[argsLength];
-        for (int i = LLVMCallNode.ARG_START_INDEX + NAMED_ARGS, j = 0; i < frame.getArguments().length; i++, j++) {
-            args[j] = frame.getArguments()[i];
-        }
-        try {
-            if (value.getOffset() != 0 || value.getName() != null) {
-                throw new IllegalAccessError("Pointee must be unmodified");
-            }
-            Object rawValue = ForeignAccess.sendExecute(foreignExecute, frame, value.getObject(), args);
-            return toLLVM.convert(frame, rawValue, expectedType);
-        } catch (UnsupportedMessageException | UnsupportedTypeException | ArityException e) {
-            throw new IllegalStateException(e);
+    private static Object doExecute(VirtualFrame frame, LLVMContext context, Node foreignExecute, LLVMTruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType) {
+        if (value.getOffset() != 0 || value.getName() != null) {
+            throw new IllegalAccessError("Pointee must be unmodified");
         }
+        return doExecute(frame, context, foreignExecute, value.getObject(), toLLVM, expectedType);
     }
 
-    private static Object doExecute(VirtualFrame frame, Node foreignExecute, TruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType) {
+    private static Object doExecute(VirtualFrame frame, LLVMContext context, Node foreignExecute, TruffleObject value, ToLLVMNode toLLVM, Class<?> expectedType) {
         int argsLength = getFunctionArgumentLength(frame);
         Object[] args = new Object[argsLength];
         for (int i = LLVMCallNode.ARG_START_INDEX + NAMED_ARGS, j = 0; i < frame.getArguments().length; i++, j++) {
             args[j] = frame.getArguments()[i];
         }
+        LLVMAddress previousStackPointer = context.enterForeignCall((LLVMAddress) frame.getArguments()[0]);
         try {
             Object rawValue = ForeignAccess.sendExecute(foreignExecute, frame, value, args);
             return toLLVM.convert(frame, rawValue, expectedType);
         } catch (UnsupportedMessageException | UnsupportedTypeException | ArityException e) {
             throw new IllegalStateException(e);
+        } finally {
+            context.exitForeignCall(previousStackPointer);
         }
     }
 
@@ -92,6 +88,7 @@ public final class LLVMTruffleExecute {
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleExecuteP extends LLVMAddressIntrinsic {
 
         @Child private Node foreignExecute;
@@ -99,13 +96,15 @@ public final class LLVMTruffleExecute {
 
         private static final Class<?> expectedType = TruffleObject.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public Object executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value) {
             if (foreignExecute == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
 
         @Specialization
@@ -114,11 +113,12 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleExecuteI extends LLVMI32Intrinsic {
 
         @Child private Node foreignExecute;
@@ -126,13 +126,15 @@ public final class LLVMTruffleExecute {
 
         private static final Class<?> expectedType = int.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public int executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value) {
             if (foreignExecute == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (int) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
 
         @Specialization
@@ -141,11 +143,12 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (int) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleExecuteL extends LLVMI64Intrinsic {
 
         @Child private Node foreignExecute;
@@ -153,13 +156,15 @@ public final class LLVMTruffleExecute {
 
         private static final Class<?> expectedType = long.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public long executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value) {
             if (foreignExecute == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (long) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
 
         @Specialization
@@ -168,11 +173,12 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (long) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleExecuteC extends LLVMI8Intrinsic {
 
         @Child private Node foreignExecute;
@@ -180,13 +186,15 @@ public final class LLVMTruffleExecute {
 
         private static final Class<?> expectedType = byte.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public byte executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value) {
             if (foreignExecute == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (byte) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
 
         @Specialization
@@ -195,11 +203,12 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (byte) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleExecuteF extends LLVMFloatIntrinsic {
 
         @Child private Node foreignExecute;
@@ -207,13 +216,15 @@ public final class LLVMTruffleExecute {
 
         private static final Class<?> expectedType = float.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public float executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value) {
             if (foreignExecute == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (float) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
 
         @Specialization
@@ -222,11 +233,12 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (float) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleExecuteD extends LLVMDoubleIntrinsic {
 
         @Child private Node foreignExecute;
@@ -234,13 +246,15 @@ public final class LLVMTruffleExecute {
 
         private static final Class<?> expectedType = double.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public double executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value) {
             if (foreignExecute == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (double) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
 
         @Specialization
@@ -249,11 +263,12 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (double) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleExecuteB extends LLVMBooleanIntrinsic {
 
         @Child private Node foreignExecute;
@@ -261,13 +276,15 @@ public final class LLVMTruffleExecute {
 
         private static final Class<?> expectedType = boolean.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public boolean executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value) {
             if (foreignExecute == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (boolean) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
 
         @Specialization
@@ -276,7 +293,7 @@ public final class LLVMTruffleExecute {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignExecute = insert(Message.createExecute(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doExecute(frame, foreignExecute, value, toLLVM, expectedType);
+            return (boolean) doExecute(frame, getContext(), foreignExecute, value, toLLVM, expectedType);
         }
     }
 }
@@ -39,9 +39,11 @@ import com.oracle.truffle.llvm.types.LLVMAddress;
 @NodeChild(type = LLVMAddressNode.class)
 public abstract class LLVMTruffleImport extends LLVMAddressIntrinsic {
 
+    @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
+
     @Specialization
     public Object executeIntrinsic(LLVMAddress value) {
-        String id = LLVMTruffleIntrinsicUtil.readString(value);
+        String id = identifier.executeWithTarget(value);
         return LLVMLanguage.INSTANCE.getEnvironment().importSymbol(id);
     }
 
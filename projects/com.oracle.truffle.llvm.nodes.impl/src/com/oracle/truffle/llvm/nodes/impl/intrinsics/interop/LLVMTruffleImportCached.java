@@ -43,11 +43,12 @@ import com.oracle.truffle.llvm.types.LLVMAddress;
 @NodeChild(type = LLVMAddressNode.class)
 public abstract class LLVMTruffleImportCached extends LLVMAddressIntrinsic {
 
+    @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
     @Child private ImportCache cache = ImportCacheNodeGen.create();
 
     @Specialization
     public Object executeIntrinsic(LLVMAddress value) {
-        String id = LLVMTruffleIntrinsicUtil.readString(value);
+        String id = identifier.executeWithTarget(value);
         return cache.execute(id);
     }
 
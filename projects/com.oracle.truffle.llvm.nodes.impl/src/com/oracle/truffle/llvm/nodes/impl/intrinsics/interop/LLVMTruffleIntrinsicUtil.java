@@ -29,12 +29,32 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
 public final class LLVMTruffleIntrinsicUtil {
 
+    private static final int MAX_CACHED_IDENTIFIERS = 1024;
+
+    private static final Map<Long, CachedIdentifier> identifiers = new ConcurrentHashMap<>();
+
+    private static final class CachedIdentifier {
+
+        private final byte[] bytes;
+        private final String identifier;
+
+        CachedIdentifier(byte[] bytes) {
+            this.bytes = bytes;
+            this.identifier = decode(bytes);
+        }
+
+    }
+
     @TruffleBoundary
     public static String readString(LLVMAddress value) {
         byte c;
@@ -46,4 +66,64 @@ public final class LLVMTruffleIntrinsicUtil {
         }
         return sb.toString();
     }
+
+    /**
+     * Reads an identifier like {@link #readString}, but returns the same string for an address as
+     * long as the memory there holds the same bytes.
+     */
+    @TruffleBoundary
+    public static String readIdentifier(LLVMAddress value) {
+        CachedIdentifier cached = identifiers.get(value.getVal());
+        if (cached != null && contentEquals(value.getVal(), cached.bytes)) {
+            return cached.identifier;
+        }
+        if (identifiers.size() >= MAX_CACHED_IDENTIFIERS) {
+            identifiers.clear();
+        }
+        cached = new CachedIdentifier(readBytes(value));
+        identifiers.put(value.getVal(), cached);
+        return cached.identifier;
+    }
+
+    /**
+     * Returns the bytes of the zero-terminated string at the address, without the terminator.
+     */
+    @TruffleBoundary
+    public static byte[] readBytes(LLVMAddress value) {
+        long address = value.getVal();
+        int length = 0;
+        while (LLVMMemory.getI8(address + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = LLVMMemory.getI8(address + i);
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes the bytes in the same way as {@link #readString}.
+     */
+    @TruffleBoundary
+    public static String decode(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length);
+        for (byte c : bytes) {
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks that the memory at the address holds the bytes followed by a zero byte.
+     */
+    @ExplodeLoop
+    public static boolean contentEquals(long address, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (LLVMMemory.getI8(address + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return LLVMMemory.getI8(address + bytes.length) == 0;
+    }
 }
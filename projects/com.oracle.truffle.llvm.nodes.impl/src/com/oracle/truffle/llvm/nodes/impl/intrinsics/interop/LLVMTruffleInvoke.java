@@ -32,6 +32,7 @@ package com.oracle.truffle.llvm.nodes.impl.intrinsics.interop;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.NodeField;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.ArityException;
@@ -43,6 +44,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMAddressIntrinsic;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMIntrinsic.LLVMBooleanIntrinsic;
@@ -58,25 +60,27 @@ public final class LLVMTruffleInvoke {
 
     private static final int NAMED_ARGS = 2;
 
-    private static Object doInvoke(VirtualFrame frame, Node foreignInvoke, LLVMTruffleObject value, LLVMAddress id, ToLLVMNode toLLVM, Class<?> expectedType) {
+    private static Object doInvoke(VirtualFrame frame, LLVMContext context, Node foreignInvoke, LLVMTruffleObject value, String name, ToLLVMNode toLLVM, Class<?> expectedType) {
         if (value.getOffset() != 0 || value.getName() != null) {
             throw new IllegalAccessError("Pointee must be unmodified");
         }
-        return doInvoke(frame, foreignInvoke, value.getObject(), id, toLLVM, expectedType);
+        return doInvoke(frame, context, foreignInvoke, value.getObject(), name, toLLVM, expectedType);
     }
 
-    private static Object doInvoke(VirtualFrame frame, Node foreignInvoke, TruffleObject value, LLVMAddress id, ToLLVMNode toLLVM, Class<?> expectedType) {
-        String name = LLVMTruffleIntrinsicUtil.readString(id);
+    private static Object doInvoke(VirtualFrame frame, LLVMContext context, Node foreignInvoke, TruffleObject value, String name, ToLLVMNode toLLVM, Class<?> expectedType) {
         int argsLength = getFunctionArgumentLength(frame);
         Object[] args = new Object[argsLength];
         for (int i = LLVMCallNode.ARG_START_INDEX + NAMED_ARGS, j = 0; i < frame.getArguments().length; i++, j++) {
             args[j] = frame.getArguments()[i];
         }
+        LLVMAddress previousStackPointer = context.enterForeignCall((LLVMAddress) frame.getArguments()[0]);
         try {
             Object rawValue = ForeignAccess.sendInvoke(foreignInvoke, frame, value, name, args);
             return toLLVM.convert(frame, rawValue, expectedType);
         } catch (UnknownIdentifierException | UnsupportedMessageException | UnsupportedTypeException | ArityException e) {
             throw new IllegalStateException(e);
+        } finally {
+            context.exitForeignCall(previousStackPointer);
         }
     }
 
@@ -85,20 +89,24 @@ public final class LLVMTruffleInvoke {
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleInvokeP extends LLVMAddressIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = TruffleObject.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public Object executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
             if (foreignInvoke == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
@@ -107,25 +115,29 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleInvokeI extends LLVMI32Intrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = int.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public int executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
             if (foreignInvoke == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (int) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
@@ -134,25 +146,29 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (int) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (int) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleInvokeL extends LLVMI64Intrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = long.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public long executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
             if (foreignInvoke == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (long) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
@@ -161,25 +177,29 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (long) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (long) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleInvokeC extends LLVMI8Intrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = byte.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public byte executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
             if (foreignInvoke == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (byte) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
@@ -188,25 +208,29 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (byte) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (byte) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleInvokeF extends LLVMFloatIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = float.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public float executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
             if (foreignInvoke == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (float) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
@@ -215,25 +239,29 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (float) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (float) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleInvokeD extends LLVMDoubleIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = double.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public double executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
             if (foreignInvoke == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (double) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
@@ -242,25 +270,29 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (double) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (double) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    @NodeField(type = LLVMContext.class, name = "context")
     public abstract static class LLVMTruffleInvokeB extends LLVMBooleanIntrinsic {
 
         @Child private Node foreignInvoke;
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = boolean.class;
 
+        abstract LLVMContext getContext();
+
         @Specialization
         public boolean executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
             if (foreignInvoke == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (boolean) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
@@ -269,7 +301,7 @@ public final class LLVMTruffleInvoke {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 foreignInvoke = insert(Message.createInvoke(getFunctionArgumentLength(frame)).createNode());
             }
-            return (boolean) doInvoke(frame, foreignInvoke, value, id, toLLVM, expectedType);
+            return (boolean) doInvoke(frame, getContext(), foreignInvoke, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 }
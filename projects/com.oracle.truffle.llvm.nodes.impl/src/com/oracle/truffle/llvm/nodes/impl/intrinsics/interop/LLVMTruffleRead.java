@@ -53,8 +53,7 @@ import com.oracle.truffle.llvm.types.LLVMTruffleObject;
 
 public final class LLVMTruffleRead {
 
-    private static Object doRead(VirtualFrame frame, Node foreignRead, LLVMTruffleObject value, LLVMAddress id, ToLLVMNode toLLVM, Class<?> expectedType) {
-        String name = LLVMTruffleIntrinsicUtil.readString(id);
+    private static Object doRead(VirtualFrame frame, Node foreignRead, LLVMTruffleObject value, String name, ToLLVMNode toLLVM, Class<?> expectedType) {
         try {
             if (value.getOffset() != 0 || value.getName() != null) {
                 throw new IllegalAccessError("Pointee must be unmodified");
@@ -78,8 +77,7 @@ public final class LLVMTruffleRead {
         }
     }
 
-    private static Object doRead(VirtualFrame frame, Node foreignRead, TruffleObject value, LLVMAddress id, ToLLVMNode toLLVM, Class<?> expectedType) {
-        String name = LLVMTruffleIntrinsicUtil.readString(id);
+    private static Object doRead(VirtualFrame frame, Node foreignRead, TruffleObject value, String name, ToLLVMNode toLLVM, Class<?> expectedType) {
         try {
             Object rawValue = ForeignAccess.sendRead(foreignRead, frame, value, name);
             return toLLVM.convert(frame, rawValue, expectedType);
@@ -101,18 +99,19 @@ public final class LLVMTruffleRead {
     public abstract static class LLVMTruffleReadP extends LLVMAddressIntrinsic {
 
         @Child private Node foreignRead = Message.READ.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = TruffleObject.class;
 
         @Specialization
         public Object executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id) {
-            return doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
         public Object executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
-            return doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
@@ -120,18 +119,19 @@ public final class LLVMTruffleRead {
     public abstract static class LLVMTruffleReadI extends LLVMI32Intrinsic {
 
         @Child private Node foreignRead = Message.READ.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = int.class;
 
         @Specialization
         public int executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id) {
-            return (int) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (int) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
         public int executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
-            return (int) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (int) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
@@ -139,18 +139,19 @@ public final class LLVMTruffleRead {
     public abstract static class LLVMTruffleReadL extends LLVMI64Intrinsic {
 
         @Child private Node foreignRead = Message.READ.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = long.class;
 
         @Specialization
         public long executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id) {
-            return (long) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (long) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
         public long executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
-            return (long) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (long) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
@@ -158,18 +159,19 @@ public final class LLVMTruffleRead {
     public abstract static class LLVMTruffleReadC extends LLVMI8Intrinsic {
 
         @Child private Node foreignRead = Message.READ.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = byte.class;
 
         @Specialization
         public byte executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id) {
-            return (byte) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (byte) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
         public byte executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
-            return (byte) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (byte) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
@@ -177,18 +179,19 @@ public final class LLVMTruffleRead {
     public abstract static class LLVMTruffleReadF extends LLVMFloatIntrinsic {
 
         @Child private Node foreignRead = Message.READ.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = float.class;
 
         @Specialization
         public float executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id) {
-            return (float) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (float) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
         public float executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
-            return (float) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (float) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
@@ -196,18 +199,19 @@ public final class LLVMTruffleRead {
     public abstract static class LLVMTruffleReadD extends LLVMDoubleIntrinsic {
 
         @Child private Node foreignRead = Message.READ.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = double.class;
 
         @Specialization
         public double executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id) {
-            return (double) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (double) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
         public double executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
-            return (double) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (double) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
@@ -215,18 +219,19 @@ public final class LLVMTruffleRead {
     public abstract static class LLVMTruffleReadB extends LLVMBooleanIntrinsic {
 
         @Child private Node foreignRead = Message.READ.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
         @Child private ToLLVMNode toLLVM = new ToLLVMNode();
 
         private static final Class<?> expectedType = boolean.class;
 
         @Specialization
         public boolean executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id) {
-            return (boolean) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (boolean) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
 
         @Specialization
         public boolean executeIntrinsic(VirtualFrame frame, TruffleObject value, LLVMAddress id) {
-            return (boolean) doRead(frame, foreignRead, value, id, toLLVM, expectedType);
+            return (boolean) doRead(frame, foreignRead, value, identifier.executeWithTarget(id), toLLVM, expectedType);
         }
     }
 
@@ -53,8 +53,7 @@ import com.oracle.truffle.llvm.types.LLVMTruffleObject;
 
 public final class LLVMTruffleWrite {
 
-    private static void doWrite(VirtualFrame frame, Node foreignWrite, LLVMTruffleObject value, LLVMAddress id, Object v) {
-        String name = LLVMTruffleIntrinsicUtil.readString(id);
+    private static void doWrite(VirtualFrame frame, Node foreignWrite, LLVMTruffleObject value, String name, Object v) {
         try {
             if (value.getOffset() != 0 || value.getName() != null) {
                 throw new IllegalAccessError("Pointee must be unmodified");
@@ -80,10 +79,11 @@ public final class LLVMTruffleWrite {
     public abstract static class LLVMTruffleWriteP extends LLVMVoidIntrinsic {
 
         @Child private Node foreignWrite = Message.WRITE.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
 
         @Specialization
         public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id, Object v) {
-            doWrite(frame, foreignWrite, value, id, v);
+            doWrite(frame, foreignWrite, value, identifier.executeWithTarget(id), v);
         }
 
         @Specialization
@@ -96,10 +96,11 @@ public final class LLVMTruffleWrite {
     public abstract static class LLVMTruffleWriteI extends LLVMVoidIntrinsic {
 
         @Child private Node foreignWrite = Message.WRITE.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
 
         @Specialization
         public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id, int v) {
-            doWrite(frame, foreignWrite, value, id, v);
+            doWrite(frame, foreignWrite, value, identifier.executeWithTarget(id), v);
         }
 
         @Specialization
@@ -112,10 +113,11 @@ public final class LLVMTruffleWrite {
     public abstract static class LLVMTruffleWriteL extends LLVMVoidIntrinsic {
 
         @Child private Node foreignWrite = Message.WRITE.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
 
         @Specialization
         public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id, long v) {
-            doWrite(frame, foreignWrite, value, id, v);
+            doWrite(frame, foreignWrite, value, identifier.executeWithTarget(id), v);
         }
 
         @Specialization
@@ -128,10 +130,11 @@ public final class LLVMTruffleWrite {
     public abstract static class LLVMTruffleWriteC extends LLVMVoidIntrinsic {
 
         @Child private Node foreignWrite = Message.WRITE.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
 
         @Specialization
         public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id, byte v) {
-            doWrite(frame, foreignWrite, value, id, v);
+            doWrite(frame, foreignWrite, value, identifier.executeWithTarget(id), v);
         }
 
         @Specialization
@@ -144,10 +147,11 @@ public final class LLVMTruffleWrite {
     public abstract static class LLVMTruffleWriteF extends LLVMVoidIntrinsic {
 
         @Child private Node foreignWrite = Message.WRITE.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
 
         @Specialization
         public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id, float v) {
-            doWrite(frame, foreignWrite, value, id, v);
+            doWrite(frame, foreignWrite, value, identifier.executeWithTarget(id), v);
         }
 
         @Specialization
@@ -160,10 +164,11 @@ public final class LLVMTruffleWrite {
     public abstract static class LLVMTruffleWriteD extends LLVMVoidIntrinsic {
 
         @Child private Node foreignWrite = Message.WRITE.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
 
         @Specialization
         public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id, double v) {
-            doWrite(frame, foreignWrite, value, id, v);
+            doWrite(frame, foreignWrite, value, identifier.executeWithTarget(id), v);
         }
 
         @Specialization
@@ -176,10 +181,11 @@ public final class LLVMTruffleWrite {
     public abstract static class LLVMTruffleWriteB extends LLVMVoidIntrinsic {
 
         @Child private Node foreignWrite = Message.WRITE.createNode();
+        @Child private LLVMIdentifierNode identifier = LLVMIdentifierNodeGen.create();
 
         @Specialization
         public void executeIntrinsic(VirtualFrame frame, LLVMTruffleObject value, LLVMAddress id, boolean v) {
-            doWrite(frame, foreignWrite, value, id, v);
+            doWrite(frame, foreignWrite, value, identifier.executeWithTarget(id), v);
         }
 
         @Specialization
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
@@ -48,11 +49,20 @@ public abstract class LLVMMemCopy {
                     @NodeChild(type = LLVMI32Node.class, value = "align"), @NodeChild(type = LLVMI1Node.class, value = "isVolatile")})
     public abstract static class LLVMMemI32Copy extends LLVMNode {
 
-        @Specialization
+        @Specialization(guards = {"length == cachedLength", "isUnrollableLength(cachedLength)", "!isVolatile"}, limit = "1")
+        public void executeUnrolled(LLVMAddress target, LLVMAddress source, int length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile, @Cached("length") int cachedLength) {
+            LLVMHeap.memCopyUnrolled(target, source, cachedLength);
+        }
+
+        @Specialization(contains = "executeUnrolled")
         public void executeVoid(LLVMAddress target, LLVMAddress source, int length, int align, boolean isVolatile) {
             LLVMHeap.memCopy(target, source, length, align, isVolatile);
         }
 
+        protected static boolean isUnrollableLength(long length) {
+            return LLVMHeap.isUnrollableLength(length);
+        }
+
     }
 
     @GenerateNodeFactory
@@ -60,11 +70,20 @@ public abstract class LLVMMemCopy {
                     @NodeChild(type = LLVMI32Node.class, value = "align"), @NodeChild(type = LLVMI1Node.class, value = "isVolatile")})
     public abstract static class LLVMMemI64Copy extends LLVMNode {
 
-        @Specialization
+        @Specialization(guards = {"length == cachedLength", "isUnrollableLength(cachedLength)", "!isVolatile"}, limit = "1")
+        public void executeUnrolled(LLVMAddress target, LLVMAddress source, long length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile, @Cached("length") long cachedLength) {
+            LLVMHeap.memCopyUnrolled(target, source, (int) cachedLength);
+        }
+
+        @Specialization(contains = "executeUnrolled")
         public void executeVoid(LLVMAddress target, LLVMAddress source, long length, int align, boolean isVolatile) {
             LLVMHeap.memCopy(target, source, length, align, isVolatile);
         }
 
+        protected static boolean isUnrollableLength(long length) {
+            return LLVMHeap.isUnrollableLength(length);
+        }
+
     }
 
 }
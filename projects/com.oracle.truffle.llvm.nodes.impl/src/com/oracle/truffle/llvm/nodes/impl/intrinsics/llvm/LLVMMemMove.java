@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
@@ -48,11 +49,20 @@ public abstract class LLVMMemMove {
                     @NodeChild(type = LLVMI32Node.class, value = "align"), @NodeChild(type = LLVMI1Node.class, value = "isVolatile")})
     public abstract static class LLVMMemMoveI64 extends LLVMNode {
 
-        @Specialization
+        @Specialization(guards = {"length == cachedLength", "isUnrollableLength(cachedLength)", "!isVolatile"}, limit = "1")
+        public void executeUnrolled(LLVMAddress dest, LLVMAddress source, long length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile, @Cached("length") long cachedLength) {
+            LLVMHeap.memMoveUnrolled(dest, source, (int) cachedLength);
+        }
+
+        @Specialization(contains = "executeUnrolled")
         public void executeVoid(LLVMAddress dest, LLVMAddress source, long length, int align, boolean isVolatile) {
             LLVMHeap.memMove(dest, source, length, align, isVolatile);
         }
 
+        protected static boolean isUnrollableLength(long length) {
+            return LLVMHeap.isUnrollableLength(length);
+        }
+
     }
 
 }
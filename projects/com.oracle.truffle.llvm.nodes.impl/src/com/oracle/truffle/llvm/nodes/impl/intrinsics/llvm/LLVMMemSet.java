@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm;
 
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
@@ -45,10 +46,19 @@ import com.oracle.truffle.llvm.types.memory.LLVMHeap;
 @GenerateNodeFactory
 public abstract class LLVMMemSet extends LLVMNode {
 
+    protected static boolean isUnrollableLength(long length) {
+        return LLVMHeap.isUnrollableLength(length);
+    }
+
     @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI8Node.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI32Node.class),
                     @NodeChild(type = LLVMI1Node.class)})
     public abstract static class LLVMMemSetI64 extends LLVMMemSet {
-        @Specialization
+        @Specialization(guards = {"length == cachedLength", "isUnrollableLength(cachedLength)", "!isVolatile"}, limit = "1")
+        public void executeUnrolled(LLVMAddress address, byte value, long length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile, @Cached("length") long cachedLength) {
+            LLVMHeap.memSetUnrolled(address, value, (int) cachedLength);
+        }
+
+        @Specialization(contains = "executeUnrolled")
         public void executeVoid(LLVMAddress address, byte value, long length, int align, boolean isVolatile) {
             LLVMHeap.memSet(address, value, length, align, isVolatile);
         }
@@ -58,7 +68,12 @@ public abstract class LLVMMemSet extends LLVMNode {
                     @NodeChild(type = LLVMI1Node.class)})
     public abstract static class LLVMMemSetI32 extends LLVMMemSet {
 
-        @Specialization
+        @Specialization(guards = {"length == cachedLength", "isUnrollableLength(cachedLength)", "!isVolatile"}, limit = "1")
+        public void executeUnrolled(LLVMAddress address, byte value, int length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile, @Cached("length") int cachedLength) {
+            LLVMHeap.memSetUnrolled(address, value, cachedLength);
+        }
+
+        @Specialization(contains = "executeUnrolled")
         public void executeVoid(LLVMAddress address, byte value, int length, int align, boolean isVolatile) {
             LLVMHeap.memSet(address, value, length, align, isVolatile);
         }
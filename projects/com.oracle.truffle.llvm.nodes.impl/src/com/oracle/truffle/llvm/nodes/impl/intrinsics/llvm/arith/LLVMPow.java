@@ -35,6 +35,7 @@ import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsics;
 
 public abstract class LLVMPow {
 
@@ -44,7 +45,7 @@ public abstract class LLVMPow {
 
         @Specialization
         public float executeDouble(float val, float pow) {
-            return (float) Math.pow(val, pow);
+            return (float) LLVMCMathsIntrinsics.pow(val, pow);
         }
     }
 
@@ -54,7 +55,7 @@ public abstract class LLVMPow {
 
         @Specialization
         public double executeDouble(double val, double pow) {
-            return Math.pow(val, pow);
+            return LLVMCMathsIntrinsics.pow(val, pow);
         }
     }
 }
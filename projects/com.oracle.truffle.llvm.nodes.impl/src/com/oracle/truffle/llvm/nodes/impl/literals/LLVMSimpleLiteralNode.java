@@ -194,6 +194,10 @@ public class LLVMSimpleLiteralNode {
             return address;
         }
 
+        public LLVMAddress getAddress() {
+            return address;
+        }
+
     }
 
 }
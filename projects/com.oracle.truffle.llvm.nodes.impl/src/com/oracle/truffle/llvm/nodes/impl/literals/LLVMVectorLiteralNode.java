@@ -29,11 +29,9 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.literals;
 
-import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
@@ -48,7 +46,6 @@ import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI1VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI64VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI8VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMDoubleVector;
 import com.oracle.truffle.llvm.types.vector.LLVMFloatVector;
 import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
@@ -59,7 +56,6 @@ import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
 
 public class LLVMVectorLiteralNode {
 
-    @NodeChild(type = LLVMAddressNode.class)
     public abstract static class LLVMVectorI1LiteralNode extends LLVMI1VectorNode {
 
         @Children private final LLVMI1Node[] values;
@@ -70,17 +66,16 @@ public class LLVMVectorLiteralNode {
 
         @ExplodeLoop
         @Specialization
-        public LLVMI1Vector executeI1Vector(VirtualFrame frame, LLVMAddress target) {
+        public LLVMI1Vector executeI1Vector(VirtualFrame frame) {
             boolean[] vals = new boolean[values.length];
             for (int i = 0; i < values.length; i++) {
                 vals[i] = values[i].executeI1(frame);
             }
-            return LLVMI1Vector.fromI1Array(target, vals);
+            return LLVMI1Vector.create(vals);
         }
 
     }
 
-    @NodeChild(type = LLVMAddressNode.class)
     public abstract static class LLVMVectorI8LiteralNode extends LLVMI8VectorNode {
 
         @Children private final LLVMI8Node[] values;
@@ -91,17 +86,16 @@ public class LLVMVectorLiteralNode {
 
         @ExplodeLoop
         @Specialization
-        public LLVMI8Vector executeI8Vector(VirtualFrame frame, LLVMAddress target) {
+        public LLVMI8Vector executeI8Vector(VirtualFrame frame) {
             byte[] vals = new byte[values.length];
             for (int i = 0; i < values.length; i++) {
                 vals[i] = values[i].executeI8(frame);
             }
-            return LLVMI8Vector.fromI8Array(target, vals);
+            return LLVMI8Vector.create(vals);
         }
 
     }
 
-    @NodeChild(type = LLVMAddressNode.class)
     public abstract static class LLVMVectorI16LiteralNode extends LLVMI16VectorNode {
 
         @Children private final LLVMI16Node[] values;
@@ -112,16 +106,15 @@ public class LLVMVectorLiteralNode {
 
         @ExplodeLoop
         @Specialization
-        public LLVMI16Vector executeI16Vector(VirtualFrame frame, LLVMAddress target) {
+        public LLVMI16Vector executeI16Vector(VirtualFrame frame) {
             short[] vals = new short[values.length];
             for (int i = 0; i < values.length; i++) {
                 vals[i] = values[i].executeI16(frame);
             }
-            return LLVMI16Vector.fromI16Array(target, vals);
+            return LLVMI16Vector.create(vals);
         }
     }
 
-    @NodeChild(type = LLVMAddressNode.class)
     public abstract static class LLVMVectorI32LiteralNode extends LLVMI32VectorNode {
 
         @Children private final LLVMI32Node[] values;
@@ -132,16 +125,15 @@ public class LLVMVectorLiteralNode {
 
         @ExplodeLoop
         @Specialization
-        public LLVMI32Vector executeI32Vector(VirtualFrame frame, LLVMAddress target) {
+        public LLVMI32Vector executeI32Vector(VirtualFrame frame) {
             int[] vals = new int[values.length];
             for (int i = 0; i < values.length; i++) {
                 vals[i] = values[i].executeI32(frame);
             }
-            return LLVMI32Vector.fromI32Array(target, vals);
+            return LLVMI32Vector.create(vals);
         }
     }
 
-    @NodeChild(type = LLVMAddressNode.class)
     public abstract static class LLVMVectorI64LiteralNode extends LLVMI64VectorNode {
 
         @Children private final LLVMI64Node[] values;
@@ -152,16 +144,15 @@ public class LLVMVectorLiteralNode {
 
         @ExplodeLoop
         @Specialization
-        public LLVMI64Vector executeI64Vector(VirtualFrame frame, LLVMAddress target) {
+        public LLVMI64Vector executeI64Vector(VirtualFrame frame) {
             long[] vals = new long[values.length];
             for (int i = 0; i < values.length; i++) {
                 vals[i] = values[i].executeI64(frame);
             }
-            return LLVMI64Vector.fromI64Array(target, vals);
+            return LLVMI64Vector.create(vals);
         }
     }
 
-    @NodeChild(type = LLVMAddressNode.class)
     public abstract static class LLVMVectorFloatLiteralNode extends LLVMFloatVectorNode {
 
         @Children private final LLVMFloatNode[] values;
@@ -172,17 +163,16 @@ public class LLVMVectorLiteralNode {
 
         @ExplodeLoop
         @Specialization
-        public LLVMFloatVector executeFloatVector(VirtualFrame frame, LLVMAddress target) {
+        public LLVMFloatVector executeFloatVector(VirtualFrame frame) {
             float[] vals = new float[values.length];
             for (int i = 0; i < values.length; i++) {
                 vals[i] = values[i].executeFloat(frame);
             }
-            return LLVMFloatVector.fromFloatArray(target, vals);
+            return LLVMFloatVector.create(vals);
         }
 
     }
 
-    @NodeChild(type = LLVMAddressNode.class)
     public abstract static class LLVMVectorDoubleLiteralNode extends LLVMDoubleVectorNode {
 
         @Children private final LLVMDoubleNode[] values;
@@ -193,12 +183,12 @@ public class LLVMVectorLiteralNode {
 
         @ExplodeLoop
         @Specialization
-        public LLVMDoubleVector executeDoubleVector(VirtualFrame frame, LLVMAddress target) {
+        public LLVMDoubleVector executeDoubleVector(VirtualFrame frame) {
             double[] vals = new double[values.length];
             for (int i = 0; i < values.length; i++) {
                 vals[i] = values[i].executeDouble(frame);
             }
-            return LLVMDoubleVector.fromDoubleArray(target, vals);
+            return LLVMDoubleVector.create(vals);
         }
 
     }
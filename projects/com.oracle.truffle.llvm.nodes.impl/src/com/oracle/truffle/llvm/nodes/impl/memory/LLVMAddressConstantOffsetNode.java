@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.memory;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMTruffleObject;
+
+/**
+ * Adds a constant offset to a pointer. Chains of constant-index <code>getelementptr</code> steps,
+ * such as struct field accesses, are folded into one of these nodes, so that only the final
+ * address is computed.
+ */
+public final class LLVMAddressConstantOffsetNode extends LLVMAddressNode {
+
+    @Child private LLVMAddressNode base;
+
+    private final long offset;
+
+    private final ValueProfile baseType = ValueProfile.createClassProfile();
+
+    public LLVMAddressConstantOffsetNode(LLVMAddressNode base, long offset) {
+        this.base = base;
+        this.offset = offset;
+    }
+
+    public LLVMAddressNode getBase() {
+        return base;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Object executeGeneric(VirtualFrame frame) {
+        Object pointer = baseType.profile(base.executeGeneric(frame));
+        if (pointer instanceof LLVMAddress) {
+            return LLVMAddress.fromLong(((LLVMAddress) pointer).getVal() + offset);
+        } else if (pointer instanceof LLVMTruffleObject) {
+            LLVMTruffleObject object = (LLVMTruffleObject) pointer;
+            return new LLVMTruffleObject(object.getObject(), object.getOffset() + offset);
+        } else {
+            return new LLVMTruffleObject((TruffleObject) pointer, offset);
+        }
+    }
+
+    @Override
+    public LLVMAddress executePointee(VirtualFrame frame) {
+        return LLVMAddress.fromLong(base.executePointee(frame).getVal() + offset);
+    }
+
+}
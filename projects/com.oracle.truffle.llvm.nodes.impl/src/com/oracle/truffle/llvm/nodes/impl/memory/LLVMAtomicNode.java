@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.memory;
+
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.NodeField;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
+import com.oracle.truffle.llvm.parser.instructions.LLVMAtomicRMWOperation;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+/**
+ * Implements the atomic memory instructions with the compare-and-swap, fetch-and-add, and volatile
+ * load and store operations of {@link LLVMMemory}. All of them are sequentially consistent,
+ * regardless of the ordering requested in the IR.
+ *
+ * @see <a href="http://llvm.org/docs/LangRef.html#memory-access-and-addressing-operations">atomic
+ *      memory instructions</a>
+ */
+public abstract class LLVMAtomicNode {
+
+    private static final long I64_MASK = -1L;
+
+    /**
+     * Computes the value that an <code>atomicrmw</code> stores.
+     *
+     * @param current the sign-extended value in memory
+     * @param value the sign-extended operand
+     * @param mask the mask of the value bits, used for the unsigned comparisons
+     */
+    static long apply(LLVMAtomicRMWOperation operation, long current, long value, long mask) {
+        switch (operation) {
+            case XCHG:
+                return value;
+            case ADD:
+                return current + value;
+            case SUB:
+                return current - value;
+            case AND:
+                return current & value;
+            case NAND:
+                return ~(current & value);
+            case OR:
+                return current | value;
+            case XOR:
+                return current ^ value;
+            case MAX:
+                return Math.max(current, value);
+            case MIN:
+                return Math.min(current, value);
+            case UMAX:
+                return Long.compareUnsigned(current & mask, value & mask) >= 0 ? current : value;
+            case UMIN:
+                return Long.compareUnsigned(current & mask, value & mask) <= 0 ? current : value;
+            default:
+                throw new AssertionError(operation);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI8Node.class), @NodeChild(type = LLVMI8Node.class)})
+    public abstract static class LLVMI8CompareExchangeNode extends LLVMI8Node {
+
+        @Specialization
+        public byte executeI8(LLVMAddress address, byte comparedWith, byte newValue) {
+            return LLVMMemory.compareAndSwapI8(address, comparedWith, newValue);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI16Node.class), @NodeChild(type = LLVMI16Node.class)})
+    public abstract static class LLVMI16CompareExchangeNode extends LLVMI16Node {
+
+        @Specialization
+        public short executeI16(LLVMAddress address, short comparedWith, short newValue) {
+            return LLVMMemory.compareAndSwapI16(address, comparedWith, newValue);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMI32CompareExchangeNode extends LLVMI32Node {
+
+        @Specialization
+        public int executeI32(LLVMAddress address, int comparedWith, int newValue) {
+            return LLVMMemory.compareAndSwapI32(address, comparedWith, newValue);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMI64CompareExchangeNode extends LLVMI64Node {
+
+        @Specialization
+        public long executeI64(LLVMAddress address, long comparedWith, long newValue) {
+            return LLVMMemory.compareAndSwapI64(address, comparedWith, newValue);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI8Node.class)})
+    @NodeField(type = LLVMAtomicRMWOperation.class, name = "operation")
+    public abstract static class LLVMI8AtomicRMWNode extends LLVMI8Node {
+
+        public abstract LLVMAtomicRMWOperation getOperation();
+
+        @Specialization
+        public byte executeI8(LLVMAddress address, byte value) {
+            byte current = LLVMMemory.getI8(address);
+            while (true) {
+                byte found = LLVMMemory.compareAndSwapI8(address, current, (byte) apply(getOperation(), current, value, LLVMI8Node.MASK));
+                if (found == current) {
+                    return current;
+                }
+                current = found;
+            }
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI16Node.class)})
+    @NodeField(type = LLVMAtomicRMWOperation.class, name = "operation")
+    public abstract static class LLVMI16AtomicRMWNode extends LLVMI16Node {
+
+        public abstract LLVMAtomicRMWOperation getOperation();
+
+        @Specialization
+        public short executeI16(LLVMAddress address, short value) {
+            short current = LLVMMemory.getI16(address);
+            while (true) {
+                short found = LLVMMemory.compareAndSwapI16(address, current, (short) apply(getOperation(), current, value, LLVMI16Node.MASK));
+                if (found == current) {
+                    return current;
+                }
+                current = found;
+            }
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class)})
+    @NodeField(type = LLVMAtomicRMWOperation.class, name = "operation")
+    public abstract static class LLVMI32AtomicRMWNode extends LLVMI32Node {
+
+        public abstract LLVMAtomicRMWOperation getOperation();
+
+        @Specialization
+        public int executeI32(LLVMAddress address, int value) {
+            switch (getOperation()) {
+                case XCHG:
+                    return LLVMMemory.getAndSetI32(address, value);
+                case ADD:
+                    return LLVMMemory.getAndAddI32(address, value);
+                case SUB:
+                    return LLVMMemory.getAndAddI32(address, -value);
+                default:
+                    int current = LLVMMemory.getI32(address);
+                    while (true) {
+                        int found = LLVMMemory.compareAndSwapI32(address, current, (int) apply(getOperation(), current, value, LLVMI32Node.MASK));
+                        if (found == current) {
+                            return current;
+                        }
+                        current = found;
+                    }
+            }
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    @NodeField(type = LLVMAtomicRMWOperation.class, name = "operation")
+    public abstract static class LLVMI64AtomicRMWNode extends LLVMI64Node {
+
+        public abstract LLVMAtomicRMWOperation getOperation();
+
+        @Specialization
+        public long executeI64(LLVMAddress address, long value) {
+            switch (getOperation()) {
+                case XCHG:
+                    return LLVMMemory.getAndSetI64(address, value);
+                case ADD:
+                    return LLVMMemory.getAndAddI64(address, value);
+                case SUB:
+                    return LLVMMemory.getAndAddI64(address, -value);
+                default:
+                    long current = LLVMMemory.getI64(address);
+                    while (true) {
+                        long found = LLVMMemory.compareAndSwapI64(address, current, apply(getOperation(), current, value, I64_MASK));
+                        if (found == current) {
+                            return current;
+                        }
+                        current = found;
+                    }
+            }
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMI8AtomicLoadNode extends LLVMI8Node {
+
+        @Specialization
+        public byte executeI8(LLVMAddress address) {
+            return LLVMMemory.getI8Volatile(address);
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMI16AtomicLoadNode extends LLVMI16Node {
+
+        @Specialization
+        public short executeI16(LLVMAddress address) {
+            return LLVMMemory.getI16Volatile(address);
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMI32AtomicLoadNode extends LLVMI32Node {
+
+        @Specialization
+        public int executeI32(LLVMAddress address) {
+            return LLVMMemory.getI32Volatile(address);
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMI64AtomicLoadNode extends LLVMI64Node {
+
+        @Specialization
+        public long executeI64(LLVMAddress address) {
+            return LLVMMemory.getI64Volatile(address);
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMFloatAtomicLoadNode extends LLVMFloatNode {
+
+        @Specialization
+        public float executeFloat(LLVMAddress address) {
+            return Float.intBitsToFloat(LLVMMemory.getI32Volatile(address));
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMDoubleAtomicLoadNode extends LLVMDoubleNode {
+
+        @Specialization
+        public double executeDouble(LLVMAddress address) {
+            return Double.longBitsToDouble(LLVMMemory.getI64Volatile(address));
+        }
+
+    }
+
+    @NodeChild(type = LLVMAddressNode.class)
+    public abstract static class LLVMAddressAtomicLoadNode extends LLVMAddressNode {
+
+        @Specialization
+        public LLVMAddress executeAddress(LLVMAddress address) {
+            return LLVMAddress.fromLong(LLVMMemory.getI64Volatile(address));
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI8Node.class)})
+    public abstract static class LLVMI8AtomicStoreNode extends LLVMNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, byte value) {
+            LLVMMemory.putI8Volatile(address, value);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI16Node.class)})
+    public abstract static class LLVMI16AtomicStoreNode extends LLVMNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, short value) {
+            LLVMMemory.putI16Volatile(address, value);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32Node.class)})
+    public abstract static class LLVMI32AtomicStoreNode extends LLVMNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, int value) {
+            LLVMMemory.putI32Volatile(address, value);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64Node.class)})
+    public abstract static class LLVMI64AtomicStoreNode extends LLVMNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, long value) {
+            LLVMMemory.putI64Volatile(address, value);
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMFloatNode.class)})
+    public abstract static class LLVMFloatAtomicStoreNode extends LLVMNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, float value) {
+            LLVMMemory.putI32Volatile(address, Float.floatToRawIntBits(value));
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMDoubleNode.class)})
+    public abstract static class LLVMDoubleAtomicStoreNode extends LLVMNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, double value) {
+            LLVMMemory.putI64Volatile(address, Double.doubleToRawLongBits(value));
+        }
+
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMAddressNode.class)})
+    public abstract static class LLVMAddressAtomicStoreNode extends LLVMNode {
+
+        @Specialization
+        public void execute(LLVMAddress address, LLVMAddress value) {
+            LLVMMemory.putI64Volatile(address, value.getVal());
+        }
+
+    }
+
+    public static final class LLVMFenceNode extends LLVMNode {
+
+        @Override
+        public void executeVoid(VirtualFrame frame) {
+            LLVMMemory.fullFence();
+        }
+
+    }
+
+}
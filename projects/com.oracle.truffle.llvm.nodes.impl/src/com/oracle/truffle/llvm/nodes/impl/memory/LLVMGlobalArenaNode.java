@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.impl.memory;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nativeint.NativeLookup;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.types.memory.LLVMGlobalArena;
+
+/**
+ * Nodes that act on the arena holding the global variables of a module. They are part of the
+ * static initializers and destructors.
+ */
+public abstract class LLVMGlobalArenaNode extends LLVMNode {
+
+    protected final LLVMGlobalArena arena;
+
+    protected LLVMGlobalArenaNode(LLVMGlobalArena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Releases the arena, after making it writable again if it was protected.
+     */
+    public static class LLVMFreeGlobalArenaNode extends LLVMGlobalArenaNode {
+
+        private final boolean isProtected;
+
+        public LLVMFreeGlobalArenaNode(LLVMGlobalArena arena, boolean isProtected) {
+            super(arena);
+            this.isProtected = isProtected;
+        }
+
+        @Override
+        public void executeVoid(VirtualFrame frame) {
+            free();
+        }
+
+        @TruffleBoundary
+        private void free() {
+            if (isProtected && !arena.isEmpty()) {
+                NativeLookup.protectMemory(arena.getBase().getVal(), arena.getSize(), false);
+            }
+            arena.free();
+        }
+
+    }
+
+    /**
+     * Makes a page aligned arena read-only or writable. The static initializers of the constants
+     * are wrapped in a pair of these nodes, so that they can run again.
+     */
+    public static class LLVMProtectGlobalArenaNode extends LLVMGlobalArenaNode {
+
+        private final boolean readOnly;
+
+        public LLVMProtectGlobalArenaNode(LLVMGlobalArena arena, boolean readOnly) {
+            super(arena);
+            this.readOnly = readOnly;
+        }
+
+        @Override
+        public void executeVoid(VirtualFrame frame) {
+            protect();
+        }
+
+        @TruffleBoundary
+        private void protect() {
+            if (!arena.isEmpty()) {
+                NativeLookup.protectMemory(arena.getBase().getVal(), arena.getSize(), readOnly);
+            }
+        }
+
+    }
+
+}
@@ -40,7 +40,7 @@ import com.oracle.truffle.llvm.types.vector.LLVMVector;
 public abstract class LLVMStoreVectorNode extends LLVMStoreNode {
 
     @Specialization
-    public void execute(LLVMAddress address, LLVMVector<?> value) {
+    public void execute(LLVMAddress address, LLVMVector value) {
         LLVMMemory.putVector(address, value);
     }
 
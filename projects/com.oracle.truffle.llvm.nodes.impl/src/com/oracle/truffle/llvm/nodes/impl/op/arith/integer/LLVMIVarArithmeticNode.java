@@ -33,12 +33,18 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarAddNode extends LLVMIVarArithmeticNode {
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.add(right);
+        }
+
         @Specialization
         protected LLVMIVarBit executeVarI(LLVMIVarBit left, LLVMIVarBit right) {
             return left.add(right);
@@ -47,6 +53,11 @@ public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarMulNode extends LLVMIVarArithmeticNode {
 
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.mul(right);
+        }
+
         @Specialization
         public LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
             return left.mul(right);
@@ -56,6 +67,11 @@ public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarSubNode extends LLVMIVarArithmeticNode {
 
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.sub(right);
+        }
+
         @Specialization
         protected LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
             return left.sub(right);
@@ -64,6 +80,11 @@ public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarDivNode extends LLVMIVarArithmeticNode {
 
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.div(right);
+        }
+
         @Specialization
         protected LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
             return left.div(right);
@@ -72,6 +93,11 @@ public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarRemNode extends LLVMIVarArithmeticNode {
 
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.rem(right);
+        }
+
         @Specialization
         protected LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
             return left.rem(right);
@@ -80,6 +106,11 @@ public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarURemNode extends LLVMIVarArithmeticNode {
 
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.unsignedRem(right);
+        }
+
         @Specialization
         protected LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
             return left.unsignedRem(right);
@@ -88,6 +119,11 @@ public abstract class LLVMIVarArithmeticNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarUDivNode extends LLVMIVarArithmeticNode {
 
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.unsignedDiv(right);
+        }
+
         @Specialization
         protected LLVMIVarBit executeIVar(LLVMIVarBit left, LLVMIVarBit right) {
             return left.unsignedDiv(right);
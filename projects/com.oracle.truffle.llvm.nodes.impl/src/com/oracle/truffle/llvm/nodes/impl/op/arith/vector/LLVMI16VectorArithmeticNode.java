@@ -32,26 +32,24 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.vector;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI16VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
 
-@NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
+@NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI16VectorArithmeticNode extends LLVMI16VectorNode {
 
     public abstract static class LLVMI16VectorAddNode extends LLVMI16VectorArithmeticNode {
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.add(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.add(right);
         }
     }
 
     public abstract static class LLVMI16VectorMulNode extends LLVMI16VectorArithmeticNode {
 
         @Specialization
-        public LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.mul(target, right);
+        public LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.mul(right);
         }
 
     }
@@ -59,40 +57,40 @@ public abstract class LLVMI16VectorArithmeticNode extends LLVMI16VectorNode {
     public abstract static class LLVMI16VectorSubNode extends LLVMI16VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.sub(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.sub(right);
         }
     }
 
     public abstract static class LLVMI16VectorDivNode extends LLVMI16VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.div(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.div(right);
         }
     }
 
     public abstract static class LLVMI16VectorUDivNode extends LLVMI16VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.udiv(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.udiv(right);
         }
     }
 
     public abstract static class LLVMI16VectorRemNode extends LLVMI16VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.rem(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.rem(right);
         }
     }
 
     public abstract static class LLVMI16VectorURemNode extends LLVMI16VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.urem(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.urem(right);
         }
     }
 }
@@ -32,26 +32,24 @@ package com.oracle.truffle.llvm.nodes.impl.op.arith.vector;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI64VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI64Vector;
 
-@NodeChildren({@NodeChild(value = "addressNode", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
+@NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI64VectorArithmeticNode extends LLVMI64VectorNode {
 
     public abstract static class LLVMI64VectorAddNode extends LLVMI64VectorArithmeticNode {
         @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
-            return left.add(target, right);
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
+            return left.add(right);
         }
     }
 
     public abstract static class LLVMI64VectorMulNode extends LLVMI64VectorArithmeticNode {
 
         @Specialization
-        public LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
-            return left.mul(target, right);
+        public LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
+            return left.mul(right);
         }
 
     }
@@ -59,24 +57,24 @@ public abstract class LLVMI64VectorArithmeticNode extends LLVMI64VectorNode {
     public abstract static class LLVMI64VectorSubNode extends LLVMI64VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
-            return left.sub(target, right);
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
+            return left.sub(right);
         }
     }
 
     public abstract static class LLVMI64VectorDivNode extends LLVMI64VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
-            return left.div(target, right);
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
+            return left.div(right);
         }
     }
 
     public abstract static class LLVMI64VectorUDivNode extends LLVMI64VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
-            return left.divUnsigned(target, right);
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
+            return left.divUnsigned(right);
 
         }
     }
@@ -84,16 +82,16 @@ public abstract class LLVMI64VectorArithmeticNode extends LLVMI64VectorNode {
     public abstract static class LLVMI64VectorRemNode extends LLVMI64VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
-            return left.rem(target, right);
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
+            return left.rem(right);
         }
     }
 
     public abstract static class LLVMI64VectorURemNode extends LLVMI64VectorArithmeticNode {
 
         @Specialization
-        protected LLVMI64Vector executeI64Vector(LLVMAddress target, LLVMI64Vector left, LLVMI64Vector right) {
-            return left.remUnsigned(target, right);
+        protected LLVMI64Vector executeI64Vector(LLVMI64Vector left, LLVMI64Vector right) {
+            return left.remUnsigned(right);
         }
     }
 
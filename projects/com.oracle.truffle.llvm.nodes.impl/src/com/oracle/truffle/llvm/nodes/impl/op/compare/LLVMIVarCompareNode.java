@@ -34,12 +34,18 @@ import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI1Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 
 @NodeChildren({@NodeChild(type = LLVMIVarBitNode.class), @NodeChild(type = LLVMIVarBitNode.class)})
 public abstract class LLVMIVarCompareNode extends LLVMI1Node {
 
     public abstract static class LLVMIVarEqNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.signedCompare(val2) == 0;
+        }
+
         @Specialization
         public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
             return val1.compare(val2) == 0;
@@ -47,10 +53,111 @@ public abstract class LLVMIVarCompareNode extends LLVMI1Node {
     }
 
     public abstract static class LLVMIVarNeqNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.signedCompare(val2) != 0;
+        }
+
         @Specialization
         public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
             return val1.compare(val2) != 0;
         }
     }
 
+    public abstract static class LLVMIVarSltNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.signedCompare(val2) < 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.signedCompare(val2) < 0;
+        }
+    }
+
+    public abstract static class LLVMIVarSleNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.signedCompare(val2) <= 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.signedCompare(val2) <= 0;
+        }
+    }
+
+    public abstract static class LLVMIVarSgtNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.signedCompare(val2) > 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.signedCompare(val2) > 0;
+        }
+    }
+
+    public abstract static class LLVMIVarSgeNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.signedCompare(val2) >= 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.signedCompare(val2) >= 0;
+        }
+    }
+
+    public abstract static class LLVMIVarUltNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.unsignedCompare(val2) < 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.unsignedCompare(val2) < 0;
+        }
+    }
+
+    public abstract static class LLVMIVarUleNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.unsignedCompare(val2) <= 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.unsignedCompare(val2) <= 0;
+        }
+    }
+
+    public abstract static class LLVMIVarUgtNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.unsignedCompare(val2) > 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.unsignedCompare(val2) > 0;
+        }
+    }
+
+    public abstract static class LLVMIVarUgeNode extends LLVMIVarCompareNode {
+        @Specialization
+        public boolean executeI128(LLVMI128 val1, LLVMI128 val2) {
+            return val1.unsignedCompare(val2) >= 0;
+        }
+
+        @Specialization
+        public boolean executeI1(LLVMIVarBit val1, LLVMIVarBit val2) {
+            return val1.unsignedCompare(val2) >= 0;
+        }
+    }
+
 }
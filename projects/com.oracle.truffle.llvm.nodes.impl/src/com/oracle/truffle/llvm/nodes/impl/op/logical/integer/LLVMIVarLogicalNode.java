@@ -33,12 +33,18 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMIVarBitNode;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMIVarLogicalNode extends LLVMIVarBitNode {
 
     public abstract static class LLVMIVarAndNode extends LLVMIVarLogicalNode {
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.and(right);
+        }
+
         @Specialization
         protected LLVMIVarBit and(LLVMIVarBit left, LLVMIVarBit right) {
             return left.and(right);
@@ -46,6 +52,11 @@ public abstract class LLVMIVarLogicalNode extends LLVMIVarBitNode {
     }
 
     public abstract static class LLVMIVarOrNode extends LLVMIVarLogicalNode {
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.or(right);
+        }
+
         @Specialization
         protected LLVMIVarBit or(LLVMIVarBit left, LLVMIVarBit right) {
             return left.or(right);
@@ -53,6 +64,11 @@ public abstract class LLVMIVarLogicalNode extends LLVMIVarBitNode {
     }
 
     public abstract static class LLVMIVarXorNode extends LLVMIVarLogicalNode {
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.xor(right);
+        }
+
         @Specialization
         protected LLVMIVarBit or(LLVMIVarBit left, LLVMIVarBit right) {
             return left.xor(right);
@@ -60,6 +76,11 @@ public abstract class LLVMIVarLogicalNode extends LLVMIVarBitNode {
     }
 
     public abstract static class LLVMIVarShlNode extends LLVMIVarLogicalNode {
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.leftShift(right);
+        }
+
         @Specialization
         protected LLVMIVarBit shl(LLVMIVarBit left, LLVMIVarBit right) {
             return left.leftShift(right);
@@ -67,6 +88,11 @@ public abstract class LLVMIVarLogicalNode extends LLVMIVarBitNode {
     }
 
     public abstract static class LLVMIVarLshrNode extends LLVMIVarLogicalNode {
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.logicalRightShift(right);
+        }
+
         @Specialization
         protected LLVMIVarBit ashr(LLVMIVarBit left, LLVMIVarBit right) {
             return left.logicalRightShift(right);
@@ -74,6 +100,11 @@ public abstract class LLVMIVarLogicalNode extends LLVMIVarBitNode {
     }
 
     public abstract static class LLVMIVarAshrNode extends LLVMIVarLogicalNode {
+        @Specialization
+        protected LLVMI128 executeI128(LLVMI128 left, LLVMI128 right) {
+            return left.arithmeticRightShift(right);
+        }
+
         @Specialization
         protected LLVMIVarBit ashr(LLVMIVarBit left, LLVMIVarBit right) {
             return left.arithmeticRightShift(right);
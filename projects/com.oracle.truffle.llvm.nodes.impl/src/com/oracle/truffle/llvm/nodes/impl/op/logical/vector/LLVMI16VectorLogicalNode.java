@@ -32,53 +32,51 @@ package com.oracle.truffle.llvm.nodes.impl.op.logical.vector;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI16VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
 
-@NodeChildren({@NodeChild(value = "address", type = LLVMAddressNode.class), @NodeChild("leftNode"), @NodeChild("rightNode")})
+@NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMI16VectorLogicalNode extends LLVMI16VectorNode {
 
     public abstract static class LLVMI16VectorAndNode extends LLVMI16VectorLogicalNode {
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.and(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.and(right);
         }
     }
 
     public abstract static class LLVMI16VectorOrNode extends LLVMI16VectorLogicalNode {
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.or(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.or(right);
         }
     }
 
     public abstract static class LLVMI16VectorShlNode extends LLVMI16VectorLogicalNode {
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.leftShift(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.leftShift(right);
         }
     }
 
     public abstract static class LLVMI16VectorLshrNode extends LLVMI16VectorLogicalNode {
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.logicalRightShift(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.logicalRightShift(right);
         }
     }
 
     public abstract static class LLVMI16VectorAshrNode extends LLVMI16VectorLogicalNode {
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.arithmeticRightShift(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.arithmeticRightShift(right);
         }
     }
 
     public abstract static class LLVMI16VectorXorNode extends LLVMI16VectorLogicalNode {
         @Specialization
-        protected LLVMI16Vector executeI16Vector(LLVMAddress target, LLVMI16Vector left, LLVMI16Vector right) {
-            return left.xor(target, right);
+        protected LLVMI16Vector executeI16Vector(LLVMI16Vector left, LLVMI16Vector right) {
+            return left.xor(right);
         }
     }
 }
@@ -29,17 +29,24 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.others;
 
+import java.util.BitSet;
+
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameUtil;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.LoopNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RepeatingNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMBasicBlockNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMNaturalLoopNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMRetNode;
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 
@@ -47,28 +54,116 @@ public abstract class LLVMBlockNode extends LLVMExpressionNode {
 
     public static class LLVMBlockControlFlowNode extends LLVMBlockNode {
 
+        @Child private LoopNode loop;
+        private final FrameSlot returnSlot;
+
+        public LLVMBlockControlFlowNode(LLVMBasicBlockNode[] bodyNodes, LLVMStackFrameNuller[][] indexToSlotNuller, FrameSlot returnSlot, FrameSlot blockIndexSlot) {
+            this.loop = Truffle.getRuntime().createLoopNode(new LLVMBlockDispatchNode(bodyNodes, indexToSlotNuller, blockIndexSlot));
+            this.returnSlot = returnSlot;
+        }
+
+        @Override
+        public Object executeGeneric(VirtualFrame frame) {
+            LLVMBlockDispatchNode dispatch = (LLVMBlockDispatchNode) loop.getRepeatingNode();
+            if (dispatch.dispatch(frame, 0) != LLVMRetNode.RETURN_FROM_FUNCTION) {
+                /*
+                 * The interpreter took a back edge. The loop node continues at the loop header and
+                 * compiles the dispatch by on-stack replacement once the loop runs long enough.
+                 */
+                loop.executeLoop(frame);
+            }
+            return frame.getValue(returnSlot);
+        }
+    }
+
+    /**
+     * Dispatches the basic blocks of a function. Compiled code explodes the dispatch loop, so that
+     * the block index is a constant in each block. In the interpreter, the dispatch stops at every
+     * back edge, i.e., at every branch to the same or a preceding block, and stores the target in
+     * the block index slot. As a {@link RepeatingNode}, the dispatch then continues at that block,
+     * so that each iteration of a loop counts towards its on-stack replacement.
+     *
+     * Natural loops may have been replaced by a single block at the index of their header, see
+     * {@link LLVMLoopDispatchNode}. The other blocks of such a loop are {@code null} here.
+     */
+    public static final class LLVMBlockDispatchNode extends Node implements RepeatingNode {
+
+        /**
+         * The pseudo block index at which the dispatch reads the actual block index from the frame.
+         */
+        private static final int LOOP_HEADER_ENTRY = -2;
+
         @Children private final LLVMBasicBlockNode[] bodyNodes;
         @CompilationFinal private final LLVMStackFrameNuller[][] indexToSlotNuller;
-        private final FrameSlot returnSlot;
+        @CompilationFinal private final int[] loopHeaders;
+        private final FrameSlot blockIndexSlot;
         private final boolean injectBranchProbabilities = LLVMBaseOptionFacade.injectBranchProbabilities();
+        private final boolean onStackReplacement = LLVMBaseOptionFacade.blockDispatchOSR();
 
-        public LLVMBlockControlFlowNode(LLVMBasicBlockNode[] bodyNodes, LLVMStackFrameNuller[][] indexToSlotNuller, FrameSlot returnSlot) {
+        public LLVMBlockDispatchNode(LLVMBasicBlockNode[] bodyNodes, LLVMStackFrameNuller[][] indexToSlotNuller, FrameSlot blockIndexSlot) {
             this.bodyNodes = bodyNodes;
             this.indexToSlotNuller = indexToSlotNuller;
-            this.returnSlot = returnSlot;
+            this.blockIndexSlot = blockIndexSlot;
+            this.loopHeaders = getLoopHeaders(bodyNodes);
+        }
+
+        private static int[] getLoopHeaders(LLVMBasicBlockNode[] blocks) {
+            BitSet headers = new BitSet(blocks.length);
+            for (int bci = 0; bci < blocks.length; bci++) {
+                if (blocks[bci] == null) {
+                    continue;
+                }
+                for (int successor : blocks[bci].getSuccessors()) {
+                    if (isBackEdge(bci, successor)) {
+                        headers.set(successor);
+                    }
+                }
+            }
+            return headers.stream().toArray();
+        }
+
+        private static boolean isBackEdge(int bci, int successor) {
+            return successor != LLVMRetNode.RETURN_FROM_FUNCTION && successor <= bci;
         }
 
         @Override
+        public boolean executeRepeating(VirtualFrame frame) {
+            return dispatch(frame, LOOP_HEADER_ENTRY) != LLVMRetNode.RETURN_FROM_FUNCTION;
+        }
+
+        /**
+         * Executes the blocks from the given block on.
+         *
+         * @param startIndex the first block, or {@link #LOOP_HEADER_ENTRY} to continue at the loop
+         *            header in the block index slot
+         * @return {@link LLVMRetNode#RETURN_FROM_FUNCTION} if the function returned, or the loop
+         *         header at which the interpreter stopped
+         */
         @ExplodeLoop(merge = true)
-        public Object executeGeneric(VirtualFrame frame) {
+        int dispatch(VirtualFrame frame, int startIndex) {
             CompilerAsserts.compilationConstant(bodyNodes.length);
-            int bci = 0;
+            int bci = startIndex;
             int loopCount = 0;
             outer: while (bci != LLVMRetNode.RETURN_FROM_FUNCTION) {
+                CompilerAsserts.partialEvaluationConstant(bci);
+                if (bci == LOOP_HEADER_ENTRY) {
+                    int header = FrameUtil.getIntSafe(frame, blockIndexSlot);
+                    if (CompilerDirectives.inInterpreter()) {
+                        bci = header;
+                        continue outer;
+                    }
+                    for (int i = 0; i < loopHeaders.length; i++) {
+                        if (loopHeaders[i] == header) {
+                            bci = loopHeaders[i];
+                            continue outer;
+                        }
+                    }
+                    CompilerDirectives.transferToInterpreter();
+                    throw new Error("No loop header at " + header);
+                }
                 if (CompilerDirectives.inInterpreter()) {
                     loopCount++;
                 }
-                CompilerAsserts.partialEvaluationConstant(bci);
                 LLVMBasicBlockNode bb = bodyNodes[bci];
                 int successorSelection = bb.executeGetSuccessorIndex(frame);
                 LLVMStackFrameNuller[] stackNuller = indexToSlotNuller[bci];
@@ -78,6 +173,23 @@ public abstract class LLVMBlockNode extends LLVMExpressionNode {
                     }
                 }
                 int[] successors = bb.getSuccessors();
+                if (CompilerDirectives.inInterpreter()) {
+                    /*
+                     * The successor index can be used directly, comparing it against every
+                     * successor would make large switches linear in the interpreter again.
+                     */
+                    if (injectBranchProbabilities) {
+                        bb.increaseBranchProbabilityDeoptIfZero(successorSelection);
+                    }
+                    int successor = successors[successorSelection];
+                    if (onStackReplacement && isBackEdge(bci, successor)) {
+                        LoopNode.reportLoopCount(this, loopCount);
+                        frame.setInt(blockIndexSlot, successor);
+                        return successor;
+                    }
+                    bci = successor;
+                    continue outer;
+                }
                 for (int i = 0; i < successors.length; i++) {
                     if (injectBranchProbabilities) {
                         if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(i), i == successorSelection)) {
@@ -101,7 +213,115 @@ public abstract class LLVMBlockNode extends LLVMExpressionNode {
                 throw new Error("No matching successor found");
             }
             LoopNode.reportLoopCount(this, loopCount);
-            return frame.getValue(returnSlot);
+            return LLVMRetNode.RETURN_FROM_FUNCTION;
+        }
+    }
+
+    /**
+     * Dispatches the basic blocks of a natural loop, see {@link LLVMNaturalLoopNode}. Every
+     * execution is one iteration: it starts at the loop header, which is the first block, and ends
+     * at a back edge to the header or at an exit of the loop. The body of a natural loop has no
+     * other back edges, so the exploded dispatch is acyclic and its branches become plain if/else
+     * control flow. A nested loop is a single block of its own {@link LLVMNaturalLoopNode}. Cycles
+     * that can be entered at more than one block are no natural loops and remain in the dispatch of
+     * the enclosing loop or function.
+     *
+     * The acyclic regions are not rebuilt as a tree of if/else nodes. Such a tree has to duplicate
+     * every block that is reached from more than one branch, or needs a join node for every merge
+     * point, while the exploded dispatch already yields the same compiled control flow. Only the
+     * interpreter still selects the blocks of an iteration one by one.
+     */
+    public static final class LLVMLoopDispatchNode extends Node implements RepeatingNode {
+
+        /**
+         * The successor that denotes a back edge to the loop header.
+         */
+        public static final int LOOP_HEADER = 0;
+
+        @Children private final LLVMBasicBlockNode[] bodyNodes;
+        @CompilationFinal private final LLVMStackFrameNuller[][] indexToSlotNuller;
+        @CompilationFinal private final int[][] successors;
+        private final FrameSlot exitIndexSlot;
+        private final boolean injectBranchProbabilities = LLVMBaseOptionFacade.injectBranchProbabilities();
+
+        /**
+         * @param successors the successors of each block, either as an index into the body nodes or
+         *            as an exit of the loop encoded by {@link #encodeExit(int)}
+         * @param exitIndexSlot the slot that receives the index of the exit when the loop ends
+         */
+        public LLVMLoopDispatchNode(LLVMBasicBlockNode[] bodyNodes, LLVMStackFrameNuller[][] indexToSlotNuller, int[][] successors, FrameSlot exitIndexSlot) {
+            this.bodyNodes = bodyNodes;
+            this.indexToSlotNuller = indexToSlotNuller;
+            this.successors = successors;
+            this.exitIndexSlot = exitIndexSlot;
+        }
+
+        public static int encodeExit(int exitIndex) {
+            return -exitIndex - 1;
+        }
+
+        private static int decodeExit(int successor) {
+            return -successor - 1;
+        }
+
+        @Override
+        @ExplodeLoop(merge = true)
+        public boolean executeRepeating(VirtualFrame frame) {
+            CompilerAsserts.compilationConstant(bodyNodes.length);
+            int bci = LOOP_HEADER;
+            outer: while (true) {
+                CompilerAsserts.partialEvaluationConstant(bci);
+                LLVMBasicBlockNode bb = bodyNodes[bci];
+                int successorSelection = bb.executeGetSuccessorIndex(frame);
+                LLVMStackFrameNuller[] stackNuller = indexToSlotNuller[bci];
+                if (stackNuller != null) {
+                    for (int j = 0; j < stackNuller.length; j++) {
+                        stackNuller[j].nullifySlot(frame);
+                    }
+                }
+                int[] blockSuccessors = successors[bci];
+                if (CompilerDirectives.inInterpreter()) {
+                    if (injectBranchProbabilities) {
+                        bb.increaseBranchProbabilityDeoptIfZero(successorSelection);
+                    }
+                    int successor = blockSuccessors[successorSelection];
+                    if (successor <= LOOP_HEADER) {
+                        return endIteration(frame, successor);
+                    }
+                    bci = successor;
+                    continue outer;
+                }
+                for (int i = 0; i < blockSuccessors.length; i++) {
+                    if (injectBranchProbabilities) {
+                        if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(i), i == successorSelection)) {
+                            bb.increaseBranchProbabilityDeoptIfZero(i);
+                            if (blockSuccessors[i] <= LOOP_HEADER) {
+                                return endIteration(frame, blockSuccessors[i]);
+                            }
+                            bci = blockSuccessors[i];
+                            continue outer;
+                        }
+                    } else {
+                        if (i == successorSelection) {
+                            if (blockSuccessors[i] <= LOOP_HEADER) {
+                                return endIteration(frame, blockSuccessors[i]);
+                            }
+                            bci = blockSuccessors[i];
+                            continue outer;
+                        }
+                    }
+                }
+                CompilerDirectives.transferToInterpreter();
+                throw new Error("No matching successor found");
+            }
+        }
+
+        private boolean endIteration(VirtualFrame frame, int successor) {
+            if (successor == LOOP_HEADER) {
+                return true;
+            }
+            frame.setInt(exitIndexSlot, decodeExit(successor));
+            return false;
         }
     }
 
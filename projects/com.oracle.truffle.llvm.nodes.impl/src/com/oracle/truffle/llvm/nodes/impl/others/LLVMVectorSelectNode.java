@@ -33,7 +33,6 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMDoubleVectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMFloatVectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI16VectorNode;
@@ -41,7 +40,6 @@ import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI1VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI64VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI8VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMDoubleVector;
 import com.oracle.truffle.llvm.types.vector.LLVMFloatVector;
 import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
@@ -53,7 +51,6 @@ import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
 public abstract class LLVMVectorSelectNode {
 
     @NodeChildren({
-                    @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                     @NodeChild(value = "conditionNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "trueNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "elseNode", type = LLVMI1VectorNode.class)})
@@ -61,7 +58,7 @@ public abstract class LLVMVectorSelectNode {
 
         @Specialization
         @ExplodeLoop
-        public LLVMI1Vector execute(LLVMAddress target, LLVMI1Vector condition, LLVMI1Vector trueValue, LLVMI1Vector elseValue) {
+        public LLVMI1Vector execute(LLVMI1Vector condition, LLVMI1Vector trueValue, LLVMI1Vector elseValue) {
             int length = condition.getLength();
 
             boolean[] values = new boolean[length];
@@ -70,13 +67,12 @@ public abstract class LLVMVectorSelectNode {
                 values[i] = condition.getValue(i) ? trueValue.getValue(i) : elseValue.getValue(i);
             }
 
-            return LLVMI1Vector.fromI1Array(target, values);
+            return LLVMI1Vector.create(values);
         }
 
     }
 
     @NodeChildren({
-                    @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                     @NodeChild(value = "conditionNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "trueNode", type = LLVMI8VectorNode.class),
                     @NodeChild(value = "elseNode", type = LLVMI8VectorNode.class)})
@@ -84,7 +80,7 @@ public abstract class LLVMVectorSelectNode {
 
         @Specialization
         @ExplodeLoop
-        public LLVMI8Vector execute(LLVMAddress target, LLVMI1Vector condition, LLVMI8Vector trueValue, LLVMI8Vector elseValue) {
+        public LLVMI8Vector execute(LLVMI1Vector condition, LLVMI8Vector trueValue, LLVMI8Vector elseValue) {
             int length = condition.getLength();
 
             byte[] values = new byte[length];
@@ -93,13 +89,12 @@ public abstract class LLVMVectorSelectNode {
                 values[i] = condition.getValue(i) ? trueValue.getValue(i) : elseValue.getValue(i);
             }
 
-            return LLVMI8Vector.fromI8Array(target, values);
+            return LLVMI8Vector.create(values);
         }
 
     }
 
     @NodeChildren({
-                    @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                     @NodeChild(value = "conditionNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "trueNode", type = LLVMI16VectorNode.class),
                     @NodeChild(value = "elseNode", type = LLVMI16VectorNode.class)})
@@ -107,7 +102,7 @@ public abstract class LLVMVectorSelectNode {
 
         @Specialization
         @ExplodeLoop
-        public LLVMI16Vector execute(LLVMAddress target, LLVMI1Vector condition, LLVMI16Vector trueValue, LLVMI16Vector elseValue) {
+        public LLVMI16Vector execute(LLVMI1Vector condition, LLVMI16Vector trueValue, LLVMI16Vector elseValue) {
             int length = condition.getLength();
 
             short[] values = new short[length];
@@ -116,13 +111,12 @@ public abstract class LLVMVectorSelectNode {
                 values[i] = condition.getValue(i) ? trueValue.getValue(i) : elseValue.getValue(i);
             }
 
-            return LLVMI16Vector.fromI16Array(target, values);
+            return LLVMI16Vector.create(values);
         }
 
     }
 
     @NodeChildren({
-                    @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                     @NodeChild(value = "conditionNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "trueNode", type = LLVMI32VectorNode.class),
                     @NodeChild(value = "elseNode", type = LLVMI32VectorNode.class)})
@@ -130,7 +124,7 @@ public abstract class LLVMVectorSelectNode {
 
         @Specialization
         @ExplodeLoop
-        public LLVMI32Vector execute(LLVMAddress target, LLVMI1Vector condition, LLVMI32Vector trueValue, LLVMI32Vector elseValue) {
+        public LLVMI32Vector execute(LLVMI1Vector condition, LLVMI32Vector trueValue, LLVMI32Vector elseValue) {
             int length = condition.getLength();
 
             int[] values = new int[length];
@@ -139,13 +133,12 @@ public abstract class LLVMVectorSelectNode {
                 values[i] = condition.getValue(i) ? trueValue.getValue(i) : elseValue.getValue(i);
             }
 
-            return LLVMI32Vector.fromI32Array(target, values);
+            return LLVMI32Vector.create(values);
         }
 
     }
 
     @NodeChildren({
-                    @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                     @NodeChild(value = "conditionNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "trueNode", type = LLVMI64VectorNode.class),
                     @NodeChild(value = "elseNode", type = LLVMI64VectorNode.class)})
@@ -153,7 +146,7 @@ public abstract class LLVMVectorSelectNode {
 
         @Specialization
         @ExplodeLoop
-        public LLVMI64Vector execute(LLVMAddress target, LLVMI1Vector condition, LLVMI64Vector trueValue, LLVMI64Vector elseValue) {
+        public LLVMI64Vector execute(LLVMI1Vector condition, LLVMI64Vector trueValue, LLVMI64Vector elseValue) {
             int length = condition.getLength();
 
             long[] values = new long[length];
@@ -162,13 +155,12 @@ public abstract class LLVMVectorSelectNode {
                 values[i] = condition.getValue(i) ? trueValue.getValue(i) : elseValue.getValue(i);
             }
 
-            return LLVMI64Vector.fromI64Array(target, values);
+            return LLVMI64Vector.create(values);
         }
 
     }
 
     @NodeChildren({
-                    @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                     @NodeChild(value = "conditionNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "trueNode", type = LLVMFloatVectorNode.class),
                     @NodeChild(value = "elseNode", type = LLVMFloatVectorNode.class)})
@@ -176,7 +168,7 @@ public abstract class LLVMVectorSelectNode {
 
         @Specialization
         @ExplodeLoop
-        public LLVMFloatVector execute(LLVMAddress target, LLVMI1Vector condition, LLVMFloatVector trueValue, LLVMFloatVector elseValue) {
+        public LLVMFloatVector execute(LLVMI1Vector condition, LLVMFloatVector trueValue, LLVMFloatVector elseValue) {
             int length = condition.getLength();
 
             float[] values = new float[length];
@@ -185,13 +177,12 @@ public abstract class LLVMVectorSelectNode {
                 values[i] = condition.getValue(i) ? trueValue.getValue(i) : elseValue.getValue(i);
             }
 
-            return LLVMFloatVector.fromFloatArray(target, values);
+            return LLVMFloatVector.create(values);
         }
 
     }
 
     @NodeChildren({
-                    @NodeChild(value = "addressNode", type = LLVMAddressNode.class),
                     @NodeChild(value = "conditionNode", type = LLVMI1VectorNode.class),
                     @NodeChild(value = "trueNode", type = LLVMDoubleVectorNode.class),
                     @NodeChild(value = "elseNode", type = LLVMDoubleVectorNode.class)})
@@ -199,7 +190,7 @@ public abstract class LLVMVectorSelectNode {
 
         @Specialization
         @ExplodeLoop
-        public LLVMDoubleVector execute(LLVMAddress target, LLVMI1Vector condition, LLVMDoubleVector trueValue, LLVMDoubleVector elseValue) {
+        public LLVMDoubleVector execute(LLVMI1Vector condition, LLVMDoubleVector trueValue, LLVMDoubleVector elseValue) {
             int length = condition.getLength();
 
             double[] values = new double[length];
@@ -208,7 +199,7 @@ public abstract class LLVMVectorSelectNode {
                 values[i] = condition.getValue(i) ? trueValue.getValue(i) : elseValue.getValue(i);
             }
 
-            return LLVMDoubleVector.fromDoubleArray(target, values);
+            return LLVMDoubleVector.create(values);
         }
 
     }
@@ -45,7 +45,7 @@ public abstract class LLVMWriteVectorNode extends LLVMNode {
     protected abstract FrameSlot getSlot();
 
     @Specialization
-    protected void writeVector(VirtualFrame frame, LLVMVector<?> value) {
+    protected void writeVector(VirtualFrame frame, LLVMVector value) {
         frame.setObject(getSlot(), value);
     }
 
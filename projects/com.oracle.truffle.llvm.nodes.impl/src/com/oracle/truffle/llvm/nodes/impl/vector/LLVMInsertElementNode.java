@@ -32,7 +32,6 @@ package com.oracle.truffle.llvm.nodes.impl.vector;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
@@ -47,7 +46,6 @@ import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI1VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI64VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI8VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMDoubleVector;
 import com.oracle.truffle.llvm.types.vector.LLVMFloatVector;
 import com.oracle.truffle.llvm.types.vector.LLVMI16Vector;
@@ -58,73 +56,73 @@ import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
 
 public abstract class LLVMInsertElementNode {
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI1VectorNode.class), @NodeChild(type = LLVMI1Node.class, value = "element"),
+    @NodeChildren({@NodeChild(type = LLVMI1VectorNode.class), @NodeChild(type = LLVMI1Node.class, value = "element"),
                     @NodeChild(type = LLVMI32Node.class, value = "index")})
     public abstract static class LLVMI1InsertElementNode extends LLVMI1VectorNode {
 
         @Specialization
-        public LLVMI1Vector executeI1(LLVMAddress address, LLVMI1Vector vector, boolean element, int index) {
-            return vector.insert(address, element, index);
+        public LLVMI1Vector executeI1(LLVMI1Vector vector, boolean element, int index) {
+            return vector.insert(element, index);
         }
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI8VectorNode.class), @NodeChild(type = LLVMI8Node.class, value = "element"),
+    @NodeChildren({@NodeChild(type = LLVMI8VectorNode.class), @NodeChild(type = LLVMI8Node.class, value = "element"),
                     @NodeChild(type = LLVMI32Node.class, value = "index")})
     public abstract static class LLVMI8InsertElementNode extends LLVMI8VectorNode {
 
         @Specialization
-        public LLVMI8Vector executeI8(LLVMAddress address, LLVMI8Vector vector, byte element, int index) {
-            return vector.insert(address, element, index);
+        public LLVMI8Vector executeI8(LLVMI8Vector vector, byte element, int index) {
+            return vector.insert(element, index);
         }
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI16VectorNode.class), @NodeChild(type = LLVMI16Node.class, value = "element"),
+    @NodeChildren({@NodeChild(type = LLVMI16VectorNode.class), @NodeChild(type = LLVMI16Node.class, value = "element"),
                     @NodeChild(type = LLVMI32Node.class, value = "index")})
     public abstract static class LLVMI16InsertElementNode extends LLVMI16VectorNode {
 
         @Specialization
-        public LLVMI16Vector executeI16(LLVMAddress address, LLVMI16Vector vector, short element, int index) {
-            return vector.insert(address, element, index);
+        public LLVMI16Vector executeI16(LLVMI16Vector vector, short element, int index) {
+            return vector.insert(element, index);
         }
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI32VectorNode.class), @NodeChild(type = LLVMI32Node.class, value = "element"),
+    @NodeChildren({@NodeChild(type = LLVMI32VectorNode.class), @NodeChild(type = LLVMI32Node.class, value = "element"),
                     @NodeChild(type = LLVMI32Node.class, value = "index")})
     public abstract static class LLVMI32InsertElementNode extends LLVMI32VectorNode {
 
         @Specialization
-        public LLVMI32Vector executeI32(LLVMAddress address, LLVMI32Vector vector, int element, int index) {
-            return vector.insert(address, element, index);
+        public LLVMI32Vector executeI32(LLVMI32Vector vector, int element, int index) {
+            return vector.insert(element, index);
         }
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMI64VectorNode.class), @NodeChild(type = LLVMI64Node.class, value = "element"),
+    @NodeChildren({@NodeChild(type = LLVMI64VectorNode.class), @NodeChild(type = LLVMI64Node.class, value = "element"),
                     @NodeChild(type = LLVMI32Node.class, value = "index")})
     public abstract static class LLVMI64InsertElementNode extends LLVMI64VectorNode {
 
         @Specialization
-        public LLVMI64Vector executeI64(LLVMAddress address, LLVMI64Vector vector, long element, int index) {
-            return vector.insert(address, element, index);
+        public LLVMI64Vector executeI64(LLVMI64Vector vector, long element, int index) {
+            return vector.insert(element, index);
         }
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMFloatVectorNode.class), @NodeChild(type = LLVMFloatNode.class, value = "element"),
+    @NodeChildren({@NodeChild(type = LLVMFloatVectorNode.class), @NodeChild(type = LLVMFloatNode.class, value = "element"),
                     @NodeChild(type = LLVMI32Node.class, value = "index")})
     public abstract static class LLVMFloatInsertElementNode extends LLVMFloatVectorNode {
 
         @Specialization
-        public LLVMFloatVector executeFloat(LLVMAddress address, LLVMFloatVector vector, float element, int index) {
-            return vector.insert(address, element, index);
+        public LLVMFloatVector executeFloat(LLVMFloatVector vector, float element, int index) {
+            return vector.insert(element, index);
         }
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(type = LLVMDoubleVectorNode.class), @NodeChild(type = LLVMDoubleNode.class, value = "element"),
+    @NodeChildren({@NodeChild(type = LLVMDoubleVectorNode.class), @NodeChild(type = LLVMDoubleNode.class, value = "element"),
                     @NodeChild(type = LLVMI32Node.class, value = "index")})
     public abstract static class LLVMDoubleInsertElementNode extends LLVMDoubleVectorNode {
 
         @Specialization
-        public LLVMDoubleVector executeDouble(LLVMAddress address, LLVMDoubleVector vector, double element, int index) {
-            return vector.insert(address, element, index);
+        public LLVMDoubleVector executeDouble(LLVMDoubleVector vector, double element, int index) {
+            return vector.insert(element, index);
         }
     }
 
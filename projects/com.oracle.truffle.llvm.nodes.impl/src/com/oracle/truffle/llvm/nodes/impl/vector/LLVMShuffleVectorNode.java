@@ -29,72 +29,66 @@
  */
 package com.oracle.truffle.llvm.nodes.impl.vector;
 
-import java.util.Arrays;
-
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMFloatVectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI32VectorNode;
 import com.oracle.truffle.llvm.nodes.impl.base.vector.LLVMI8VectorNode;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.vector.LLVMFloatVector;
 import com.oracle.truffle.llvm.types.vector.LLVMI32Vector;
 import com.oracle.truffle.llvm.types.vector.LLVMI8Vector;
 
 public class LLVMShuffleVectorNode {
 
-    public static <T> T[] concat(Object[] first, Object[] second, Class<T[]> clazz) {
-        T[] result = Arrays.copyOf(first, first.length + second.length, clazz);
-        System.arraycopy(second, 0, result, first.length, second.length);
-        return result;
-    }
-
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask", type = LLVMI32VectorNode.class)})
+    @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask", type = LLVMI32VectorNode.class)})
     public abstract static class LLVMShuffleI8VectorNode extends LLVMI8VectorNode {
 
         @Specialization
-        public LLVMI8Vector executeI8Vector(LLVMAddress addr, LLVMI8Vector leftVector, LLVMI8Vector rightVector, LLVMI32Vector maskVector) {
-            Byte[] joinedValues = concat(leftVector.getValues(), rightVector.getValues(), Byte[].class);
+        @ExplodeLoop
+        public LLVMI8Vector executeI8Vector(LLVMI8Vector leftVector, LLVMI8Vector rightVector, LLVMI32Vector maskVector) {
+            int leftLength = leftVector.getLength();
             byte[] newValues = new byte[maskVector.getLength()];
             for (int i = 0; i < maskVector.getLength(); i++) {
                 int index = maskVector.getValue(i);
-                newValues[i] = joinedValues[index];
+                newValues[i] = index < leftLength ? leftVector.getValue(index) : rightVector.getValue(index - leftLength);
             }
-            return LLVMI8Vector.fromI8Array(addr, newValues);
+            return LLVMI8Vector.create(newValues);
         }
 
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
+    @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
     public abstract static class LLVMShuffleI32VectorNode extends LLVMI32VectorNode {
 
         @Specialization
-        public LLVMI32Vector executeI32Vector(LLVMAddress addr, LLVMI32Vector leftVector, LLVMI32Vector rightVector, LLVMI32Vector maskVector) {
-            Integer[] joinedValues = concat(leftVector.getValues(), rightVector.getValues(), Integer[].class);
+        @ExplodeLoop
+        public LLVMI32Vector executeI32Vector(LLVMI32Vector leftVector, LLVMI32Vector rightVector, LLVMI32Vector maskVector) {
+            int leftLength = leftVector.getLength();
             int[] newValues = new int[maskVector.getLength()];
             for (int i = 0; i < maskVector.getLength(); i++) {
                 int element = maskVector.getValue(i);
-                newValues[i] = joinedValues[element];
+                newValues[i] = element < leftLength ? leftVector.getValue(element) : rightVector.getValue(element - leftLength);
             }
-            return LLVMI32Vector.fromI32Array(addr, newValues);
+            return LLVMI32Vector.create(newValues);
         }
 
     }
 
-    @NodeChildren({@NodeChild(type = LLVMAddressNode.class), @NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
+    @NodeChildren({@NodeChild(value = "left"), @NodeChild(value = "right"), @NodeChild(value = "mask")})
     public abstract static class LLVMShuffleFloatVectorNode extends LLVMFloatVectorNode {
 
         @Specialization
-        public LLVMFloatVector execute(LLVMAddress addr, LLVMFloatVector leftVector, LLVMFloatVector rightVector, LLVMI32Vector maskVector) {
-            Float[] joinedValues = concat(leftVector.getValues(), rightVector.getValues(), Float[].class);
+        @ExplodeLoop
+        public LLVMFloatVector execute(LLVMFloatVector leftVector, LLVMFloatVector rightVector, LLVMI32Vector maskVector) {
+            int leftLength = leftVector.getLength();
             float[] newValues = new float[maskVector.getLength()];
             for (int i = 0; i < maskVector.getLength(); i++) {
                 int element = maskVector.getValue(i);
-                newValues[i] = joinedValues[element];
+                newValues[i] = element < leftLength ? leftVector.getValue(element) : rightVector.getValue(element - leftLength);
             }
-            return LLVMFloatVector.fromFloatArray(addr, newValues);
+            return LLVMFloatVector.create(newValues);
         }
 
     }
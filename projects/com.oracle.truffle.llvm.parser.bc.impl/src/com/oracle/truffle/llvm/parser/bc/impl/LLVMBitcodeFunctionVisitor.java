@@ -32,6 +32,8 @@ package com.oracle.truffle.llvm.parser.bc.impl;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
@@ -53,10 +55,16 @@ import com.oracle.truffle.llvm.runtime.LLVMOptimizationConfiguration;
 import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
 import uk.ac.man.cs.llvm.ir.model.FunctionVisitor;
 import uk.ac.man.cs.llvm.ir.model.GlobalValueSymbol;
+import uk.ac.man.cs.llvm.ir.model.Symbol;
+import uk.ac.man.cs.llvm.ir.model.elements.AllocateInstruction;
 
 public class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
 
-    private final LLVMBitcodeVisitor module;
+    private final LLVMContext context;
+
+    private final LLVMOptimizationConfiguration optimizationConfiguration;
+
+    private final Function<GlobalValueSymbol, LLVMExpressionNode> globals;
 
     private final FrameDescriptor frame;
 
@@ -70,15 +78,20 @@ public class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
 
     private final Map<InstructionBlock, List<Phi>> phis;
 
+    private final Set<AllocateInstruction> promotedAllocas;
+
     private final List<LLVMNode> instructions = new ArrayList<>();
 
-    public LLVMBitcodeFunctionVisitor(LLVMBitcodeVisitor module, FrameDescriptor frame, Map<InstructionBlock, List<FrameSlot>> slotsToNull, Map<String, Integer> labels,
-                    Map<InstructionBlock, List<Phi>> phis) {
-        this.module = module;
+    public LLVMBitcodeFunctionVisitor(LLVMContext context, LLVMOptimizationConfiguration optimizationConfiguration, Function<GlobalValueSymbol, LLVMExpressionNode> globals, FrameDescriptor frame,
+                    Map<InstructionBlock, List<FrameSlot>> slotsToNull, Map<String, Integer> labels, Map<InstructionBlock, List<Phi>> phis, Set<AllocateInstruction> promotedAllocas) {
+        this.context = context;
+        this.optimizationConfiguration = optimizationConfiguration;
+        this.globals = globals;
         this.frame = frame;
         this.slotsToNull = slotsToNull;
         this.labels = labels;
         this.phis = phis;
+        this.promotedAllocas = promotedAllocas;
     }
 
     public void addInstruction(LLVMNode node) {
@@ -103,7 +116,7 @@ public class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
     }
 
     public LLVMContext getContext() {
-        return module.getContext();
+        return context;
     }
 
     public FrameDescriptor getFrame() {
@@ -118,12 +131,16 @@ public class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
         return frame.findFrameSlot(name);
     }
 
+    public FrameSlot getBlockIndexSlot() {
+        return getSlot(LLVMBitcodeHelper.BLOCK_INDEX_FRAME_SLOT_ID);
+    }
+
     public FrameSlot getStackSlot() {
         return getSlot(LLVMBitcodeHelper.STACK_ADDRESS_FRAME_SLOT_ID);
     }
 
     public LLVMExpressionNode global(GlobalValueSymbol symbol) {
-        return module.getGlobalVariable(symbol);
+        return globals.apply(symbol);
     }
 
     public Map<String, Integer> labels() {
@@ -138,6 +155,14 @@ public class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
         return phis;
     }
 
+    /**
+     * Whether the symbol is an alloca whose value lives in the frame slot of the alloca, see
+     * {@link LLVMPromotedAllocas}.
+     */
+    public boolean isPromoted(Symbol symbol) {
+        return symbol instanceof AllocateInstruction && promotedAllocas.contains(symbol);
+    }
+
     @Override
     public void visit(InstructionBlock block) {
         this.instructions.clear();
@@ -185,6 +210,6 @@ public class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
     }
 
     public LLVMOptimizationConfiguration getOptimizationConfiguration() {
-        return module.getOptimizationConfiguration();
+        return optimizationConfiguration;
     }
 }
@@ -141,6 +141,8 @@ public final class LLVMBitcodeHelper {
 
     public static final String STACK_ADDRESS_FRAME_SLOT_ID = "<stack pointer>";
 
+    public static final String BLOCK_INDEX_FRAME_SLOT_ID = "<block index>";
+
     public static int getAlignment(Symbol symbol, int align) {
         return getAlignment(symbol.getType(), align);
     }
@@ -286,22 +288,18 @@ public final class LLVMBitcodeHelper {
     public static LLVMExpressionNode toBinaryOperatorNode(BinaryOperator operator, LLVMBaseType type, LLVMExpressionNode lhs, LLVMExpressionNode rhs) {
         LLVMArithmeticInstructionType opA = LLVMBitcodeHelper.toArithmeticInstructionType(operator);
         if (opA != null) {
-            return LLVMArithmeticFactory.createArithmeticOperation(lhs, rhs, opA, type, null);
+            return LLVMArithmeticFactory.createArithmeticOperation(lhs, rhs, opA, type);
         }
 
         LLVMLogicalInstructionType opL = toLogicalInstructionType(operator);
         if (opL != null) {
-            return LLVMLogicalFactory.createLogicalOperation(lhs, rhs, opL, type, null);
+            return LLVMLogicalFactory.createLogicalOperation(lhs, rhs, opL, type);
         }
 
         throw new RuntimeException("Missed a binary operator");
     }
 
     public static LLVMExpressionNode toCompareNode(CompareOperator operator, Type type, LLVMExpressionNode lhs, LLVMExpressionNode rhs) {
-        return toCompareVectorNode(operator, type, null, lhs, rhs);
-    }
-
-    public static LLVMExpressionNode toCompareVectorNode(CompareOperator operator, Type type, LLVMAddressNode target, LLVMExpressionNode lhs, LLVMExpressionNode rhs) {
         LLVMBaseType llvmtype = toBaseType(type);
 
         switch (operator) {
@@ -380,7 +378,7 @@ public final class LLVMBitcodeHelper {
         }
 
         if (LLVMTypeHelper.isVectorType(llvmtype)) {
-            return LLVMComparisonFactory.createVectorComparison(target, lhs, rhs, llvmtype, comparison);
+            return LLVMComparisonFactory.createVectorComparison(lhs, rhs, llvmtype, comparison);
         } else {
             return LLVMComparisonFactory.createIntegerComparison(lhs, rhs, llvmtype, comparison);
         }
@@ -709,11 +707,9 @@ public final class LLVMBitcodeHelper {
         }
         if (value instanceof VectorType) {
             VectorType vector = (VectorType) value.getType();
-
-            LLVMAddressNode target = LLVMAllocaInstructionNodeGen.create(getSize(value, align), getAlignment(value.getType(), align), context, stack);
             LLVMExpressionNode[] zeroes = new LLVMExpressionNode[vector.getElementCount()];
             Arrays.fill(zeroes, toConstantZeroNode(vector.getElementType(), align, context, stack));
-            return LLVMLiteralFactory.createVectorLiteralNode(Arrays.asList(zeroes), target, toBaseType(vector));
+            return LLVMLiteralFactory.createVectorLiteralNode(Arrays.asList(zeroes), toBaseType(vector));
         }
         if (value instanceof FunctionType) {
             LLVMFunctionDescriptor functionDescriptor = context.getFunctionRegistry().createFunctionDescriptor("<zero function>", LLVMRuntimeType.ILLEGAL, new LLVMRuntimeType[0], false);
@@ -304,9 +304,7 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
                 for (int i = 0; i < vector.getLength(); i++) {
                     values.add(resolve(vector.getElement(i)));
                 }
-                LLVMAddressNode target = LLVMAllocaInstructionNodeGen.create(LLVMBitcodeHelper.getSize(vector, 0), LLVMBitcodeHelper.getAlignment(vector, 0), method.getContext(),
-                                method.getStackSlot());
-                return LLVMLiteralFactory.createVectorLiteralNode(values, target, LLVMBitcodeHelper.toBaseType(vector.getType()));
+                return LLVMLiteralFactory.createVectorLiteralNode(values, LLVMBitcodeHelper.toBaseType(vector.getType()));
             }
         }
         return null;
@@ -317,6 +315,13 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
         Type type = allocate.getPointeeType();
         int align = allocate.getAlign();
 
+        if (method.isPromoted(allocate)) {
+            /* the value is undefined until the first store, zero initializes the slot for paths without one */
+            LLVMExpressionNode zero = LLVMBitcodeHelper.toConstantZeroNode(type, align, method.getContext(), method.getStackSlot());
+            method.addInstruction(LLVMFrameReadWriteFactory.createFrameWrite(LLVMBitcodeHelper.toBaseType(type), zero, method.getSlot(allocate.getName())));
+            return;
+        }
+
         Symbol count = allocate.getCount();
 
         int size = LLVMBitcodeHelper.getSize(type, align);
@@ -352,15 +357,10 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
         LLVMExpressionNode lhs = resolve(operation.getLHS());
         LLVMExpressionNode rhs = resolve(operation.getRHS());
 
-        LLVMAddressNode target = null;
-        if (operation.getType() instanceof VectorType) {
-            target = LLVMAllocaInstructionNodeGen.create(LLVMBitcodeHelper.getSize(operation, 0), operation.getType().getAlignment(), method.getContext(), method.getStackSlot());
-        }
-
         LLVMBaseType type = LLVMBitcodeHelper.toBaseType(operation.getType());
         LLVMArithmeticInstructionType opA = LLVMBitcodeHelper.toArithmeticInstructionType(operation.getOperator());
         if (opA != null) {
-            LLVMExpressionNode result = LLVMArithmeticFactory.createArithmeticOperation(lhs, rhs, opA, type, target);
+            LLVMExpressionNode result = LLVMArithmeticFactory.createArithmeticOperation(lhs, rhs, opA, type);
             LLVMNode node = LLVMFrameReadWriteFactory.createFrameWrite(type, result, method.getFrame().findFrameSlot(operation.getName()));
             method.addInstruction(node);
             return;
@@ -368,7 +368,7 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
         LLVMLogicalInstructionType opL = LLVMBitcodeHelper.toLogicalInstructionType(operation.getOperator());
         if (opL != null) {
-            LLVMExpressionNode result = LLVMLogicalFactory.createLogicalOperation(lhs, rhs, opL, type, target);
+            LLVMExpressionNode result = LLVMLogicalFactory.createLogicalOperation(lhs, rhs, opL, type);
             LLVMNode node = LLVMFrameReadWriteFactory.createFrameWrite(type, result, method.getFrame().findFrameSlot(operation.getName()));
             method.addInstruction(node);
             return;
@@ -430,25 +430,11 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
     @Override
     public void visit(CompareInstruction compare) {
-        LLVMExpressionNode result;
-
-        if (compare.getType() instanceof VectorType) {
-            Type type = compare.getType();
-            LLVMAddressNode target = LLVMAllocaInstructionNodeGen.create(type.sizeof(), type.getAlignment(), method.getContext(), method.getStackSlot());
-
-            result = LLVMBitcodeHelper.toCompareVectorNode(
-                            compare.getOperator(),
-                            compare.getLHS().getType(),
-                            target,
-                            resolve(compare.getLHS()),
-                            resolve(compare.getRHS()));
-        } else {
-            result = LLVMBitcodeHelper.toCompareNode(
-                            compare.getOperator(),
-                            compare.getLHS().getType(),
-                            resolve(compare.getLHS()),
-                            resolve(compare.getRHS()));
-        }
+        LLVMExpressionNode result = LLVMBitcodeHelper.toCompareNode(
+                        compare.getOperator(),
+                        compare.getLHS().getType(),
+                        resolve(compare.getLHS()),
+                        resolve(compare.getRHS()));
 
         LLVMNode node = LLVMFrameReadWriteFactory.createFrameWrite(LLVMBitcodeHelper.toBaseType(compare.getType()), result, method.getFrame().findFrameSlot(compare.getName()));
         method.addInstruction(node);
@@ -570,10 +556,7 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
         LLVMExpressionNode element = resolve(insert.getValue());
         LLVMBaseType resultType = LLVMBitcodeHelper.toBaseType(insert.getType());
 
-        LLVMAddressNode target = LLVMAllocaInstructionNodeGen.create(LLVMBitcodeHelper.getSize(insert, 0), insert.getType().getAlignment(), method.getContext(),
-                        method.getStackSlot());
-
-        LLVMExpressionNode result = LLVMVectorFactory.createInsertElement(resultType, target, vector, element, index);
+        LLVMExpressionNode result = LLVMVectorFactory.createInsertElement(resultType, vector, element, index);
 
         LLVMNode node = LLVMFrameReadWriteFactory.createFrameWrite(resultType, result, method.getFrame().findFrameSlot(insert.getName()));
         method.addInstruction(node);
@@ -586,14 +569,18 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
     @Override
     public void visit(LoadInstruction load) {
-        LLVMAddressNode source = (LLVMAddressNode) resolve(load.getSource());
         LLVMBaseType resultType = LLVMBitcodeHelper.toBaseType(load.getType());
         LLVMExpressionNode result;
 
-        if (load.getType() instanceof VectorType) {
+        if (method.isPromoted(load.getSource())) {
+            FrameSlot allocaSlot = method.getSlot(((ValueSymbol) load.getSource()).getName());
+            result = LLVMFrameReadWriteFactory.createFrameRead(resultType, allocaSlot);
+        } else if (load.getType() instanceof VectorType) {
+            LLVMAddressNode source = (LLVMAddressNode) resolve(load.getSource());
             VectorType type = (VectorType) load.getType();
             result = LLVMMemoryReadWriteFactory.createLoadVector(resultType, source, type.getElementCount());
         } else {
+            LLVMAddressNode source = (LLVMAddressNode) resolve(load.getSource());
             int bits = load.getType() instanceof IntegerType
                             ? ((IntegerType) load.getType()).getBitCount()
                             : 0;
@@ -683,10 +670,7 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
         LLVMExpressionNode result;
         if (select.getType() instanceof VectorType) {
-            VectorType type = (VectorType) select.getType();
-            LLVMAddressNode target = LLVMAllocaInstructionNodeGen.create(LLVMBitcodeHelper.getSize(type, 0), type.getAlignment(), method.getContext(), method.getStackSlot());
-
-            result = LLVMSelectFactory.createSelectVector(llvmType, target, condition, trueValue, falseValue);
+            result = LLVMSelectFactory.createSelectVector(llvmType, condition, trueValue, falseValue);
         } else {
             result = LLVMSelectFactory.createSelect(llvmType, (LLVMI1Node) condition, trueValue, falseValue);
         }
@@ -703,10 +687,7 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
         LLVMBaseType type = LLVMBitcodeHelper.toBaseType(shuffle.getType());
 
-        LLVMAddressNode destination = LLVMAllocaInstructionNodeGen.create(LLVMBitcodeHelper.getSize(shuffle, 0), shuffle.getType().getAlignment(), method.getContext(),
-                        method.getStackSlot());
-
-        LLVMExpressionNode result = LLVMVectorFactory.createShuffleVector(type, destination, vector1, vector2, mask);
+        LLVMExpressionNode result = LLVMVectorFactory.createShuffleVector(type, vector1, vector2, mask);
 
         LLVMNode node = LLVMFrameReadWriteFactory.createFrameWrite(type, result, method.getSlot(shuffle.getName()));
         method.addInstruction(node);
@@ -714,11 +695,17 @@ public final class LLVMBitcodeInstructionVisitor implements InstructionVisitor {
 
     @Override
     public void visit(StoreInstruction store) {
-        LLVMAddressNode pointerNode = (LLVMAddressNode) resolve(store.getDestination());
         LLVMExpressionNode valueNode = resolve(store.getSource());
 
         Type type = store.getSource().getType();
 
+        if (method.isPromoted(store.getDestination())) {
+            FrameSlot allocaSlot = method.getSlot(((ValueSymbol) store.getDestination()).getName());
+            method.addInstruction(LLVMFrameReadWriteFactory.createFrameWrite(LLVMBitcodeHelper.toBaseType(type), valueNode, allocaSlot));
+            return;
+        }
+
+        LLVMAddressNode pointerNode = (LLVMAddressNode) resolve(store.getDestination());
         LLVMNode node = LLVMMemoryReadWriteFactory.createStore(pointerNode, valueNode, LLVMBitcodeHelper.toBaseType(type), LLVMBitcodeHelper.getSize(type, store.getAlign()));
 
         method.addInstruction(node);
@@ -31,8 +31,14 @@ package com.oracle.truffle.llvm.parser.bc.impl;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
@@ -44,9 +50,10 @@ import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallNode;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMFunctionStartNode;
-import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMFreeFactory;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMLazyFunctionBodyNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.llvm.LLVMMemCopyFactory.LLVMMemI32CopyFactory;
 import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAddressLiteralNode;
 import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI1LiteralNode;
@@ -54,52 +61,58 @@ import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMStaticInitsBlockNode;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
 import com.oracle.truffle.llvm.parser.LLVMParserResult;
+import com.oracle.truffle.llvm.parser.bc.impl.LLVMPhiManager.Phi;
 import com.oracle.truffle.llvm.parser.factories.LLVMBlockFactory;
 import com.oracle.truffle.llvm.parser.factories.LLVMFrameReadWriteFactory;
 import com.oracle.truffle.llvm.parser.factories.LLVMFunctionFactory;
 import com.oracle.truffle.llvm.parser.factories.LLVMMemoryReadWriteFactory;
 import com.oracle.truffle.llvm.parser.factories.LLVMRootNodeFactory;
+import com.oracle.truffle.llvm.runtime.LLVMLogger;
 import com.oracle.truffle.llvm.runtime.LLVMOptimizationConfiguration;
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
-import com.oracle.truffle.llvm.types.memory.LLVMHeap;
 
-import uk.ac.man.cs.llvm.ir.LLVMParser;
 import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
 import uk.ac.man.cs.llvm.ir.model.FunctionDefinition;
 import uk.ac.man.cs.llvm.ir.model.FunctionParameter;
 import uk.ac.man.cs.llvm.ir.model.GlobalConstant;
 import uk.ac.man.cs.llvm.ir.model.GlobalValueSymbol;
 import uk.ac.man.cs.llvm.ir.model.GlobalVariable;
+import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
 import uk.ac.man.cs.llvm.ir.model.Model;
 import uk.ac.man.cs.llvm.ir.model.ModelVisitor;
-import uk.ac.man.cs.llvm.ir.module.ModuleVersion;
+import uk.ac.man.cs.llvm.ir.model.elements.AllocateInstruction;
+import uk.ac.man.cs.llvm.ir.types.FunctionType;
 import uk.ac.man.cs.llvm.ir.types.PointerType;
 import uk.ac.man.cs.llvm.ir.types.Type;
 
 public class LLVMBitcodeVisitor implements ModelVisitor {
 
     public static LLVMParserResult getMain(Source source, LLVMContext context, LLVMOptimizationConfiguration configuration) {
-        Model model = new Model();
-
-        new LLVMParser(model).parse(ModuleVersion.LLVM_3_2, source.getPath());
-
-        LLVMPhiManager phis = LLVMPhiManager.generate(model);
+        return getMain(source, LLVMModuleCache.getModule(source), context, configuration);
+    }
 
-        LLVMFrameDescriptors lifetimes = LLVMFrameDescriptors.generate(model);
+    public static LLVMParserResult getMain(Source source, LLVMParsedModule parsedModule, LLVMContext context, LLVMOptimizationConfiguration configuration) {
+        Model model = parsedModule.getModel();
 
-        LLVMLabelList labels = LLVMLabelList.generate(model);
+        LLVMGlobalLayout globalLayout = LLVMGlobalLayout.generate(model, LLVMBaseOptionFacade.protectGlobalConstants());
 
-        LLVMBitcodeVisitor module = new LLVMBitcodeVisitor(context, configuration, lifetimes, labels, phis);
+        LLVMBitcodeVisitor module = new LLVMBitcodeVisitor(context, configuration, parsedModule.getFrames(), parsedModule.getLabels(), parsedModule.getPhis(),
+                        parsedModule.getPromotedAllocas(), parsedModule.getLoops(), globalLayout);
 
         model.accept(module);
 
+        module.createPendingFunctions();
+
         LLVMFunctionDescriptor mainFunction = module.getFunction("@main");
 
         FrameDescriptor frame = new FrameDescriptor();
         FrameSlot stack = frame.addFrameSlot(LLVMBitcodeHelper.STACK_ADDRESS_FRAME_SLOT_ID);
 
-        LLVMNode[] globals = module.getGobalVariables(stack).toArray(new LLVMNode[0]);
+        List<LLVMNode> globalInitializers = module.getGobalVariables(stack);
+        globalLayout.addProtection(globalInitializers);
+        LLVMNode[] globals = globalInitializers.toArray(new LLVMNode[globalInitializers.size()]);
 
         RootNode staticInits = new LLVMStaticInitsBlockNode(globals, frame, context, stack);
         RootCallTarget staticInitsTarget = Truffle.getRuntime().createCallTarget(staticInits);
@@ -127,36 +140,122 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
 
     private final LLVMPhiManager phis;
 
+    private final LLVMPromotedAllocas promotedAllocas;
+
+    private final LLVMNaturalLoops loops;
+
+    private final LLVMGlobalLayout globalLayout;
+
     private final List<LLVMNode> deallocations = new ArrayList<>();
 
     private final Map<LLVMFunctionDescriptor, RootCallTarget> functions = new HashMap<>();
 
-    private final Map<GlobalValueSymbol, LLVMAddressNode> variables = new HashMap<>();
+    private final Map<String, LLVMFunctionDescriptor> functionsByName = new HashMap<>();
+
+    private final List<GlobalValueSymbol> globalSymbols = new ArrayList<>();
+
+    private final Map<GlobalValueSymbol, LLVMAddressNode> variables = new ConcurrentHashMap<>();
+
+    private final Function<GlobalValueSymbol, LLVMExpressionNode> globalVariables;
+
+    private final boolean lazyFunctionParsing = LLVMBaseOptionFacade.lazyFunctionParsing();
+
+    private final boolean parallelTranslation = LLVMParallelTranslation.isEnabled();
 
-    public LLVMBitcodeVisitor(LLVMContext context, LLVMOptimizationConfiguration optimizationConfiguration, LLVMFrameDescriptors frames, LLVMLabelList labels, LLVMPhiManager phis) {
+    private final boolean structuredLoops = LLVMBaseOptionFacade.structuredLoops();
+
+    /**
+     * The function definitions that are translated in parallel once the whole module was visited.
+     */
+    private final Map<LLVMFunctionDescriptor, FunctionDefinition> pendingFunctions = new LinkedHashMap<>();
+
+    public LLVMBitcodeVisitor(LLVMContext context, LLVMOptimizationConfiguration optimizationConfiguration, LLVMFrameDescriptors frames, LLVMLabelList labels, LLVMPhiManager phis,
+                    LLVMPromotedAllocas promotedAllocas, LLVMNaturalLoops loops, LLVMGlobalLayout globalLayout) {
         this.context = context;
         this.optimizationConfiguration = optimizationConfiguration;
         this.frames = frames;
         this.labels = labels;
         this.phis = phis;
+        this.promotedAllocas = promotedAllocas;
+        this.loops = loops;
+        this.globalLayout = globalLayout;
+        this.globalVariables = createGlobalLookup(variables, globalLayout);
+        globalLayout.addDeallocations(deallocations);
     }
 
-    private LLVMExpressionNode createFunction(FunctionDefinition method) {
+    /**
+     * Collects what the translation of one function needs. The returned builder captures only this
+     * function's share of the module analyses, so that a body that is built lazily does not keep
+     * the visitor and the analyses of all other functions alive.
+     */
+    private FunctionBuilder prepareFunction(FunctionDefinition method) {
         String name = method.getName();
-
-        LLVMBitcodeFunctionVisitor visitor = new LLVMBitcodeFunctionVisitor(
-                        this,
+        return new FunctionBuilder(
+                        method,
+                        context,
+                        optimizationConfiguration,
+                        globalVariables,
                         frames.getDescriptor(name),
                         frames.getSlots(name),
                         labels.labels(name),
-                        phis.getPhiMap(name));
+                        phis.getPhiMap(name),
+                        promotedAllocas.getPromotedAllocas(name),
+                        structuredLoops ? loops.getLoops(name) : null);
+    }
+
+    private static final class FunctionBuilder implements Supplier<LLVMExpressionNode> {
+
+        private final FunctionDefinition method;
+        private final LLVMContext context;
+        private final LLVMOptimizationConfiguration optimizationConfiguration;
+        private final Function<GlobalValueSymbol, LLVMExpressionNode> globals;
+        private final FrameDescriptor frame;
+        private final Map<InstructionBlock, List<FrameSlot>> slotsToNull;
+        private final Map<String, Integer> labels;
+        private final Map<InstructionBlock, List<Phi>> phis;
+        private final Set<AllocateInstruction> promotedAllocas;
+        private final int[][] loops;
+
+        FunctionBuilder(FunctionDefinition method, LLVMContext context, LLVMOptimizationConfiguration optimizationConfiguration, Function<GlobalValueSymbol, LLVMExpressionNode> globals,
+                        FrameDescriptor frame, Map<InstructionBlock, List<FrameSlot>> slotsToNull, Map<String, Integer> labels, Map<InstructionBlock, List<Phi>> phis,
+                        Set<AllocateInstruction> promotedAllocas, int[][] loops) {
+            this.method = method;
+            this.context = context;
+            this.optimizationConfiguration = optimizationConfiguration;
+            this.globals = globals;
+            this.frame = frame;
+            this.slotsToNull = slotsToNull;
+            this.labels = labels;
+            this.phis = phis;
+            this.promotedAllocas = promotedAllocas;
+            this.loops = loops;
+        }
 
-        method.accept(visitor);
+        @Override
+        public LLVMExpressionNode get() {
+            LLVMBitcodeFunctionVisitor visitor = new LLVMBitcodeFunctionVisitor(context, optimizationConfiguration, globals, frame, slotsToNull, labels, phis, promotedAllocas);
+
+            method.accept(visitor);
+
+            if (LLVMBaseOptionFacade.printPromotedAllocas()) {
+                LLVMLogger.unconditionalInfo(method.getName() + ": " + promotedAllocas.size() + " promoted allocas");
+            }
+
+            if (loops != null) {
+                return LLVMBlockFactory.createFunctionBlock(
+                                visitor.getReturnSlot(),
+                                visitor.getBlockIndexSlot(),
+                                visitor.getBlocks(),
+                                visitor.getNullers(),
+                                loops);
+            }
 
-        return LLVMBlockFactory.createFunctionBlock(
-                        visitor.getReturnSlot(),
-                        visitor.getBlocks(),
-                        visitor.getNullers());
+            return LLVMBlockFactory.createFunctionBlock(
+                            visitor.getReturnSlot(),
+                            visitor.getBlockIndexSlot(),
+                            visitor.getBlocks(),
+                            visitor.getNullers());
+        }
     }
 
     private static List<LLVMNode> createParameters(FrameDescriptor frame, List<FunctionParameter> parameters) {
@@ -222,12 +321,7 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
     }
 
     public LLVMFunctionDescriptor getFunction(String name) {
-        for (LLVMFunctionDescriptor function : functions.keySet()) {
-            if (function.getName().equals(name)) {
-                return function;
-            }
-        }
-        return null;
+        return functionsByName.get(name);
     }
 
     public Map<LLVMFunctionDescriptor, RootCallTarget> getFunctions() {
@@ -235,15 +329,11 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
     }
 
     public LLVMExpressionNode getGlobalVariable(GlobalValueSymbol global) {
-        LLVMAddressNode address = variables.get(global);
-        if (address == null) {
-            Type type = ((PointerType) global.getType()).getPointeeType();
+        return globalVariables.apply(global);
+    }
 
-            address = new LLVMAddressLiteralNode(LLVMHeap.allocateMemory(LLVMBitcodeHelper.getSize(type, global.getAlign())));
-            deallocations.add(LLVMFreeFactory.create(address));
-            variables.put(global, address);
-        }
-        return address;
+    private static Function<GlobalValueSymbol, LLVMExpressionNode> createGlobalLookup(Map<GlobalValueSymbol, LLVMAddressNode> variables, LLVMGlobalLayout globalLayout) {
+        return global -> variables.computeIfAbsent(global, g -> new LLVMAddressLiteralNode(globalLayout.getAddress(g)));
     }
 
     public LLVMOptimizationConfiguration getOptimizationConfiguration() {
@@ -252,7 +342,7 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
 
     public List<LLVMNode> getGobalVariables(FrameSlot stack) {
         List<LLVMNode> globals = new ArrayList<>();
-        for (GlobalValueSymbol global : variables.keySet()) {
+        for (GlobalValueSymbol global : globalSymbols) {
             LLVMNode store = createVariable(global, stack);
             if (store != null) {
                 globals.add(store);
@@ -263,35 +353,88 @@ public class LLVMBitcodeVisitor implements ModelVisitor {
 
     @Override
     public void visit(GlobalConstant constant) {
-        variables.put(constant, null);
+        globalSymbols.add(constant);
     }
 
     @Override
     public void visit(GlobalVariable variable) {
-        variables.put(variable, null);
+        globalSymbols.add(variable);
     }
 
     @Override
     public void visit(FunctionDeclaration method) {
+        if (parallelTranslation && !method.getName().startsWith("@llvm.")) {
+            /*
+             * Number the declarations up front, since the threads reach the calls to them in an
+             * arbitrary order. The LLVM intrinsics are called by name and need no descriptor.
+             */
+            createFunctionDescriptor(method.getName(), method);
+        }
     }
 
     @Override
     public void visit(FunctionDefinition method) {
+        if (parallelTranslation) {
+            pendingFunctions.put(createFunctionDescriptor(method.getName(), method), method);
+        } else {
+            RootCallTarget callTarget = createCallTarget(method);
+            addFunction(createFunctionDescriptor(method.getName(), method), callTarget);
+        }
+    }
+
+    /**
+     * Builds the ASTs of the function definitions that were deferred by a parallel translation on
+     * the common fork-join pool. Only publishing the call targets happens on the current thread.
+     */
+    private void createPendingFunctions() {
+        if (pendingFunctions.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<LLVMFunctionDescriptor, FunctionDefinition>> pending = new ArrayList<>(pendingFunctions.entrySet());
+        RootCallTarget[] callTargets = new RootCallTarget[pending.size()];
+        IntStream.range(0, callTargets.length).parallel().forEach(i -> {
+            LLVMContext previous = LLVMLanguage.enterTranslation(context);
+            try {
+                callTargets[i] = createCallTarget(pending.get(i).getValue());
+            } finally {
+                LLVMLanguage.leaveTranslation(previous);
+            }
+        });
+        for (int i = 0; i < callTargets.length; i++) {
+            addFunction(pending.get(i).getKey(), callTargets[i]);
+        }
+        pendingFunctions.clear();
+    }
+
+    private void addFunction(LLVMFunctionDescriptor function, RootCallTarget callTarget) {
+        functions.put(function, callTarget);
+        functionsByName.put(function.getName(), function);
+    }
+
+    private LLVMFunctionDescriptor createFunctionDescriptor(String name, FunctionType type) {
+        LLVMRuntimeType llvmReturnType = LLVMBitcodeHelper.toRuntimeType(type.getReturnType());
+        LLVMRuntimeType[] llvmParamTypes = LLVMBitcodeHelper.toRuntimeTypes(type.getArgumentTypes());
+        return context.getFunctionRegistry().createFunctionDescriptor(name, llvmReturnType, llvmParamTypes, type.isVarArg());
+    }
+
+    private RootCallTarget createCallTarget(FunctionDefinition method) {
         FrameDescriptor frame = frames.getDescriptor(method.getName());
 
         List<LLVMNode> parameters = createParameters(frame, method.getParameters());
 
-        LLVMExpressionNode body = createFunction(method);
+        FunctionBuilder builder = prepareFunction(method);
+        LLVMExpressionNode body;
+        if (lazyFunctionParsing) {
+            body = new LLVMLazyFunctionBodyNode(method.getName(), context, builder);
+        } else {
+            body = builder.get();
+        }
 
         LLVMNode[] beforeFunction = parameters.toArray(new LLVMNode[parameters.size()]);
         LLVMNode[] afterFunction = new LLVMNode[0];
 
         LLVMFunctionStartNode rootNode = new LLVMFunctionStartNode(body, beforeFunction, afterFunction, frame, method.getName());
-        LLVMRuntimeType llvmReturnType = LLVMBitcodeHelper.toRuntimeType(method.getReturnType());
-        LLVMRuntimeType[] llvmParamTypes = LLVMBitcodeHelper.toRuntimeTypes(method.getArgumentTypes());
-        LLVMFunctionDescriptor function = context.getFunctionRegistry().createFunctionDescriptor(method.getName(), llvmReturnType, llvmParamTypes, method.isVarArg());
-        RootCallTarget callTarget = Truffle.getRuntime().createCallTarget(rootNode);
-        functions.put(function, callTarget);
+        return Truffle.getRuntime().createCallTarget(rootNode);
     }
 
     @Override
@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
 import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
@@ -74,7 +75,7 @@ public final class LLVMControlFlowAnalysis {
     public static LLVMControlFlowAnalysis generate(Model model) {
         LLVMControlFlowVisitor visitor = new LLVMControlFlowVisitor();
 
-        model.accept(visitor);
+        LLVMParallelTranslation.accept(model, visitor);
 
         return new LLVMControlFlowAnalysis(visitor.dependencies());
     }
@@ -113,7 +114,7 @@ public final class LLVMControlFlowAnalysis {
 
     private static class LLVMControlFlowVisitor implements ModelVisitor {
 
-        private final Map<String, LLVMControlFlow> dependencies = new HashMap<>();
+        private final Map<String, LLVMControlFlow> dependencies = new ConcurrentHashMap<>();
 
         LLVMControlFlowVisitor() {
         }
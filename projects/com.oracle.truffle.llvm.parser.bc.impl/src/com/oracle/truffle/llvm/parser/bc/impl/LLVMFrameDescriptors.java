@@ -29,18 +29,20 @@
  */
 package com.oracle.truffle.llvm.parser.bc.impl;
 
-import java.util.ArrayDeque;
+import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.llvm.parser.bc.impl.LLVMControlFlowAnalysis.LLVMControlFlow;
+import com.oracle.truffle.llvm.parser.util.LLVMLivenessAnalysis;
 
 import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
 import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
@@ -52,9 +54,11 @@ import uk.ac.man.cs.llvm.ir.model.GlobalVariable;
 import uk.ac.man.cs.llvm.ir.model.InstructionVisitor;
 import uk.ac.man.cs.llvm.ir.model.Model;
 import uk.ac.man.cs.llvm.ir.model.ModelVisitor;
+import uk.ac.man.cs.llvm.ir.model.Symbol;
 import uk.ac.man.cs.llvm.ir.model.elements.AllocateInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.BinaryOperationInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.BranchInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.Call;
 import uk.ac.man.cs.llvm.ir.model.elements.CallInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.CastInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.CompareInstruction;
@@ -74,17 +78,18 @@ import uk.ac.man.cs.llvm.ir.model.elements.StoreInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.SwitchInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.SwitchOldInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.UnreachableInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.ValueInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.VoidCallInstruction;
 import uk.ac.man.cs.llvm.ir.types.Type;
 
-public final class LLVMFrameDescriptors {
+public final class LLVMFrameDescriptors implements Serializable {
 
-    public static LLVMFrameDescriptors generate(Model model) {
-        LLVMControlFlowAnalysis cfg = LLVMControlFlowAnalysis.generate(model);
+    private static final long serialVersionUID = 1L;
 
-        LLVMFrameDescriptorsVisitor visitor = new LLVMFrameDescriptorsVisitor(cfg);
+    public static LLVMFrameDescriptors generate(Model model, LLVMControlFlowAnalysis cfg, LLVMPromotedAllocas promotedAllocas) {
+        LLVMFrameDescriptorsVisitor visitor = new LLVMFrameDescriptorsVisitor(cfg, promotedAllocas);
 
-        model.accept(visitor);
+        LLVMParallelTranslation.accept(model, visitor);
 
         return new LLVMFrameDescriptors(visitor.getDescriptors(), visitor.getSlots());
     }
@@ -110,16 +115,89 @@ public final class LLVMFrameDescriptors {
         return slots.get(method);
     }
 
+    private Object writeReplace() {
+        return new SerializedFrameDescriptors(this);
+    }
+
+    /**
+     * Frame descriptors and slots are not serializable, so they are written as the identifiers and
+     * kinds of the slots in index order together with the indices of the dead slots per block.
+     */
+    private static final class SerializedFrameDescriptors implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Object[]> identifiers = new HashMap<>();
+
+        private final Map<String, FrameSlotKind[]> kinds = new HashMap<>();
+
+        private final Map<String, Map<InstructionBlock, int[]>> deadSlots = new HashMap<>();
+
+        SerializedFrameDescriptors(LLVMFrameDescriptors frames) {
+            for (Map.Entry<String, FrameDescriptor> entry : frames.descriptors.entrySet()) {
+                String method = entry.getKey();
+                List<? extends FrameSlot> methodSlots = entry.getValue().getSlots();
+                Object[] methodIdentifiers = new Object[methodSlots.size()];
+                FrameSlotKind[] methodKinds = new FrameSlotKind[methodSlots.size()];
+                for (FrameSlot slot : methodSlots) {
+                    methodIdentifiers[slot.getIndex()] = slot.getIdentifier();
+                    methodKinds[slot.getIndex()] = slot.getKind();
+                }
+                identifiers.put(method, methodIdentifiers);
+                kinds.put(method, methodKinds);
+
+                Map<InstructionBlock, int[]> methodDeadSlots = new HashMap<>();
+                for (Map.Entry<InstructionBlock, List<FrameSlot>> blockSlots : frames.slots.get(method).entrySet()) {
+                    int[] indices = new int[blockSlots.getValue().size()];
+                    for (int i = 0; i < indices.length; i++) {
+                        indices[i] = blockSlots.getValue().get(i).getIndex();
+                    }
+                    methodDeadSlots.put(blockSlots.getKey(), indices);
+                }
+                deadSlots.put(method, methodDeadSlots);
+            }
+        }
+
+        private Object readResolve() {
+            Map<String, FrameDescriptor> descriptors = new HashMap<>();
+            Map<String, Map<InstructionBlock, List<FrameSlot>>> slots = new HashMap<>();
+            for (String method : identifiers.keySet()) {
+                Object[] methodIdentifiers = identifiers.get(method);
+                FrameSlotKind[] methodKinds = kinds.get(method);
+                FrameDescriptor frame = new FrameDescriptor();
+                FrameSlot[] methodSlots = new FrameSlot[methodIdentifiers.length];
+                for (int i = 0; i < methodSlots.length; i++) {
+                    methodSlots[i] = frame.addFrameSlot(methodIdentifiers[i], methodKinds[i]);
+                }
+                descriptors.put(method, frame);
+
+                Map<InstructionBlock, List<FrameSlot>> methodDeadSlots = new HashMap<>();
+                for (Map.Entry<InstructionBlock, int[]> blockSlots : deadSlots.get(method).entrySet()) {
+                    List<FrameSlot> dead = new ArrayList<>(blockSlots.getValue().length);
+                    for (int index : blockSlots.getValue()) {
+                        dead.add(methodSlots[index]);
+                    }
+                    methodDeadSlots.put(blockSlots.getKey(), dead);
+                }
+                slots.put(method, methodDeadSlots);
+            }
+            return new LLVMFrameDescriptors(descriptors, slots);
+        }
+    }
+
     private static class LLVMFrameDescriptorsVisitor implements ModelVisitor {
 
         private final LLVMControlFlowAnalysis cfg;
 
-        private final Map<String, FrameDescriptor> descriptors = new HashMap<>();
+        private final LLVMPromotedAllocas promotedAllocas;
+
+        private final Map<String, FrameDescriptor> descriptors = new ConcurrentHashMap<>();
 
-        private final Map<String, Map<InstructionBlock, List<FrameSlot>>> slots = new HashMap<>();
+        private final Map<String, Map<InstructionBlock, List<FrameSlot>>> slots = new ConcurrentHashMap<>();
 
-        LLVMFrameDescriptorsVisitor(LLVMControlFlowAnalysis cfg) {
+        LLVMFrameDescriptorsVisitor(LLVMControlFlowAnalysis cfg, LLVMPromotedAllocas promotedAllocas) {
             this.cfg = cfg;
+            this.promotedAllocas = promotedAllocas;
         }
 
         public Map<String, FrameDescriptor> getDescriptors() {
@@ -147,12 +225,14 @@ public final class LLVMFrameDescriptors {
             FrameDescriptor frame = new FrameDescriptor();
             frame.addFrameSlot(LLVMBitcodeHelper.FUNCTION_RETURN_VALUE_FRAME_SLOT_ID);
             frame.addFrameSlot(LLVMBitcodeHelper.STACK_ADDRESS_FRAME_SLOT_ID, FrameSlotKind.Object);
+            frame.addFrameSlot(LLVMBitcodeHelper.BLOCK_INDEX_FRAME_SLOT_ID, FrameSlotKind.Int);
 
             for (FunctionParameter parameter : method.getParameters()) {
                 frame.addFrameSlot(parameter.getName(), LLVMBitcodeHelper.toFrameSlotKind(parameter.getType()));
             }
 
-            LLVMFrameDescriptorsFunctionVisitor visitor = new LLVMFrameDescriptorsFunctionVisitor(frame, cfg.dependencies(method.getName()));
+            LLVMFrameDescriptorsFunctionVisitor visitor = new LLVMFrameDescriptorsFunctionVisitor(frame, cfg.dependencies(method.getName()), method,
+                            promotedAllocas.getPromotedAllocas(method.getName()));
 
             method.accept(visitor);
 
@@ -169,91 +249,127 @@ public final class LLVMFrameDescriptors {
 
         private final FrameDescriptor frame;
 
-        private LLVMControlFlow cfg;
+        private final LLVMControlFlow cfg;
+
+        private final FunctionDefinition method;
+
+        private final Set<AllocateInstruction> promotedAllocas;
+
+        private final List<FrameSlot> slots = new ArrayList<>();
+
+        private final Map<String, Integer> slotIndices = new HashMap<>();
 
-        private final Map<InstructionBlock, List<FrameSlot>> map = new HashMap<>();
+        private final BitSet[] defs;
 
-        private InstructionBlock entry = null;
+        private final BitSet[] phiDefs;
 
-        LLVMFrameDescriptorsFunctionVisitor(FrameDescriptor frame, LLVMControlFlow cfg) {
+        private final BitSet[] uses;
+
+        private int currentBlock;
+
+        LLVMFrameDescriptorsFunctionVisitor(FrameDescriptor frame, LLVMControlFlow cfg, FunctionDefinition method, Set<AllocateInstruction> promotedAllocas) {
             this.frame = frame;
             this.cfg = cfg;
-        }
-
-        private List<InstructionBlock> getNondominatingBlocks(InstructionBlock block) {
-            List<InstructionBlock> nondominating = new ArrayList<>();
-            if (block != entry) {
-                getNondominatingBlocksWorker(block, entry, nondominating);
+            this.method = method;
+            this.promotedAllocas = promotedAllocas;
+            this.defs = new BitSet[method.getBlockCount()];
+            this.phiDefs = new BitSet[method.getBlockCount()];
+            this.uses = new BitSet[method.getBlockCount()];
+            for (int i = 0; i < defs.length; i++) {
+                defs[i] = new BitSet();
+                phiDefs[i] = new BitSet();
+                uses[i] = new BitSet();
             }
-            return nondominating;
         }
 
-        private void getNondominatingBlocksWorker(InstructionBlock dominator, InstructionBlock block, List<InstructionBlock> nondominating) {
-            for (InstructionBlock blk : cfg.successor(block)) {
-                if (!nondominating.contains(blk) && !dominator.equals(blk)) {
-                    nondominating.add(blk);
-                    getNondominatingBlocksWorker(dominator, blk, nondominating);
+        public Map<InstructionBlock, List<FrameSlot>> getSlotMap() {
+            int blockCount = method.getBlockCount();
+            LLVMReadsVisitor reads = new LLVMReadsVisitor();
+            for (int i = 0; i < blockCount; i++) {
+                currentBlock = i;
+                method.getBlock(i).accept(reads);
+            }
+            int[][] successors = new int[blockCount][];
+            BitSet[] blockDefs = new BitSet[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                Set<InstructionBlock> blockSuccessors = cfg.successor(method.getBlock(i));
+                successors[i] = new int[blockSuccessors.size()];
+                int j = 0;
+                for (InstructionBlock successor : blockSuccessors) {
+                    successors[i][j++] = successor.getBlockIndex();
                 }
+                /* in SSA form, values defined in a block are only read after their definition */
+                uses[i].andNot(defs[i]);
+                blockDefs[i] = (BitSet) defs[i].clone();
+                blockDefs[i].or(phiDefs[i]);
             }
+            BitSet[] deadSlots = LLVMLivenessAnalysis.getDeadSlotsAfterBlocks(successors, blockDefs, uses);
+            Map<InstructionBlock, List<FrameSlot>> map = new HashMap<>();
+            for (int i = 0; i < blockCount; i++) {
+                List<FrameSlot> dead = new ArrayList<>(deadSlots[i].cardinality());
+                for (int slot = deadSlots[i].nextSetBit(0); slot >= 0; slot = deadSlots[i].nextSetBit(slot + 1)) {
+                    dead.add(slots.get(slot));
+                }
+                map.put(method.getBlock(i), dead);
+            }
+            return map;
         }
 
-        public Map<InstructionBlock, List<FrameSlot>> getSlotMap() {
-            return map;
+        private void addSlot(ValueInstruction instruction) {
+            addSlot(instruction, instruction.getType());
         }
 
-        public List<FrameSlot> getSlots(InstructionBlock block) {
-            int count = frame.getSize();
+        private void addSlot(ValueInstruction instruction, Type type) {
+            String name = instruction.getName();
+            Integer index = slotIndices.get(name);
+            if (index == null) {
+                index = slots.size();
+                slots.add(frame.findOrAddFrameSlot(name, LLVMBitcodeHelper.toFrameSlotKind(type)));
+                slotIndices.put(name, index);
+            }
+            defs[currentBlock].set(index);
+        }
 
-            block.accept(this);
+        private int getSlotIndex(Symbol symbol) {
+            if (symbol instanceof ValueInstruction) {
+                Integer index = slotIndices.get(((ValueInstruction) symbol).getName());
+                if (index != null) {
+                    return index;
+                }
+            }
+            return -1;
+        }
 
-            return new ArrayList<>(frame.getSlots().subList(count, frame.getSize()));
+        private void read(Symbol symbol) {
+            read(currentBlock, symbol);
         }
 
-        private boolean isDominating(InstructionBlock dominator, InstructionBlock block) {
-            if (dominator.equals(block)) {
-                return true;
+        private void read(int block, Symbol symbol) {
+            int index = getSlotIndex(symbol);
+            if (index >= 0) {
+                uses[block].set(index);
             }
-            return !getNondominatingBlocks(dominator).contains(block);
         }
 
         @Override
         public void visit(InstructionBlock block) {
-            if (entry == null) {
-                entry = block;
-            }
-            List<InstructionBlock> processed = new ArrayList<>();
-            List<FrameSlot> slots = new ArrayList<>();
-            Deque<InstructionBlock> currentQueue = new ArrayDeque<>();
-            Set<InstructionBlock> successors = cfg.successor(block);
-            currentQueue.push(block);
-            while (!currentQueue.isEmpty()) {
-                InstructionBlock blk = currentQueue.pop();
-                processed.add(blk);
-                boolean dominates = false;
-                for (InstructionBlock successor : successors) {
-                    dominates |= isDominating(blk, successor);
-                }
-                if (!dominates) {
-                    slots.addAll(getSlots(blk));
-                    Set<InstructionBlock> predecessors = cfg.predecessor(blk);
-                    for (InstructionBlock predecessor : predecessors) {
-                        if (!processed.contains(predecessor)) {
-                            currentQueue.push(predecessor);
-                        }
-                    }
-                }
-            }
-            map.put(block, slots);
+            currentBlock = block.getBlockIndex();
+            block.accept(this);
         }
 
         @Override
         public void visit(AllocateInstruction allocate) {
-            frame.findOrAddFrameSlot(allocate.getName(), LLVMBitcodeHelper.toFrameSlotKind(allocate.getType()));
+            if (promotedAllocas.contains(allocate)) {
+                /* the slot holds the value instead of the address, its loads and stores are reads */
+                addSlot(allocate, allocate.getPointeeType());
+            } else {
+                addSlot(allocate);
+            }
         }
 
         @Override
         public void visit(BinaryOperationInstruction operation) {
-            frame.findOrAddFrameSlot(operation.getName(), LLVMBitcodeHelper.toFrameSlotKind(operation.getType()));
+            addSlot(operation);
         }
 
         @Override
@@ -262,17 +378,17 @@ public final class LLVMFrameDescriptors {
 
         @Override
         public void visit(CallInstruction call) {
-            frame.findOrAddFrameSlot(call.getName(), LLVMBitcodeHelper.toFrameSlotKind(call.getType()));
+            addSlot(call);
         }
 
         @Override
         public void visit(CastInstruction cast) {
-            frame.findOrAddFrameSlot(cast.getName(), LLVMBitcodeHelper.toFrameSlotKind(cast.getType()));
+            addSlot(cast);
         }
 
         @Override
         public void visit(CompareInstruction compare) {
-            frame.findOrAddFrameSlot(compare.getName(), LLVMBitcodeHelper.toFrameSlotKind(compare.getType()));
+            addSlot(compare);
         }
 
         @Override
@@ -281,17 +397,17 @@ public final class LLVMFrameDescriptors {
 
         @Override
         public void visit(ExtractElementInstruction extract) {
-            frame.findOrAddFrameSlot(extract.getName(), LLVMBitcodeHelper.toFrameSlotKind(extract.getType()));
+            addSlot(extract);
         }
 
         @Override
         public void visit(ExtractValueInstruction extract) {
-            frame.findOrAddFrameSlot(extract.getName(), LLVMBitcodeHelper.toFrameSlotKind(extract.getType()));
+            addSlot(extract);
         }
 
         @Override
         public void visit(GetElementPointerInstruction gep) {
-            frame.findOrAddFrameSlot(gep.getName(), LLVMBitcodeHelper.toFrameSlotKind(gep.getType()));
+            addSlot(gep);
         }
 
         @Override
@@ -300,22 +416,30 @@ public final class LLVMFrameDescriptors {
 
         @Override
         public void visit(InsertElementInstruction insert) {
-            frame.findOrAddFrameSlot(insert.getName(), LLVMBitcodeHelper.toFrameSlotKind(insert.getType()));
+            addSlot(insert);
         }
 
         @Override
         public void visit(InsertValueInstruction insert) {
-            frame.findOrAddFrameSlot(insert.getName(), LLVMBitcodeHelper.toFrameSlotKind(insert.getType()));
+            addSlot(insert);
         }
 
         @Override
         public void visit(LoadInstruction load) {
-            frame.findOrAddFrameSlot(load.getName(), LLVMBitcodeHelper.toFrameSlotKind(load.getType()));
+            addSlot(load);
         }
 
         @Override
         public void visit(PhiInstruction phi) {
-            frame.findOrAddFrameSlot(phi.getName(), LLVMBitcodeHelper.toFrameSlotKind(phi.getType()));
+            String name = phi.getName();
+            if (!slotIndices.containsKey(name)) {
+                slotIndices.put(name, slots.size());
+                slots.add(frame.findOrAddFrameSlot(name, LLVMBitcodeHelper.toFrameSlotKind(phi.getType())));
+            }
+            /* the phi is written by its predecessors, see LLVMPhiManager */
+            for (int i = 0; i < phi.getSize(); i++) {
+                phiDefs[phi.getBlock(i).getBlockIndex()].set(slotIndices.get(name));
+            }
         }
 
         @Override
@@ -324,12 +448,12 @@ public final class LLVMFrameDescriptors {
 
         @Override
         public void visit(SelectInstruction select) {
-            frame.findOrAddFrameSlot(select.getName(), LLVMBitcodeHelper.toFrameSlotKind(select.getType()));
+            addSlot(select);
         }
 
         @Override
         public void visit(ShuffleVectorInstruction shuffle) {
-            frame.findOrAddFrameSlot(shuffle.getName(), LLVMBitcodeHelper.toFrameSlotKind(shuffle.getType()));
+            addSlot(shuffle);
         }
 
         @Override
@@ -351,5 +475,145 @@ public final class LLVMFrameDescriptors {
         @Override
         public void visit(VoidCallInstruction call) {
         }
+
+        private final class LLVMReadsVisitor implements InstructionVisitor {
+
+            private void readCall(Call call) {
+                read(call.getCallTarget());
+                for (int i = 0; i < call.getArgumentCount(); i++) {
+                    read(call.getArgument(i));
+                }
+            }
+
+            @Override
+            public void visit(AllocateInstruction allocate) {
+                read(allocate.getCount());
+            }
+
+            @Override
+            public void visit(BinaryOperationInstruction operation) {
+                read(operation.getLHS());
+                read(operation.getRHS());
+            }
+
+            @Override
+            public void visit(BranchInstruction branch) {
+            }
+
+            @Override
+            public void visit(CallInstruction call) {
+                readCall(call);
+            }
+
+            @Override
+            public void visit(CastInstruction cast) {
+                read(cast.getValue());
+            }
+
+            @Override
+            public void visit(CompareInstruction compare) {
+                read(compare.getLHS());
+                read(compare.getRHS());
+            }
+
+            @Override
+            public void visit(ConditionalBranchInstruction branch) {
+                read(branch.getCondition());
+            }
+
+            @Override
+            public void visit(ExtractElementInstruction extract) {
+                read(extract.getVector());
+                read(extract.getIndex());
+            }
+
+            @Override
+            public void visit(ExtractValueInstruction extract) {
+                read(extract.getAggregate());
+            }
+
+            @Override
+            public void visit(GetElementPointerInstruction gep) {
+                read(gep.getBasePointer());
+                for (int i = 0; i < gep.getIndexCount(); i++) {
+                    read(gep.getIndex(i));
+                }
+            }
+
+            @Override
+            public void visit(IndirectBranchInstruction ibi) {
+                read(ibi.getAddress());
+            }
+
+            @Override
+            public void visit(InsertElementInstruction insert) {
+                read(insert.getVector());
+                read(insert.getIndex());
+                read(insert.getValue());
+            }
+
+            @Override
+            public void visit(InsertValueInstruction insert) {
+                read(insert.getAggregate());
+                read(insert.getValue());
+            }
+
+            @Override
+            public void visit(LoadInstruction load) {
+                read(load.getSource());
+            }
+
+            @Override
+            public void visit(PhiInstruction phi) {
+                /* the incoming values are read at the end of the predecessors */
+                for (int i = 0; i < phi.getSize(); i++) {
+                    read(phi.getBlock(i).getBlockIndex(), phi.getValue(i));
+                }
+            }
+
+            @Override
+            public void visit(ReturnInstruction ret) {
+                read(ret.getValue());
+            }
+
+            @Override
+            public void visit(SelectInstruction select) {
+                read(select.getCondition());
+                read(select.getTrueValue());
+                read(select.getFalseValue());
+            }
+
+            @Override
+            public void visit(ShuffleVectorInstruction shuffle) {
+                read(shuffle.getVector1());
+                read(shuffle.getVector2());
+                read(shuffle.getMask());
+            }
+
+            @Override
+            public void visit(StoreInstruction store) {
+                read(store.getDestination());
+                read(store.getSource());
+            }
+
+            @Override
+            public void visit(SwitchInstruction branch) {
+                read(branch.getCondition());
+            }
+
+            @Override
+            public void visit(SwitchOldInstruction si) {
+                read(si.getCondition());
+            }
+
+            @Override
+            public void visit(UnreachableInstruction unreachable) {
+            }
+
+            @Override
+            public void visit(VoidCallInstruction call) {
+                readCall(call);
+            }
+        }
     }
 }
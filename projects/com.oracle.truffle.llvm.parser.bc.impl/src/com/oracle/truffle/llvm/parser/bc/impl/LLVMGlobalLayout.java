@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.bc.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMGlobalArenaNode.LLVMFreeGlobalArenaNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMGlobalArenaNode.LLVMProtectGlobalArenaNode;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMGlobalArena;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+
+import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
+import uk.ac.man.cs.llvm.ir.model.FunctionDefinition;
+import uk.ac.man.cs.llvm.ir.model.GlobalConstant;
+import uk.ac.man.cs.llvm.ir.model.GlobalValueSymbol;
+import uk.ac.man.cs.llvm.ir.model.GlobalVariable;
+import uk.ac.man.cs.llvm.ir.model.Model;
+import uk.ac.man.cs.llvm.ir.model.ModelVisitor;
+import uk.ac.man.cs.llvm.ir.types.PointerType;
+import uk.ac.man.cs.llvm.ir.types.Type;
+
+/**
+ * Places all global variables of a module in one {@link LLVMGlobalArena}. With
+ * <code>protectConstants</code>, the global constants get an arena of their own on separate pages,
+ * which is write protected while the program runs.
+ */
+public final class LLVMGlobalLayout {
+
+    public static LLVMGlobalLayout generate(Model model, boolean protectConstants) {
+        LLVMGlobalLayoutVisitor visitor = new LLVMGlobalLayoutVisitor(protectConstants);
+
+        model.accept(visitor);
+
+        return new LLVMGlobalLayout(visitor);
+    }
+
+    private final LLVMGlobalArena variables;
+
+    private final LLVMGlobalArena constants;
+
+    private final Map<GlobalValueSymbol, LLVMAddress> addresses = new HashMap<>();
+
+    private LLVMGlobalLayout(LLVMGlobalLayoutVisitor visitor) {
+        this.variables = visitor.variables;
+        this.constants = visitor.constants;
+        variables.allocate();
+        if (constants != null) {
+            constants.allocate(LLVMHeap.getPageSize());
+        }
+        for (Map.Entry<GlobalValueSymbol, Long> offset : visitor.offsets.entrySet()) {
+            LLVMGlobalArena arena = constants != null && offset.getKey() instanceof GlobalConstant ? constants : variables;
+            addresses.put(offset.getKey(), arena.getAddress(offset.getValue()));
+        }
+    }
+
+    public LLVMAddress getAddress(GlobalValueSymbol global) {
+        LLVMAddress address = addresses.get(global);
+        assert address != null : global;
+        return address;
+    }
+
+    /**
+     * Wraps the initializers of the globals, so that the constants are writable while they run.
+     */
+    public void addProtection(List<LLVMNode> initializers) {
+        if (constants != null) {
+            initializers.add(0, new LLVMProtectGlobalArenaNode(constants, false));
+            initializers.add(new LLVMProtectGlobalArenaNode(constants, true));
+        }
+    }
+
+    public void addDeallocations(List<LLVMNode> deallocations) {
+        deallocations.add(new LLVMFreeGlobalArenaNode(variables, false));
+        if (constants != null) {
+            deallocations.add(new LLVMFreeGlobalArenaNode(constants, true));
+        }
+    }
+
+    private static class LLVMGlobalLayoutVisitor implements ModelVisitor {
+
+        private final LLVMGlobalArena variables = new LLVMGlobalArena();
+
+        private final LLVMGlobalArena constants;
+
+        private final Map<GlobalValueSymbol, Long> offsets = new HashMap<>();
+
+        LLVMGlobalLayoutVisitor(boolean protectConstants) {
+            constants = protectConstants ? new LLVMGlobalArena() : null;
+        }
+
+        private void reserve(GlobalValueSymbol global, LLVMGlobalArena arena) {
+            Type type = ((PointerType) global.getType()).getPointeeType();
+            long alignment = type.getAlignment();
+            if (global.getAlign() != 0) {
+                alignment = Math.max(alignment, 1L << (global.getAlign() - 1));
+            }
+            offsets.put(global, arena.reserve(LLVMBitcodeHelper.getSize(type, global.getAlign()), Math.max(alignment, 1)));
+        }
+
+        @Override
+        public void visit(GlobalConstant constant) {
+            reserve(constant, constants == null ? variables : constants);
+        }
+
+        @Override
+        public void visit(GlobalVariable variable) {
+            reserve(variable, variables);
+        }
+
+        @Override
+        public void visit(FunctionDeclaration method) {
+        }
+
+        @Override
+        public void visit(FunctionDefinition method) {
+        }
+
+        @Override
+        public void visit(Type type) {
+        }
+    }
+}
@@ -29,8 +29,10 @@
  */
 package com.oracle.truffle.llvm.parser.bc.impl;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
 import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
@@ -42,12 +44,14 @@ import uk.ac.man.cs.llvm.ir.model.Model;
 import uk.ac.man.cs.llvm.ir.model.ModelVisitor;
 import uk.ac.man.cs.llvm.ir.types.Type;
 
-public final class LLVMLabelList {
+public final class LLVMLabelList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static LLVMLabelList generate(Model model) {
         LLVMLabelListVisitor visitor = new LLVMLabelListVisitor();
 
-        model.accept(visitor);
+        LLVMParallelTranslation.accept(model, visitor);
 
         return new LLVMLabelList(visitor.labels());
     }
@@ -64,7 +68,7 @@ public final class LLVMLabelList {
 
     private static class LLVMLabelListVisitor implements ModelVisitor {
 
-        private final Map<String, Map<String, Integer>> labels = new HashMap<>();
+        private final Map<String, Map<String, Integer>> labels = new ConcurrentHashMap<>();
 
         LLVMLabelListVisitor() {
         }
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.bc.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.llvm.runtime.LLVMLogger;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException;
+import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReason;
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+
+import uk.ac.man.cs.llvm.bc.Bitstream;
+import uk.ac.man.cs.llvm.ir.LLVMParser;
+import uk.ac.man.cs.llvm.ir.UnsupportedInstructionException;
+import uk.ac.man.cs.llvm.ir.model.Model;
+import uk.ac.man.cs.llvm.ir.module.ModuleVersion;
+
+/**
+ * Keeps the {@link LLVMParsedModule} of bitcode files on disk in the directory given by the
+ * ParserCacheDirectory option. Entries are keyed by a hash of the file content, so repeated runs
+ * of the same program skip both parsing and analysis. The options that affect the front-end output,
+ * currently only PromoteAllocas, are part of the key.
+ *
+ * An entry starts with a checksum of the rest of the entry, which is verified before anything is
+ * deserialized. Deserialization only accepts the classes of the model, the analyses, and a few
+ * collections, so that an entry that someone else wrote cannot instantiate arbitrary classes.
+ */
+public final class LLVMModuleCache {
+
+    /**
+     * Part of every key. Change it whenever the serialized form of the model or of the analyses
+     * changes, so that entries written by an older version are no longer found.
+     */
+    private static final String FORMAT_VERSION = "5";
+
+    private static final ModuleVersion MODULE_VERSION = ModuleVersion.LLVM_3_2;
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final int CHECKSUM_LENGTH = 32;
+
+    private static final String ENTRY_SUFFIX = ".module";
+
+    private static final String[] TRUSTED_PACKAGES = {"uk.ac.man.cs.llvm.ir.", "com.oracle.truffle.llvm.parser.bc.impl."};
+
+    /**
+     * The classes outside of the trusted packages that serialized modules contain, including the
+     * superclasses and the classes in the serialized form of the collections.
+     */
+    private static final Set<String> TRUSTED_CLASSES = new HashSet<>(Arrays.asList(
+                    "java.lang.Boolean",
+                    "java.lang.Byte",
+                    "java.lang.Character",
+                    "java.lang.Double",
+                    "java.lang.Enum",
+                    "java.lang.Float",
+                    "java.lang.Integer",
+                    "java.lang.Long",
+                    "java.lang.Number",
+                    "java.lang.Object",
+                    "java.lang.Short",
+                    "java.lang.String",
+                    "java.util.ArrayList",
+                    "java.util.Arrays$ArrayList",
+                    "java.util.BitSet",
+                    "java.util.Collections$EmptyList",
+                    "java.util.Collections$EmptyMap",
+                    "java.util.Collections$EmptySet",
+                    "java.util.HashMap",
+                    "java.util.HashSet",
+                    "java.util.LinkedHashMap",
+                    "java.util.LinkedHashSet",
+                    "java.util.concurrent.ConcurrentHashMap",
+                    "java.util.concurrent.ConcurrentHashMap$Segment",
+                    "java.util.concurrent.locks.AbstractOwnableSynchronizer",
+                    "java.util.concurrent.locks.AbstractQueuedSynchronizer",
+                    "java.util.concurrent.locks.ReentrantLock",
+                    "java.util.concurrent.locks.ReentrantLock$NonfairSync",
+                    "java.util.concurrent.locks.ReentrantLock$Sync",
+                    "com.oracle.truffle.api.frame.FrameSlotKind"));
+
+    private LLVMModuleCache() {
+    }
+
+    public static LLVMParsedModule getModule(Source source) {
+        return getModule(Bitstream.map(source.getPath()));
+    }
+
+    /**
+     * Returns the module of bitcode that does not live in a file of its own, such as a member of a
+     * Sulong library.
+     */
+    public static LLVMParsedModule getModule(ByteBuffer bitcode) {
+        String directory = LLVMBaseOptionFacade.getParserCacheDirectory();
+        if (directory == null || !bitcode.hasRemaining()) {
+            // empty input is never a valid module, so it must not become a cache entry either
+            return parse(bitcode);
+        }
+        Path entry = Paths.get(directory, computeKey(bitcode) + ENTRY_SUFFIX);
+        LLVMParsedModule module = load(entry);
+        if (module == null) {
+            module = parse(bitcode);
+            store(entry, module);
+        }
+        return module;
+    }
+
+    private static LLVMParsedModule parse(ByteBuffer bitcode) {
+        Model model = new Model();
+
+        try {
+            new LLVMParser(model).parse(MODULE_VERSION, bitcode);
+        } catch (UnsupportedInstructionException e) {
+            // the parser only rejects the atomic instructions
+            throw new LLVMUnsupportedException(UnsupportedReason.MULTITHREADING);
+        }
+
+        return LLVMParsedModule.generate(model);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String computeKey(ByteBuffer bitcode) {
+        MessageDigest digest = createDigest();
+        digest.update(FORMAT_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update(MODULE_VERSION.name().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) (LLVMBaseOptionFacade.promoteAllocas() ? 1 : 0));
+        digest.update(bitcode.duplicate());
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    private static LLVMParsedModule load(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try {
+            byte[] content = Files.readAllBytes(entry);
+            if (content.length < CHECKSUM_LENGTH) {
+                throw new IOException("truncated entry");
+            }
+            MessageDigest digest = createDigest();
+            digest.update(content, CHECKSUM_LENGTH, content.length - CHECKSUM_LENGTH);
+            if (!MessageDigest.isEqual(digest.digest(), Arrays.copyOf(content, CHECKSUM_LENGTH))) {
+                throw new IOException("checksum mismatch");
+            }
+            InputStream payload = new ByteArrayInputStream(content, CHECKSUM_LENGTH, content.length - CHECKSUM_LENGTH);
+            try (ObjectInputStream in = new TrustedObjectInputStream(new BufferedInputStream(new GZIPInputStream(payload)))) {
+                return (LLVMParsedModule) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LLVMLogger.info("discarding the unreadable parser cache entry " + entry + ": " + e);
+            return null;
+        }
+    }
+
+    private static void store(Path entry, LLVMParsedModule module) {
+        Path temporary = null;
+        try {
+            Files.createDirectories(entry.getParent());
+            /* concurrent runs must never see a partially written entry */
+            temporary = Files.createTempFile(entry.getParent(), "sulong", ENTRY_SUFFIX);
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(payload))) {
+                out.writeObject(module);
+            }
+            byte[] content = payload.toByteArray();
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                out.write(createDigest().digest(content));
+                out.write(content);
+            }
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LLVMLogger.info("cannot write the parser cache entry " + entry + ": " + e);
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException deleteException) {
+                    LLVMLogger.info("cannot delete " + temporary + ": " + deleteException);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rejects every class that a serialized module does not contain, see {@link #TRUSTED_CLASSES}.
+     */
+    private static final class TrustedObjectInputStream extends ObjectInputStream {
+
+        TrustedObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+            if (!isTrusted(descriptor.getName())) {
+                throw new InvalidClassException(descriptor.getName(), "not allowed in a parser cache entry");
+            }
+            return super.resolveClass(descriptor);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            throw new InvalidClassException("proxies are not allowed in a parser cache entry");
+        }
+
+        private static boolean isTrusted(String className) {
+            String elementName = className;
+            while (elementName.startsWith("[")) {
+                elementName = elementName.substring(1);
+            }
+            if (elementName.startsWith("L") && elementName.endsWith(";")) {
+                elementName = elementName.substring(1, elementName.length() - 1);
+            } else if (elementName.length() != className.length()) {
+                // an array of a primitive type
+                return true;
+            }
+            if (TRUSTED_CLASSES.contains(elementName)) {
+                return true;
+            }
+            for (String trustedPackage : TRUSTED_PACKAGES) {
+                if (elementName.startsWith(trustedPackage)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
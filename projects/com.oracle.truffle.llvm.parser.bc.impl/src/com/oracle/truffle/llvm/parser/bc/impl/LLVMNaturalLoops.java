@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.bc.impl;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.llvm.parser.bc.impl.LLVMControlFlowAnalysis.LLVMControlFlow;
+
+import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
+import uk.ac.man.cs.llvm.ir.model.FunctionDefinition;
+import uk.ac.man.cs.llvm.ir.model.GlobalConstant;
+import uk.ac.man.cs.llvm.ir.model.GlobalVariable;
+import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
+import uk.ac.man.cs.llvm.ir.model.Model;
+import uk.ac.man.cs.llvm.ir.model.ModelVisitor;
+import uk.ac.man.cs.llvm.ir.types.Type;
+
+/**
+ * Finds the natural loops of the functions, i.e., the blocks that can reach a back edge to a loop
+ * header without passing through the header, where the header dominates the source of the back
+ * edge. Back edges to the same header form a single loop. Cycles that can be entered at more than
+ * one block are irreducible and have no back edge in this sense, so they are not reported.
+ *
+ * A loop is an array of block indices that starts with the header, followed by the other blocks of
+ * its body in ascending order. The loops of a function are ordered by size, so that every loop
+ * precedes the loops that contain it.
+ */
+public final class LLVMNaturalLoops implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int[][] NO_LOOPS = new int[0][];
+
+    private static final int UNDEFINED = -1;
+
+    public static LLVMNaturalLoops generate(Model model, LLVMControlFlowAnalysis cfg) {
+        LLVMNaturalLoopsVisitor visitor = new LLVMNaturalLoopsVisitor(cfg);
+
+        LLVMParallelTranslation.accept(model, visitor);
+
+        return new LLVMNaturalLoops(visitor.getLoops());
+    }
+
+    private final Map<String, int[][]> loops;
+
+    private LLVMNaturalLoops(Map<String, int[][]> loops) {
+        this.loops = loops;
+    }
+
+    public int[][] getLoops(String method) {
+        int[][] methodLoops = loops.get(method);
+        if (methodLoops == null) {
+            return NO_LOOPS;
+        } else {
+            return methodLoops;
+        }
+    }
+
+    /**
+     * Finds the natural loops of a control flow graph whose entry is block 0.
+     *
+     * @param successors the successor block indices of each block
+     * @return the loops in the format described in {@link LLVMNaturalLoops}
+     */
+    public static int[][] findLoops(int[][] successors) {
+        int blockCount = successors.length;
+        int[] postOrder = getPostOrder(successors);
+        int[] postOrderIndex = new int[blockCount];
+        Arrays.fill(postOrderIndex, UNDEFINED);
+        for (int i = 0; i < postOrder.length; i++) {
+            postOrderIndex[postOrder[i]] = i;
+        }
+        List<List<Integer>> predecessors = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            predecessors.add(new ArrayList<>());
+        }
+        for (int block : postOrder) {
+            for (int successor : successors[block]) {
+                predecessors.get(successor).add(block);
+            }
+        }
+        int[] dominators = getImmediateDominators(postOrder, postOrderIndex, predecessors);
+
+        BitSet[] bodies = new BitSet[blockCount];
+        for (int block : postOrder) {
+            for (int header : successors[block]) {
+                if (dominates(dominators, header, block)) {
+                    if (bodies[header] == null) {
+                        bodies[header] = new BitSet(blockCount);
+                        bodies[header].set(header);
+                    }
+                    addBody(bodies[header], block, predecessors);
+                }
+            }
+        }
+
+        List<int[]> result = new ArrayList<>();
+        for (int header = 0; header < blockCount; header++) {
+            if (bodies[header] != null) {
+                BitSet body = bodies[header];
+                body.clear(header);
+                int[] loop = new int[body.cardinality() + 1];
+                loop[0] = header;
+                int i = 1;
+                for (int block = body.nextSetBit(0); block >= 0; block = body.nextSetBit(block + 1)) {
+                    loop[i++] = block;
+                }
+                result.add(loop);
+            }
+        }
+        result.sort(Comparator.comparingInt(loop -> loop.length));
+        return result.toArray(new int[result.size()][]);
+    }
+
+    private static int[] getPostOrder(int[][] successors) {
+        int[] postOrder = new int[successors.length];
+        int count = 0;
+        if (successors.length == 0) {
+            return postOrder;
+        }
+        boolean[] visited = new boolean[successors.length];
+        int[] nextSuccessor = new int[successors.length];
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(0);
+        visited[0] = true;
+        while (!stack.isEmpty()) {
+            int block = stack.peek();
+            if (nextSuccessor[block] < successors[block].length) {
+                int successor = successors[block][nextSuccessor[block]++];
+                if (!visited[successor]) {
+                    visited[successor] = true;
+                    stack.push(successor);
+                }
+            } else {
+                stack.pop();
+                postOrder[count++] = block;
+            }
+        }
+        return Arrays.copyOf(postOrder, count);
+    }
+
+    /**
+     * Computes the immediate dominators with the iterative algorithm of Cooper, Harvey and Kennedy,
+     * "A Simple, Fast Dominance Algorithm". Blocks that are unreachable from the entry have no
+     * immediate dominator.
+     */
+    private static int[] getImmediateDominators(int[] postOrder, int[] postOrderIndex, List<List<Integer>> predecessors) {
+        int[] dominators = new int[postOrderIndex.length];
+        Arrays.fill(dominators, UNDEFINED);
+        if (postOrder.length == 0) {
+            return dominators;
+        }
+        dominators[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = postOrder.length - 1; i >= 0; i--) {
+                int block = postOrder[i];
+                if (block == 0) {
+                    continue;
+                }
+                int dominator = UNDEFINED;
+                for (int predecessor : predecessors.get(block)) {
+                    if (dominators[predecessor] != UNDEFINED) {
+                        dominator = dominator == UNDEFINED ? predecessor : intersect(dominators, postOrderIndex, predecessor, dominator);
+                    }
+                }
+                if (dominators[block] != dominator) {
+                    dominators[block] = dominator;
+                    changed = true;
+                }
+            }
+        }
+        return dominators;
+    }
+
+    private static int intersect(int[] dominators, int[] postOrderIndex, int block1, int block2) {
+        int finger1 = block1;
+        int finger2 = block2;
+        while (finger1 != finger2) {
+            while (postOrderIndex[finger1] < postOrderIndex[finger2]) {
+                finger1 = dominators[finger1];
+            }
+            while (postOrderIndex[finger2] < postOrderIndex[finger1]) {
+                finger2 = dominators[finger2];
+            }
+        }
+        return finger1;
+    }
+
+    private static boolean dominates(int[] dominators, int dominator, int block) {
+        int current = block;
+        while (current != dominator) {
+            if (current == 0 || dominators[current] == UNDEFINED) {
+                return false;
+            }
+            current = dominators[current];
+        }
+        return true;
+    }
+
+    private static void addBody(BitSet body, int latch, List<List<Integer>> predecessors) {
+        Deque<Integer> worklist = new ArrayDeque<>();
+        worklist.push(latch);
+        while (!worklist.isEmpty()) {
+            int block = worklist.pop();
+            if (!body.get(block)) {
+                body.set(block);
+                for (int predecessor : predecessors.get(block)) {
+                    worklist.push(predecessor);
+                }
+            }
+        }
+    }
+
+    private static class LLVMNaturalLoopsVisitor implements ModelVisitor {
+
+        private final LLVMControlFlowAnalysis cfg;
+
+        private final Map<String, int[][]> loops = new ConcurrentHashMap<>();
+
+        LLVMNaturalLoopsVisitor(LLVMControlFlowAnalysis cfg) {
+            this.cfg = cfg;
+        }
+
+        public Map<String, int[][]> getLoops() {
+            return loops;
+        }
+
+        @Override
+        public void visit(GlobalConstant constant) {
+        }
+
+        @Override
+        public void visit(GlobalVariable variable) {
+        }
+
+        @Override
+        public void visit(FunctionDeclaration method) {
+        }
+
+        @Override
+        public void visit(FunctionDefinition method) {
+            LLVMControlFlow flow = cfg.dependencies(method.getName());
+            int[][] successors = new int[method.getBlockCount()][];
+            for (int i = 0; i < successors.length; i++) {
+                Set<InstructionBlock> blockSuccessors = flow.successor(method.getBlock(i));
+                successors[i] = new int[blockSuccessors.size()];
+                int j = 0;
+                for (InstructionBlock successor : blockSuccessors) {
+                    successors[i][j++] = successor.getBlockIndex();
+                }
+            }
+            int[][] methodLoops = findLoops(successors);
+            if (methodLoops.length != 0) {
+                loops.put(method.getName(), methodLoops);
+            }
+        }
+
+        @Override
+        public void visit(Type type) {
+        }
+    }
+}
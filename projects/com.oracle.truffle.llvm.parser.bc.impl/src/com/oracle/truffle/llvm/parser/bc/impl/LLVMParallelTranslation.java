@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.bc.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+
+import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
+import uk.ac.man.cs.llvm.ir.model.FunctionDefinition;
+import uk.ac.man.cs.llvm.ir.model.GlobalConstant;
+import uk.ac.man.cs.llvm.ir.model.GlobalVariable;
+import uk.ac.man.cs.llvm.ir.model.Model;
+import uk.ac.man.cs.llvm.ir.model.ModelVisitor;
+import uk.ac.man.cs.llvm.ir.types.Type;
+
+/**
+ * Visits the function definitions of a model on the common fork-join pool if the
+ * ParallelTranslation option is set. Visitors that are passed to {@link #accept} must therefore
+ * store their per-function results in concurrent collections.
+ */
+public final class LLVMParallelTranslation {
+
+    private LLVMParallelTranslation() {
+    }
+
+    public static boolean isEnabled() {
+        return LLVMBaseOptionFacade.parallelTranslation();
+    }
+
+    /**
+     * Visits the model like {@link Model#accept}, except that the function definitions are visited
+     * last and, if enabled, in parallel.
+     */
+    public static void accept(Model model, ModelVisitor visitor) {
+        if (!isEnabled()) {
+            model.accept(visitor);
+            return;
+        }
+        List<FunctionDefinition> definitions = new ArrayList<>();
+        model.accept(new ModelVisitor() {
+
+            @Override
+            public void visit(GlobalConstant constant) {
+                visitor.visit(constant);
+            }
+
+            @Override
+            public void visit(GlobalVariable variable) {
+                visitor.visit(variable);
+            }
+
+            @Override
+            public void visit(FunctionDeclaration method) {
+                visitor.visit(method);
+            }
+
+            @Override
+            public void visit(FunctionDefinition method) {
+                definitions.add(method);
+            }
+
+            @Override
+            public void visit(Type type) {
+                visitor.visit(type);
+            }
+        });
+        definitions.parallelStream().forEach(visitor::visit);
+    }
+}
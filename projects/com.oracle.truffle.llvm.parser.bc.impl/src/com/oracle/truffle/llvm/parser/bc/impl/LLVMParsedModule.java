@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.bc.impl;
+
+import java.io.Serializable;
+
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
+
+import uk.ac.man.cs.llvm.ir.model.Model;
+
+/**
+ * The front-end output for a bitcode file: the parsed model together with the analyses that the
+ * {@link LLVMBitcodeVisitor} needs to translate it.
+ */
+public final class LLVMParsedModule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static LLVMParsedModule generate(Model model) {
+        LLVMPhiManager phis = LLVMPhiManager.generate(model);
+
+        LLVMPromotedAllocas promotedAllocas = LLVMPromotedAllocas.generate(model, LLVMBaseOptionFacade.promoteAllocas());
+
+        LLVMControlFlowAnalysis cfg = LLVMControlFlowAnalysis.generate(model);
+
+        LLVMFrameDescriptors frames = LLVMFrameDescriptors.generate(model, cfg, promotedAllocas);
+
+        LLVMNaturalLoops loops = LLVMNaturalLoops.generate(model, cfg);
+
+        LLVMLabelList labels = LLVMLabelList.generate(model);
+
+        return new LLVMParsedModule(model, phis, promotedAllocas, frames, loops, labels);
+    }
+
+    private final Model model;
+
+    private final LLVMPhiManager phis;
+
+    private final LLVMPromotedAllocas promotedAllocas;
+
+    private final LLVMFrameDescriptors frames;
+
+    private final LLVMNaturalLoops loops;
+
+    private final LLVMLabelList labels;
+
+    private LLVMParsedModule(Model model, LLVMPhiManager phis, LLVMPromotedAllocas promotedAllocas, LLVMFrameDescriptors frames, LLVMNaturalLoops loops, LLVMLabelList labels) {
+        this.model = model;
+        this.phis = phis;
+        this.promotedAllocas = promotedAllocas;
+        this.frames = frames;
+        this.loops = loops;
+        this.labels = labels;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    public LLVMPhiManager getPhis() {
+        return phis;
+    }
+
+    public LLVMPromotedAllocas getPromotedAllocas() {
+        return promotedAllocas;
+    }
+
+    public LLVMFrameDescriptors getFrames() {
+        return frames;
+    }
+
+    public LLVMNaturalLoops getLoops() {
+        return loops;
+    }
+
+    public LLVMLabelList getLabels() {
+        return labels;
+    }
+}
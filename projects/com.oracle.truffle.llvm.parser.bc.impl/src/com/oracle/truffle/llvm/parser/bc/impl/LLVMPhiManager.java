@@ -29,11 +29,13 @@
  */
 package com.oracle.truffle.llvm.parser.bc.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
 import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
@@ -71,17 +73,19 @@ import uk.ac.man.cs.llvm.ir.model.elements.UnreachableInstruction;
 import uk.ac.man.cs.llvm.ir.model.elements.VoidCallInstruction;
 import uk.ac.man.cs.llvm.ir.types.Type;
 
-public final class LLVMPhiManager implements ModelVisitor {
+public final class LLVMPhiManager implements ModelVisitor, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static LLVMPhiManager generate(Model model) {
         LLVMPhiManager visitor = new LLVMPhiManager();
 
-        model.accept(visitor);
+        LLVMParallelTranslation.accept(model, visitor);
 
         return visitor;
     }
 
-    private final Map<String, Map<InstructionBlock, List<Phi>>> edges = new HashMap<>();
+    private final Map<String, Map<InstructionBlock, List<Phi>>> edges = new ConcurrentHashMap<>();
 
     private LLVMPhiManager() {
     }
@@ -241,7 +245,9 @@ public final class LLVMPhiManager implements ModelVisitor {
         }
     }
 
-    public static final class Phi {
+    public static final class Phi implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private final InstructionBlock block;
 
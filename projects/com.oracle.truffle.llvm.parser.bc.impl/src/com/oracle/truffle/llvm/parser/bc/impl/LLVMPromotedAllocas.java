@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.bc.impl;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.man.cs.llvm.ir.model.FunctionDeclaration;
+import uk.ac.man.cs.llvm.ir.model.FunctionDefinition;
+import uk.ac.man.cs.llvm.ir.model.FunctionVisitor;
+import uk.ac.man.cs.llvm.ir.model.GlobalConstant;
+import uk.ac.man.cs.llvm.ir.model.GlobalVariable;
+import uk.ac.man.cs.llvm.ir.model.InstructionBlock;
+import uk.ac.man.cs.llvm.ir.model.InstructionVisitor;
+import uk.ac.man.cs.llvm.ir.model.Model;
+import uk.ac.man.cs.llvm.ir.model.ModelVisitor;
+import uk.ac.man.cs.llvm.ir.model.Symbol;
+import uk.ac.man.cs.llvm.ir.model.constants.IntegerConstant;
+import uk.ac.man.cs.llvm.ir.model.elements.AllocateInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.BinaryOperationInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.BranchInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.Call;
+import uk.ac.man.cs.llvm.ir.model.elements.CallInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.CastInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.CompareInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.ConditionalBranchInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.ExtractElementInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.ExtractValueInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.GetElementPointerInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.IndirectBranchInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.InsertElementInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.InsertValueInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.LoadInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.PhiInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.ReturnInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.SelectInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.ShuffleVectorInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.StoreInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.SwitchInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.SwitchOldInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.UnreachableInstruction;
+import uk.ac.man.cs.llvm.ir.model.elements.VoidCallInstruction;
+import uk.ac.man.cs.llvm.ir.types.FloatingPointType;
+import uk.ac.man.cs.llvm.ir.types.IntegerType;
+import uk.ac.man.cs.llvm.ir.types.PointerType;
+import uk.ac.man.cs.llvm.ir.types.Type;
+
+/**
+ * Finds the allocas whose address does not escape, i.e., that allocate a single scalar or pointer
+ * and are only used as the address of loads and stores. The {@link LLVMBitcodeVisitor} keeps the
+ * value of such an alloca in a frame slot of the same name instead of in stack memory.
+ */
+public final class LLVMPromotedAllocas implements ModelVisitor, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static LLVMPromotedAllocas generate(Model model, boolean enabled) {
+        LLVMPromotedAllocas visitor = new LLVMPromotedAllocas();
+
+        if (enabled) {
+            LLVMParallelTranslation.accept(model, visitor);
+        }
+
+        return visitor;
+    }
+
+    private final Map<String, Set<AllocateInstruction>> promotedAllocas = new ConcurrentHashMap<>();
+
+    private LLVMPromotedAllocas() {
+    }
+
+    public Set<AllocateInstruction> getPromotedAllocas(String method) {
+        Set<AllocateInstruction> allocas = promotedAllocas.get(method);
+        if (allocas == null) {
+            return Collections.emptySet();
+        } else {
+            return allocas;
+        }
+    }
+
+    static boolean isPromotable(AllocateInstruction allocate) {
+        Symbol count = allocate.getCount();
+        if (!(count instanceof IntegerConstant) || ((IntegerConstant) count).getValue() != 1) {
+            return false;
+        }
+        Type type = allocate.getPointeeType();
+        if (type instanceof IntegerType) {
+            switch (((IntegerType) type).getBitCount()) {
+                case 1:
+                case Byte.SIZE:
+                case Short.SIZE:
+                case Integer.SIZE:
+                case Long.SIZE:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        return type == FloatingPointType.FLOAT || type == FloatingPointType.DOUBLE || type instanceof PointerType;
+    }
+
+    @Override
+    public void visit(GlobalConstant constant) {
+    }
+
+    @Override
+    public void visit(GlobalVariable variable) {
+    }
+
+    @Override
+    public void visit(FunctionDeclaration method) {
+    }
+
+    @Override
+    public void visit(FunctionDefinition method) {
+        LLVMPromotedAllocasFunctionVisitor visitor = new LLVMPromotedAllocasFunctionVisitor();
+
+        method.accept(visitor);
+
+        Set<AllocateInstruction> allocas = visitor.getPromotedAllocas();
+        if (!allocas.isEmpty()) {
+            promotedAllocas.put(method.getName(), allocas);
+        }
+    }
+
+    @Override
+    public void visit(Type type) {
+    }
+
+    private static class LLVMPromotedAllocasFunctionVisitor implements FunctionVisitor, InstructionVisitor {
+
+        private final Set<AllocateInstruction> candidates = new HashSet<>();
+
+        private final Set<Symbol> escaped = new HashSet<>();
+
+        LLVMPromotedAllocasFunctionVisitor() {
+        }
+
+        public Set<AllocateInstruction> getPromotedAllocas() {
+            candidates.removeAll(escaped);
+            return candidates;
+        }
+
+        private void escape(Symbol symbol) {
+            if (symbol instanceof AllocateInstruction) {
+                escaped.add(symbol);
+            }
+        }
+
+        private void escapeCall(Call call) {
+            escape(call.getCallTarget());
+            for (int i = 0; i < call.getArgumentCount(); i++) {
+                escape(call.getArgument(i));
+            }
+        }
+
+        @Override
+        public void visit(InstructionBlock block) {
+            block.accept(this);
+        }
+
+        @Override
+        public void visit(AllocateInstruction allocate) {
+            if (isPromotable(allocate)) {
+                candidates.add(allocate);
+            }
+        }
+
+        @Override
+        public void visit(BinaryOperationInstruction operation) {
+            escape(operation.getLHS());
+            escape(operation.getRHS());
+        }
+
+        @Override
+        public void visit(BranchInstruction branch) {
+        }
+
+        @Override
+        public void visit(CallInstruction call) {
+            escapeCall(call);
+        }
+
+        @Override
+        public void visit(CastInstruction cast) {
+            escape(cast.getValue());
+        }
+
+        @Override
+        public void visit(CompareInstruction compare) {
+            escape(compare.getLHS());
+            escape(compare.getRHS());
+        }
+
+        @Override
+        public void visit(ConditionalBranchInstruction branch) {
+        }
+
+        @Override
+        public void visit(ExtractElementInstruction extract) {
+            escape(extract.getVector());
+        }
+
+        @Override
+        public void visit(ExtractValueInstruction extract) {
+            escape(extract.getAggregate());
+        }
+
+        @Override
+        public void visit(GetElementPointerInstruction gep) {
+            escape(gep.getBasePointer());
+        }
+
+        @Override
+        public void visit(IndirectBranchInstruction ibi) {
+        }
+
+        @Override
+        public void visit(InsertElementInstruction insert) {
+            escape(insert.getVector());
+            escape(insert.getValue());
+        }
+
+        @Override
+        public void visit(InsertValueInstruction insert) {
+            escape(insert.getAggregate());
+            escape(insert.getValue());
+        }
+
+        @Override
+        public void visit(LoadInstruction load) {
+            /* loading from the alloca is what a promoted alloca is read by */
+        }
+
+        @Override
+        public void visit(PhiInstruction phi) {
+            for (int i = 0; i < phi.getSize(); i++) {
+                escape(phi.getValue(i));
+            }
+        }
+
+        @Override
+        public void visit(ReturnInstruction ret) {
+            escape(ret.getValue());
+        }
+
+        @Override
+        public void visit(SelectInstruction select) {
+            escape(select.getTrueValue());
+            escape(select.getFalseValue());
+        }
+
+        @Override
+        public void visit(ShuffleVectorInstruction shuffle) {
+            escape(shuffle.getVector1());
+            escape(shuffle.getVector2());
+        }
+
+        @Override
+        public void visit(StoreInstruction store) {
+            /* storing to the alloca is fine, storing its address is not */
+            escape(store.getSource());
+        }
+
+        @Override
+        public void visit(SwitchInstruction branch) {
+        }
+
+        @Override
+        public void visit(SwitchOldInstruction si) {
+        }
+
+        @Override
+        public void visit(UnreachableInstruction unreachable) {
+        }
+
+        @Override
+        public void visit(VoidCallInstruction call) {
+            escapeCall(call);
+        }
+    }
+}
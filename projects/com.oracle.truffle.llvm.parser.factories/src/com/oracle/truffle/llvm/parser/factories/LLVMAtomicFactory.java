@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.factories;
+
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
+import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNode.LLVMFenceNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMAddressAtomicLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMAddressAtomicStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMDoubleAtomicLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMDoubleAtomicStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMFloatAtomicLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMFloatAtomicStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI16AtomicLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI16AtomicRMWNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI16AtomicStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI16CompareExchangeNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI32AtomicLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI32AtomicRMWNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI32AtomicStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI32CompareExchangeNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI64AtomicLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI64AtomicRMWNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI64AtomicStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI64CompareExchangeNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI8AtomicLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI8AtomicRMWNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI8AtomicStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAtomicNodeFactory.LLVMI8CompareExchangeNodeGen;
+import com.oracle.truffle.llvm.parser.LLVMBaseType;
+import com.oracle.truffle.llvm.parser.instructions.LLVMAtomicRMWOperation;
+
+public final class LLVMAtomicFactory {
+
+    private LLVMAtomicFactory() {
+    }
+
+    public static LLVMExpressionNode createCompareExchange(LLVMExpressionNode pointerNode, LLVMExpressionNode comparedWith, LLVMExpressionNode newValue, LLVMBaseType llvmType) {
+        LLVMAddressNode address = (LLVMAddressNode) pointerNode;
+        switch (llvmType) {
+            case I8:
+                return LLVMI8CompareExchangeNodeGen.create(address, (LLVMI8Node) comparedWith, (LLVMI8Node) newValue);
+            case I16:
+                return LLVMI16CompareExchangeNodeGen.create(address, (LLVMI16Node) comparedWith, (LLVMI16Node) newValue);
+            case I32:
+                return LLVMI32CompareExchangeNodeGen.create(address, (LLVMI32Node) comparedWith, (LLVMI32Node) newValue);
+            case I64:
+                return LLVMI64CompareExchangeNodeGen.create(address, (LLVMI64Node) comparedWith, (LLVMI64Node) newValue);
+            default:
+                throw new AssertionError(llvmType);
+        }
+    }
+
+    public static LLVMExpressionNode createReadModifyWrite(LLVMAtomicRMWOperation operation, LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType llvmType) {
+        LLVMAddressNode address = (LLVMAddressNode) pointerNode;
+        switch (llvmType) {
+            case I8:
+                return LLVMI8AtomicRMWNodeGen.create(address, (LLVMI8Node) valueNode, operation);
+            case I16:
+                return LLVMI16AtomicRMWNodeGen.create(address, (LLVMI16Node) valueNode, operation);
+            case I32:
+                return LLVMI32AtomicRMWNodeGen.create(address, (LLVMI32Node) valueNode, operation);
+            case I64:
+                return LLVMI64AtomicRMWNodeGen.create(address, (LLVMI64Node) valueNode, operation);
+            default:
+                throw new AssertionError(llvmType);
+        }
+    }
+
+    public static LLVMExpressionNode createLoad(LLVMExpressionNode pointerNode, LLVMBaseType llvmType) {
+        LLVMAddressNode address = (LLVMAddressNode) pointerNode;
+        switch (llvmType) {
+            case I8:
+                return LLVMI8AtomicLoadNodeGen.create(address);
+            case I16:
+                return LLVMI16AtomicLoadNodeGen.create(address);
+            case I32:
+                return LLVMI32AtomicLoadNodeGen.create(address);
+            case I64:
+                return LLVMI64AtomicLoadNodeGen.create(address);
+            case FLOAT:
+                return LLVMFloatAtomicLoadNodeGen.create(address);
+            case DOUBLE:
+                return LLVMDoubleAtomicLoadNodeGen.create(address);
+            case ADDRESS:
+                return LLVMAddressAtomicLoadNodeGen.create(address);
+            default:
+                throw new AssertionError(llvmType);
+        }
+    }
+
+    public static LLVMNode createStore(LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType llvmType) {
+        LLVMAddressNode address = (LLVMAddressNode) pointerNode;
+        switch (llvmType) {
+            case I8:
+                return LLVMI8AtomicStoreNodeGen.create(address, (LLVMI8Node) valueNode);
+            case I16:
+                return LLVMI16AtomicStoreNodeGen.create(address, (LLVMI16Node) valueNode);
+            case I32:
+                return LLVMI32AtomicStoreNodeGen.create(address, (LLVMI32Node) valueNode);
+            case I64:
+                return LLVMI64AtomicStoreNodeGen.create(address, (LLVMI64Node) valueNode);
+            case FLOAT:
+                return LLVMFloatAtomicStoreNodeGen.create(address, (LLVMFloatNode) valueNode);
+            case DOUBLE:
+                return LLVMDoubleAtomicStoreNodeGen.create(address, (LLVMDoubleNode) valueNode);
+            case ADDRESS:
+                return LLVMAddressAtomicStoreNodeGen.create(address, (LLVMAddressNode) valueNode);
+            default:
+                throw new AssertionError(llvmType);
+        }
+    }
+
+    public static LLVMNode createFence() {
+        return new LLVMFenceNode();
+    }
+
+}
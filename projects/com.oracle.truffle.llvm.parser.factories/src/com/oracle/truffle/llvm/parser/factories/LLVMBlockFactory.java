@@ -29,13 +29,22 @@
  */
 package com.oracle.truffle.llvm.parser.factories;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMBasicBlockNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMTerminatorNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMNaturalLoopNode;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMBlockNode.LLVMBlockControlFlowNode;
+import com.oracle.truffle.llvm.nodes.impl.others.LLVMBlockNode.LLVMLoopDispatchNode;
 
 public class LLVMBlockFactory {
 
@@ -43,8 +52,89 @@ public class LLVMBlockFactory {
         return new LLVMBasicBlockNode(statementNodes, terminatorNode, blockId);
     }
 
-    public static LLVMExpressionNode createFunctionBlock(FrameSlot returnSlot, LLVMBasicBlockNode[] bbs, LLVMStackFrameNuller[][] indexToSlotNuller) {
-        return new LLVMBlockControlFlowNode(bbs, indexToSlotNuller, returnSlot);
+    public static LLVMExpressionNode createFunctionBlock(FrameSlot returnSlot, FrameSlot blockIndexSlot, LLVMBasicBlockNode[] bbs, LLVMStackFrameNuller[][] indexToSlotNuller) {
+        return new LLVMBlockControlFlowNode(bbs, indexToSlotNuller, returnSlot, blockIndexSlot);
+    }
+
+    /**
+     * Creates a function body in which each of the given natural loops is executed by its own
+     * {@link LLVMNaturalLoopNode}. The loop replaces its header in the dispatch of the enclosing
+     * loop or function.
+     *
+     * @param loops the natural loops, each given as its header followed by the other blocks of its
+     *            body, where every loop precedes the loops that contain it
+     */
+    public static LLVMExpressionNode createFunctionBlock(FrameSlot returnSlot, FrameSlot blockIndexSlot, LLVMBasicBlockNode[] bbs, LLVMStackFrameNuller[][] indexToSlotNuller, int[][] loops) {
+        LLVMBasicBlockNode[] blocks = bbs.clone();
+        LLVMStackFrameNuller[][] nullers = indexToSlotNuller.clone();
+        for (int[] loop : loops) {
+            createLoop(blocks, nullers, loop, blockIndexSlot);
+        }
+        return new LLVMBlockControlFlowNode(blocks, nullers, returnSlot, blockIndexSlot);
+    }
+
+    /**
+     * Replaces the blocks of the loop by a single block at the index of its header. Nested loops
+     * were already replaced, so that their remaining blocks are {@code null}. A loop that is entered
+     * elsewhere than at the header of a nested loop is left to the enclosing dispatch.
+     */
+    private static void createLoop(LLVMBasicBlockNode[] blocks, LLVMStackFrameNuller[][] nullers, int[] loop, FrameSlot exitIndexSlot) {
+        int header = loop[0];
+        BitSet body = new BitSet(blocks.length);
+        List<Integer> members = new ArrayList<>();
+        Map<Integer, Integer> localIndices = new HashMap<>();
+        for (int block : loop) {
+            if (block >= blocks.length) {
+                return;
+            }
+            body.set(block);
+            if (blocks[block] != null) {
+                localIndices.put(block, members.size());
+                members.add(block);
+            }
+        }
+        if (localIndices.get(header) == null) {
+            return;
+        }
+        assert localIndices.get(header) == LLVMLoopDispatchNode.LOOP_HEADER;
+
+        Map<Integer, Integer> exits = new LinkedHashMap<>();
+        int[][] successors = new int[members.size()][];
+        for (int i = 0; i < successors.length; i++) {
+            int[] targets = blocks[members.get(i)].getSuccessors();
+            successors[i] = new int[targets.length];
+            for (int j = 0; j < targets.length; j++) {
+                int target = targets[j];
+                if (target >= 0 && body.get(target)) {
+                    Integer localIndex = localIndices.get(target);
+                    if (localIndex == null) {
+                        return;
+                    }
+                    successors[i][j] = localIndex;
+                } else {
+                    Integer exitIndex = exits.get(target);
+                    if (exitIndex == null) {
+                        exitIndex = exits.size();
+                        exits.put(target, exitIndex);
+                    }
+                    successors[i][j] = LLVMLoopDispatchNode.encodeExit(exitIndex);
+                }
+            }
+        }
+
+        LLVMBasicBlockNode[] bodyNodes = new LLVMBasicBlockNode[members.size()];
+        LLVMStackFrameNuller[][] bodyNullers = new LLVMStackFrameNuller[members.size()][];
+        for (int i = 0; i < bodyNodes.length; i++) {
+            bodyNodes[i] = blocks[members.get(i)];
+            bodyNullers[i] = nullers[members.get(i)];
+        }
+        for (int block : loop) {
+            blocks[block] = null;
+            nullers[block] = null;
+        }
+        int[] exitTargets = exits.keySet().stream().mapToInt(Integer::intValue).toArray();
+        LLVMLoopDispatchNode dispatch = new LLVMLoopDispatchNode(bodyNodes, bodyNullers, successors, exitIndexSlot);
+        blocks[header] = new LLVMBasicBlockNode(new LLVMNode[0], new LLVMNaturalLoopNode(dispatch, exitIndexSlot, exitTargets), header);
     }
 
 }
@@ -86,6 +86,7 @@ import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI16NodeFactory.LLVMI32ToI16
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI16NodeFactory.LLVMI64ToI16NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI16NodeFactory.LLVMI8ToI16NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI16NodeFactory.LLVMI8ToI16ZeroExtNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI16NodeFactory.LLVMIVarToI16NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI1NodeFactory.LLVMI16ToI1NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI1NodeFactory.LLVMI32ToI1NodeGen;
 import com.oracle.truffle.llvm.nodes.impl.cast.LLVMToI1NodeFactory.LLVMI64ToI1NodeGen;
@@ -232,16 +233,16 @@ public final class LLVMCastsFactory {
         }
     }
 
-    public static LLVMExpressionNode castVector(LLVMBaseType fromType, LLVMExpressionNode fromNode, LLVMAddressNode target, LLVMBaseType targetType, LLVMConversionType conv) {
+    public static LLVMExpressionNode castVector(LLVMBaseType fromType, LLVMExpressionNode fromNode, LLVMBaseType targetType, LLVMConversionType conv) {
         if (fromNode == null || targetType == null || fromType == null || conv == null) {
             throw new AssertionError();
         }
         LLVMCastsFactory factory = new LLVMCastsFactory(targetType, conv, 0);
         switch (fromType) {
             case I8_VECTOR:
-                return factory.castFromI8Vector(target, (LLVMI8VectorNode) fromNode);
+                return factory.castFromI8Vector((LLVMI8VectorNode) fromNode);
             case I32_VECTOR:
-                return factory.castFromI32Vector(target, (LLVMI32VectorNode) fromNode);
+                return factory.castFromI32Vector((LLVMI32VectorNode) fromNode);
             case I1_VECTOR:
             case I16_VECTOR:
             case I64_VECTOR:
@@ -257,6 +258,8 @@ public final class LLVMCastsFactory {
             switch (targetType) {
                 case I8:
                     return LLVMIVarToI8NodeGen.create(fromNode);
+                case I16:
+                    return LLVMIVarToI16NodeGen.create(fromNode);
                 case I32:
                     return LLVMIVarBitToI32NodeGen.create(fromNode);
                 case I64:
@@ -298,7 +301,7 @@ public final class LLVMCastsFactory {
         }
     }
 
-    private LLVMExpressionNode castFromI8Vector(@SuppressWarnings("unused") LLVMAddressNode target, LLVMI8VectorNode fromNode) {
+    private LLVMExpressionNode castFromI8Vector(LLVMI8VectorNode fromNode) {
         if (targetType == LLVMBaseType.I8_VECTOR) {
             return fromNode;
         }
@@ -308,13 +311,13 @@ public final class LLVMCastsFactory {
         }
     }
 
-    private LLVMExpressionNode castFromI32Vector(LLVMAddressNode target, LLVMI32VectorNode fromNode) {
+    private LLVMExpressionNode castFromI32Vector(LLVMI32VectorNode fromNode) {
         if (targetType == LLVMBaseType.I32_VECTOR) {
             return fromNode;
         }
         switch (targetType) {
             case I8_VECTOR:
-                return LLVMI32VectorToI8VectorNodeGen.create(target, fromNode);
+                return LLVMI32VectorToI8VectorNodeGen.create(fromNode);
             default:
                 throw new LLVMUnsupportedException(UnsupportedReason.VECTOR_CAST);
         }
@@ -152,6 +152,14 @@ import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMI8CompareNodeFactory.LL
 import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMI8CompareNodeFactory.LLVMI8UltNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarEqNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarNeqNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarSgeNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarSgtNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarSleNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarSltNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarUgeNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarUgtNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarUleNodeGen;
+import com.oracle.truffle.llvm.nodes.impl.op.compare.LLVMIVarCompareNodeFactory.LLVMIVarUltNodeGen;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMFloatComparisonType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMIntegerComparisonType;
@@ -184,10 +192,10 @@ public final class LLVMComparisonFactory {
         }
     }
 
-    public static LLVMI1VectorNode createVectorComparison(LLVMAddressNode target, LLVMExpressionNode left, LLVMExpressionNode right, LLVMBaseType llvmType, LLVMIntegerComparisonType condition) {
+    public static LLVMI1VectorNode createVectorComparison(LLVMExpressionNode left, LLVMExpressionNode right, LLVMBaseType llvmType, LLVMIntegerComparisonType condition) {
         switch (llvmType) {
             case I32_VECTOR:
-                return visitI32VectorComparison(target, (LLVMI32VectorNode) left, (LLVMI32VectorNode) right, condition);
+                return visitI32VectorComparison((LLVMI32VectorNode) left, (LLVMI32VectorNode) right, condition);
             default:
                 throw new AssertionError(llvmType);
         }
@@ -199,6 +207,22 @@ public final class LLVMComparisonFactory {
                 return LLVMIVarNeqNodeGen.create(left, right);
             case EQUALS:
                 return LLVMIVarEqNodeGen.create(left, right);
+            case UNSIGNED_GREATER_THAN:
+                return LLVMIVarUgtNodeGen.create(left, right);
+            case UNSIGNED_GREATER_EQUALS:
+                return LLVMIVarUgeNodeGen.create(left, right);
+            case UNSIGNED_LESS_THAN:
+                return LLVMIVarUltNodeGen.create(left, right);
+            case UNSIGNED_LESS_EQUALS:
+                return LLVMIVarUleNodeGen.create(left, right);
+            case SIGNED_GREATER_THAN:
+                return LLVMIVarSgtNodeGen.create(left, right);
+            case SIGNED_GREATER_EQUALS:
+                return LLVMIVarSgeNodeGen.create(left, right);
+            case SIGNED_LESS_THAN:
+                return LLVMIVarSltNodeGen.create(left, right);
+            case SIGNED_LESS_EQUALS:
+                return LLVMIVarSleNodeGen.create(left, right);
             default:
                 throw new AssertionError(condition);
         }
@@ -484,28 +508,28 @@ public final class LLVMComparisonFactory {
         }
     }
 
-    private static LLVMI1VectorNode visitI32VectorComparison(LLVMAddressNode target, LLVMI32VectorNode left, LLVMI32VectorNode right, LLVMIntegerComparisonType condition) {
+    private static LLVMI1VectorNode visitI32VectorComparison(LLVMI32VectorNode left, LLVMI32VectorNode right, LLVMIntegerComparisonType condition) {
         switch (condition) {
             case EQUALS:
-                return LLVMI32VectorEqNodeGen.create(target, left, right);
+                return LLVMI32VectorEqNodeGen.create(left, right);
             case NOT_EQUALS:
-                return LLVMI32VectorNeNodeGen.create(target, left, right);
+                return LLVMI32VectorNeNodeGen.create(left, right);
             case UNSIGNED_GREATER_THAN:
-                return LLVMI32VectorUgtNodeGen.create(target, left, right);
+                return LLVMI32VectorUgtNodeGen.create(left, right);
             case UNSIGNED_GREATER_EQUALS:
-                return LLVMI32VectorUgeNodeGen.create(target, left, right);
+                return LLVMI32VectorUgeNodeGen.create(left, right);
             case UNSIGNED_LESS_THAN:
-                return LLVMI32VectorUltNodeGen.create(target, left, right);
+                return LLVMI32VectorUltNodeGen.create(left, right);
             case UNSIGNED_LESS_EQUALS:
-                return LLVMI32VectorUleNodeGen.create(target, left, right);
+                return LLVMI32VectorUleNodeGen.create(left, right);
             case SIGNED_GREATER_THAN:
-                return LLVMI32VectorSgtNodeGen.create(target, left, right);
+                return LLVMI32VectorSgtNodeGen.create(left, right);
             case SIGNED_GREATER_EQUALS:
-                return LLVMI32VectorSgeNodeGen.create(target, left, right);
+                return LLVMI32VectorSgeNodeGen.create(left, right);
             case SIGNED_LESS_THAN:
-                return LLVMI32VectorSltNodeGen.create(target, left, right);
+                return LLVMI32VectorSltNodeGen.create(left, right);
             case SIGNED_LESS_EQUALS:
-                return LLVMI32VectorSleNodeGen.create(target, left, right);
+                return LLVMI32VectorSleNodeGen.create(left, right);
             default:
                 throw new AssertionError(condition);
         }
@@ -33,6 +33,10 @@ import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI32Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMAddressLiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI64LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressConstantOffsetNode;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNodeFactory.LLVMAddressI32GetElementPtrNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressGetElementPtrNodeFactory.LLVMAddressI64GetElementPtrNodeGen;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
@@ -40,6 +44,10 @@ import com.oracle.truffle.llvm.parser.LLVMBaseType;
 public class LLVMGetElementPtrFactory {
 
     public static LLVMAddressNode create(LLVMBaseType llvmBaseType, LLVMAddressNode currentAddress, LLVMExpressionNode valueRef, int indexedTypeLength) {
+        if (valueRef instanceof LLVMI32LiteralNode || valueRef instanceof LLVMI64LiteralNode) {
+            long index = valueRef instanceof LLVMI32LiteralNode ? ((LLVMI32LiteralNode) valueRef).executeI32(null) : ((LLVMI64LiteralNode) valueRef).executeI64(null);
+            return createConstantOffset(currentAddress, index * indexedTypeLength);
+        }
         switch (llvmBaseType) {
             case I32:
                 return LLVMAddressI32GetElementPtrNodeGen.create(currentAddress, (LLVMI32Node) valueRef, indexedTypeLength);
@@ -51,4 +59,21 @@ public class LLVMGetElementPtrFactory {
 
     }
 
+    /**
+     * Folds constant offsets into address literals and merges them with the offset of a preceding
+     * constant step, so that no intermediate address is computed at run time.
+     */
+    private static LLVMAddressNode createConstantOffset(LLVMAddressNode currentAddress, long offset) {
+        if (offset == 0) {
+            return currentAddress;
+        } else if (currentAddress instanceof LLVMAddressLiteralNode) {
+            return new LLVMAddressLiteralNode(((LLVMAddressLiteralNode) currentAddress).getAddress().increment(offset));
+        } else if (currentAddress instanceof LLVMAddressConstantOffsetNode) {
+            LLVMAddressConstantOffsetNode previous = (LLVMAddressConstantOffsetNode) currentAddress;
+            return createConstantOffset(previous.getBase(), previous.getOffset() + offset);
+        } else {
+            return new LLVMAddressConstantOffsetNode(currentAddress, offset);
+        }
+    }
+
 }
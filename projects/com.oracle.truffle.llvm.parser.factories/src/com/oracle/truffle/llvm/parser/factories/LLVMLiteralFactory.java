@@ -36,6 +36,7 @@ import java.util.List;
 import org.eclipse.emf.ecore.EObject;
 
 import com.intel.llvm.ireditor.types.ResolvedType;
+import com.intel.llvm.ireditor.types.ResolvedVectorType;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
@@ -98,25 +99,7 @@ public final class LLVMLiteralFactory {
         ResolvedType resolvedType = runtime.resolve(t);
         LLVMBaseType type = LLVMTypeHelper.getLLVMType(resolvedType);
         if (LLVMTypeHelper.isVectorType(type)) {
-            LLVMAddressLiteralNode addr = new LLVMAddressLiteralNode(LLVMAddress.createUndefinedAddress());
-            switch (type) {
-                case I1_VECTOR:
-                    return LLVMVectorI1LiteralNodeGen.create(new LLVMI1Node[0], addr);
-                case I8_VECTOR:
-                    return LLVMVectorI8LiteralNodeGen.create(new LLVMI8Node[0], addr);
-                case I16_VECTOR:
-                    return LLVMVectorI16LiteralNodeGen.create(new LLVMI16Node[0], addr);
-                case I32_VECTOR:
-                    return LLVMVectorI32LiteralNodeGen.create(new LLVMI32Node[0], addr);
-                case I64_VECTOR:
-                    return LLVMVectorI64LiteralNodeGen.create(new LLVMI64Node[0], addr);
-                case FLOAT_VECTOR:
-                    return LLVMVectorFloatLiteralNodeGen.create(new LLVMFloatNode[0], addr);
-                case DOUBLE_VECTOR:
-                    return LLVMVectorDoubleLiteralNodeGen.create(new LLVMDoubleNode[0], addr);
-                default:
-                    throw new AssertionError(type);
-            }
+            return createZeroVectorInitializer(((ResolvedVectorType) resolvedType).getSize(), type);
         }
         switch (type) {
             case I_VAR_BITWIDTH:
@@ -284,57 +267,57 @@ public final class LLVMLiteralFactory {
         return i1ZeroInits;
     }
 
-    public static LLVMExpressionNode createVectorLiteralNode(List<LLVMExpressionNode> listValues, LLVMAddressNode target, LLVMBaseType type) {
+    public static LLVMExpressionNode createVectorLiteralNode(List<LLVMExpressionNode> listValues, LLVMBaseType type) {
         switch (type) {
             case I1_VECTOR:
                 LLVMI1Node[] i1Vals = listValues.stream().map(n -> (LLVMI1Node) n).toArray(LLVMI1Node[]::new);
-                return LLVMVectorI1LiteralNodeGen.create(i1Vals, target);
+                return LLVMVectorI1LiteralNodeGen.create(i1Vals);
             case I8_VECTOR:
                 LLVMI8Node[] i8Vals = listValues.stream().map(n -> (LLVMI8Node) n).toArray(LLVMI8Node[]::new);
-                return LLVMVectorI8LiteralNodeGen.create(i8Vals, target);
+                return LLVMVectorI8LiteralNodeGen.create(i8Vals);
             case I16_VECTOR:
                 LLVMI16Node[] i16Vals = listValues.stream().map(n -> (LLVMI16Node) n).toArray(LLVMI16Node[]::new);
-                return LLVMVectorI16LiteralNodeGen.create(i16Vals, target);
+                return LLVMVectorI16LiteralNodeGen.create(i16Vals);
             case I32_VECTOR:
                 LLVMI32Node[] i32Vals = listValues.stream().map(n -> (LLVMI32Node) n).toArray(LLVMI32Node[]::new);
-                return LLVMVectorI32LiteralNodeGen.create(i32Vals, target);
+                return LLVMVectorI32LiteralNodeGen.create(i32Vals);
             case I64_VECTOR:
                 LLVMI64Node[] i64Vals = listValues.stream().map(n -> (LLVMI64Node) n).toArray(LLVMI64Node[]::new);
-                return LLVMVectorI64LiteralNodeGen.create(i64Vals, target);
+                return LLVMVectorI64LiteralNodeGen.create(i64Vals);
             case FLOAT_VECTOR:
                 LLVMFloatNode[] floatVals = listValues.stream().map(n -> (LLVMFloatNode) n).toArray(LLVMFloatNode[]::new);
-                return LLVMVectorFloatLiteralNodeGen.create(floatVals, target);
+                return LLVMVectorFloatLiteralNodeGen.create(floatVals);
             case DOUBLE_VECTOR:
                 LLVMDoubleNode[] doubleVals = listValues.stream().map(n -> (LLVMDoubleNode) n).toArray(LLVMDoubleNode[]::new);
-                return LLVMVectorDoubleLiteralNodeGen.create(doubleVals, target);
+                return LLVMVectorDoubleLiteralNodeGen.create(doubleVals);
             default:
                 throw new AssertionError();
         }
     }
 
-    public static LLVMExpressionNode createZeroVectorInitializer(int nrElements, LLVMAddressNode target, LLVMBaseType llvmType) {
+    public static LLVMExpressionNode createZeroVectorInitializer(int nrElements, LLVMBaseType llvmType) {
         switch (llvmType) {
             case I1_VECTOR:
                 LLVMI1Node[] i1Vals = createI1LiteralNodes(nrElements, false);
-                return LLVMVectorI1LiteralNodeGen.create(i1Vals, target);
+                return LLVMVectorI1LiteralNodeGen.create(i1Vals);
             case I8_VECTOR:
                 LLVMI8Node[] i8Vals = createI8LiteralNodes(nrElements, (byte) 0);
-                return LLVMVectorI8LiteralNodeGen.create(i8Vals, target);
+                return LLVMVectorI8LiteralNodeGen.create(i8Vals);
             case I16_VECTOR:
                 LLVMI16Node[] i16Vals = createI16LiteralNodes(nrElements, (short) 0);
-                return LLVMVectorI16LiteralNodeGen.create(i16Vals, target);
+                return LLVMVectorI16LiteralNodeGen.create(i16Vals);
             case I32_VECTOR:
                 LLVMI32Node[] i32Vals = createI32LiteralNodes(nrElements, 0);
-                return LLVMVectorI32LiteralNodeGen.create(i32Vals, target);
+                return LLVMVectorI32LiteralNodeGen.create(i32Vals);
             case I64_VECTOR:
                 LLVMI64Node[] i64Vals = createI64LiteralNodes(nrElements, 0);
-                return LLVMVectorI64LiteralNodeGen.create(i64Vals, target);
+                return LLVMVectorI64LiteralNodeGen.create(i64Vals);
             case FLOAT_VECTOR:
                 LLVMFloatNode[] floatVals = createFloatLiteralNodes(nrElements, 0.0f);
-                return LLVMVectorFloatLiteralNodeGen.create(floatVals, target);
+                return LLVMVectorFloatLiteralNodeGen.create(floatVals);
             case DOUBLE_VECTOR:
                 LLVMDoubleNode[] doubleVals = createDoubleLiteralNodes(nrElements, 0.0f);
-                return LLVMVectorDoubleLiteralNodeGen.create(doubleVals, target);
+                return LLVMVectorDoubleLiteralNodeGen.create(doubleVals);
             default:
                 throw new AssertionError(llvmType);
         }
@@ -37,8 +37,46 @@ import com.oracle.graal.replacements.amd64.AMD64MathSubstitutions;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAbortFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocatorIntrinsicsFactory.LLVMAllocatorFreeFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocatorIntrinsicsFactory.LLVMCallocFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocatorIntrinsicsFactory.LLVMMallocFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocatorIntrinsicsFactory.LLVMPosixMemalignFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMAllocatorIntrinsicsFactory.LLVMReallocFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMAbsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMExpFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFAbsFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMFloorFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMLogFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMPowFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMCMathsIntrinsicsFactory.LLVMSqrtFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMExitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondBroadcastFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondDestroyFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondInitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondSignalFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondTimedWaitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondWaitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCreateFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadDetachFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadEqualFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadExitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadGetSpecificFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadJoinFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadKeyCreateFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadKeyDeleteFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexDestroyFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexInitFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexLockFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexTryLockFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexUnlockFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadOnceFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadSelfFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadSetSpecificFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemchrFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemcmpFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrcmpFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrcpyFactory;
+import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrlenFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMTruffleReadBytesFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleAddressToFunctionFactory;
 import com.oracle.truffle.llvm.nodes.impl.intrinsics.interop.LLVMTruffleBinaryFactory.LLVMTruffleHasSizeFactory;
@@ -113,8 +151,12 @@ public class LLVMRuntimeIntrinsicFactory {
         intrinsics.put("@exit", LLVMExitFactory.getInstance());
 
         if (optConfig.intrinsifyCLibraryFunctions()) {
-            intrinsifyCFunctions(intrinsics);
+            intrinsifyCFunctions(intrinsics, optConfig);
         }
+        if (optConfig.useJavaAllocator()) {
+            intrinsifyAllocationFunctions(intrinsics);
+        }
+        intrinsifyThreadFunctions(intrinsics);
 
         // Interop intrinsics
         intrinsics.put("@truffle_import", LLVMTruffleImportFactory.getInstance());
@@ -197,12 +239,79 @@ public class LLVMRuntimeIntrinsicFactory {
      * when Graal intrinsifies the corresponding Java method calls, e.g.
      * {@link java.lang.Math#sin(double)}. Currently, the Graal intrinsifications for some
      * trigonometric functions in {@link AMD64MathSubstitutions} are still twice as slow as their C
-     * counterparts. Hence, only the C standard library <code>sqrt</code> is intrinsified, since its
-     * Graal intrinsification in {@link StandardGraphBuilderPlugins} is implemented as efficient as
-     * the C function.
+     * counterparts, so these are not substituted. <code>sqrt</code> and <code>floor</code> are
+     * compiled to single instructions (see {@link StandardGraphBuilderPlugins}), <code>pow</code>,
+     * <code>exp</code> and <code>log</code> to the stubs that HotSpot also uses for
+     * {@link java.lang.Math}. The string functions scan memory a word at a time, which Graal can
+     * inline into the calling loop.
+     *
+     * Each function can be excluded with the <code>DisabledCIntrinsics</code> option, e.g., when
+     * its native counterpart is faster on the target machine.
+     */
+    private static void intrinsifyCFunctions(Map<String, NodeFactory<? extends LLVMNode>> intrinsics, LLVMOptimizationConfiguration optConfig) {
+        Map<String, NodeFactory<? extends LLVMNode>> substitutions = new HashMap<>();
+        // math.h and stdlib.h
+        substitutions.put("@sqrt", LLVMSqrtFactory.getInstance());
+        substitutions.put("@fabs", LLVMFAbsFactory.getInstance());
+        substitutions.put("@floor", LLVMFloorFactory.getInstance());
+        substitutions.put("@pow", LLVMPowFactory.getInstance());
+        substitutions.put("@exp", LLVMExpFactory.getInstance());
+        substitutions.put("@log", LLVMLogFactory.getInstance());
+        substitutions.put("@abs", LLVMAbsFactory.getInstance());
+
+        // string.h
+        substitutions.put("@strlen", LLVMStrlenFactory.getInstance());
+        substitutions.put("@strcmp", LLVMStrcmpFactory.getInstance());
+        substitutions.put("@strcpy", LLVMStrcpyFactory.getInstance());
+        substitutions.put("@memcmp", LLVMMemcmpFactory.getInstance());
+        substitutions.put("@memchr", LLVMMemchrFactory.getInstance());
+
+        for (Map.Entry<String, NodeFactory<? extends LLVMNode>> substitution : substitutions.entrySet()) {
+            if (optConfig.intrinsifyCLibraryFunction(substitution.getKey().substring(1))) {
+                intrinsics.put(substitution.getKey(), substitution.getValue());
+            }
+        }
+    }
+
+    /**
+     * The allocation functions are substituted together, since memory from the Java allocator must
+     * not reach the native <code>free</code> and <code>realloc</code>.
+     */
+    private static void intrinsifyAllocationFunctions(Map<String, NodeFactory<? extends LLVMNode>> intrinsics) {
+        intrinsics.put("@malloc", LLVMMallocFactory.getInstance());
+        intrinsics.put("@calloc", LLVMCallocFactory.getInstance());
+        intrinsics.put("@realloc", LLVMReallocFactory.getInstance());
+        intrinsics.put("@free", LLVMAllocatorFreeFactory.getInstance());
+        intrinsics.put("@posix_memalign", LLVMPosixMemalignFactory.getInstance());
+    }
+
+    /**
+     * The thread functions are always substituted, since native threads cannot execute Sulong
+     * functions.
      */
-    private static void intrinsifyCFunctions(Map<String, NodeFactory<? extends LLVMNode>> intrinsics) {
-        intrinsics.put("@sqrt", LLVMSqrtFactory.getInstance());
+    private static void intrinsifyThreadFunctions(Map<String, NodeFactory<? extends LLVMNode>> intrinsics) {
+        intrinsics.put("@pthread_create", LLVMPThreadCreateFactory.getInstance());
+        intrinsics.put("@pthread_join", LLVMPThreadJoinFactory.getInstance());
+        intrinsics.put("@pthread_detach", LLVMPThreadDetachFactory.getInstance());
+        intrinsics.put("@pthread_self", LLVMPThreadSelfFactory.getInstance());
+        intrinsics.put("@pthread_equal", LLVMPThreadEqualFactory.getInstance());
+        intrinsics.put("@pthread_exit", LLVMPThreadExitFactory.getInstance());
+        intrinsics.put("@pthread_mutex_init", LLVMPThreadMutexInitFactory.getInstance());
+        intrinsics.put("@pthread_mutex_lock", LLVMPThreadMutexLockFactory.getInstance());
+        intrinsics.put("@pthread_mutex_trylock", LLVMPThreadMutexTryLockFactory.getInstance());
+        intrinsics.put("@pthread_mutex_unlock", LLVMPThreadMutexUnlockFactory.getInstance());
+        intrinsics.put("@pthread_mutex_destroy", LLVMPThreadMutexDestroyFactory.getInstance());
+        intrinsics.put("@pthread_cond_init", LLVMPThreadCondInitFactory.getInstance());
+        intrinsics.put("@pthread_cond_wait", LLVMPThreadCondWaitFactory.getInstance());
+        intrinsics.put("@pthread_cond_timedwait", LLVMPThreadCondTimedWaitFactory.getInstance());
+        intrinsics.put("@pthread_cond_signal", LLVMPThreadCondSignalFactory.getInstance());
+        intrinsics.put("@pthread_cond_broadcast", LLVMPThreadCondBroadcastFactory.getInstance());
+        intrinsics.put("@pthread_cond_destroy", LLVMPThreadCondDestroyFactory.getInstance());
+        intrinsics.put("@pthread_key_create", LLVMPThreadKeyCreateFactory.getInstance());
+        intrinsics.put("@pthread_key_delete", LLVMPThreadKeyDeleteFactory.getInstance());
+        intrinsics.put("@pthread_getspecific", LLVMPThreadGetSpecificFactory.getInstance());
+        intrinsics.put("@pthread_setspecific", LLVMPThreadSetSpecificFactory.getInstance());
+        intrinsics.put("@pthread_once", LLVMPThreadOnceFactory.getInstance());
     }
 
 }
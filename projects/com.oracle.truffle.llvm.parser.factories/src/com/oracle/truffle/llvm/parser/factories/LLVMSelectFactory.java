@@ -88,10 +88,10 @@ public class LLVMSelectFactory {
         }
     }
 
-    public static LLVMExpressionNode createSelectVector(LLVMBaseType llvmType, LLVMAddressNode target, LLVMExpressionNode condition, LLVMExpressionNode trueValue, LLVMExpressionNode falseValue) {
+    public static LLVMExpressionNode createSelectVector(LLVMBaseType llvmType, LLVMExpressionNode condition, LLVMExpressionNode trueValue, LLVMExpressionNode falseValue) {
         switch (llvmType) {
             case I32_VECTOR:
-                return LLVMI32VectorSelectNodeGen.create(target, (LLVMI1VectorNode) condition, (LLVMI32VectorNode) trueValue, (LLVMI32VectorNode) falseValue);
+                return LLVMI32VectorSelectNodeGen.create((LLVMI1VectorNode) condition, (LLVMI32VectorNode) trueValue, (LLVMI32VectorNode) falseValue);
             default:
                 throw new AssertionError(llvmType);
         }
@@ -40,19 +40,48 @@ import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI64Node;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI8Node;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI16ProfilingSwitchNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI16SwitchNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI16TableSwitchNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI32ProfilingSwitchNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI32SwitchNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI32TableSwitchNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI64ProfilingSwitchNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI64SwitchNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI64TableSwitchNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI8ProfilingSwitchNode;
 import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI8SwitchNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMI8TableSwitchNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchTable;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchTable.LLVMBinarySearchTable;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchTable.LLVMJumpTable;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI16LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI64LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI8LiteralNode;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 
 public class LLVMSwitchFactory {
 
+    /**
+     * The minimal percentage of jump table entries that have to belong to a case. Sparser case
+     * values are dispatched with a binary search.
+     */
+    private static final int MIN_JUMP_TABLE_DENSITY = 40;
+    private static final int PERCENT = 100;
+
     public static LLVMTerminatorNode createSwitch(LLVMExpressionNode cond, int defaultLabel, int[] otherLabels, LLVMExpressionNode[] cases,
                     LLVMBaseType llvmType, LLVMNode[] phiWriteNodes) {
+        if (cases.length > LLVMBaseOptionFacade.getSwitchLinearDispatchLimit()) {
+            long[] caseValues = getConstantCaseValues(cases);
+            if (caseValues != null) {
+                return createTableSwitch(cond, defaultLabel, otherLabels, createTable(caseValues), llvmType, phiWriteNodes);
+            }
+        }
+        return createLinearSwitch(cond, defaultLabel, otherLabels, cases, llvmType, phiWriteNodes);
+    }
+
+    private static LLVMTerminatorNode createLinearSwitch(LLVMExpressionNode cond, int defaultLabel, int[] otherLabels, LLVMExpressionNode[] cases,
+                    LLVMBaseType llvmType, LLVMNode[] phiWriteNodes) {
         switch (llvmType) {
             case I8:
                 LLVMI8Node[] i8Cases = Arrays.copyOf(cases, cases.length, LLVMI8Node[].class);
@@ -87,4 +116,62 @@ public class LLVMSwitchFactory {
         }
     }
 
+    private static LLVMTerminatorNode createTableSwitch(LLVMExpressionNode cond, int defaultLabel, int[] otherLabels, LLVMSwitchTable table, LLVMBaseType llvmType,
+                    LLVMNode[] phiWriteNodes) {
+        switch (llvmType) {
+            case I8:
+                return new LLVMI8TableSwitchNode((LLVMI8Node) cond, table, otherLabels, defaultLabel, phiWriteNodes);
+            case I16:
+                return new LLVMI16TableSwitchNode((LLVMI16Node) cond, table, otherLabels, defaultLabel, phiWriteNodes);
+            case I32:
+                return new LLVMI32TableSwitchNode((LLVMI32Node) cond, table, otherLabels, defaultLabel, phiWriteNodes);
+            case I64:
+                return new LLVMI64TableSwitchNode((LLVMI64Node) cond, table, otherLabels, defaultLabel, phiWriteNodes);
+            default:
+                throw new AssertionError(llvmType);
+        }
+    }
+
+    /**
+     * Uses a jump table if the case values are dense enough, and a binary search otherwise.
+     */
+    private static LLVMSwitchTable createTable(long[] caseValues) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : caseValues) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        // non-positive if the range of the case values does not fit into a long
+        long span = max - min + 1;
+        if (span > 0 && span <= Integer.MAX_VALUE && span * MIN_JUMP_TABLE_DENSITY <= (long) caseValues.length * PERCENT) {
+            return new LLVMJumpTable(caseValues, min, (int) span);
+        } else {
+            return new LLVMBinarySearchTable(caseValues);
+        }
+    }
+
+    /**
+     * Gets the sign-extended values of the cases, or <code>null</code> if not all of them are
+     * literals.
+     */
+    private static long[] getConstantCaseValues(LLVMExpressionNode[] cases) {
+        long[] values = new long[cases.length];
+        for (int i = 0; i < cases.length; i++) {
+            LLVMExpressionNode caseNode = cases[i];
+            if (caseNode instanceof LLVMI8LiteralNode) {
+                values[i] = ((LLVMI8LiteralNode) caseNode).executeI8(null);
+            } else if (caseNode instanceof LLVMI16LiteralNode) {
+                values[i] = ((LLVMI16LiteralNode) caseNode).executeI16(null);
+            } else if (caseNode instanceof LLVMI32LiteralNode) {
+                values[i] = ((LLVMI32LiteralNode) caseNode).executeI32(null);
+            } else if (caseNode instanceof LLVMI64LiteralNode) {
+                values[i] = ((LLVMI64LiteralNode) caseNode).executeI64(null);
+            } else {
+                return null;
+            }
+        }
+        return values;
+    }
+
 }
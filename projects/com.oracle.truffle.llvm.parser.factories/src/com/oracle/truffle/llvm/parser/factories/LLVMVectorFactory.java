@@ -29,9 +29,7 @@
  */
 package com.oracle.truffle.llvm.parser.factories;
 
-import com.intel.llvm.ireditor.lLVM_IR.Type;
 import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
-import com.oracle.truffle.llvm.nodes.impl.base.LLVMAddressNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMDoubleNode;
 import com.oracle.truffle.llvm.nodes.impl.base.floating.LLVMFloatNode;
 import com.oracle.truffle.llvm.nodes.impl.base.integers.LLVMI16Node;
@@ -62,33 +60,28 @@ import com.oracle.truffle.llvm.nodes.impl.vector.LLVMInsertElementNodeFactory.LL
 import com.oracle.truffle.llvm.nodes.impl.vector.LLVMShuffleVectorNodeFactory.LLVMShuffleI32VectorNodeGen;
 import com.oracle.truffle.llvm.nodes.impl.vector.LLVMShuffleVectorNodeFactory.LLVMShuffleI8VectorNodeGen;
 import com.oracle.truffle.llvm.parser.LLVMBaseType;
-import com.oracle.truffle.llvm.parser.LLVMParserRuntime;
 
 public final class LLVMVectorFactory {
 
     private LLVMVectorFactory() {
     }
 
-    public static LLVMVectorNode createInsertElement(LLVMParserRuntime runtime, LLVMBaseType resultType, LLVMExpressionNode vector, Type vectorType, LLVMExpressionNode element, LLVMI32Node index) {
-        return createInsertElement(resultType, (LLVMAddressNode) runtime.allocateVectorResult(vectorType), vector, element, index);
-    }
-
-    public static LLVMVectorNode createInsertElement(LLVMBaseType resultType, LLVMAddressNode target, LLVMExpressionNode vector, LLVMExpressionNode element, LLVMI32Node index) {
+    public static LLVMVectorNode createInsertElement(LLVMBaseType resultType, LLVMExpressionNode vector, LLVMExpressionNode element, LLVMI32Node index) {
         switch (resultType) {
             case I1_VECTOR:
-                return LLVMI1InsertElementNodeGen.create(target, (LLVMI1VectorNode) vector, (LLVMI1Node) element, index);
+                return LLVMI1InsertElementNodeGen.create((LLVMI1VectorNode) vector, (LLVMI1Node) element, index);
             case I8_VECTOR:
-                return LLVMI8InsertElementNodeGen.create(target, (LLVMI8VectorNode) vector, (LLVMI8Node) element, index);
+                return LLVMI8InsertElementNodeGen.create((LLVMI8VectorNode) vector, (LLVMI8Node) element, index);
             case I16_VECTOR:
-                return LLVMI16InsertElementNodeGen.create(target, (LLVMI16VectorNode) vector, (LLVMI16Node) element, index);
+                return LLVMI16InsertElementNodeGen.create((LLVMI16VectorNode) vector, (LLVMI16Node) element, index);
             case I32_VECTOR:
-                return LLVMI32InsertElementNodeGen.create(target, (LLVMI32VectorNode) vector, (LLVMI32Node) element, index);
+                return LLVMI32InsertElementNodeGen.create((LLVMI32VectorNode) vector, (LLVMI32Node) element, index);
             case I64_VECTOR:
-                return LLVMI64InsertElementNodeGen.create(target, (LLVMI64VectorNode) vector, (LLVMI64Node) element, index);
+                return LLVMI64InsertElementNodeGen.create((LLVMI64VectorNode) vector, (LLVMI64Node) element, index);
             case FLOAT_VECTOR:
-                return LLVMFloatInsertElementNodeGen.create(target, (LLVMFloatVectorNode) vector, (LLVMFloatNode) element, index);
+                return LLVMFloatInsertElementNodeGen.create((LLVMFloatVectorNode) vector, (LLVMFloatNode) element, index);
             case DOUBLE_VECTOR:
-                return LLVMDoubleInsertElementNodeGen.create(target, (LLVMDoubleVectorNode) vector, (LLVMDoubleNode) element, index);
+                return LLVMDoubleInsertElementNodeGen.create((LLVMDoubleVectorNode) vector, (LLVMDoubleNode) element, index);
             default:
                 throw new AssertionError("vector type " + resultType + "  not supported!");
         }
@@ -111,12 +104,12 @@ public final class LLVMVectorFactory {
         }
     }
 
-    public static LLVMVectorNode createShuffleVector(LLVMBaseType resultType, LLVMAddressNode target, LLVMExpressionNode vector1, LLVMExpressionNode vector2, LLVMI32VectorNode mask) {
+    public static LLVMVectorNode createShuffleVector(LLVMBaseType resultType, LLVMExpressionNode vector1, LLVMExpressionNode vector2, LLVMI32VectorNode mask) {
         switch (resultType) {
             case I8_VECTOR:
-                return LLVMShuffleI8VectorNodeGen.create(target, (LLVMI8VectorNode) vector1, (LLVMI8VectorNode) vector2, mask);
+                return LLVMShuffleI8VectorNodeGen.create((LLVMI8VectorNode) vector1, (LLVMI8VectorNode) vector2, mask);
             case I32_VECTOR:
-                return LLVMShuffleI32VectorNodeGen.create(target, (LLVMI32VectorNode) vector1, (LLVMI32VectorNode) vector2, mask);
+                return LLVMShuffleI32VectorNodeGen.create((LLVMI32VectorNode) vector1, (LLVMI32VectorNode) vector2, mask);
             default:
                 throw new AssertionError(resultType);
         }
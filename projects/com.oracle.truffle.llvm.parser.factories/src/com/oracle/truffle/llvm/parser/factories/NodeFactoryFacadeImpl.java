@@ -38,7 +38,6 @@ import org.eclipse.emf.ecore.EObject;
 import com.intel.llvm.ireditor.lLVM_IR.BitwiseBinaryInstruction;
 import com.intel.llvm.ireditor.lLVM_IR.FunctionDef;
 import com.intel.llvm.ireditor.lLVM_IR.GlobalVariable;
-import com.intel.llvm.ireditor.lLVM_IR.Type;
 import com.intel.llvm.ireditor.types.ResolvedType;
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.RootCallTarget;
@@ -69,9 +68,9 @@ import com.oracle.truffle.llvm.nodes.impl.func.LLVMCallUnboxNodeFactory.LLVMI32C
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMFunctionStartNode;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMGlobalRootNode;
 import com.oracle.truffle.llvm.nodes.impl.func.LLVMInlineAssemblyRootNode;
-import com.oracle.truffle.llvm.nodes.impl.intrinsics.c.LLVMFreeFactory;
 import com.oracle.truffle.llvm.nodes.impl.literals.LLVMAggregateLiteralNode.LLVMEmptyStructLiteralNode;
 import com.oracle.truffle.llvm.nodes.impl.memory.LLVMAddressZeroNode;
+import com.oracle.truffle.llvm.nodes.impl.memory.LLVMGlobalArenaNode.LLVMFreeGlobalArenaNode;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMStaticInitsBlockNode;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMUnreachableNode;
 import com.oracle.truffle.llvm.nodes.impl.others.LLVMUnsupportedInlineAssemblerNode;
@@ -88,16 +87,16 @@ import com.oracle.truffle.llvm.parser.LLVMBaseType;
 import com.oracle.truffle.llvm.parser.LLVMParserRuntime;
 import com.oracle.truffle.llvm.parser.NodeFactoryFacade;
 import com.oracle.truffle.llvm.parser.instructions.LLVMArithmeticInstructionType;
+import com.oracle.truffle.llvm.parser.instructions.LLVMAtomicRMWOperation;
 import com.oracle.truffle.llvm.parser.instructions.LLVMConversionType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMFloatComparisonType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMIntegerComparisonType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMLogicalInstructionType;
 import com.oracle.truffle.llvm.parser.util.LLVMTypeHelper;
 import com.oracle.truffle.llvm.runtime.LLVMOptimizationConfiguration;
-import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
-import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+import com.oracle.truffle.llvm.types.memory.LLVMGlobalArena;
 
 public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
 
@@ -115,8 +114,8 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public LLVMVectorNode createInsertElement(LLVMBaseType resultType, LLVMExpressionNode vector, Type vectorType, LLVMExpressionNode element, LLVMExpressionNode index) {
-        return LLVMVectorFactory.createInsertElement(runtime, resultType, vector, vectorType, element, (LLVMI32Node) index);
+    public LLVMVectorNode createInsertElement(LLVMBaseType resultType, LLVMExpressionNode vector, LLVMExpressionNode element, LLVMExpressionNode index) {
+        return LLVMVectorFactory.createInsertElement(resultType, vector, element, (LLVMI32Node) index);
     }
 
     @Override
@@ -125,8 +124,8 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public LLVMVectorNode createShuffleVector(LLVMBaseType llvmType, LLVMExpressionNode target, LLVMExpressionNode vector1, LLVMExpressionNode vector2, LLVMExpressionNode mask) {
-        return LLVMVectorFactory.createShuffleVector(llvmType, (LLVMAddressNode) target, vector1, vector2, (LLVMI32VectorNode) mask);
+    public LLVMVectorNode createShuffleVector(LLVMBaseType llvmType, LLVMExpressionNode vector1, LLVMExpressionNode vector2, LLVMExpressionNode mask) {
+        return LLVMVectorFactory.createShuffleVector(llvmType, vector1, vector2, (LLVMI32VectorNode) mask);
     }
 
     @Override
@@ -140,13 +139,38 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMLogicalInstructionType type, LLVMBaseType llvmType, LLVMExpressionNode target) {
-        return LLVMLogicalFactory.createLogicalOperation(left, right, type, llvmType, (LLVMAddressNode) target);
+    public LLVMExpressionNode createAtomicLoad(LLVMExpressionNode pointerNode, LLVMBaseType llvmType) {
+        return LLVMAtomicFactory.createLoad(pointerNode, llvmType);
     }
 
     @Override
-    public LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, BitwiseBinaryInstruction type, LLVMBaseType llvmType, LLVMExpressionNode target) {
-        return LLVMLogicalFactory.createLogicalOperation(left, right, type, llvmType, (LLVMAddressNode) target);
+    public LLVMNode createAtomicStore(LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType llvmType) {
+        return LLVMAtomicFactory.createStore(pointerNode, valueNode, llvmType);
+    }
+
+    @Override
+    public LLVMExpressionNode createCompareExchange(LLVMExpressionNode pointerNode, LLVMExpressionNode comparedWith, LLVMExpressionNode newValue, LLVMBaseType llvmType) {
+        return LLVMAtomicFactory.createCompareExchange(pointerNode, comparedWith, newValue, llvmType);
+    }
+
+    @Override
+    public LLVMExpressionNode createAtomicReadModifyWrite(LLVMAtomicRMWOperation operation, LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType llvmType) {
+        return LLVMAtomicFactory.createReadModifyWrite(operation, pointerNode, valueNode, llvmType);
+    }
+
+    @Override
+    public LLVMNode createFence() {
+        return LLVMAtomicFactory.createFence();
+    }
+
+    @Override
+    public LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMLogicalInstructionType type, LLVMBaseType llvmType) {
+        return LLVMLogicalFactory.createLogicalOperation(left, right, type, llvmType);
+    }
+
+    @Override
+    public LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, BitwiseBinaryInstruction type, LLVMBaseType llvmType) {
+        return LLVMLogicalFactory.createLogicalOperation(left, right, type, llvmType);
     }
 
     @Override
@@ -160,8 +184,8 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public LLVMExpressionNode createVectorLiteralNode(List<LLVMExpressionNode> listValues, LLVMExpressionNode target, LLVMBaseType type) {
-        return LLVMLiteralFactory.createVectorLiteralNode(listValues, (LLVMAddressNode) target, type);
+    public LLVMExpressionNode createVectorLiteralNode(List<LLVMExpressionNode> listValues, LLVMBaseType type) {
+        return LLVMLiteralFactory.createVectorLiteralNode(listValues, type);
     }
 
     @Override
@@ -225,8 +249,8 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public LLVMExpressionNode createArithmeticOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMArithmeticInstructionType type, LLVMBaseType llvmType, LLVMExpressionNode target) {
-        return LLVMArithmeticFactory.createArithmeticOperation(left, right, type, llvmType, (LLVMAddressNode) target);
+    public LLVMExpressionNode createArithmeticOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMArithmeticInstructionType type, LLVMBaseType llvmType) {
+        return LLVMArithmeticFactory.createArithmeticOperation(left, right, type, llvmType);
     }
 
     @Override
@@ -250,8 +274,8 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public LLVMExpressionNode createZeroVectorInitializer(int nrElements, LLVMExpressionNode target, LLVMBaseType llvmType) {
-        return LLVMLiteralFactory.createZeroVectorInitializer(nrElements, (LLVMAddressNode) target, llvmType);
+    public LLVMExpressionNode createZeroVectorInitializer(int nrElements, LLVMBaseType llvmType) {
+        return LLVMLiteralFactory.createZeroVectorInitializer(nrElements, llvmType);
     }
 
     @Override
@@ -337,8 +361,8 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public LLVMExpressionNode createFunctionBlockNode(FrameSlot retSlot, List<LLVMNode> allFunctionNodes, LLVMStackFrameNuller[][] indexToSlotNuller) {
-        return LLVMBlockFactory.createFunctionBlock(retSlot, allFunctionNodes.toArray(new LLVMBasicBlockNode[allFunctionNodes.size()]), indexToSlotNuller);
+    public LLVMExpressionNode createFunctionBlockNode(FrameSlot retSlot, FrameSlot blockIndexSlot, List<LLVMNode> allFunctionNodes, LLVMStackFrameNuller[][] indexToSlotNuller) {
+        return LLVMBlockFactory.createFunctionBlock(retSlot, blockIndexSlot, allFunctionNodes.toArray(new LLVMBasicBlockNode[allFunctionNodes.size()]), indexToSlotNuller);
     }
 
     @Override
@@ -405,13 +429,22 @@ public class NodeFactoryFacadeImpl implements NodeFactoryFacade {
     }
 
     @Override
-    public Object allocateGlobalVariable(GlobalVariable globalVariable) {
-        ResolvedType resolvedType = runtime.resolve(globalVariable.getType());
-        int byteSize = LLVMTypeHelper.getByteSize(resolvedType);
-        LLVMAddress allocation = LLVMHeap.allocateMemory(byteSize);
-        LLVMAddressNode addressLiteralNode = (LLVMAddressNode) createLiteral(allocation, LLVMBaseType.ADDRESS);
-        runtime.addDestructor(LLVMFreeFactory.create(addressLiteralNode));
-        return allocation;
+    public Object[] allocateGlobalVariables(List<GlobalVariable> globalVariables) {
+        LLVMGlobalArena arena = new LLVMGlobalArena();
+        long[] offsets = new long[globalVariables.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            ResolvedType resolvedType = runtime.resolve(globalVariables.get(i).getType());
+            int byteSize = LLVMTypeHelper.getByteSize(resolvedType);
+            int alignment = Math.max(LLVMTypeHelper.getAlignmentByte(resolvedType), 1);
+            offsets[i] = arena.reserve(byteSize, alignment);
+        }
+        arena.allocate();
+        runtime.addDestructor(new LLVMFreeGlobalArenaNode(arena, false));
+        Object[] allocations = new Object[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            allocations[i] = arena.getAddress(offsets[i]);
+        }
+        return allocations;
     }
 
     @Override
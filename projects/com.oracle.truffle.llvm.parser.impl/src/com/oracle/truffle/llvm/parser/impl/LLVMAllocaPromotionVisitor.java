@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+
+import com.intel.llvm.ireditor.lLVM_IR.FunctionDef;
+import com.intel.llvm.ireditor.lLVM_IR.Instruction_alloca;
+import com.intel.llvm.ireditor.lLVM_IR.Instruction_load;
+import com.intel.llvm.ireditor.lLVM_IR.Instruction_store;
+import com.intel.llvm.ireditor.lLVM_IR.LocalValue;
+import com.intel.llvm.ireditor.lLVM_IR.LocalValueRef;
+import com.intel.llvm.ireditor.lLVM_IR.NamedMiddleInstruction;
+import com.intel.llvm.ireditor.lLVM_IR.TypedValue;
+import com.oracle.truffle.llvm.parser.LLVMBaseType;
+
+/**
+ * This class finds the allocas of a function whose address does not escape, i.e., that allocate a
+ * single scalar or pointer and are only used as the pointer operand of loads and stores. The
+ * {@link LLVMVisitor} keeps the value of such an alloca in the frame slot of the alloca.
+ */
+public final class LLVMAllocaPromotionVisitor {
+
+    private final Function<EObject, LLVMBaseType> types;
+
+    private final Map<String, Instruction_alloca> allocas = new HashMap<>();
+
+    private final Set<String> escaped = new HashSet<>();
+
+    private LLVMAllocaPromotionVisitor(Function<EObject, LLVMBaseType> types) {
+        this.types = types;
+    }
+
+    /**
+     * Returns the promotable allocas of the function by name.
+     *
+     * @param types resolves the base type of a type in the IR
+     */
+    public static Map<String, Instruction_alloca> visit(FunctionDef function, Function<EObject, LLVMBaseType> types) {
+        return new LLVMAllocaPromotionVisitor(types).visitFunction(function);
+    }
+
+    private Map<String, Instruction_alloca> visitFunction(FunctionDef function) {
+        TreeIterator<EObject> contents = function.eAllContents();
+        while (contents.hasNext()) {
+            EObject object = contents.next();
+            if (object instanceof LocalValueRef) {
+                visitLocalValueRef((LocalValueRef) object);
+            }
+        }
+        allocas.keySet().removeAll(escaped);
+        return allocas;
+    }
+
+    private void visitLocalValueRef(LocalValueRef ref) {
+        LocalValue value = ref.getRef();
+        if (!(value instanceof NamedMiddleInstruction) || !(((NamedMiddleInstruction) value).getInstruction() instanceof Instruction_alloca)) {
+            return;
+        }
+        String name = value.getName();
+        Instruction_alloca alloca = (Instruction_alloca) ((NamedMiddleInstruction) value).getInstruction();
+        if (isPromotable(alloca) && isPointerOperand(ref)) {
+            allocas.put(name, alloca);
+        } else {
+            escaped.add(name);
+        }
+    }
+
+    private boolean isPromotable(Instruction_alloca alloca) {
+        if (alloca.getNumElements() != null) {
+            return false;
+        }
+        switch (types.apply(alloca.getType())) {
+            case I1:
+            case I8:
+            case I16:
+            case I32:
+            case I64:
+            case FLOAT:
+            case DOUBLE:
+            case ADDRESS:
+            case FUNCTION_ADDRESS:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isPointerOperand(LocalValueRef ref) {
+        EObject container = ref.eContainer();
+        if (!(container instanceof TypedValue)) {
+            return false;
+        }
+        EObject instruction = container.eContainer();
+        if (instruction instanceof Instruction_load) {
+            return ((Instruction_load) instruction).getPointer() == container;
+        } else if (instruction instanceof Instruction_store) {
+            return ((Instruction_store) instruction).getPointer() == container;
+        } else {
+            return false;
+        }
+    }
+}
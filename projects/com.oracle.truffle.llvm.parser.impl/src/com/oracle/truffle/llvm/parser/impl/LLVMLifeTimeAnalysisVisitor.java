@@ -29,12 +29,13 @@
  */
 package com.oracle.truffle.llvm.parser.impl;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.eclipse.emf.common.util.EList;
@@ -48,17 +49,22 @@ import com.intel.llvm.ireditor.lLVM_IR.Instruction_indirectbr;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_ret;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_switch;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_unreachable;
+import com.intel.llvm.ireditor.lLVM_IR.LocalValueRef;
 import com.intel.llvm.ireditor.lLVM_IR.MiddleInstruction;
 import com.intel.llvm.ireditor.lLVM_IR.NamedMiddleInstruction;
 import com.intel.llvm.ireditor.lLVM_IR.NamedTerminatorInstruction;
 import com.intel.llvm.ireditor.lLVM_IR.TerminatorInstruction;
+import com.intel.llvm.ireditor.lLVM_IR.ValueRef;
 import com.intel.llvm.ireditor.lLVM_IR.impl.Instruction_brImpl;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.llvm.parser.impl.LLVMPhiVisitor.Phi;
+import com.oracle.truffle.llvm.parser.util.LLVMLivenessAnalysis;
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 
 /**
- * This class determines which variables are dead after each basic block.
+ * This class determines which variables are dead after each basic block, using the liveness
+ * analysis in {@link LLVMLivenessAnalysis}.
  */
 public final class LLVMLifeTimeAnalysisVisitor {
 
@@ -67,14 +73,18 @@ public final class LLVMLifeTimeAnalysisVisitor {
 
     private final FrameDescriptor frameDescriptor;
     private final EList<BasicBlock> basicBlocks;
-    private final BasicBlock entryBlock;
-    private final Map<BasicBlock, List<FrameSlot>> writtenFrameSlotsPerBlock;
+    private final Map<BasicBlock, Integer> blockIndices = new HashMap<>();
+    private final Map<BasicBlock, List<Phi>> phiRefs;
+    private final List<FrameSlot> slots = new ArrayList<>();
+    private final Map<FrameSlot, Integer> slotIndices = new HashMap<>();
 
     private LLVMLifeTimeAnalysisVisitor(FunctionDef function, FrameDescriptor frameDescriptor) {
         this.frameDescriptor = frameDescriptor;
         basicBlocks = function.getBasicBlocks();
-        entryBlock = basicBlocks.get(0);
-        writtenFrameSlotsPerBlock = getWrittenFrameSlotsPerBlock(basicBlocks);
+        for (int i = 0; i < basicBlocks.size(); i++) {
+            blockIndices.put(basicBlocks.get(i), i);
+        }
+        phiRefs = LLVMPhiVisitor.visit(function);
     }
 
     public static Map<BasicBlock, FrameSlot[]> visit(FunctionDef function, FrameDescriptor frameDescriptor) {
@@ -104,129 +114,91 @@ public final class LLVMLifeTimeAnalysisVisitor {
     }
 
     private Map<BasicBlock, FrameSlot[]> visit() {
-        Map<BasicBlock, FrameSlot[]> map = new HashMap<>();
-        for (BasicBlock block : basicBlocks) {
-            List<BasicBlock> transitiveSuccessors = getTransitiveSuccessors(block);
-            List<BasicBlock> successors = getSuccessors(block);
-            Deque<BasicBlock> currentQueue = new ArrayDeque<>();
-            currentQueue.push(block);
-            List<BasicBlock> processed = new ArrayList<>();
-            List<FrameSlot> frameSlots = new ArrayList<>();
-            List<FrameSlot> writtenFrameSlots = writtenFrameSlotsPerBlock.get(block);
-            if (!transitiveSuccessors.contains(block)) {
-                outer: for (FrameSlot slot : writtenFrameSlots) {
-                    for (BasicBlock successor : transitiveSuccessors) {
-                        if (successor != block && reads(successor, slot)) {
-                            continue outer;
-                        }
-                    }
-                    frameSlots.add(slot);
-                }
-            }
-            while (!currentQueue.isEmpty()) {
-                BasicBlock currentBlock = currentQueue.pop();
-                processed.add(currentBlock);
-                boolean dominatesASuccessor = false;
-                for (BasicBlock succ : successors) {
-                    if (dominates(currentBlock, succ)) {
-                        dominatesASuccessor = true;
-                    }
-                }
-                if (!dominatesASuccessor) {
-                    frameSlots.addAll(writtenFrameSlotsPerBlock.get(currentBlock));
-                    List<BasicBlock> predecessors = getPredecessors(currentBlock);
-                    for (BasicBlock pred : predecessors) {
-                        if (!processed.contains(pred)) {
-                            currentQueue.push(pred);
-                        }
-                    }
-                }
+        int blockCount = basicBlocks.size();
+        int[][] successors = new int[blockCount][];
+        BitSet[] instructionDefs = new BitSet[blockCount];
+        BitSet[] defs = new BitSet[blockCount];
+        BitSet[] uses = new BitSet[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            BasicBlock block = basicBlocks.get(i);
+            successors[i] = getSuccessorIndices(block);
+            instructionDefs[i] = getWrittenVariables(block);
+        }
+        for (int i = 0; i < blockCount; i++) {
+            defs[i] = (BitSet) instructionDefs[i].clone();
+            for (Phi phi : phiRefs.get(basicBlocks.get(i))) {
+                defs[i].set(getSlotIndex(frameDescriptor.findOrAddFrameSlot(phi.getAssignTo())));
             }
-            map.put(block, frameSlots.toArray(new FrameSlot[frameSlots.size()]));
         }
-        return map;
-    }
-
-    private boolean reads(BasicBlock successor, FrameSlot slot) {
-        return new LLVMReadVisitor().getReads(successor, frameDescriptor).contains(slot);
-    }
-
-    private List<BasicBlock> getPredecessors(BasicBlock block) {
-        List<BasicBlock> blocks = new ArrayList<>();
-        for (BasicBlock cur : basicBlocks) {
-            if (getSuccessors(cur).contains(block)) {
-                blocks.add(cur);
+        for (int i = 0; i < blockCount; i++) {
+            uses[i] = getUpwardExposedReads(basicBlocks.get(i), instructionDefs[i]);
+        }
+        BitSet[] deadSlots = LLVMLivenessAnalysis.getDeadSlotsAfterBlocks(successors, defs, uses);
+        Map<BasicBlock, FrameSlot[]> map = new HashMap<>();
+        for (int i = 0; i < blockCount; i++) {
+            BitSet dead = deadSlots[i];
+            FrameSlot[] frameSlots = new FrameSlot[dead.cardinality()];
+            int j = 0;
+            for (int slot = dead.nextSetBit(0); slot >= 0; slot = dead.nextSetBit(slot + 1)) {
+                frameSlots[j++] = slots.get(slot);
             }
+            map.put(basicBlocks.get(i), frameSlots);
         }
-        return blocks;
+        return map;
     }
 
-    private boolean dominates(BasicBlock dominator, BasicBlock n) {
-        if (dominator.equals(n)) {
-            return true;
+    private int getSlotIndex(FrameSlot slot) {
+        Integer index = slotIndices.get(slot);
+        if (index == null) {
+            index = slots.size();
+            slots.add(slot);
+            slotIndices.put(slot, index);
         }
-        List<BasicBlock> notDominatedBlocks = notDominatedBlocks(dominator);
-        boolean dominates = !notDominatedBlocks.contains(n);
-        return dominates;
+        return index;
     }
 
-    private List<BasicBlock> notDominatedBlocks(BasicBlock dominator) {
-        List<BasicBlock> notDominatedBlocks = new ArrayList<>();
-        if (!dominator.equals(entryBlock)) {
-            notDominatedBlocks(dominator, entryBlock, notDominatedBlocks);
+    /**
+     * Determines the slots whose value flows into the block. In SSA form a value that is defined
+     * by a (non-phi) instruction of a block is always written before it is read in that block, so
+     * these reads are not exposed. Phi slots, however, are only written by the phi assignments at
+     * the end of the block and can be read before.
+     */
+    private BitSet getUpwardExposedReads(BasicBlock block, BitSet instructionDefs) {
+        BitSet reads = new BitSet();
+        for (FrameSlot slot : new LLVMReadVisitor().getReads(block, frameDescriptor, false)) {
+            addRead(reads, slot);
         }
-        return notDominatedBlocks;
-    }
-
-    private void notDominatedBlocks(BasicBlock dominator, BasicBlock currentBlock, List<BasicBlock> notDominatedBlocks) {
-        List<BasicBlock> successors = getSuccessors(currentBlock);
-        for (BasicBlock d : successors) {
-            if (!notDominatedBlocks.contains(d) && !dominator.equals(d)) {
-                notDominatedBlocks.add(d);
-                notDominatedBlocks(dominator, d, notDominatedBlocks);
+        for (Phi phi : phiRefs.get(block)) {
+            ValueRef valueRef = phi.getValueRef();
+            if (valueRef instanceof LocalValueRef) {
+                addRead(reads, frameDescriptor.findFrameSlot(((LocalValueRef) valueRef).getRef().getName()));
             }
         }
+        reads.andNot(instructionDefs);
+        return reads;
     }
 
-    private Map<BasicBlock, List<BasicBlock>> succesors = new HashMap<>();
-
-    private List<BasicBlock> getSuccessors(BasicBlock block) {
-        if (succesors.containsKey(block)) {
-            return succesors.get(block);
-        } else {
-            List<BasicBlock> successors = new ArrayList<>();
-            EList<Instruction> instructions = block.getInstructions();
-            List<TerminatorInstruction> terminatorInstructions = instructions.stream().filter(i -> i instanceof TerminatorInstruction).map(i -> (TerminatorInstruction) i).collect(Collectors.toList());
-            for (TerminatorInstruction termInstr : terminatorInstructions) {
-                List<BasicBlock> successorBlocks = getSuccessors(termInstr);
-                successors.addAll(successorBlocks);
-            }
-            succesors.put(block, successors);
-            return successors;
+    private void addRead(BitSet reads, FrameSlot slot) {
+        Integer index = slotIndices.get(slot);
+        if (index != null) {
+            // only instruction results are candidates, not parameters
+            reads.set(index);
         }
-
     }
 
-    private List<BasicBlock> getTransitiveSuccessors(BasicBlock block) {
-        List<BasicBlock> processed = new ArrayList<>();
-        List<BasicBlock> successors = new ArrayList<>();
-        Deque<BasicBlock> toProcess = new ArrayDeque<>();
-        toProcess.push(block);
-        while (!toProcess.isEmpty()) {
-            BasicBlock currentBlock = toProcess.pop();
-            processed.add(currentBlock);
-            List<BasicBlock> currentBlockSuccessors = getSuccessors(currentBlock);
-            for (BasicBlock currentBlockSuccessor : currentBlockSuccessors) {
-                if (!successors.contains(currentBlockSuccessor)) {
-                    successors.add(currentBlockSuccessor);
-                }
-                successors.add(currentBlockSuccessor);
-                if (!processed.contains(currentBlockSuccessor) && !toProcess.contains(currentBlockSuccessor)) {
-                    toProcess.add(currentBlockSuccessor);
-                }
+    private int[] getSuccessorIndices(BasicBlock block) {
+        Set<BasicBlock> successors = new LinkedHashSet<>();
+        for (Instruction instr : block.getInstructions()) {
+            if (instr instanceof TerminatorInstruction) {
+                successors.addAll(getSuccessors((TerminatorInstruction) instr));
             }
         }
-        return successors;
+        int[] indices = new int[successors.size()];
+        int i = 0;
+        for (BasicBlock successor : successors) {
+            indices[i++] = blockIndices.get(successor);
+        }
+        return indices;
     }
 
     private static List<BasicBlock> getSuccessors(TerminatorInstruction termInstr) {
@@ -262,24 +234,15 @@ public final class LLVMLifeTimeAnalysisVisitor {
         return realTermInstr instanceof Instruction_ret || realTermInstr instanceof Instruction_unreachable;
     }
 
-    private Map<BasicBlock, List<FrameSlot>> getWrittenFrameSlotsPerBlock(EList<BasicBlock> bbs) {
-        Map<BasicBlock, List<FrameSlot>> writes = new HashMap<>();
-        for (BasicBlock bb : bbs) {
-            List<FrameSlot> slots = getWrittenVariables(bb);
-            writes.put(bb, slots);
-        }
-        return writes;
-    }
-
-    private List<FrameSlot> getWrittenVariables(BasicBlock block) {
-        List<FrameSlot> slots = new ArrayList<>();
+    private BitSet getWrittenVariables(BasicBlock block) {
+        BitSet slotSet = new BitSet();
         for (Instruction instr : block.getInstructions()) {
             FrameSlot slot = getWrites(instr);
             if (slot != null) {
-                slots.add(slot);
+                slotSet.set(getSlotIndex(slot));
             }
         }
-        return slots;
+        return slotSet;
     }
 
     private FrameSlot getWrites(Instruction instr) {
@@ -42,11 +42,14 @@ import com.intel.llvm.ireditor.lLVM_IR.ConversionInstruction;
 import com.intel.llvm.ireditor.lLVM_IR.GlobalValueRef;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_alloca;
+import com.intel.llvm.ireditor.lLVM_IR.Instruction_atomicrmw;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_br;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_call_nonVoid;
+import com.intel.llvm.ireditor.lLVM_IR.Instruction_cmpxchg;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_extractelement;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_extractvalue;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_fcmp;
+import com.intel.llvm.ireditor.lLVM_IR.Instruction_fence;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_getelementptr;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_icmp;
 import com.intel.llvm.ireditor.lLVM_IR.Instruction_indirectbr;
@@ -76,9 +79,20 @@ public final class LLVMReadVisitor {
     private FrameDescriptor frameDescriptor;
 
     public List<FrameSlot> getReads(BasicBlock block, FrameDescriptor descriptor) {
+        return getReads(block, descriptor, true);
+    }
+
+    /**
+     * Returns the frame slots read in a block. The incoming values of the phis at the start of the
+     * block are only reported if <code>includePhiReads</code> is set, since they are actually read
+     * on the edges from the predecessor blocks.
+     */
+    public List<FrameSlot> getReads(BasicBlock block, FrameDescriptor descriptor, boolean includePhiReads) {
         this.frameDescriptor = descriptor;
         for (Instruction instr : block.getInstructions()) {
-            getReads(instr);
+            if (includePhiReads || !(instr instanceof StartingInstruction)) {
+                getReads(instr);
+            }
         }
         return reads;
     }
@@ -109,7 +123,7 @@ public final class LLVMReadVisitor {
             visitStoreInstructionRead((Instruction_store) instr);
         } else if (instr instanceof Instruction_call_nonVoid) {
             visitFunctionCallRead((Instruction_call_nonVoid) instr);
-        } else {
+        } else if (!(instr instanceof Instruction_fence)) {
             throw new AssertionError(instr);
         }
     }
@@ -162,11 +176,26 @@ public final class LLVMReadVisitor {
             visitExtractValueRead((Instruction_extractvalue) instr);
         } else if (instr instanceof Instruction_shufflevector) {
             visitShuffleVectorRead((Instruction_shufflevector) instr);
+        } else if (instr instanceof Instruction_cmpxchg) {
+            visitCompareExchangeRead((Instruction_cmpxchg) instr);
+        } else if (instr instanceof Instruction_atomicrmw) {
+            visitAtomicReadModifyWriteRead((Instruction_atomicrmw) instr);
         } else {
             throw new AssertionError(instr);
         }
     }
 
+    private void visitCompareExchangeRead(Instruction_cmpxchg instr) {
+        visitValueRef(instr.getPointer().getRef());
+        visitValueRef(instr.getComparedWith().getRef());
+        visitValueRef(instr.getNewValue().getRef());
+    }
+
+    private void visitAtomicReadModifyWriteRead(Instruction_atomicrmw instr) {
+        visitValueRef(instr.getPointer().getRef());
+        visitValueRef(instr.getArgument().getRef());
+    }
+
     private void visitShuffleVectorRead(Instruction_shufflevector instr) {
         visitValueRef(instr.getMask().getRef());
         visitValueRef(instr.getVector1().getRef());
@@ -178,7 +207,7 @@ public final class LLVMReadVisitor {
     }
 
     private void visitInsertElementRead(Instruction_insertelement instr) {
-        visitValueRef(instr.getElement().getRef());
+        visitValueRef(instr.getVector().getRef());
         visitValueRef(instr.getIndex().getRef());
         visitValueRef(instr.getElement().getRef());
     }
@@ -143,6 +143,7 @@ import com.oracle.truffle.llvm.parser.impl.layout.DataLayoutConverter.DataSpecCo
 import com.oracle.truffle.llvm.parser.impl.layout.DataLayoutParser;
 import com.oracle.truffle.llvm.parser.impl.layout.DataLayoutParser.DataTypeSpecification;
 import com.oracle.truffle.llvm.parser.instructions.LLVMArithmeticInstructionType;
+import com.oracle.truffle.llvm.parser.instructions.LLVMAtomicRMWOperation;
 import com.oracle.truffle.llvm.parser.instructions.LLVMConversionType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMFloatComparisonType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMIntegerComparisonType;
@@ -152,8 +153,6 @@ import com.oracle.truffle.llvm.runtime.LLVMLogger;
 import com.oracle.truffle.llvm.runtime.LLVMOptimizationConfiguration;
 import com.oracle.truffle.llvm.runtime.LLVMParserException;
 import com.oracle.truffle.llvm.runtime.LLVMParserException.ParserErrorCause;
-import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException;
-import com.oracle.truffle.llvm.runtime.LLVMUnsupportedException.UnsupportedReason;
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor;
@@ -169,6 +168,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
 
     private static final String FUNCTION_RETURN_VALUE_FRAME_SLOT_ID = "<function return value>";
     private static final String STACK_ADDRESS_FRAME_SLOT_ID = "<stack pointer>";
+    private static final String BLOCK_INDEX_FRAME_SLOT_ID = "<block index>";
 
     private static final TypeResolver typeResolver = new TypeResolver();
     private FrameDescriptor frameDescriptor;
@@ -176,9 +176,12 @@ public final class LLVMVisitor implements LLVMParserRuntime {
     private List<LLVMNode> functionEpilogue;
     private Map<FunctionHeader, Map<String, Integer>> functionToLabelMapping;
     private final Map<LLVMFunctionDescriptor, RootCallTarget> functionCallTargets = new HashMap<>();
+    private final Map<String, LLVMFunctionDescriptor> functionsByName = new HashMap<>();
     private Map<String, Integer> labelList;
+    private Map<String, Instruction_alloca> promotedAllocas;
     private FrameSlot retSlot;
     private FrameSlot stackPointerSlot;
+    private FrameSlot blockIndexSlot;
     private FunctionDef containingFunctionDef;
     private NodeFactoryFacade factoryFacade;
     private final LLVMOptimizationConfiguration optimizationConfiguration;
@@ -233,18 +236,9 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         }
     }
 
-    private static LLVMFunctionDescriptor searchFunction(Map<LLVMFunctionDescriptor, RootCallTarget> parsedFunctions, String toSearch) {
-        for (LLVMFunctionDescriptor func : parsedFunctions.keySet()) {
-            if (func.getName().equals(toSearch)) {
-                return func;
-            }
-        }
-        return null;
-    }
-
     public LLVMParserResult getMain(Model model, NodeFactoryFacade facade) {
         Map<LLVMFunctionDescriptor, RootCallTarget> parsedFunctions = visit(model, facade);
-        LLVMFunctionDescriptor mainFunction = searchFunction(parsedFunctions, "@main");
+        LLVMFunctionDescriptor mainFunction = functionsByName.get("@main");
         LLVMNode[] staticInits = globalNodes.toArray(new LLVMNode[globalNodes.size()]);
         RootCallTarget staticInitsTarget = Truffle.getRuntime().createCallTarget(factoryFacade.createStaticInitsRootNode(staticInits));
         deallocations = globalDeallocations.toArray(new LLVMNode[globalDeallocations.size()]);
@@ -351,11 +345,16 @@ public final class LLVMVisitor implements LLVMParserRuntime {
     }
 
     private void allocateGlobals(List<EObject> objects) {
+        List<GlobalVariable> globalVariables = new ArrayList<>();
         for (EObject object : objects) {
             if (object instanceof GlobalVariable) {
-                findOrAllocateGlobal((GlobalVariable) object);
+                globalVariables.add((GlobalVariable) object);
             }
         }
+        Object[] allocations = factoryFacade.allocateGlobalVariables(globalVariables);
+        for (int i = 0; i < allocations.length; i++) {
+            globalVars.put(globalVariables.get(i), allocations[i]);
+        }
     }
 
     private List<LLVMNode> addGlobalVars(LLVMVisitor visitor, List<GlobalVariable> globalVariables) {
@@ -370,7 +369,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
             if (globalVar.getName().equals("@llvm.global_ctors")) {
                 ResolvedArrayType type = (ResolvedArrayType) typeResolver.resolve(globalVar.getType());
                 int size = type.getSize();
-                Object allocGlobalVariable = findOrAllocateGlobal(globalVar);
+                Object allocGlobalVariable = getGlobalAllocation(globalVar);
                 ResolvedType structType = type.getContainedType(0);
                 int structSize = LLVMTypeHelper.getByteSize(structType);
                 for (int i = 0; i < size; i++) {
@@ -430,7 +429,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
             if (constant != null) {
                 ResolvedType resolvedType = resolve(globalVariable.getType());
                 int byteSize = LLVMTypeHelper.getByteSize(resolvedType);
-                Object allocGlobalVariable = findOrAllocateGlobal(globalVariable);
+                Object allocGlobalVariable = getGlobalAllocation(globalVariable);
                 if (byteSize == 0) {
                     return null;
                 } else {
@@ -450,17 +449,11 @@ public final class LLVMVisitor implements LLVMParserRuntime {
     private final List<LLVMNode> globalDeallocations = new ArrayList<>();
     private boolean isGlobalScope;
 
-    private Object findOrAllocateGlobal(GlobalVariable globalVariable) {
+    private Object getGlobalAllocation(GlobalVariable globalVariable) {
         if (globalVars.containsKey(globalVariable)) {
             return globalVars.get(globalVariable);
         } else {
-            try {
-                Object allocation = factoryFacade.allocateGlobalVariable(globalVariable);
-                globalVars.put(globalVariable, allocation);
-                return allocation;
-            } catch (Throwable t) {
-                throw new AssertionError(globalVariable.getName());
-            }
+            throw new AssertionError(globalVariable.getName() + " was not allocated with the other globals");
         }
     }
 
@@ -481,12 +474,21 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         isGlobalScope = false;
         retSlot = frameDescriptor.addFrameSlot(FUNCTION_RETURN_VALUE_FRAME_SLOT_ID);
         stackPointerSlot = frameDescriptor.addFrameSlot(STACK_ADDRESS_FRAME_SLOT_ID, FrameSlotKind.Object);
+        blockIndexSlot = frameDescriptor.addFrameSlot(BLOCK_INDEX_FRAME_SLOT_ID, FrameSlotKind.Int);
         functionEpilogue = new ArrayList<>();
         LLVMAttributeVisitor.visitFunctionHeader(def.getHeader());
         labelList = getBlockLabelIndexMapping(def);
+        if (LLVMBaseOptionFacade.promoteAllocas()) {
+            promotedAllocas = LLVMAllocaPromotionVisitor.visit(def, this::getLLVMType);
+        } else {
+            promotedAllocas = Collections.emptyMap();
+        }
         List<LLVMNode> formalParameters = getFormalParametersInit(def);
         LLVMExpressionNode block = getFunctionBlockStatements(def);
         String functionName = def.getHeader().getName();
+        if (LLVMBaseOptionFacade.printPromotedAllocas()) {
+            LLVMLogger.unconditionalInfo(functionName + ": " + promotedAllocas.size() + " promoted allocas");
+        }
         LLVMNode[] beforeFunction = formalParameters.toArray(new LLVMNode[formalParameters.size()]);
         LLVMNode[] afterFunction = functionEpilogue.toArray(new LLVMNode[functionEpilogue.size()]);
         RootNode rootNode = factoryFacade.createFunctionStartNode(block, beforeFunction, afterFunction, frameDescriptor, functionName);
@@ -496,6 +498,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         LLVMFunctionDescriptor function = createLLVMFunctionFromHeader(def.getHeader());
         RootCallTarget callTarget = Truffle.getRuntime().createCallTarget(rootNode);
         functionCallTargets.put(function, callTarget);
+        functionsByName.put(function.getName(), function);
         return function;
     }
 
@@ -525,7 +528,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
                 indexToSlotNuller[basicBlockIndices[i++]] = getSlotNullerNode(deadSlots);
             }
         }
-        return factoryFacade.createFunctionBlockNode(retSlot, allFunctionNodes, indexToSlotNuller);
+        return factoryFacade.createFunctionBlockNode(retSlot, blockIndexSlot, allFunctionNodes, indexToSlotNuller);
     }
 
     private static LLVMStackFrameNuller[] getSlotNullerNode(FrameSlot[] deadSlots) {
@@ -650,6 +653,8 @@ public final class LLVMVisitor implements LLVMParserRuntime {
             middleInstruction = visitStoreInstruction((Instruction_store) instr);
         } else if (instr instanceof Instruction_call_nonVoid) {
             middleInstruction = visitFunctionCall((Instruction_call_nonVoid) instr);
+        } else if (instr instanceof Instruction_fence) {
+            middleInstruction = factoryFacade.createFence();
         } else {
             throw new AssertionError(instr);
         }
@@ -691,11 +696,33 @@ public final class LLVMVisitor implements LLVMParserRuntime {
     private LLVMNode visitStoreInstruction(Instruction_store instr) {
         TypedValue pointer = instr.getPointer();
         TypedValue index = instr.getValue();
-        LLVMExpressionNode pointerNode = visitValueRef(pointer.getRef(), pointer.getType());
         LLVMExpressionNode valueNode = visitValueRef(index.getRef(), index.getType());
+        String promotedAlloca = getPromotedAllocaName(pointer.getRef());
+        if (promotedAlloca != null) {
+            Type allocatedType = promotedAllocas.get(promotedAlloca).getType();
+            return getWriteNode(valueNode, findOrAddFrameSlot(promotedAlloca, allocatedType), allocatedType);
+        }
+        LLVMExpressionNode pointerNode = visitValueRef(pointer.getRef(), pointer.getType());
+        if (instr.getOrdering() != null) {
+            return factoryFacade.createAtomicStore(pointerNode, valueNode, getLLVMType(index.getType()));
+        }
         return getStoreNode(pointerNode, valueNode, index.getType());
     }
 
+    /**
+     * Returns the name of the alloca if the value is a promoted alloca whose value lives in its
+     * frame slot, see {@link LLVMAllocaPromotionVisitor}, and null otherwise.
+     */
+    private String getPromotedAllocaName(ValueRef valueRef) {
+        if (valueRef instanceof LocalValueRef) {
+            String name = ((LocalValueRef) valueRef).getRef().getName();
+            if (promotedAllocas.containsKey(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
     private LLVMNode getStoreNode(LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, Type type) {
         return factoryFacade.createStore(pointerNode, valueNode, resolve(type));
     }
@@ -724,6 +751,11 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         } else if (instr instanceof Instruction_call_nonVoid) {
             result = (LLVMExpressionNode) visitFunctionCall((Instruction_call_nonVoid) instr);
         } else if (instr instanceof Instruction_alloca) {
+            if (promotedAllocas.containsKey(name)) {
+                /* the value is undefined until the first store, zero initializes the slot for paths without one */
+                Type allocatedType = ((Instruction_alloca) instr).getType();
+                return Arrays.asList(getWriteNode(getPromotedAllocaZeroNode(allocatedType), frameSlot, allocatedType));
+            }
             result = visitAllocaInstruction((Instruction_alloca) instr);
         } else if (instr instanceof Instruction_load) {
             result = visitLoadInstruction((Instruction_load) instr);
@@ -745,8 +777,10 @@ public final class LLVMVisitor implements LLVMParserRuntime {
             result = visitExtractValue((Instruction_extractvalue) instr);
         } else if (instr instanceof Instruction_shufflevector) {
             result = visitShuffleVector((Instruction_shufflevector) instr);
-        } else if (isMultithreadingInstruction(instr)) {
-            throw new LLVMUnsupportedException(UnsupportedReason.MULTITHREADING);
+        } else if (instr instanceof Instruction_cmpxchg) {
+            result = visitCompareExchange((Instruction_cmpxchg) instr);
+        } else if (instr instanceof Instruction_atomicrmw) {
+            result = visitAtomicReadModifyWrite((Instruction_atomicrmw) instr);
         } else {
             throw new AssertionError(instr);
         }
@@ -756,19 +790,31 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         return resultNodes;
     }
 
-    private static boolean isMultithreadingInstruction(EObject instr) {
-        return instr instanceof Instruction_atomicrmw || instr instanceof Instruction_cmpxchg || instr instanceof Instruction_fence;
+    private LLVMExpressionNode visitCompareExchange(Instruction_cmpxchg instr) {
+        TypedValue pointer = instr.getPointer();
+        TypedValue comparedWith = instr.getComparedWith();
+        TypedValue newValue = instr.getNewValue();
+        LLVMExpressionNode pointerNode = visitValueRef(pointer.getRef(), pointer.getType());
+        LLVMExpressionNode comparedWithNode = visitValueRef(comparedWith.getRef(), comparedWith.getType());
+        LLVMExpressionNode newValueNode = visitValueRef(newValue.getRef(), newValue.getType());
+        return factoryFacade.createCompareExchange(pointerNode, comparedWithNode, newValueNode, getLLVMType(comparedWith.getType()));
+    }
+
+    private LLVMExpressionNode visitAtomicReadModifyWrite(Instruction_atomicrmw instr) {
+        TypedValue pointer = instr.getPointer();
+        TypedValue argument = instr.getArgument();
+        LLVMExpressionNode pointerNode = visitValueRef(pointer.getRef(), pointer.getType());
+        LLVMExpressionNode valueNode = visitValueRef(argument.getRef(), argument.getType());
+        LLVMAtomicRMWOperation operation = LLVMAtomicRMWOperation.fromString(instr.getOperation());
+        return factoryFacade.createAtomicReadModifyWrite(operation, pointerNode, valueNode, getLLVMType(argument.getType()));
     }
 
     private LLVMExpressionNode visitShuffleVector(Instruction_shufflevector instr) {
         LLVMExpressionNode vector1 = visitValueRef(instr.getVector1().getRef(), instr.getVector1().getType());
         LLVMExpressionNode vector2 = visitValueRef(instr.getVector2().getRef(), instr.getVector2().getType());
         LLVMExpressionNode mask = visitValueRef(instr.getMask().getRef(), instr.getMask().getType());
-        ResolvedType resultType = resolve(instr.getVector1().getType());
-        ResolvedVectorType resultVectorType = resultType.asVector();
-        LLVMExpressionNode target = allocateFunctionLifetime(resultVectorType);
         LLVMBaseType llvmType = getLLVMType(instr.getVector1().getType());
-        return factoryFacade.createShuffleVector(llvmType, target, vector1, vector2, mask);
+        return factoryFacade.createShuffleVector(llvmType, vector1, vector2, mask);
     }
 
     private LLVMExpressionNode visitExtractValue(Instruction_extractvalue instr) {
@@ -794,7 +840,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         LLVMExpressionNode index = visitValueRef(instr.getIndex().getRef(), instr.getIndex().getType());
         LLVMExpressionNode element = visitValueRef(instr.getElement().getRef(), instr.getElement().getType());
         LLVMBaseType resultType = LLVMTypeHelper.getLLVMType(resolve(instr));
-        return factoryFacade.createInsertElement(resultType, vector, instr.getVector().getType(), element, index);
+        return factoryFacade.createInsertElement(resultType, vector, element, index);
     }
 
     private LLVMExpressionNode visitInsertValueInstr(Instruction_insertvalue insertValue) {
@@ -832,19 +878,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         LLVMExpressionNode left = visitValueRef(op1, instr.getType());
         LLVMExpressionNode right = visitValueRef(op2, instr.getType());
         LLVMBaseType llvmType = getLLVMType(instr.getType());
-        LLVMExpressionNode target = allocateVectorResultIfVector(instr);
-        return factoryFacade.createLogicalOperation(left, right, instr, llvmType, target);
-    }
-
-    private LLVMExpressionNode allocateVectorResultIfVector(EObject type) {
-        boolean isVector = resolve(type) instanceof ResolvedVectorType;
-        LLVMExpressionNode target;
-        if (isVector) {
-            target = allocateVectorResult(type);
-        } else {
-            target = null;
-        }
-        return target;
+        return factoryFacade.createLogicalOperation(left, right, instr, llvmType);
     }
 
     private LLVMExpressionNode visitSelectInstr(Instruction_select instr) {
@@ -937,7 +971,14 @@ public final class LLVMVisitor implements LLVMParserRuntime {
 
     private LLVMExpressionNode visitLoadInstruction(Instruction_load instr) {
         TypedValue pointer = instr.getPointer();
+        String promotedAlloca = getPromotedAllocaName(pointer.getRef());
+        if (promotedAlloca != null) {
+            return getReadNode(promotedAlloca, promotedAllocas.get(promotedAlloca).getType());
+        }
         LLVMExpressionNode pointerNode = visitValueRef(pointer.getRef(), pointer.getType());
+        if (instr.getOrdering() != null) {
+            return factoryFacade.createAtomicLoad(pointerNode, getLLVMType(instr));
+        }
         ResolvedType resolvedResultType = resolve(instr);
         LLVMExpressionNode loadTarget = pointerNode;
         return factoryFacade.createLoad(resolvedResultType, loadTarget);
@@ -984,9 +1025,8 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         ValueRef op2 = instr.getOp2();
         LLVMExpressionNode left = visitValueRef(op1, instr.getType());
         LLVMExpressionNode right = visitValueRef(op2, instr.getType());
-        LLVMExpressionNode target = allocateVectorResultIfVector(instr);
         LLVMArithmeticInstructionType instructionType = LLVMArithmeticInstructionType.fromString(instr.getOpcode());
-        return factoryFacade.createArithmeticOperation(left, right, instructionType, getLLVMType(instr.getType()), target);
+        return factoryFacade.createArithmeticOperation(left, right, instructionType, getLLVMType(instr.getType()));
     }
 
     private LLVMExpressionNode visitConversionConstruction(ConversionInstruction instr) {
@@ -1032,9 +1072,9 @@ public final class LLVMVisitor implements LLVMParserRuntime {
                     LLVMAddress nativeSymbolAddress = LLVMAddress.fromLong(getNativeSymbol);
                     return factoryFacade.createLiteral(nativeSymbolAddress, LLVMBaseType.ADDRESS);
                 } else {
-                    Object findOrAllocateGlobal = findOrAllocateGlobal(globalVariable);
-                    assert findOrAllocateGlobal != null;
-                    return factoryFacade.createLiteral(findOrAllocateGlobal, LLVMBaseType.ADDRESS);
+                    Object globalAllocation = getGlobalAllocation(globalVariable);
+                    assert globalAllocation != null;
+                    return factoryFacade.createLiteral(globalAllocation, LLVMBaseType.ADDRESS);
                 }
             } else if (constant instanceof ZeroInitializer) {
                 return visitZeroInitializer(type);
@@ -1097,8 +1137,7 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         ConstantList list = constant.getList();
         ResolvedVectorType type = (ResolvedVectorType) resolve(constant);
         List<LLVMExpressionNode> listValues = visitConstantList(list);
-        LLVMExpressionNode target = allocateVectorResult(constant);
-        return factoryFacade.createVectorLiteralNode(listValues, target, LLVMTypeHelper.getLLVMType(type));
+        return factoryFacade.createVectorLiteralNode(listValues, LLVMTypeHelper.getLLVMType(type));
     }
 
     private List<LLVMExpressionNode> visitConstantList(ConstantList list) throws AssertionError {
@@ -1114,14 +1153,13 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         LLVMExpressionNode left = visitValueRef(constant.getOp1().getRef(), constant.getOp1().getType());
         LLVMExpressionNode right = visitValueRef(constant.getOp2().getRef(), constant.getOp2().getType());
         String opCode = constant.getOpcode();
-        LLVMExpressionNode target = allocateVectorResultIfVector(constant);
         LLVMBaseType llvmType = getLLVMType(constant);
         if (LLVMLogicalInstructionType.isLogicalInstruction(opCode)) {
             LLVMLogicalInstructionType opType = LLVMLogicalInstructionType.fromString(opCode);
-            return factoryFacade.createLogicalOperation(left, right, opType, llvmType, target);
+            return factoryFacade.createLogicalOperation(left, right, opType, llvmType);
         } else if (LLVMArithmeticInstructionType.isArithmeticInstruction(opCode)) {
             LLVMArithmeticInstructionType opType = LLVMArithmeticInstructionType.fromString(opCode);
-            return factoryFacade.createArithmeticOperation(left, right, opType, llvmType, target);
+            return factoryFacade.createArithmeticOperation(left, right, opType, llvmType);
         }
         throw new AssertionError(opCode);
     }
@@ -1201,9 +1239,8 @@ public final class LLVMVisitor implements LLVMParserRuntime {
     private LLVMExpressionNode visitZeroVectorInitializer(EObject type) {
         ResolvedVectorType vectorType = (ResolvedVectorType) resolve(type);
         int nrElements = vectorType.getSize();
-        LLVMExpressionNode target = allocateVectorResult(type);
         LLVMBaseType llvmType = LLVMTypeHelper.getLLVMType(vectorType);
-        return factoryFacade.createZeroVectorInitializer(nrElements, target, llvmType);
+        return factoryFacade.createZeroVectorInitializer(nrElements, llvmType);
     }
 
     private LLVMExpressionNode visitZeroStructInitializer(EObject type) {
@@ -1251,6 +1288,36 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         return factoryFacade.createStructureConstantNode(structureType, packed, types, constants);
     }
 
+    /**
+     * Creates the value of a promoted alloca before its first store, which is zero as in the bitcode
+     * front end.
+     */
+    private LLVMExpressionNode getPromotedAllocaZeroNode(EObject type) {
+        LLVMBaseType llvmType = getLLVMType(type);
+        switch (llvmType) {
+            case I1:
+                return factoryFacade.createLiteral(false, llvmType);
+            case I8:
+                return factoryFacade.createLiteral((byte) 0, llvmType);
+            case I16:
+                return factoryFacade.createLiteral((short) 0, llvmType);
+            case I32:
+                return factoryFacade.createLiteral(0, llvmType);
+            case I64:
+                return factoryFacade.createLiteral(0L, llvmType);
+            case FLOAT:
+                return factoryFacade.createLiteral(0f, llvmType);
+            case DOUBLE:
+                return factoryFacade.createLiteral(0d, llvmType);
+            case ADDRESS:
+                return factoryFacade.createLiteral(LLVMAddress.NULL_POINTER, llvmType);
+            case FUNCTION_ADDRESS:
+                return factoryFacade.createSimpleConstantNoArray("null", llvmType, resolve(type));
+            default:
+                throw new AssertionError(llvmType);
+        }
+    }
+
     private LLVMExpressionNode getUndefinedValueNode(EObject type) {
         LLVMBaseType llvmType = getLLVMType(type);
         if (llvmType != LLVMBaseType.ARRAY && llvmType != LLVMBaseType.STRUCT) {
@@ -1460,12 +1527,6 @@ public final class LLVMVisitor implements LLVMParserRuntime {
         }
     }
 
-    @Override
-    public LLVMExpressionNode allocateVectorResult(EObject type) {
-        ResolvedVectorType vector = (ResolvedVectorType) resolve(type);
-        return allocateFunctionLifetime(vector);
-    }
-
     @Override
     public ResolvedType resolve(EObject e) {
         return typeResolver.resolve(e);
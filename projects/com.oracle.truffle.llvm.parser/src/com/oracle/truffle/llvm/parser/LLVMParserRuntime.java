@@ -63,8 +63,6 @@ public interface LLVMParserRuntime {
      */
     FrameSlot getReturnSlot();
 
-    LLVMExpressionNode allocateVectorResult(EObject type);
-
     Object getGlobalAddress(GlobalVariable var);
 
     FrameSlot getStackPointerSlot();
@@ -38,7 +38,6 @@ import org.eclipse.emf.ecore.EObject;
 import com.intel.llvm.ireditor.lLVM_IR.BitwiseBinaryInstruction;
 import com.intel.llvm.ireditor.lLVM_IR.FunctionDef;
 import com.intel.llvm.ireditor.lLVM_IR.GlobalVariable;
-import com.intel.llvm.ireditor.lLVM_IR.Type;
 import com.intel.llvm.ireditor.types.ResolvedType;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.dsl.NodeFactory;
@@ -52,6 +51,7 @@ import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMNode;
 import com.oracle.truffle.llvm.nodes.base.LLVMStackFrameNuller;
 import com.oracle.truffle.llvm.parser.instructions.LLVMArithmeticInstructionType;
+import com.oracle.truffle.llvm.parser.instructions.LLVMAtomicRMWOperation;
 import com.oracle.truffle.llvm.parser.instructions.LLVMConversionType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMFloatComparisonType;
 import com.oracle.truffle.llvm.parser.instructions.LLVMIntegerComparisonType;
@@ -67,19 +67,45 @@ import com.oracle.truffle.llvm.types.LLVMFunctionDescriptor.LLVMRuntimeType;
  */
 public interface NodeFactoryFacade {
 
-    LLVMExpressionNode createInsertElement(LLVMBaseType resultType, LLVMExpressionNode vector, Type vectorType, LLVMExpressionNode element, LLVMExpressionNode index);
+    LLVMExpressionNode createInsertElement(LLVMBaseType resultType, LLVMExpressionNode vector, LLVMExpressionNode element, LLVMExpressionNode index);
 
     LLVMExpressionNode createExtractElement(LLVMBaseType resultType, LLVMExpressionNode vector, LLVMExpressionNode index);
 
-    LLVMExpressionNode createShuffleVector(LLVMBaseType llvmType, LLVMExpressionNode target, LLVMExpressionNode vector1, LLVMExpressionNode vector2, LLVMExpressionNode mask);
+    LLVMExpressionNode createShuffleVector(LLVMBaseType llvmType, LLVMExpressionNode vector1, LLVMExpressionNode vector2, LLVMExpressionNode mask);
 
     LLVMExpressionNode createLoad(ResolvedType resolvedResultType, LLVMExpressionNode loadTarget);
 
     LLVMNode createStore(LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, ResolvedType type);
 
-    LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMLogicalInstructionType opCode, LLVMBaseType llvmType, LLVMExpressionNode target);
+    /**
+     * Creates a <code>load atomic</code> instruction.
+     */
+    LLVMExpressionNode createAtomicLoad(LLVMExpressionNode pointerNode, LLVMBaseType llvmType);
+
+    /**
+     * Creates a <code>store atomic</code> instruction.
+     */
+    LLVMNode createAtomicStore(LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType llvmType);
+
+    /**
+     * Creates a <code>cmpxchg</code> instruction.
+     *
+     * @return a node that yields the value found in memory
+     */
+    LLVMExpressionNode createCompareExchange(LLVMExpressionNode pointerNode, LLVMExpressionNode comparedWith, LLVMExpressionNode newValue, LLVMBaseType llvmType);
 
-    LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, BitwiseBinaryInstruction type, LLVMBaseType llvmType, LLVMExpressionNode target);
+    /**
+     * Creates an <code>atomicrmw</code> instruction.
+     *
+     * @return a node that yields the value found in memory before the operation
+     */
+    LLVMExpressionNode createAtomicReadModifyWrite(LLVMAtomicRMWOperation operation, LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, LLVMBaseType llvmType);
+
+    LLVMNode createFence();
+
+    LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMLogicalInstructionType opCode, LLVMBaseType llvmType);
+
+    LLVMExpressionNode createLogicalOperation(LLVMExpressionNode left, LLVMExpressionNode right, BitwiseBinaryInstruction type, LLVMBaseType llvmType);
 
     LLVMExpressionNode createUndefinedValue(EObject t);
 
@@ -87,7 +113,7 @@ public interface NodeFactoryFacade {
 
     LLVMExpressionNode createSimpleConstantNoArray(String stringValue, LLVMBaseType instructionType, ResolvedType type);
 
-    LLVMExpressionNode createVectorLiteralNode(List<LLVMExpressionNode> listValues, LLVMExpressionNode target, LLVMBaseType type);
+    LLVMExpressionNode createVectorLiteralNode(List<LLVMExpressionNode> listValues, LLVMBaseType type);
 
     /**
      * Creates an intrinsic for a <code>@llvm.*</code> function.
@@ -130,7 +156,7 @@ public interface NodeFactoryFacade {
 
     LLVMExpressionNode createCast(LLVMExpressionNode fromNode, ResolvedType targetType, ResolvedType fromType, LLVMConversionType type);
 
-    LLVMExpressionNode createArithmeticOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMArithmeticInstructionType instr, LLVMBaseType llvmType, LLVMExpressionNode target);
+    LLVMExpressionNode createArithmeticOperation(LLVMExpressionNode left, LLVMExpressionNode right, LLVMArithmeticInstructionType instr, LLVMBaseType llvmType);
 
     LLVMExpressionNode createExtractValue(LLVMBaseType type, LLVMExpressionNode targetAddress);
 
@@ -153,12 +179,11 @@ public interface NodeFactoryFacade {
      * Creates a zero vector initializer.
      *
      * @param nrElements the number of elements of the vector
-     * @param target the allocated result storage
      * @param llvmType the type of the vector
      *
      * @return the zero vector initializer
      */
-    LLVMExpressionNode createZeroVectorInitializer(int nrElements, LLVMExpressionNode target, LLVMBaseType llvmType);
+    LLVMExpressionNode createZeroVectorInitializer(int nrElements, LLVMBaseType llvmType);
 
     /**
      * Creates a node representing an <code>unreachable</code> instruction.
@@ -246,11 +271,13 @@ public interface NodeFactoryFacade {
      * function's result.
      *
      * @param returnSlot the frame slot for the return value
+     * @param blockIndexSlot the int frame slot that holds the index of the next basic block when
+     *            the dispatch is continued by on-stack replacement
      * @param basicBlockNodes the basic blocks
      * @param indexToSlotNuller nuller node for nulling dead variables
      * @return the function block node
      */
-    LLVMExpressionNode createFunctionBlockNode(FrameSlot returnSlot, List<LLVMNode> basicBlockNodes, LLVMStackFrameNuller[][] indexToSlotNuller);
+    LLVMExpressionNode createFunctionBlockNode(FrameSlot returnSlot, FrameSlot blockIndexSlot, List<LLVMNode> basicBlockNodes, LLVMStackFrameNuller[][] indexToSlotNuller);
 
     /**
      * Creates the entry point for a function.
@@ -303,7 +330,14 @@ public interface NodeFactoryFacade {
 
     LLVMFunctionDescriptor createFunctionDescriptor(String name, LLVMRuntimeType convertType, LLVMRuntimeType[] convertTypes, boolean varArgs);
 
-    Object allocateGlobalVariable(GlobalVariable globalVariable);
+    /**
+     * Allocates the global variables of a module in one block of memory and registers a destructor
+     * that releases it.
+     *
+     * @param globalVariables the global variables of the module
+     * @return the addresses of the global variables, in the order of <code>globalVariables</code>
+     */
+    Object[] allocateGlobalVariables(List<GlobalVariable> globalVariables);
 
     RootNode createStaticInitsRootNode(LLVMNode[] staticInits);
 }
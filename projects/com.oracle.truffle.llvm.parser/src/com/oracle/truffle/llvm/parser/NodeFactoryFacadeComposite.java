@@ -50,10 +50,10 @@ public abstract class NodeFactoryFacadeComposite implements NodeFactoryFacade {
      *
      * <pre>
      * &#064;Override
-     * public LLVMExpressionNode createInsertElement(LLVMBaseType resultType, LLVMExpressionNode vector, Type vectorType, LLVMExpressionNode element, LLVMExpressionNode index) {
-     *     LLVMExpressionNode firstNode = first.createInsertElement(resultType, vector, vectorType, element, index);
+     * public LLVMExpressionNode createInsertElement(LLVMBaseType resultType, LLVMExpressionNode vector, LLVMExpressionNode element, LLVMExpressionNode index) {
+     *     LLVMExpressionNode firstNode = first.createInsertElement(resultType, vector, element, index);
      *     if (firstNode == null) {
-     *         return second.createInsertElement(resultType, vector, vectorType, element, index);
+     *         return second.createInsertElement(resultType, vector, element, index);
      *     } else {
      *         return firstNode;
      *     }
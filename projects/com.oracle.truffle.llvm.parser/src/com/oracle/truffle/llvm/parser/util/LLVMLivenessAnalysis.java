@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Backward dataflow liveness analysis over the basic blocks of a function.
+ *
+ * Blocks are identified by their index (the entry block has index 0) and frame slots by an index
+ * into the set of slots that are candidates for nulling. For each block the caller supplies the
+ * slots that are defined in it and the slots whose value is used before (or without) being
+ * defined in it. Phi assignments count as definitions in the predecessor block, and the incoming
+ * value of a phi counts as a use in the predecessor block.
+ *
+ * The equations <code>out(b) = U in(s)</code> and <code>in(b) = use(b) U (out(b) - def(b))</code>
+ * are solved with a worklist that is seeded in postorder, so that acyclic regions converge in a
+ * single pass.
+ */
+public final class LLVMLivenessAnalysis {
+
+    private final int[][] successors;
+    private final BitSet[] defs;
+    private final BitSet[] uses;
+    private final BitSet[] liveIn;
+    private final BitSet[] liveOut;
+
+    private LLVMLivenessAnalysis(int[][] successors, BitSet[] defs, BitSet[] uses) {
+        assert successors.length == defs.length && defs.length == uses.length;
+        this.successors = successors;
+        this.defs = defs;
+        this.uses = uses;
+        this.liveIn = new BitSet[successors.length];
+        this.liveOut = new BitSet[successors.length];
+        for (int i = 0; i < successors.length; i++) {
+            liveIn[i] = new BitSet();
+            liveOut[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Computes, for each block, the slots that are no longer needed once the block has been
+     * executed: slots that are live out of a predecessor, live into the block, or defined in it,
+     * but not live out of it. Including the predecessors' live-out slots also catches values
+     * that die on a control flow edge, for example loop variables after the loop exit.
+     *
+     * @param successors the successor block indices of each block
+     * @param defs the slots defined in each block
+     * @param uses the upward-exposed slot uses of each block
+     * @return the slots that can be nulled after each block
+     */
+    public static BitSet[] getDeadSlotsAfterBlocks(int[][] successors, BitSet[] defs, BitSet[] uses) {
+        LLVMLivenessAnalysis analysis = new LLVMLivenessAnalysis(successors, defs, uses);
+        int[][] predecessors = analysis.getPredecessors();
+        analysis.solve(predecessors);
+        return analysis.getDeadSlots(predecessors);
+    }
+
+    private void solve(int[][] predecessors) {
+        int blockCount = successors.length;
+        int[] reversePostOrder = getReversePostOrder();
+        Deque<Integer> worklist = new ArrayDeque<>(blockCount);
+        boolean[] queued = new boolean[blockCount];
+        for (int i = reversePostOrder.length - 1; i >= 0; i--) {
+            worklist.add(reversePostOrder[i]);
+            queued[reversePostOrder[i]] = true;
+        }
+        while (!worklist.isEmpty()) {
+            int block = worklist.poll();
+            queued[block] = false;
+            BitSet out = liveOut[block];
+            for (int successor : successors[block]) {
+                out.or(liveIn[successor]);
+            }
+            BitSet in = (BitSet) out.clone();
+            in.andNot(defs[block]);
+            in.or(uses[block]);
+            if (!in.equals(liveIn[block])) {
+                liveIn[block] = in;
+                for (int predecessor : predecessors[block]) {
+                    if (!queued[predecessor]) {
+                        worklist.add(predecessor);
+                        queued[predecessor] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private BitSet[] getDeadSlots(int[][] predecessors) {
+        BitSet[] dead = new BitSet[successors.length];
+        for (int i = 0; i < successors.length; i++) {
+            BitSet slots = (BitSet) liveIn[i].clone();
+            slots.or(defs[i]);
+            for (int predecessor : predecessors[i]) {
+                slots.or(liveOut[predecessor]);
+            }
+            slots.andNot(liveOut[i]);
+            dead[i] = slots;
+        }
+        return dead;
+    }
+
+    private int[][] getPredecessors() {
+        int blockCount = successors.length;
+        int[] counts = new int[blockCount];
+        for (int[] blockSuccessors : successors) {
+            for (int successor : blockSuccessors) {
+                counts[successor]++;
+            }
+        }
+        int[][] predecessors = new int[blockCount][];
+        for (int i = 0; i < blockCount; i++) {
+            predecessors[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int i = 0; i < blockCount; i++) {
+            for (int successor : successors[i]) {
+                predecessors[successor][counts[successor]++] = i;
+            }
+        }
+        return predecessors;
+    }
+
+    /**
+     * Orders the blocks reachable from the entry block in reverse postorder. Unreachable blocks are
+     * appended at the end so that every block still gets a (trivial) result.
+     */
+    private int[] getReversePostOrder() {
+        int blockCount = successors.length;
+        List<Integer> postOrder = new ArrayList<>(blockCount);
+        boolean[] visited = new boolean[blockCount];
+        int[] nextSuccessor = new int[blockCount];
+        Deque<Integer> stack = new ArrayDeque<>();
+        if (blockCount != 0) {
+            stack.push(0);
+            visited[0] = true;
+        }
+        while (!stack.isEmpty()) {
+            int block = stack.peek();
+            if (nextSuccessor[block] < successors[block].length) {
+                int successor = successors[block][nextSuccessor[block]++];
+                if (!visited[successor]) {
+                    visited[successor] = true;
+                    stack.push(successor);
+                }
+            } else {
+                stack.pop();
+                postOrder.add(block);
+            }
+        }
+        int[] order = new int[blockCount];
+        int index = 0;
+        for (int i = postOrder.size() - 1; i >= 0; i--) {
+            order[index++] = postOrder.get(i);
+        }
+        for (int i = 0; i < blockCount; i++) {
+            if (!visited[i]) {
+                order[index++] = i;
+            }
+        }
+        return order;
+    }
+}
@@ -50,4 +50,16 @@ public interface LLVMOptimizationConfiguration {
      */
     boolean intrinsifyCLibraryFunctions();
 
+    /**
+     * Whether the given C library function (without the <code>@</code> prefix) is substituted when
+     * {@link #intrinsifyCLibraryFunctions()} is enabled.
+     */
+    boolean intrinsifyCLibraryFunction(String name);
+
+    /**
+     * Substitute the C memory allocation functions by an allocator that manages the native heap
+     * from Java.
+     */
+    boolean useJavaAllocator();
+
 }
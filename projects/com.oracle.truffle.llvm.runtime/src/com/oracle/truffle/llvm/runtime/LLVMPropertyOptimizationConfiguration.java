@@ -29,6 +29,8 @@
  */
 package com.oracle.truffle.llvm.runtime;
 
+import java.util.Arrays;
+
 import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 
 /**
@@ -51,4 +53,14 @@ public final class LLVMPropertyOptimizationConfiguration implements LLVMOptimiza
         return LLVMBaseOptionFacade.intrinsifyCLibraryFunctions();
     }
 
+    @Override
+    public boolean intrinsifyCLibraryFunction(String name) {
+        return !Arrays.asList(LLVMBaseOptionFacade.getDisabledCIntrinsics()).contains(name);
+    }
+
+    @Override
+    public boolean useJavaAllocator() {
+        return LLVMBaseOptionFacade.useJavaAllocator();
+    }
+
 }
@@ -36,7 +36,8 @@ public final class LLVMUnsupportedException extends RuntimeException {
     public enum UnsupportedReason {
         OTHER_TYPE_NOT_IMPLEMENTED,
         /**
-         * We cannot let Truffle LLVM function pointeres escape to native functions.
+         * A function pointer escapes to native code, but its signature cannot be passed through a
+         * native trampoline, or all trampolines are in use.
          */
         FUNCTION_POINTER_ESCAPES_TO_NATIVE,
         /**
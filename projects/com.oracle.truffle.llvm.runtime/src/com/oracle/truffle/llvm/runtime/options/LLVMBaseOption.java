@@ -75,6 +75,13 @@ public enum LLVMBaseOption implements LLVMOption {
                     null,
                     LLVMOptions::parseDynamicLibraryPath,
                     PropertyCategory.GENERAL),
+    NATIVE_CALLBACK_LIBRARY(
+                    "NativeCallbackLibrary",
+                    "The path of the library with the trampolines through which native code calls Sulong functions. Defaults to the library built in the project root",
+                    null,
+                    LLVMOptions::parseString,
+                    PropertyCategory.GENERAL),
+    STACK_SIZE_KB("StackSizeKB", "The size of the stack of each thread in KB", 81920, LLVMOptions::parseInteger, PropertyCategory.GENERAL),
     PROJECT_ROOT("ProjectRoot", "Overrides the root of the project. This option exists to set the project root from mx", ".", LLVMOptions::parseString, PropertyCategory.MX),
     OPTIMIZATIONS_DISABLE_SPECULATIVE(
                     "DisableSpeculativeOptimizations",
@@ -87,14 +94,88 @@ public enum LLVMBaseOption implements LLVMOption {
     OPTIMIZATION_VALUE_PROFILE_FUNCTION_ARGS("ValueProfileFunctionArgs", "Enable value profiling for function arguments", true, LLVMOptions::parseBoolean, PropertyCategory.PERFORMANCE),
     OPTIMIZATION_BRANCH_PROBABILITIES("InjectBranchProbabilities", "Injects branch probabilities for the basic block successors", true, LLVMOptions::parseBoolean, PropertyCategory.PERFORMANCE),
     OPTIMIZATION_INTRINSIFY_C_FUNCTIONS("IntrinsifyCFunctions", "Substitute C functions by Java equivalents where possible", true, LLVMOptions::parseBoolean, PropertyCategory.PERFORMANCE),
+    OPTIMIZATION_DISABLED_C_INTRINSICS(
+                    "DisabledCIntrinsics",
+                    "The C functions, delimited by " + LLVMOptions.getListDelimiter() + ", that are called natively even if IntrinsifyCFunctions is enabled, e.g., strlen" + LLVMOptions.getListDelimiter() + "pow",
+                    null,
+                    LLVMOptions::parseList,
+                    PropertyCategory.PERFORMANCE),
     OPTIMIZATION_INLINE_CACHE_SIZE("InlineCacheSize", "Specifies the size of the polymorphic inline cache", 5, LLVMOptions::parseInteger, PropertyCategory.PERFORMANCE),
+    OPTIMIZATION_SWITCH_LINEAR_DISPATCH_LIMIT(
+                    "SwitchLinearDispatchLimit",
+                    "Switches with up to this many cases compare the cases one by one, larger switches use a jump table or a binary search",
+                    8,
+                    LLVMOptions::parseInteger,
+                    PropertyCategory.PERFORMANCE),
     OPTIMIZATION_LIFE_TIME_ANALYSIS(
                     "EnableLifetimeAnalysis",
                     "Performs a lifetime analysis to set dead frame slots to null to assist the PE",
                     true,
                     LLVMOptions::parseBoolean,
                     PropertyCategory.PERFORMANCE),
+    OPTIMIZATION_BLOCK_DISPATCH_OSR(
+                    "BlockDispatchOSR",
+                    "Compiles functions that spend a long time in a loop while they run, by on-stack replacement of the basic block dispatch",
+                    true,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.PERFORMANCE),
+    OPTIMIZATION_STRUCTURED_LOOPS(
+                    "StructuredLoops",
+                    "Builds a separate loop node for every natural loop of a bitcode function instead of dispatching all its basic blocks in one loop",
+                    true,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.PERFORMANCE),
+    OPTIMIZATION_LAZY_FUNCTION_PARSING(
+                    "LazyFunctionParsing",
+                    "Defers building the AST of a bitcode function until it is called for the first time",
+                    false,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.PERFORMANCE),
+    OPTIMIZATION_PROMOTE_ALLOCAS(
+                    "PromoteAllocas",
+                    "Keeps allocas of scalars and pointers that are only loaded and stored in frame slots instead of stack memory",
+                    true,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.PERFORMANCE),
+    PARALLEL_TRANSLATION(
+                    "ParallelTranslation",
+                    "Analyses the functions of bitcode files and builds their ASTs in parallel on the common fork-join pool",
+                    false,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.PERFORMANCE),
+    PARSER_CACHE_DIRECTORY(
+                    "ParserCacheDirectory",
+                    "Stores the parsed and analysed form of bitcode files in this directory and reuses it for files with the same content. Disabled if not set",
+                    null,
+                    LLVMOptions::parseString,
+                    PropertyCategory.PERFORMANCE),
+    PRE_RESOLVE_NATIVE_FUNCTIONS(
+                    "PreResolveNativeFunctions",
+                    "Looks up the native functions that a module declares in parallel when the module is loaded instead of on their first call",
+                    false,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.PERFORMANCE),
+    STACK_POOL_SIZE(
+                    "StackPoolSize",
+                    "The number of stacks of disposed contexts and terminated threads that are kept for reuse instead of being freed",
+                    4,
+                    LLVMOptions::parseInteger,
+                    PropertyCategory.PERFORMANCE),
+    OPTIMIZATION_JAVA_ALLOCATOR(
+                    "JavaAllocator",
+                    "Serves malloc, calloc, realloc, free and posix_memalign from a Java-managed heap instead of native calls. Memory from this heap must not be freed or reallocated by native code",
+                    false,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.PERFORMANCE),
+    PROTECT_GLOBAL_CONSTANTS(
+                    "ProtectGlobalConstants",
+                    "Places the global constants of bitcode files on separate pages that are write protected after the static initializers ran",
+                    false,
+                    LLVMOptions::parseBoolean,
+                    PropertyCategory.DEBUG),
     NATIVE_CALL_STATS("PrintNativeCallStats", "Outputs stats about native call site frequencies", false, LLVMOptions::parseBoolean, PropertyCategory.DEBUG),
+    ALLOCATOR_STATS("PrintAllocatorStats", "Outputs live bytes and fragmentation of the Java allocator (if enabled)", false, LLVMOptions::parseBoolean, PropertyCategory.DEBUG),
+    PRINT_PROMOTED_ALLOCAS("PrintPromotedAllocas", "Prints the number of allocas per function that were promoted to frame slots", false, LLVMOptions::parseBoolean, PropertyCategory.DEBUG),
     LIFE_TIME_ANALYSIS_STATS("PrintNativeAnalysisStats", "Outputs the results of the lifetime analysis (if enabled)", false, LLVMOptions::parseBoolean, PropertyCategory.DEBUG);
 
     LLVMBaseOption(String key, String description, Object defaultValue, OptionParser parser, PropertyCategory category) {
@@ -61,6 +61,10 @@ public final class LLVMBaseOptionFacade {
         return LLVMOptions.getParsedProperty(LLVMBaseOption.DYN_LIBRARY_PATHS);
     }
 
+    public static String getNativeCallbackLibrary() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.NATIVE_CALLBACK_LIBRARY);
+    }
+
     public static String getProjectRoot() {
         return LLVMOptions.getParsedProperty(LLVMBaseOption.PROJECT_ROOT);
     }
@@ -77,10 +81,26 @@ public final class LLVMBaseOptionFacade {
         return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_INTRINSIFY_C_FUNCTIONS);
     }
 
+    public static String[] getDisabledCIntrinsics() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_DISABLED_C_INTRINSICS);
+    }
+
     public static boolean injectBranchProbabilities() {
         return !disableSpeculativeOptimizations() && (boolean) LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_BRANCH_PROBABILITIES);
     }
 
+    public static boolean useJavaAllocator() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_JAVA_ALLOCATOR);
+    }
+
+    public static boolean printAllocatorStats() {
+        return useJavaAllocator() && (boolean) LLVMOptions.getParsedProperty(LLVMBaseOption.ALLOCATOR_STATS);
+    }
+
+    public static boolean protectGlobalConstants() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.PROTECT_GLOBAL_CONSTANTS);
+    }
+
     public static boolean printNativeCallStats() {
         return LLVMOptions.getParsedProperty(LLVMBaseOption.NATIVE_CALL_STATS);
     }
@@ -93,6 +113,38 @@ public final class LLVMBaseOptionFacade {
         return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_LIFE_TIME_ANALYSIS);
     }
 
+    public static boolean lazyFunctionParsing() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_LAZY_FUNCTION_PARSING);
+    }
+
+    public static boolean blockDispatchOSR() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_BLOCK_DISPATCH_OSR);
+    }
+
+    public static boolean structuredLoops() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_STRUCTURED_LOOPS);
+    }
+
+    public static boolean promoteAllocas() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_PROMOTE_ALLOCAS);
+    }
+
+    public static boolean printPromotedAllocas() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.PRINT_PROMOTED_ALLOCAS);
+    }
+
+    public static boolean parallelTranslation() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.PARALLEL_TRANSLATION);
+    }
+
+    public static boolean preResolveNativeFunctions() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.PRE_RESOLVE_NATIVE_FUNCTIONS);
+    }
+
+    public static String getParserCacheDirectory() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.PARSER_CACHE_DIRECTORY);
+    }
+
     public static boolean printLifeTimeAnalysis() {
         return lifeTimeAnalysisEnabled() && (boolean) LLVMOptions.getParsedProperty(LLVMBaseOption.LIFE_TIME_ANALYSIS_STATS);
     }
@@ -109,6 +161,18 @@ public final class LLVMBaseOptionFacade {
         return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_INLINE_CACHE_SIZE);
     }
 
+    public static int getSwitchLinearDispatchLimit() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.OPTIMIZATION_SWITCH_LINEAR_DISPATCH_LIMIT);
+    }
+
+    public static int getStackSizeKB() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.STACK_SIZE_KB);
+    }
+
+    public static int getStackPoolSize() {
+        return LLVMOptions.getParsedProperty(LLVMBaseOption.STACK_POOL_SIZE);
+    }
+
     public static int getExecutionCount() {
         return LLVMOptions.getParsedProperty(LLVMBaseOption.EXECUTION_COUNT);
     }
@@ -79,6 +79,7 @@ public final class LLVMOptions {
     }
 
     private static final String PATH_DELIMITER = ":";
+    private static final String LIST_DELIMITER = ",";
     private static final String OPTION_PREFIX = "sulong.";
     private static final String OBSOLETE_OPTION_PREFIX = "llvm.";
 
@@ -89,6 +90,10 @@ public final class LLVMOptions {
         return PATH_DELIMITER;
     }
 
+    public static String getListDelimiter() {
+        return LIST_DELIMITER;
+    }
+
     public static String getOptionPrefix() {
         return OPTION_PREFIX;
     }
@@ -134,6 +139,15 @@ public final class LLVMOptions {
         }
     }
 
+    public static String[] parseList(LLVMOption prop) {
+        String property = System.getProperty(prop.getKey());
+        if (property == null) {
+            return new String[0];
+        } else {
+            return property.split(LIST_DELIMITER);
+        }
+    }
+
     private static void registerOptions() {
         if (registeredProperties.isEmpty()) {
             registeredProperties.addAll(Arrays.asList(LLVMBaseOption.values()));
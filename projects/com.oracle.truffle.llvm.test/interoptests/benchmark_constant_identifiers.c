@@ -0,0 +1,14 @@
+#include <truffle.h>
+
+#define ITERATIONS 100000
+
+int main() {
+  void *obj = truffle_import("foreign");
+  int sum = 0;
+  for (int i = 0; i < ITERATIONS; i++) {
+    truffle_write_i(obj, "valueI", i);
+    sum += truffle_read_i(obj, "valueI");
+    sum += truffle_invoke_i(obj, "addI", 1);
+  }
+  return sum & 0x7f;
+}
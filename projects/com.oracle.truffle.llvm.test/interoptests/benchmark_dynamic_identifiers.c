@@ -0,0 +1,20 @@
+#include <string.h>
+#include <truffle.h>
+
+#define ITERATIONS 100000
+#define NAMES 16
+
+int main() {
+  void *obj = truffle_import("foreign");
+  char names[NAMES][8];
+  for (int i = 0; i < NAMES; i++) {
+    // the same identifier at many addresses
+    strcpy(names[i], "valueI");
+  }
+  int sum = 0;
+  for (int i = 0; i < ITERATIONS; i++) {
+    truffle_write_i(obj, names[i % NAMES], i);
+    sum += truffle_read_i(obj, names[(i + 1) % NAMES]);
+  }
+  return sum & 0x7f;
+}
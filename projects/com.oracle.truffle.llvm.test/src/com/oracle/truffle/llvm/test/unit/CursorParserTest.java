@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.unit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.test.LLVMPaths;
+import com.oracle.truffle.llvm.tools.Clang;
+import com.oracle.truffle.llvm.tools.Clang.ClangOptions;
+import com.oracle.truffle.llvm.tools.LLVMAssembler;
+
+import uk.ac.man.cs.llvm.bc.Bitstream;
+import uk.ac.man.cs.llvm.bc.CursorParser;
+import uk.ac.man.cs.llvm.bc.Parser;
+import uk.ac.man.cs.llvm.bc.ParserListener;
+import uk.ac.man.cs.llvm.bc.ParserResult;
+import uk.ac.man.cs.llvm.bc.blocks.Block;
+
+/**
+ * Checks that the {@link CursorParser} reports the same blocks and records as the {@link Parser}
+ * it replaces.
+ */
+public class CursorParserTest {
+
+    private static final String[] PROGRAMS = {"c/bsearch.c", "c/callback-nested.c", "c/globalVar.c", "c/stdlib/math/pow-exp-log.c"};
+
+    private static final String IR_EXTENSION = ".ll";
+    private static final String BITCODE_EXTENSION = ".bc";
+
+    private static final class RecordingListener implements ParserListener {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public ParserListener enter(Block block) {
+            events.add("enter " + block);
+            return this;
+        }
+
+        @Override
+        public void exit() {
+            events.add("exit");
+        }
+
+        @Override
+        public void record(long id, long[] args) {
+            events.add(id + " " + Arrays.toString(args));
+        }
+    }
+
+    private static Bitstream compileToBitcode(String program) {
+        File source = new File(LLVMPaths.LOCAL_TESTS, program);
+        try {
+            File irFile = File.createTempFile(source.getName(), IR_EXTENSION);
+            irFile.deleteOnExit();
+            Clang.compileToLLVMIR(source, irFile, ClangOptions.builder());
+            LLVMAssembler.assembleToBitcodeFile(irFile);
+            String irPath = irFile.getPath();
+            File bitcodeFile = new File(irPath.substring(0, irPath.length() - IR_EXTENSION.length()) + BITCODE_EXTENSION);
+            bitcodeFile.deleteOnExit();
+            return Bitstream.create(bitcodeFile.getPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long parseWithParser(Bitstream stream, ParserListener listener) {
+        Parser parser = new Parser(stream, Block.ROOT, listener);
+        parser = parser.read(Integer.SIZE).getParser();
+        while (parser.getOffset() < stream.size()) {
+            ParserResult result = parser.readId();
+            parser = parser.getOperation(result.getValue()).apply(result.getParser());
+        }
+        return parser.getOffset();
+    }
+
+    private static long parseWithCursorParser(Bitstream stream, ParserListener listener) {
+        CursorParser parser = new CursorParser(stream, Block.ROOT, listener);
+        parser.read(Integer.SIZE);
+        parser.parse();
+        return parser.getOffset();
+    }
+
+    @Test
+    public void testSameRecordsAsParser() {
+        for (String program : PROGRAMS) {
+            Bitstream stream = compileToBitcode(program);
+            RecordingListener expected = new RecordingListener();
+            RecordingListener actual = new RecordingListener();
+            long expectedOffset = parseWithParser(stream, expected);
+            long actualOffset = parseWithCursorParser(stream, actual);
+            Assert.assertFalse(program, expected.events.isEmpty());
+            Assert.assertEquals(program, expected.events, actual.events);
+            Assert.assertEquals(program, expectedOffset, actualOffset);
+        }
+    }
+
+    @Test
+    public void testEndBlockOutsideOfBlock() {
+        Bitstream stream = Bitstream.create(ByteBuffer.allocate(Integer.BYTES));
+        CursorParser parser = new CursorParser(stream, Block.ROOT, ParserListener.DEFAULT);
+        try {
+            parser.step();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.unit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMFunctionStartNode;
+import com.oracle.truffle.llvm.nodes.impl.func.LLVMLazyFunctionBodyNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.parser.factories.NodeFactoryFacadeImpl;
+import com.oracle.truffle.llvm.runtime.LLVMPropertyOptimizationConfiguration;
+
+public final class LLVMLazyFunctionBodyNodeTest {
+
+    private static final int RESULT = 42;
+
+    private final LLVMContext context = new LLVMContext(new NodeFactoryFacadeImpl(), new LLVMPropertyOptimizationConfiguration());
+    private final AtomicInteger builds = new AtomicInteger();
+    private final AtomicReference<LLVMContext> translationContext = new AtomicReference<>();
+
+    private CallTarget createFunction() {
+        LLVMLazyFunctionBodyNode body = new LLVMLazyFunctionBodyNode("@f", context, () -> {
+            builds.incrementAndGet();
+            translationContext.set(LLVMLanguage.INSTANCE.findContext0(null));
+            return new LLVMI32LiteralNode(RESULT);
+        });
+        LLVMFunctionStartNode rootNode = new LLVMFunctionStartNode(body, new LLVMNode[0], new LLVMNode[0], new FrameDescriptor(), "@f");
+        return Truffle.getRuntime().createCallTarget(rootNode);
+    }
+
+    @Test
+    public void testBuiltOnFirstCall() {
+        CallTarget function = createFunction();
+        Assert.assertEquals(0, builds.get());
+        Assert.assertEquals(RESULT, function.call());
+        Assert.assertEquals(1, builds.get());
+        Assert.assertEquals(RESULT, function.call());
+        Assert.assertEquals(1, builds.get());
+    }
+
+    @Test
+    public void testBuiltInTranslationContext() throws InterruptedException {
+        CallTarget function = createFunction();
+        AtomicReference<Object> result = new AtomicReference<>();
+        // a thread that never translated anything, like a thread of the running program
+        Thread caller = new Thread(() -> result.set(function.call()));
+        caller.start();
+        caller.join();
+        Assert.assertEquals(RESULT, result.get());
+        Assert.assertSame(context, translationContext.get());
+    }
+
+}
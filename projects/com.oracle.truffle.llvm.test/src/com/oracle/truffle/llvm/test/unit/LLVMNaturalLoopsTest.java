@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.unit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.parser.bc.impl.LLVMNaturalLoops;
+
+/**
+ * Checks the natural loops found in small control flow graphs. A graph is given by the successors
+ * of each block, and block 0 is the entry.
+ */
+public class LLVMNaturalLoopsTest {
+
+    private static void assertLoops(int[][] successors, int[]... expected) {
+        Assert.assertArrayEquals(expected, LLVMNaturalLoops.findLoops(successors));
+    }
+
+    @Test
+    public void testNoBlocks() {
+        assertLoops(new int[0][]);
+    }
+
+    @Test
+    public void testNoLoop() {
+        assertLoops(new int[][]{{1, 2}, {3}, {3}, {}});
+    }
+
+    @Test
+    public void testSelfLoop() {
+        assertLoops(new int[][]{{1}, {1, 2}, {}}, new int[]{1});
+    }
+
+    @Test
+    public void testSimpleLoop() {
+        assertLoops(new int[][]{{1}, {2, 3}, {1}, {}}, new int[]{1, 2});
+    }
+
+    /**
+     * The inner loop <code>2, 3</code> precedes the outer loop <code>1, 2, 3, 4</code> that
+     * contains it.
+     */
+    @Test
+    public void testNestedLoops() {
+        assertLoops(new int[][]{{1}, {2, 5}, {3}, {2, 4}, {1}, {}}, new int[]{2, 3}, new int[]{1, 2, 3, 4});
+    }
+
+    @Test
+    public void testNestedLoopsWithSharedExit() {
+        assertLoops(new int[][]{{1}, {2}, {3}, {2, 4}, {1, 5}, {}}, new int[]{2, 3}, new int[]{1, 2, 3, 4});
+    }
+
+    /**
+     * The back edges of both branches go to the same header and form a single loop.
+     */
+    @Test
+    public void testMultipleBackEdges() {
+        assertLoops(new int[][]{{1}, {2, 3}, {1, 4}, {1, 4}, {}}, new int[]{1, 2, 3});
+    }
+
+    @Test
+    public void testMultipleBackEdgesFromOneBlock() {
+        assertLoops(new int[][]{{1}, {2}, {1, 1, 3}, {}}, new int[]{1, 2});
+    }
+
+    /**
+     * The cycle <code>1, 2</code> can be entered at both blocks, so neither dominates the other.
+     */
+    @Test
+    public void testIrreducible() {
+        assertLoops(new int[][]{{1, 2}, {2, 3}, {1, 3}, {}});
+    }
+
+    /**
+     * An irreducible cycle inside a natural loop belongs to the body of the loop, but is no loop of
+     * its own.
+     */
+    @Test
+    public void testIrreducibleInsideLoop() {
+        assertLoops(new int[][]{{1}, {2, 3, 5}, {3, 4}, {2, 4}, {1}, {}}, new int[]{1, 2, 3, 4});
+    }
+
+    /**
+     * A natural loop inside an irreducible cycle is still found.
+     */
+    @Test
+    public void testLoopInsideIrreducible() {
+        assertLoops(new int[][]{{1, 3}, {2}, {2, 3}, {1, 4}, {}}, new int[]{2});
+    }
+
+    @Test
+    public void testUnreachableLoop() {
+        assertLoops(new int[][]{{1}, {}, {3}, {2}});
+    }
+
+}
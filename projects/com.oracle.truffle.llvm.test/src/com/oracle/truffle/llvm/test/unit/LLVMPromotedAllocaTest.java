@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.unit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.LLVM;
+import com.oracle.truffle.llvm.tools.LLVMAssembler;
+
+/**
+ * Checks that a promoted alloca that is read before any store has the same value in the text and
+ * the bitcode front end.
+ */
+public class LLVMPromotedAllocaTest {
+
+    private static final String IR_EXTENSION = ".ll";
+    private static final String BITCODE_EXTENSION = ".bc";
+
+    private static final String READ_BEFORE_STORE = "define i32 @main() {\n" +
+                    "  %i = alloca i32, align 4\n" +
+                    "  %b = alloca i8, align 1\n" +
+                    "  %d = alloca double, align 8\n" +
+                    "  %p = alloca i8*, align 8\n" +
+                    "  %1 = load i32* %i, align 4\n" +
+                    "  %2 = load i8* %b, align 1\n" +
+                    "  %3 = sext i8 %2 to i32\n" +
+                    "  %4 = load double* %d, align 8\n" +
+                    "  %5 = fptosi double %4 to i32\n" +
+                    "  %6 = load i8** %p, align 8\n" +
+                    "  %7 = ptrtoint i8* %6 to i32\n" +
+                    "  %8 = add i32 %1, %3\n" +
+                    "  %9 = add i32 %8, %5\n" +
+                    "  %10 = add i32 %9, %7\n" +
+                    "  ret i32 %10\n" +
+                    "}\n";
+
+    /**
+     * Only one path stores to the alloca, the other reads it before any store.
+     */
+    private static final String STORE_ON_ONE_PATH = "define i32 @main() {\n" +
+                    "  %i = alloca i32, align 4\n" +
+                    "  %c = icmp eq i32 0, 1\n" +
+                    "  br i1 %c, label %bb1, label %bb2\n" +
+                    "bb1:\n" +
+                    "  store i32 7, i32* %i, align 4\n" +
+                    "  br label %bb2\n" +
+                    "bb2:\n" +
+                    "  %1 = load i32* %i, align 4\n" +
+                    "  ret i32 %1\n" +
+                    "}\n";
+
+    private static int executeBitcode(String code) {
+        try {
+            File irFile = File.createTempFile("promoted-alloca", IR_EXTENSION);
+            irFile.deleteOnExit();
+            Files.write(irFile.toPath(), code.getBytes(StandardCharsets.UTF_8));
+            LLVMAssembler.assembleToBitcodeFile(irFile);
+            String irPath = irFile.getPath();
+            File bitcodeFile = new File(irPath.substring(0, irPath.length() - IR_EXTENSION.length()) + BITCODE_EXTENSION);
+            bitcodeFile.deleteOnExit();
+            return LLVM.executeMain(bitcodeFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void assertSameInBothFrontEnds(String code) {
+        int textResult = LLVM.executeMain(code);
+        int bitcodeResult = executeBitcode(code);
+        Assert.assertEquals(0, textResult);
+        Assert.assertEquals(textResult, bitcodeResult);
+    }
+
+    @Test
+    public void testReadBeforeStore() {
+        assertSameInBothFrontEnds(READ_BEFORE_STORE);
+    }
+
+    @Test
+    public void testStoreOnOnePath() {
+        assertSameInBothFrontEnds(STORE_ON_ONE_PATH);
+    }
+
+}
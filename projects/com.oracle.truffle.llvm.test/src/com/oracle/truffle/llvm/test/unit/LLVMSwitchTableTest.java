@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test.unit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.nodes.base.LLVMExpressionNode;
+import com.oracle.truffle.llvm.nodes.base.LLVMNode;
+import com.oracle.truffle.llvm.nodes.impl.base.LLVMTerminatorNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchNode.LLVMTableSwitchBaseNode;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchTable;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchTable.LLVMBinarySearchTable;
+import com.oracle.truffle.llvm.nodes.impl.control.LLVMSwitchTable.LLVMJumpTable;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI32LiteralNode;
+import com.oracle.truffle.llvm.nodes.impl.literals.LLVMSimpleLiteralNode.LLVMI8LiteralNode;
+import com.oracle.truffle.llvm.parser.LLVMBaseType;
+import com.oracle.truffle.llvm.parser.factories.LLVMSwitchFactory;
+
+/**
+ * Checks the jump table and the binary search of large switches against a comparison of the cases
+ * one by one.
+ */
+public class LLVMSwitchTableTest {
+
+    private static final int DEFAULT_LABEL = 100;
+
+    private static final long[] DENSE = {7, 3, 0, 12, 5, 1, 9, 2, 14, 4, 11, 6, 8, 13, 10, 15};
+
+    private static final long[] NEGATIVE = {-1, -3, -5, -2, -8, -4, -6, -7, -9, -10};
+
+    private static final long[] SPARSE = {1000, -7, 1, 1L << 40, Long.MIN_VALUE, Long.MAX_VALUE, 42, -(1L << 33), 65536, 3};
+
+    private static final long[] PROBES = {0, 1, -1, 2, 3, 15, 16, -10, -11, 42, 1000, 999, 65536, 1L << 40, -(1L << 33), Long.MIN_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE,
+                    Integer.MAX_VALUE};
+
+    private static int expectedSuccessorIndex(long[] caseValues, long value) {
+        for (int i = 0; i < caseValues.length; i++) {
+            if (caseValues[i] == value) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static void checkTable(long[] caseValues, LLVMSwitchTable table) {
+        for (long value : caseValues) {
+            Assert.assertEquals(expectedSuccessorIndex(caseValues, value), table.getSuccessorIndex(value));
+        }
+        for (long value : PROBES) {
+            Assert.assertEquals(expectedSuccessorIndex(caseValues, value), table.getSuccessorIndex(value));
+        }
+    }
+
+    private static LLVMJumpTable createJumpTable(long[] caseValues) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : caseValues) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return new LLVMJumpTable(caseValues, min, (int) (max - min + 1));
+    }
+
+    @Test
+    public void testDenseJumpTable() {
+        checkTable(DENSE, createJumpTable(DENSE));
+    }
+
+    @Test
+    public void testNegativeJumpTable() {
+        checkTable(NEGATIVE, createJumpTable(NEGATIVE));
+    }
+
+    @Test
+    public void testDenseBinarySearch() {
+        checkTable(DENSE, new LLVMBinarySearchTable(DENSE));
+    }
+
+    @Test
+    public void testNegativeBinarySearch() {
+        checkTable(NEGATIVE, new LLVMBinarySearchTable(NEGATIVE));
+    }
+
+    @Test
+    public void testSparseBinarySearch() {
+        checkTable(SPARSE, new LLVMBinarySearchTable(SPARSE));
+    }
+
+    @Test
+    public void testSingleCaseBinarySearch() {
+        checkTable(new long[]{Long.MIN_VALUE}, new LLVMBinarySearchTable(new long[]{Long.MIN_VALUE}));
+    }
+
+    /**
+     * Cases that share a successor block keep their own successor index, which the terminator maps
+     * to the shared block.
+     */
+    @Test
+    public void testDuplicateTargets() {
+        int nrCases = 20;
+        LLVMExpressionNode[] cases = new LLVMExpressionNode[nrCases];
+        int[] labels = new int[nrCases];
+        for (int i = 0; i < nrCases; i++) {
+            cases[i] = new LLVMI32LiteralNode(i * 2);
+            labels[i] = i % 3;
+        }
+        for (int value = -1; value <= 2 * nrCases; value++) {
+            LLVMTerminatorNode node = LLVMSwitchFactory.createSwitch(new LLVMI32LiteralNode(value), DEFAULT_LABEL, labels, cases, LLVMBaseType.I32, new LLVMNode[0]);
+            Assert.assertTrue(node instanceof LLVMTableSwitchBaseNode);
+            int expected = value >= 0 && value % 2 == 0 && value / 2 < nrCases ? (value / 2) % 3 : DEFAULT_LABEL;
+            Assert.assertEquals(expected, node.getSuccessors()[node.executeGetSuccessorIndex(null)]);
+        }
+    }
+
+    /**
+     * Case values narrower than 64 bits are sign-extended, so negative <code>i8</code> cases have
+     * to be found for negative conditions.
+     */
+    @Test
+    public void testNegativeI8Cases() {
+        int nrCases = 16;
+        LLVMExpressionNode[] cases = new LLVMExpressionNode[nrCases];
+        int[] labels = new int[nrCases];
+        for (int i = 0; i < nrCases; i++) {
+            cases[i] = new LLVMI8LiteralNode((byte) (Byte.MIN_VALUE + i * 16));
+            labels[i] = i;
+        }
+        for (int value = Byte.MIN_VALUE; value <= Byte.MAX_VALUE; value++) {
+            LLVMTerminatorNode node = LLVMSwitchFactory.createSwitch(new LLVMI8LiteralNode((byte) value), DEFAULT_LABEL, labels, cases, LLVMBaseType.I8, new LLVMNode[0]);
+            Assert.assertTrue(node instanceof LLVMTableSwitchBaseNode);
+            int expected = (value - Byte.MIN_VALUE) % 16 == 0 ? (value - Byte.MIN_VALUE) / 16 : DEFAULT_LABEL;
+            Assert.assertEquals(expected, node.getSuccessors()[node.executeGetSuccessorIndex(null)]);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+#include <stdlib.h>
+
+int values[] = { 1, 3, 5, 7, 9 };
+
+int cmpfunc(const void *a, const void *b) { return (*(int *)a - *(int *)b); }
+
+int cmpfunc_reverse(const void *a, const void *b) { return (*(int *)b - *(int *)a); }
+
+int main() {
+  int (*cmp)(const void *, const void *) = cmpfunc;
+  for (int i = 0; i < 5; i++) {
+    int key = 2 * i + 1;
+    if (bsearch(&key, values, 5, sizeof(int), cmp) != &values[i]) {
+      abort();
+    }
+    key++;
+    if (bsearch(&key, values, 5, sizeof(int), cmp) != NULL) {
+      abort();
+    }
+  }
+  cmp = cmpfunc_reverse;
+  qsort(values, 5, sizeof(int), cmp);
+  for (int i = 0; i < 5; i++) {
+    if (values[i] != 9 - 2 * i) {
+      abort();
+    }
+  }
+}
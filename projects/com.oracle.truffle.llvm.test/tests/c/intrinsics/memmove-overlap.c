@@ -0,0 +1,90 @@
+#include <stdlib.h>
+
+#define SIZE 512
+#define BASE 64
+
+static char buffer[SIZE];
+static char expected[SIZE];
+
+/* distances around the word size and the largest unrolled length */
+static const int distances[] = {1, 2, 3, 4, 7, 8, 9, 15, 16, 17, 31, 32, 33, 63, 64, 65};
+
+#define NR_DISTANCES (sizeof(distances) / sizeof(distances[0]))
+
+static void fill() {
+  int i;
+  for (i = 0; i < SIZE; i++) {
+    buffer[i] = expected[i] = (char)(i * 7 + 1);
+  }
+}
+
+static void expectMove(int dest, int source, int length) {
+  char tmp[SIZE];
+  int i;
+  for (i = 0; i < length; i++) {
+    tmp[i] = expected[source + i];
+  }
+  for (i = 0; i < length; i++) {
+    expected[dest + i] = tmp[i];
+  }
+}
+
+static void check() {
+  int i;
+  for (i = 0; i < SIZE; i++) {
+    if (buffer[i] != expected[i]) {
+      abort();
+    }
+  }
+}
+
+/* every expansion is a call site with a constant length */
+#define MOVE(length, dest, source)                                                                                                                   \
+  fill();                                                                                                                                            \
+  __builtin_memmove(buffer + (dest), buffer + (source), length);                                                                                     \
+  expectMove(dest, source, length);                                                                                                                  \
+  check();
+
+#define TEST_LENGTH(length)                                                                                                                          \
+  for (d = 0; d < NR_DISTANCES; d++) {                                                                                                               \
+    MOVE(length, BASE, BASE + distances[d]);                                                                                                         \
+    MOVE(length, BASE + distances[d], BASE);                                                                                                         \
+  }
+
+void moveVariable(char *dest, char *source, long length) { __builtin_memmove(dest, source, length); }
+
+int main() {
+  unsigned int d;
+  int length;
+  TEST_LENGTH(1);
+  TEST_LENGTH(2);
+  TEST_LENGTH(7);
+  TEST_LENGTH(8);
+  TEST_LENGTH(9);
+  TEST_LENGTH(15);
+  TEST_LENGTH(16);
+  TEST_LENGTH(17);
+  TEST_LENGTH(31);
+  TEST_LENGTH(32);
+  TEST_LENGTH(33);
+  TEST_LENGTH(63);
+  TEST_LENGTH(64);
+  TEST_LENGTH(65);
+  TEST_LENGTH(127);
+  TEST_LENGTH(128);
+  TEST_LENGTH(129);
+  /* a single call site with varying lengths */
+  for (length = 0; length <= 130; length++) {
+    for (d = 0; d < NR_DISTANCES; d++) {
+      fill();
+      moveVariable(buffer + BASE, buffer + BASE + distances[d], length);
+      expectMove(BASE, BASE + distances[d], length);
+      check();
+      fill();
+      moveVariable(buffer + BASE + distances[d], buffer + BASE, length);
+      expectMove(BASE + distances[d], BASE, length);
+      check();
+    }
+  }
+  return 0;
+}
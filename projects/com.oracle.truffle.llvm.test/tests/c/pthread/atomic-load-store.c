@@ -0,0 +1,57 @@
+#include <pthread.h>
+
+#define ITEMS 1000
+
+static int ready;
+static long data;
+
+void *produce(void *arg) {
+  for (int i = 1; i <= ITEMS; i++) {
+    while (__atomic_load_n(&ready, __ATOMIC_ACQUIRE)) {
+    }
+    data = i;
+    __atomic_store_n(&ready, 1, __ATOMIC_RELEASE);
+  }
+  return NULL;
+}
+
+int testSingleThreaded() {
+  char c;
+  short s;
+  long l;
+  double d;
+  double loaded;
+  int *p;
+  __atomic_store_n(&c, 12, __ATOMIC_SEQ_CST);
+  __atomic_store_n(&s, 1234, __ATOMIC_SEQ_CST);
+  __atomic_store_n(&l, 123456789012L, __ATOMIC_SEQ_CST);
+  d = 2.5;
+  __atomic_store(&d, &d, __ATOMIC_SEQ_CST);
+  __atomic_store_n(&p, &ready, __ATOMIC_SEQ_CST);
+  if (__atomic_load_n(&c, __ATOMIC_SEQ_CST) != 12 || __atomic_load_n(&s, __ATOMIC_SEQ_CST) != 1234) {
+    return 1;
+  }
+  if (__atomic_load_n(&l, __ATOMIC_SEQ_CST) != 123456789012L || __atomic_load_n(&p, __ATOMIC_SEQ_CST) != &ready) {
+    return 2;
+  }
+  __atomic_load(&d, &loaded, __ATOMIC_SEQ_CST);
+  return loaded == 2.5 ? 0 : 3;
+}
+
+int main() {
+  pthread_t producer;
+  long sum = 0;
+  int result = testSingleThreaded();
+  if (result != 0) {
+    return result;
+  }
+  pthread_create(&producer, NULL, produce, NULL);
+  for (int i = 1; i <= ITEMS; i++) {
+    while (!__atomic_load_n(&ready, __ATOMIC_ACQUIRE)) {
+    }
+    sum += data;
+    __atomic_store_n(&ready, 0, __ATOMIC_RELEASE);
+  }
+  pthread_join(producer, NULL);
+  return sum == (long)ITEMS * (ITEMS + 1) / 2 ? 0 : 4;
+}
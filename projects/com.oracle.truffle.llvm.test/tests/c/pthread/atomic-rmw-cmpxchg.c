@@ -0,0 +1,75 @@
+#include <pthread.h>
+
+#define NUM_THREADS 4
+#define ITERATIONS 10000
+
+static long counter;
+static int casCounter;
+static int spinLock;
+static long lockedCounter;
+
+void *work(void *arg) {
+  for (int i = 0; i < ITERATIONS; i++) {
+    __sync_fetch_and_add(&counter, 1);
+    int old;
+    do {
+      old = casCounter;
+    } while (__sync_val_compare_and_swap(&casCounter, old, old + 1) != old);
+    while (__sync_lock_test_and_set(&spinLock, 1)) {
+    }
+    lockedCounter++;
+    __sync_lock_release(&spinLock);
+  }
+  return NULL;
+}
+
+int testSingleThreaded() {
+  char c = 10;
+  short s = 1000;
+  int i = 5;
+  long l = 7;
+  if (__sync_fetch_and_add(&c, 5) != 10 || c != 15) {
+    return 1;
+  }
+  if (__sync_fetch_and_sub(&s, 1) != 1000 || s != 999) {
+    return 2;
+  }
+  if (__sync_fetch_and_or(&i, 2) != 5 || i != 7) {
+    return 3;
+  }
+  if (__sync_fetch_and_and(&i, 3) != 7 || i != 3) {
+    return 4;
+  }
+  if (__sync_fetch_and_xor(&l, 1) != 7 || l != 6) {
+    return 5;
+  }
+  if (__sync_val_compare_and_swap(&l, 5, 9) != 6 || l != 6) {
+    return 6;
+  }
+  if (!__sync_bool_compare_and_swap(&l, 6, 9) || l != 9) {
+    return 7;
+  }
+  if (__sync_lock_test_and_set(&c, 42) != 15 || c != 42) {
+    return 8;
+  }
+  __sync_synchronize();
+  return 0;
+}
+
+int main() {
+  int result = testSingleThreaded();
+  if (result != 0) {
+    return result;
+  }
+  pthread_t threads[NUM_THREADS];
+  for (int i = 0; i < NUM_THREADS; i++) {
+    pthread_create(&threads[i], NULL, work, NULL);
+  }
+  for (int i = 0; i < NUM_THREADS; i++) {
+    pthread_join(threads[i], NULL);
+  }
+  if (counter != NUM_THREADS * ITERATIONS || casCounter != NUM_THREADS * ITERATIONS || lockedCounter != NUM_THREADS * ITERATIONS) {
+    return 10;
+  }
+  return 0;
+}
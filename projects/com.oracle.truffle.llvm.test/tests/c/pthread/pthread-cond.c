@@ -0,0 +1,44 @@
+#include <pthread.h>
+
+#define ITEMS 1000
+
+static pthread_mutex_t mutex = PTHREAD_MUTEX_INITIALIZER;
+static pthread_cond_t notEmpty = PTHREAD_COND_INITIALIZER;
+static pthread_cond_t notFull = PTHREAD_COND_INITIALIZER;
+static int full;
+static int slot;
+
+void *produce(void *arg) {
+  for (int i = 1; i <= ITEMS; i++) {
+    pthread_mutex_lock(&mutex);
+    while (full) {
+      pthread_cond_wait(&notFull, &mutex);
+    }
+    slot = i;
+    full = 1;
+    pthread_cond_signal(&notEmpty);
+    pthread_mutex_unlock(&mutex);
+  }
+  return NULL;
+}
+
+int main() {
+  pthread_t producer;
+  long sum = 0;
+  pthread_create(&producer, NULL, produce, NULL);
+  for (int i = 1; i <= ITEMS; i++) {
+    pthread_mutex_lock(&mutex);
+    while (!full) {
+      pthread_cond_wait(&notEmpty, &mutex);
+    }
+    if (slot != i) {
+      return 1;
+    }
+    sum += slot;
+    full = 0;
+    pthread_cond_signal(&notFull);
+    pthread_mutex_unlock(&mutex);
+  }
+  pthread_join(producer, NULL);
+  return sum == (long)ITEMS * (ITEMS + 1) / 2 ? 0 : 2;
+}
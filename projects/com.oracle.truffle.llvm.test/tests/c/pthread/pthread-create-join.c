@@ -0,0 +1,34 @@
+#include <pthread.h>
+#include <stdint.h>
+
+#define NUM_THREADS 4
+
+void *doubleArgument(void *arg) { return (void *)(2 * (intptr_t)arg); }
+
+void *exitWithArgument(void *arg) {
+  pthread_exit((void *)((intptr_t)arg + 1));
+  return NULL;
+}
+
+int main() {
+  pthread_t threads[NUM_THREADS];
+  for (intptr_t i = 0; i < NUM_THREADS; i++) {
+    if (pthread_create(&threads[i], NULL, i % 2 == 0 ? doubleArgument : exitWithArgument, (void *)i) != 0) {
+      return 1;
+    }
+  }
+  for (intptr_t i = 0; i < NUM_THREADS; i++) {
+    void *result;
+    if (pthread_join(threads[i], &result) != 0) {
+      return 2;
+    }
+    intptr_t expected = i % 2 == 0 ? 2 * i : i + 1;
+    if ((intptr_t)result != expected) {
+      return 3;
+    }
+  }
+  if (!pthread_equal(pthread_self(), pthread_self())) {
+    return 4;
+  }
+  return 0;
+}
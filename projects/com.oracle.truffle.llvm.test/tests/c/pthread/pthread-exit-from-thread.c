@@ -0,0 +1,27 @@
+#include <pthread.h>
+#include <stdlib.h>
+
+static pthread_mutex_t mutex = PTHREAD_MUTEX_INITIALIZER;
+static pthread_cond_t never = PTHREAD_COND_INITIALIZER;
+
+void *waitForever(void *arg) {
+  pthread_mutex_lock(&mutex);
+  while (1) {
+    pthread_cond_wait(&never, &mutex);
+  }
+  return NULL;
+}
+
+void *exitProgram(void *arg) {
+  exit(42);
+  return NULL;
+}
+
+int main() {
+  pthread_t waiter;
+  pthread_t exiter;
+  pthread_create(&waiter, NULL, waitForever, NULL);
+  pthread_create(&exiter, NULL, exitProgram, NULL);
+  pthread_join(waiter, NULL);
+  return 0;
+}
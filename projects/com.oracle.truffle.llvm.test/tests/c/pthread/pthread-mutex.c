@@ -0,0 +1,44 @@
+#include <pthread.h>
+
+#define NUM_THREADS 4
+#define ITERATIONS 10000
+
+static pthread_mutex_t staticMutex = PTHREAD_MUTEX_INITIALIZER;
+static pthread_mutex_t mutex;
+static long staticCounter;
+static long counter;
+
+void *increment(void *arg) {
+  for (int i = 0; i < ITERATIONS; i++) {
+    pthread_mutex_lock(&staticMutex);
+    staticCounter++;
+    pthread_mutex_unlock(&staticMutex);
+    pthread_mutex_lock(&mutex);
+    counter++;
+    pthread_mutex_unlock(&mutex);
+  }
+  return NULL;
+}
+
+int main() {
+  pthread_t threads[NUM_THREADS];
+  if (pthread_mutex_init(&mutex, NULL) != 0) {
+    return 1;
+  }
+  for (int i = 0; i < NUM_THREADS; i++) {
+    pthread_create(&threads[i], NULL, increment, NULL);
+  }
+  for (int i = 0; i < NUM_THREADS; i++) {
+    pthread_join(threads[i], NULL);
+  }
+  if (staticCounter != NUM_THREADS * ITERATIONS || counter != NUM_THREADS * ITERATIONS) {
+    return 2;
+  }
+  if (pthread_mutex_trylock(&mutex) != 0) {
+    return 3;
+  }
+  if (pthread_mutex_unlock(&mutex) != 0) {
+    return 4;
+  }
+  return pthread_mutex_destroy(&mutex);
+}
@@ -0,0 +1,27 @@
+#include <math.h>
+#include <stdlib.h>
+
+volatile double zero = 0.0;
+volatile double one = 1.0;
+volatile double two = 2.0;
+volatile double negativeNumber = -3.5;
+volatile int negativeInt = -7;
+volatile double minusOne = -1.0;
+
+int main() {
+  if (pow(two, 10) != 1024.0 || pow(negativeNumber, zero) != 1.0) {
+    abort();
+  } else if (pow(one, NAN) != 1.0 || pow(one, INFINITY) != 1.0) {
+    abort();
+  } else if (pow(minusOne, INFINITY) != 1.0 || pow(minusOne, -INFINITY) != 1.0) {
+    abort();
+  } else if (exp(zero) != 1.0 || log(one) != 0.0) {
+    abort();
+  } else if (!isinf(log(zero)) || !isnan(log(negativeNumber))) {
+    abort();
+  } else if (fabs(negativeNumber) != 3.5 || abs(negativeInt) != 7) {
+    abort();
+  } else if (floor(negativeNumber) != -4.0 || floor(two) != 2.0) {
+    abort();
+  }
+}
@@ -0,0 +1,37 @@
+#include <stdlib.h>
+#include <string.h>
+
+char buffer1[64];
+char buffer2[64];
+
+int main() {
+  for (int offset = 0; offset < 8; offset++) {
+    for (int length = 0; length < 40; length++) {
+      char *s = buffer1 + offset;
+      memset(buffer1, 'x', sizeof(buffer1));
+      for (int i = 0; i < length; i++) {
+        s[i] = 'a' + i % 26;
+      }
+      s[length] = '\0';
+      if (strlen(s) != length) {
+        abort();
+      }
+      if (strcpy(buffer2, s) != buffer2 || strcmp(buffer2, s) != 0 || memcmp(buffer2, s, length + 1) != 0) {
+        abort();
+      }
+      if (length > 0) {
+        buffer2[length - 1] = '\xff';
+        if (strcmp(buffer2, s) <= 0 || memcmp(s, buffer2, length) >= 0) {
+          abort();
+        }
+        if (memchr(s, s[length - 1], length) != s + (length - 1) % 26) {
+          abort();
+        }
+      }
+      if (memchr(s, 'z' + 1, length) != NULL) {
+        abort();
+      }
+    }
+  }
+  return 0;
+}
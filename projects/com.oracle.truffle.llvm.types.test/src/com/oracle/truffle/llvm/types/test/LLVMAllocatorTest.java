@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.memory.LLVMAllocator;
+import com.oracle.truffle.llvm.types.memory.LLVMHeap;
+import com.oracle.truffle.llvm.types.memory.LLVMMemory;
+
+public class LLVMAllocatorTest {
+
+    private static final int SMALL_SIZE = 24;
+    private static final int LARGEST_SMALL_SIZE = 4096;
+    private static final int LARGE_SIZE = 1 << 20;
+    private static final int PAGE_ALIGNMENT = 4096;
+    private static final int NR_BLOCKS = 10000;
+
+    /**
+     * Runs the body in a new thread that gives its slabs up when it ends, like the threads of a
+     * program do, so that the tests do not depend on the cache of the test thread.
+     */
+    private static void runInThread(Runnable body) throws InterruptedException {
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                failure[0] = t;
+            } finally {
+                LLVMAllocator.releaseThreadCache();
+            }
+        });
+        thread.start();
+        thread.join();
+        if (failure[0] != null) {
+            throw new AssertionError(failure[0]);
+        }
+    }
+
+    private static LLVMAddress[] allocateBlocks(long size) {
+        LLVMAddress[] blocks = new LLVMAddress[NR_BLOCKS];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = LLVMAllocator.malloc(size);
+        }
+        return blocks;
+    }
+
+    private static void freeBlocks(LLVMAddress[] blocks) {
+        for (LLVMAddress block : blocks) {
+            assertTrue(LLVMAllocator.free(block));
+        }
+    }
+
+    @Test
+    public void testFreedBlockIsReused() throws InterruptedException {
+        runInThread(() -> {
+            LLVMAddress first = LLVMAllocator.malloc(SMALL_SIZE);
+            assertTrue(LLVMAllocator.free(first));
+            assertEquals(first.getVal(), LLVMAllocator.malloc(SMALL_SIZE).getVal());
+            assertTrue(LLVMAllocator.free(first));
+        });
+    }
+
+    @Test
+    public void testNativePointer() {
+        LLVMAddress nativeBlock = LLVMHeap.allocateMemory(SMALL_SIZE);
+        try {
+            assertTrue(LLVMAllocator.isNativeAllocation(nativeBlock));
+            assertFalse(LLVMAllocator.free(nativeBlock));
+        } finally {
+            LLVMHeap.freeMemory(nativeBlock);
+        }
+        assertFalse(LLVMAllocator.isNativeAllocation(LLVMAddress.NULL_POINTER));
+        assertTrue(LLVMAllocator.free(LLVMAddress.NULL_POINTER));
+    }
+
+    @Test
+    public void testOwnedPointer() throws InterruptedException {
+        runInThread(() -> {
+            LLVMAddress small = LLVMAllocator.malloc(SMALL_SIZE);
+            LLVMAddress large = LLVMAllocator.malloc(LARGE_SIZE);
+            assertFalse(LLVMAllocator.isNativeAllocation(small));
+            assertFalse(LLVMAllocator.isNativeAllocation(large));
+            assertFalse(LLVMAllocator.isNativeAllocation(large.increment(LARGE_SIZE - 1)));
+            assertTrue(LLVMAllocator.free(small));
+            assertTrue(LLVMAllocator.free(large));
+        });
+    }
+
+    @Test
+    public void testReallocKeepsContents() throws InterruptedException {
+        runInThread(() -> {
+            LLVMAddress block = LLVMAllocator.malloc(SMALL_SIZE);
+            for (int i = 0; i < SMALL_SIZE; i++) {
+                LLVMMemory.putI8(block.increment(i), (byte) i);
+            }
+            LLVMAddress grown = LLVMAllocator.realloc(block, LARGE_SIZE);
+            assertNotEquals(block.getVal(), grown.getVal());
+            for (int i = 0; i < SMALL_SIZE; i++) {
+                assertEquals((byte) i, LLVMMemory.getI8(grown.increment(i)));
+            }
+            assertTrue(LLVMAllocator.free(grown));
+        });
+    }
+
+    @Test
+    public void testPosixMemalign() throws InterruptedException {
+        runInThread(() -> {
+            LLVMAddress memptr = LLVMHeap.allocateMemory(Long.BYTES);
+            try {
+                assertEquals(0, LLVMAllocator.posixMemalign(memptr, PAGE_ALIGNMENT, SMALL_SIZE));
+                LLVMAddress block = LLVMMemory.getAddress(memptr);
+                assertEquals(0, block.getVal() % PAGE_ALIGNMENT);
+                assertTrue(LLVMAllocator.free(block));
+                assertNotEquals(0, LLVMAllocator.posixMemalign(memptr, PAGE_ALIGNMENT - 1, SMALL_SIZE));
+            } finally {
+                LLVMHeap.freeMemory(memptr);
+            }
+        });
+    }
+
+    @Test
+    public void testEmptySlabsAreReleased() throws InterruptedException {
+        long reserved = LLVMAllocator.getReservedBytes();
+        runInThread(() -> {
+            for (long size = 1; size <= LARGEST_SMALL_SIZE; size <<= 1) {
+                freeBlocks(allocateBlocks(size));
+            }
+            LLVMAddress large = LLVMAllocator.malloc(LARGE_SIZE);
+            assertTrue(LLVMAllocator.free(large));
+        });
+        assertEquals(reserved, LLVMAllocator.getReservedBytes());
+    }
+
+    @Test
+    public void testSlabsAreReleasedByOtherThreads() throws InterruptedException {
+        long reserved = LLVMAllocator.getReservedBytes();
+        LLVMAddress[][] blocks = new LLVMAddress[1][];
+        runInThread(() -> blocks[0] = allocateBlocks(SMALL_SIZE));
+        assertTrue(LLVMAllocator.getReservedBytes() > reserved);
+        runInThread(() -> freeBlocks(blocks[0]));
+        assertEquals(reserved, LLVMAllocator.getReservedBytes());
+    }
+
+    @Test
+    public void testBlocksFreedByOtherThreadsAreReused() throws InterruptedException {
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch freed = new CountDownLatch(1);
+        LLVMAddress[] blocks = new LLVMAddress[2];
+        Thread owner = new Thread(() -> {
+            try {
+                blocks[0] = LLVMAllocator.malloc(SMALL_SIZE);
+                allocated.countDown();
+                freed.await();
+                blocks[1] = LLVMAllocator.malloc(SMALL_SIZE);
+                LLVMAllocator.free(blocks[1]);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            } finally {
+                LLVMAllocator.releaseThreadCache();
+            }
+        });
+        owner.start();
+        allocated.await();
+        runInThread(() -> assertTrue(LLVMAllocator.free(blocks[0])));
+        freed.countDown();
+        owner.join();
+        assertEquals(blocks[0].getVal(), blocks[1].getVal());
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.types.LLVMI128;
+import com.oracle.truffle.llvm.types.LLVMIVarBit;
+
+public class LLVMI128Test {
+
+    private static final int NR_RANDOM_VALUES = 200;
+
+    private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(LLVMI128.BIT_WIDTH);
+
+    private static final long[] INTERESTING_WORDS = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, 0xFFFFFFFFL, 1L << Integer.SIZE};
+
+    private static BigInteger unsigned(LLVMI128 value) {
+        return new BigInteger(1, value.getBytes());
+    }
+
+    private static BigInteger signed(LLVMI128 value) {
+        return new BigInteger(value.getBytes());
+    }
+
+    private static LLVMI128 of(BigInteger value) {
+        return LLVMI128.fromBytes(value.mod(MODULUS).toByteArray());
+    }
+
+    private static LLVMI128[] values() {
+        Random random = new Random(0);
+        LLVMI128[] values = new LLVMI128[INTERESTING_WORDS.length * INTERESTING_WORDS.length + NR_RANDOM_VALUES];
+        int i = 0;
+        for (long high : INTERESTING_WORDS) {
+            for (long low : INTERESTING_WORDS) {
+                values[i++] = LLVMI128.create(high, low);
+            }
+        }
+        while (i < values.length) {
+            long high = random.nextBoolean() ? random.nextLong() : random.nextInt();
+            values[i++] = LLVMI128.create(high, random.nextLong());
+        }
+        return values;
+    }
+
+    private static void assertValue(BigInteger expected, LLVMI128 actual) {
+        assertEquals(expected.mod(MODULUS), unsigned(actual));
+    }
+
+    @Test
+    public void testAddSubMul() {
+        for (LLVMI128 a : values()) {
+            for (LLVMI128 b : values()) {
+                assertValue(signed(a).add(signed(b)), a.add(b));
+                assertValue(signed(a).subtract(signed(b)), a.sub(b));
+                assertValue(signed(a).multiply(signed(b)), a.mul(b));
+            }
+        }
+    }
+
+    @Test
+    public void testDivRem() {
+        for (LLVMI128 a : values()) {
+            for (LLVMI128 b : values()) {
+                if (signed(b).signum() == 0) {
+                    continue;
+                }
+                assertValue(signed(a).divide(signed(b)), a.div(b));
+                assertValue(signed(a).remainder(signed(b)), a.rem(b));
+                assertValue(unsigned(a).divide(unsigned(b)), a.unsignedDiv(b));
+                assertValue(unsigned(a).remainder(unsigned(b)), a.unsignedRem(b));
+            }
+        }
+    }
+
+    @Test
+    public void testLogical() {
+        for (LLVMI128 a : values()) {
+            for (LLVMI128 b : values()) {
+                assertValue(signed(a).and(signed(b)), a.and(b));
+                assertValue(signed(a).or(signed(b)), a.or(b));
+                assertValue(signed(a).xor(signed(b)), a.xor(b));
+            }
+        }
+    }
+
+    @Test
+    public void testShifts() {
+        for (LLVMI128 a : values()) {
+            for (int shift = 0; shift < LLVMI128.BIT_WIDTH; shift++) {
+                LLVMI128 amount = LLVMI128.fromLong(shift);
+                assertValue(signed(a).shiftLeft(shift), a.leftShift(amount));
+                assertValue(unsigned(a).shiftRight(shift), a.logicalRightShift(amount));
+                assertValue(signed(a).shiftRight(shift), a.arithmeticRightShift(amount));
+            }
+        }
+    }
+
+    @Test
+    public void testCompare() {
+        for (LLVMI128 a : values()) {
+            for (LLVMI128 b : values()) {
+                assertEquals(signed(a).compareTo(signed(b)), Integer.signum(a.signedCompare(b)));
+                assertEquals(unsigned(a).compareTo(unsigned(b)), Integer.signum(a.unsignedCompare(b)));
+            }
+        }
+    }
+
+    @Test
+    public void testMultiplyHighUnsigned() {
+        BigInteger mask = BigInteger.ONE.shiftLeft(Long.SIZE).subtract(BigInteger.ONE);
+        for (long x : INTERESTING_WORDS) {
+            for (long y : INTERESTING_WORDS) {
+                BigInteger product = BigInteger.valueOf(x).and(mask).multiply(BigInteger.valueOf(y).and(mask));
+                assertEquals(product.shiftRight(Long.SIZE).longValue(), LLVMI128.multiplyHighUnsigned(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testConversions() {
+        assertValue(BigInteger.valueOf(-5), (LLVMI128) LLVMIVarBit.fromInt(LLVMI128.BIT_WIDTH, -5));
+        assertValue(BigInteger.valueOf(Integer.toUnsignedLong(-5)), (LLVMI128) LLVMIVarBit.createZeroExt(LLVMI128.BIT_WIDTH, -5));
+        assertValue(BigInteger.valueOf(Long.MIN_VALUE), (LLVMI128) LLVMIVarBit.fromLong(LLVMI128.BIT_WIDTH, Long.MIN_VALUE));
+        assertValue(MODULUS.subtract(BigInteger.ONE), (LLVMI128) LLVMIVarBit.fromString("-1", LLVMI128.BIT_WIDTH));
+        for (LLVMI128 a : values()) {
+            assertEquals(signed(a).longValue(), a.getLongValue());
+            assertEquals(signed(a).intValue(), a.getIntValue());
+            assertValue(signed(a), (LLVMI128) LLVMIVarBit.create(LLVMI128.BIT_WIDTH, a.getBytes()));
+        }
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
+
+/**
+ * A 128 bit integer as two longs in two's complement. Unlike the byte array representation of
+ * other variable bit widths, the arithmetic works on the two words directly and allocates nothing
+ * but the result.
+ */
+@ValueType
+public final class LLVMI128 extends LLVMIVarBit {
+
+    public static final int BIT_WIDTH = 128;
+
+    public static final int BYTE_WIDTH = BIT_WIDTH / Byte.SIZE;
+
+    private static final long LOWER_32_BITS = 0xFFFFFFFFL;
+
+    private static final int SIGN_SHIFT = Long.SIZE - 1;
+
+    private final long high;
+    private final long low;
+
+    private LLVMI128(long high, long low) {
+        super(BIT_WIDTH);
+        this.high = high;
+        this.low = low;
+    }
+
+    public static LLVMI128 create(long high, long low) {
+        return new LLVMI128(high, low);
+    }
+
+    public static LLVMI128 fromLong(long value) {
+        return new LLVMI128(value >> SIGN_SHIFT, value);
+    }
+
+    public static LLVMI128 fromUnsignedLong(long value) {
+        return new LLVMI128(0, value);
+    }
+
+    /**
+     * Creates the value of a big-endian byte array. Like for other bit widths, shorter arrays are
+     * zero extended and longer arrays are truncated.
+     */
+    public static LLVMI128 fromBytes(byte[] bytes) {
+        long newHigh = 0;
+        long newLow = 0;
+        int start = Math.max(0, bytes.length - BYTE_WIDTH);
+        for (int i = start; i < bytes.length; i++) {
+            newHigh = (newHigh << Byte.SIZE) | (newLow >>> (Long.SIZE - Byte.SIZE));
+            newLow = (newLow << Byte.SIZE) | Byte.toUnsignedInt(bytes[i]);
+        }
+        return new LLVMI128(newHigh, newLow);
+    }
+
+    private static LLVMI128 asI128(LLVMIVarBit value) {
+        if (value instanceof LLVMI128) {
+            return (LLVMI128) value;
+        } else {
+            return fromBytes(value.getBytes());
+        }
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Returns the upper 64 bits of the unsigned 128 bit product of two longs.
+     */
+    public static long multiplyHighUnsigned(long x, long y) {
+        long x1 = x >>> Integer.SIZE;
+        long x2 = x & LOWER_32_BITS;
+        long y1 = y >>> Integer.SIZE;
+        long y2 = y & LOWER_32_BITS;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> Integer.SIZE);
+        long z1 = (t & LOWER_32_BITS) + x2 * y1;
+        return x1 * y1 + (t >>> Integer.SIZE) + (z1 >>> Integer.SIZE);
+    }
+
+    private static int compareUnsigned(long xHigh, long xLow, long yHigh, long yLow) {
+        int result = Long.compareUnsigned(xHigh, yHigh);
+        if (result == 0) {
+            return Long.compareUnsigned(xLow, yLow);
+        }
+        return result;
+    }
+
+    private boolean isNegative() {
+        return high < 0;
+    }
+
+    private boolean fitsInLong() {
+        return high == low >> SIGN_SHIFT;
+    }
+
+    public LLVMI128 negate() {
+        return new LLVMI128(low == 0 ? -high : ~high, -low);
+    }
+
+    private LLVMI128 abs() {
+        return isNegative() ? negate() : this;
+    }
+
+    @Override
+    public byte getByteValue() {
+        return (byte) low;
+    }
+
+    @Override
+    public short getShortValue() {
+        return (short) low;
+    }
+
+    @Override
+    public int getIntValue() {
+        return (int) low;
+    }
+
+    @Override
+    public int getZeroExtendedIntValue() {
+        return (int) low;
+    }
+
+    @Override
+    public long getLongValue() {
+        return low;
+    }
+
+    @Override
+    public long getZeroExtendedLongValue() {
+        return low;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return ByteBuffer.allocate(BYTE_WIDTH).putLong(high).putLong(low).array();
+    }
+
+    @Override
+    public byte[] getSignExtendedBytes() {
+        return getBytes();
+    }
+
+    @Override
+    public LLVMI128 add(LLVMIVarBit right) {
+        return add(asI128(right));
+    }
+
+    public LLVMI128 add(LLVMI128 right) {
+        long newLow = low + right.low;
+        long carry = Long.compareUnsigned(newLow, low) < 0 ? 1 : 0;
+        return new LLVMI128(high + right.high + carry, newLow);
+    }
+
+    @Override
+    public LLVMI128 sub(LLVMIVarBit right) {
+        return sub(asI128(right));
+    }
+
+    public LLVMI128 sub(LLVMI128 right) {
+        long borrow = Long.compareUnsigned(low, right.low) < 0 ? 1 : 0;
+        return new LLVMI128(high - right.high - borrow, low - right.low);
+    }
+
+    @Override
+    public LLVMI128 mul(LLVMIVarBit right) {
+        return mul(asI128(right));
+    }
+
+    public LLVMI128 mul(LLVMI128 right) {
+        long newHigh = multiplyHighUnsigned(low, right.low) + low * right.high + high * right.low;
+        return new LLVMI128(newHigh, low * right.low);
+    }
+
+    @Override
+    public LLVMI128 div(LLVMIVarBit right) {
+        return div(asI128(right));
+    }
+
+    public LLVMI128 div(LLVMI128 right) {
+        if (fitsInLong() && right.fitsInLong() && !(low == Long.MIN_VALUE && right.low == -1)) {
+            return fromLong(low / right.low);
+        }
+        LLVMI128 quotient = abs().unsignedDiv(right.abs());
+        return isNegative() != right.isNegative() ? quotient.negate() : quotient;
+    }
+
+    @Override
+    public LLVMI128 rem(LLVMIVarBit right) {
+        return rem(asI128(right));
+    }
+
+    public LLVMI128 rem(LLVMI128 right) {
+        if (fitsInLong() && right.fitsInLong()) {
+            return fromLong(right.low == -1 ? 0 : low % right.low);
+        }
+        LLVMI128 remainder = abs().unsignedRem(right.abs());
+        return isNegative() ? remainder.negate() : remainder;
+    }
+
+    @Override
+    public LLVMI128 unsignedDiv(LLVMIVarBit right) {
+        return unsignedDiv(asI128(right));
+    }
+
+    public LLVMI128 unsignedDiv(LLVMI128 right) {
+        if (high == 0 && right.high == 0) {
+            return fromUnsignedLong(Long.divideUnsigned(low, right.low));
+        }
+        return divide(right, false);
+    }
+
+    @Override
+    public LLVMI128 unsignedRem(LLVMIVarBit right) {
+        return unsignedRem(asI128(right));
+    }
+
+    public LLVMI128 unsignedRem(LLVMI128 right) {
+        if (high == 0 && right.high == 0) {
+            return fromUnsignedLong(Long.remainderUnsigned(low, right.low));
+        }
+        return divide(right, true);
+    }
+
+    /**
+     * Divides the unsigned values bit by bit, starting at the most significant bit of the dividend.
+     */
+    private LLVMI128 divide(LLVMI128 divisor, boolean remainder) {
+        if (divisor.high == 0 && divisor.low == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long quotientHigh = 0;
+        long quotientLow = 0;
+        long remainderHigh = 0;
+        long remainderLow = 0;
+        int leadingZeros = high == 0 ? Long.SIZE + Long.numberOfLeadingZeros(low) : Long.numberOfLeadingZeros(high);
+        for (int i = BIT_WIDTH - 1 - leadingZeros; i >= 0; i--) {
+            long bit = i >= Long.SIZE ? (high >>> (i - Long.SIZE)) & 1 : (low >>> i) & 1;
+            remainderHigh = (remainderHigh << 1) | (remainderLow >>> SIGN_SHIFT);
+            remainderLow = (remainderLow << 1) | bit;
+            quotientHigh = (quotientHigh << 1) | (quotientLow >>> SIGN_SHIFT);
+            quotientLow = quotientLow << 1;
+            if (compareUnsigned(remainderHigh, remainderLow, divisor.high, divisor.low) >= 0) {
+                long borrow = Long.compareUnsigned(remainderLow, divisor.low) < 0 ? 1 : 0;
+                remainderHigh = remainderHigh - divisor.high - borrow;
+                remainderLow = remainderLow - divisor.low;
+                quotientLow = quotientLow | 1;
+            }
+        }
+        if (remainder) {
+            return new LLVMI128(remainderHigh, remainderLow);
+        } else {
+            return new LLVMI128(quotientHigh, quotientLow);
+        }
+    }
+
+    @Override
+    public LLVMI128 and(LLVMIVarBit right) {
+        return and(asI128(right));
+    }
+
+    public LLVMI128 and(LLVMI128 right) {
+        return new LLVMI128(high & right.high, low & right.low);
+    }
+
+    @Override
+    public LLVMI128 or(LLVMIVarBit right) {
+        return or(asI128(right));
+    }
+
+    public LLVMI128 or(LLVMI128 right) {
+        return new LLVMI128(high | right.high, low | right.low);
+    }
+
+    @Override
+    public LLVMI128 xor(LLVMIVarBit right) {
+        return xor(asI128(right));
+    }
+
+    public LLVMI128 xor(LLVMI128 right) {
+        return new LLVMI128(high ^ right.high, low ^ right.low);
+    }
+
+    /**
+     * Shift amounts of 128 and more shift out all bits.
+     */
+    private static int getShiftAmount(LLVMI128 right) {
+        if (right.high != 0 || Long.compareUnsigned(right.low, BIT_WIDTH) >= 0) {
+            return BIT_WIDTH;
+        }
+        return (int) right.low;
+    }
+
+    @Override
+    public LLVMI128 leftShift(LLVMIVarBit right) {
+        return leftShift(asI128(right));
+    }
+
+    public LLVMI128 leftShift(LLVMI128 right) {
+        int shift = getShiftAmount(right);
+        if (shift == 0) {
+            return this;
+        } else if (shift >= BIT_WIDTH) {
+            return new LLVMI128(0, 0);
+        } else if (shift >= Long.SIZE) {
+            return new LLVMI128(low << (shift - Long.SIZE), 0);
+        } else {
+            return new LLVMI128((high << shift) | (low >>> (Long.SIZE - shift)), low << shift);
+        }
+    }
+
+    @Override
+    public LLVMI128 logicalRightShift(LLVMIVarBit right) {
+        return logicalRightShift(asI128(right));
+    }
+
+    public LLVMI128 logicalRightShift(LLVMI128 right) {
+        int shift = getShiftAmount(right);
+        if (shift == 0) {
+            return this;
+        } else if (shift >= BIT_WIDTH) {
+            return new LLVMI128(0, 0);
+        } else if (shift >= Long.SIZE) {
+            return new LLVMI128(0, high >>> (shift - Long.SIZE));
+        } else {
+            return new LLVMI128(high >>> shift, (low >>> shift) | (high << (Long.SIZE - shift)));
+        }
+    }
+
+    @Override
+    public LLVMI128 arithmeticRightShift(LLVMIVarBit right) {
+        return arithmeticRightShift(asI128(right));
+    }
+
+    public LLVMI128 arithmeticRightShift(LLVMI128 right) {
+        int shift = getShiftAmount(right);
+        if (shift == 0) {
+            return this;
+        } else if (shift >= BIT_WIDTH) {
+            return new LLVMI128(high >> SIGN_SHIFT, high >> SIGN_SHIFT);
+        } else if (shift >= Long.SIZE) {
+            return new LLVMI128(high >> SIGN_SHIFT, high >> (shift - Long.SIZE));
+        } else {
+            return new LLVMI128(high >> shift, (low >>> shift) | (high << (Long.SIZE - shift)));
+        }
+    }
+
+    @Override
+    public int compare(LLVMIVarBit other) {
+        return signedCompare(other);
+    }
+
+    @Override
+    public int signedCompare(LLVMIVarBit other) {
+        return signedCompare(asI128(other));
+    }
+
+    public int signedCompare(LLVMI128 other) {
+        int result = Long.compare(high, other.high);
+        if (result == 0) {
+            return Long.compareUnsigned(low, other.low);
+        }
+        return result;
+    }
+
+    @Override
+    public int unsignedCompare(LLVMIVarBit other) {
+        return unsignedCompare(asI128(other));
+    }
+
+    public int unsignedCompare(LLVMI128 other) {
+        return compareUnsigned(high, low, other.high, other.low);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("0x%016x%016x", high, low);
+    }
+}
@@ -51,30 +51,51 @@ public abstract class LLVMIVarBit {
     }
 
     public static LLVMIVarBit create(int bitWidth, byte[] loadedBytes) {
+        if (bitWidth == LLVMI128.BIT_WIDTH) {
+            return LLVMI128.fromBytes(loadedBytes);
+        }
         return new LLVMVarBitByteArray(bitWidth, loadedBytes);
     }
 
     public static LLVMIVarBit createZeroExt(int bits, int from) {
+        if (bits == LLVMI128.BIT_WIDTH) {
+            return LLVMI128.fromUnsignedLong(Integer.toUnsignedLong(from));
+        }
         return create(bits, ByteBuffer.allocate(Integer.BYTES).putInt(from).array());
     }
 
     public static LLVMIVarBit createZeroExt(int bits, long from) {
+        if (bits == LLVMI128.BIT_WIDTH) {
+            return LLVMI128.fromUnsignedLong(from);
+        }
         return create(bits, ByteBuffer.allocate(Long.BYTES).putLong(from).array());
     }
 
     public static LLVMIVarBit fromByte(int bits, byte from) {
+        if (bits == LLVMI128.BIT_WIDTH) {
+            return LLVMI128.fromLong(from);
+        }
         return new LLVMVarBitByteArray(bits, ByteBuffer.allocate(Byte.BYTES).put(from).array());
     }
 
     public static LLVMIVarBit fromShort(int bits, short from) {
+        if (bits == LLVMI128.BIT_WIDTH) {
+            return LLVMI128.fromLong(from);
+        }
         return new LLVMVarBitByteArray(bits, ByteBuffer.allocate(Short.BYTES).putShort(from).array());
     }
 
     public static LLVMIVarBit fromInt(int bits, int from) {
+        if (bits == LLVMI128.BIT_WIDTH) {
+            return LLVMI128.fromLong(from);
+        }
         return new LLVMVarBitByteArray(bits, ByteBuffer.allocate(Integer.BYTES).putInt(from).array());
     }
 
     public static LLVMIVarBit fromLong(int bits, long from) {
+        if (bits == LLVMI128.BIT_WIDTH) {
+            return LLVMI128.fromLong(from);
+        }
         return create(bits, ByteBuffer.allocate(Long.BYTES).putLong(from).array());
     }
 
@@ -135,6 +156,10 @@ public abstract class LLVMIVarBit {
 
     public abstract int compare(LLVMIVarBit other);
 
+    public abstract int signedCompare(LLVMIVarBit other);
+
+    public abstract int unsignedCompare(LLVMIVarBit other);
+
     private static final class LLVMVarBitByteArray extends LLVMIVarBit {
 
         // big endian, e.g., arr[0] is most significant byte
@@ -335,6 +360,18 @@ public abstract class LLVMIVarBit {
             return 0;
         }
 
+        @Override
+        @TruffleBoundary
+        public int signedCompare(LLVMIVarBit other) {
+            return bigInt().compareTo(bigInt(other));
+        }
+
+        @Override
+        @TruffleBoundary
+        public int unsignedCompare(LLVMIVarBit other) {
+            return new BigInteger(1, arr).compareTo(new BigInteger(1, other.getBytes()));
+        }
+
         interface SimpleOp {
             byte op(byte a, byte b);
         }
@@ -393,7 +430,7 @@ public abstract class LLVMIVarBit {
                     Arrays.fill(newArr, 0, destPos, (byte) -1);
                 }
             }
-            return new LLVMVarBitByteArray(bitSize, newArr);
+            return create(bitSize, newArr);
         }
 
         @Override
@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.memory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+/**
+ * A <code>malloc</code> implementation on top of {@link LLVMHeap}, so that allocations of the
+ * executed program do not need a native call.
+ *
+ * Small requests are rounded up to a power-of-two size class and served from slabs. A slab holds
+ * blocks of a single size class and is owned by one thread, which allocates from it without
+ * synchronization: first from its local free list, then from the blocks that other threads freed
+ * into the slab, and finally with a bump pointer. When a slab is exhausted, its owner abandons it
+ * and starts a new one. Large and over-aligned requests are allocated directly. Every block is
+ * preceded by a header that holds the requested size and either the size class or the distance to
+ * the start of a direct allocation.
+ *
+ * Each slab counts its live blocks. A slab that is neither owned nor holds a live block is given
+ * back to the native heap, so are the slabs of a thread that exits with
+ * {@link #releaseThreadCache}.
+ *
+ * Pointers that do not come from this allocator, for example the result of a native
+ * <code>strdup</code>, are recognized by their address. The caller passes them on to the
+ * <code>free</code> and <code>realloc</code> of the C library, since they were not allocated with
+ * {@link sun.misc.Unsafe}.
+ */
+public final class LLVMAllocator {
+
+    private static final int HEADER_SIZE = 16;
+    private static final int SIZE_OFFSET = 0;
+    private static final int CLASS_OFFSET = 8;
+    private static final int MIN_ALIGNMENT = 16;
+
+    private static final int SMALLEST_CLASS_SHIFT = 4;
+    private static final int SIZE_CLASSES = 9;
+    private static final long LARGEST_CLASS_SIZE = 1L << (SMALLEST_CLASS_SHIFT + SIZE_CLASSES - 1);
+
+    private static final int SLAB_SHIFT = 18;
+    private static final long SLAB_SIZE = 1L << SLAB_SHIFT;
+    private static final int SLAB_HEADER_SIZE = 16;
+
+    /**
+     * The number of live blocks of a slab, plus {@link #OWNED} while a thread allocates from it.
+     */
+    private static final int STATE_OFFSET = 0;
+    private static final long OWNED = 1L << 62;
+
+    /**
+     * The list of blocks that threads other than the owner freed into a slab.
+     */
+    private static final int REMOTE_FREE_OFFSET = 8;
+
+    private static final int ENOMEM = 12;
+    private static final int EINVAL = 22;
+
+    private static final ThreadLocal<ThreadCache> CACHE = ThreadLocal.withInitial(ThreadCache::new);
+
+    private static final Object REGION_LOCK = new Object();
+
+    /**
+     * Start and end addresses of all slabs and direct allocations, sorted by address and used to
+     * tell the pointers of this allocator apart from natively allocated ones. The array is
+     * replaced as a whole when a region is added or removed.
+     */
+    private static volatile long[] regionBounds = new long[0];
+
+    private static final LongAdder REQUESTED_BYTES = new LongAdder();
+    private static final LongAdder BLOCK_BYTES = new LongAdder();
+    private static final LongAdder LIVE_BLOCKS = new LongAdder();
+    private static final LongAdder RESERVED_BYTES = new LongAdder();
+    private static final LongAdder ALLOCATIONS = new LongAdder();
+    private static final LongAdder NATIVE_FREES = new LongAdder();
+
+    private static final class ThreadCache {
+
+        private final long[] slabs = new long[SIZE_CLASSES];
+        private final long[] freeLists = new long[SIZE_CLASSES];
+        private final long[] bumpPointers = new long[SIZE_CLASSES];
+        private final long[] bumpEnds = new long[SIZE_CLASSES];
+
+        long allocateBlock(int sizeClass) {
+            long block = freeLists[sizeClass];
+            if (block == 0 && slabs[sizeClass] != 0) {
+                block = LLVMMemory.UNSAFE.getAndSetLong(null, slabs[sizeClass] + REMOTE_FREE_OFFSET, 0);
+            }
+            if (block != 0) {
+                freeLists[sizeClass] = getNextFree(block);
+            } else {
+                long blockSize = getBlockSize(sizeClass);
+                if (bumpEnds[sizeClass] - bumpPointers[sizeClass] < blockSize) {
+                    if (slabs[sizeClass] != 0) {
+                        abandonSlab(slabs[sizeClass]);
+                    }
+                    long slab = createSlab();
+                    slabs[sizeClass] = slab;
+                    bumpPointers[sizeClass] = alignUp(slab + SLAB_HEADER_SIZE, MIN_ALIGNMENT);
+                    bumpEnds[sizeClass] = slab + SLAB_SIZE;
+                }
+                block = bumpPointers[sizeClass];
+                bumpPointers[sizeClass] += blockSize;
+            }
+            LLVMMemory.UNSAFE.getAndAddLong(null, slabs[sizeClass] + STATE_OFFSET, 1);
+            return block;
+        }
+
+        /**
+         * Frees a block into the local free list if it belongs to a slab of this thread.
+         */
+        boolean freeLocalBlock(long block, int sizeClass, long slab) {
+            if (slabs[sizeClass] != slab) {
+                return false;
+            }
+            setNextFree(block, freeLists[sizeClass]);
+            freeLists[sizeClass] = block;
+            LLVMMemory.UNSAFE.getAndAddLong(null, slab + STATE_OFFSET, -1);
+            return true;
+        }
+
+        void release() {
+            for (int sizeClass = 0; sizeClass < SIZE_CLASSES; sizeClass++) {
+                if (slabs[sizeClass] != 0) {
+                    abandonSlab(slabs[sizeClass]);
+                }
+                slabs[sizeClass] = 0;
+                freeLists[sizeClass] = 0;
+                bumpPointers[sizeClass] = 0;
+                bumpEnds[sizeClass] = 0;
+            }
+        }
+
+    }
+
+    private LLVMAllocator() {
+    }
+
+    @TruffleBoundary
+    public static LLVMAddress malloc(long size) {
+        return LLVMAddress.fromLong(allocate(size, MIN_ALIGNMENT));
+    }
+
+    @TruffleBoundary
+    public static LLVMAddress calloc(long count, long size) {
+        long total;
+        try {
+            total = Math.multiplyExact(count, size);
+        } catch (ArithmeticException e) {
+            return LLVMAddress.NULL_POINTER;
+        }
+        long payload = allocate(total, MIN_ALIGNMENT);
+        if (payload != 0) {
+            LLVMMemory.UNSAFE.setMemory(payload, total, (byte) 0);
+        }
+        return LLVMAddress.fromLong(payload);
+    }
+
+    /**
+     * Resizes a block of this allocator, see {@link #isNativeAllocation}.
+     */
+    @TruffleBoundary
+    public static LLVMAddress realloc(LLVMAddress address, long size) {
+        long payload = address.getVal();
+        if (payload == 0) {
+            return malloc(size);
+        } else if (size == 0) {
+            free(address);
+            return LLVMAddress.NULL_POINTER;
+        }
+        assert findRegion(payload) != 0;
+        long block = payload - HEADER_SIZE;
+        long oldSize = LLVMMemory.UNSAFE.getLong(block + SIZE_OFFSET);
+        long sizeClass = LLVMMemory.UNSAFE.getLong(block + CLASS_OFFSET);
+        if (sizeClass >= 0 && size > 0 && size <= LARGEST_CLASS_SIZE && getSizeClass(size) == sizeClass) {
+            LLVMMemory.UNSAFE.putLong(block + SIZE_OFFSET, size);
+            REQUESTED_BYTES.add(size - oldSize);
+            return address;
+        }
+        long newPayload = allocate(size, MIN_ALIGNMENT);
+        if (newPayload != 0) {
+            LLVMMemory.UNSAFE.copyMemory(payload, newPayload, Math.min(oldSize, size));
+            free(address);
+        }
+        return LLVMAddress.fromLong(newPayload);
+    }
+
+    /**
+     * Frees a block of this allocator.
+     *
+     * @return <code>false</code> if the pointer does not come from this allocator, so that the
+     *         caller has to pass it on to the <code>free</code> of the C library
+     */
+    @TruffleBoundary
+    public static boolean free(LLVMAddress address) {
+        long payload = address.getVal();
+        if (payload == 0) {
+            return true;
+        }
+        long region = findRegion(payload);
+        if (region == 0) {
+            NATIVE_FREES.increment();
+            return false;
+        }
+        long block = payload - HEADER_SIZE;
+        long size = LLVMMemory.UNSAFE.getLong(block + SIZE_OFFSET);
+        long sizeClass = LLVMMemory.UNSAFE.getLong(block + CLASS_OFFSET);
+        REQUESTED_BYTES.add(-size);
+        LIVE_BLOCKS.decrement();
+        if (sizeClass >= 0) {
+            BLOCK_BYTES.add(-getBlockSize((int) sizeClass));
+            if (!CACHE.get().freeLocalBlock(block, (int) sizeClass, region)) {
+                freeRemoteBlock(block, region);
+            }
+        } else {
+            long start = payload + sizeClass;
+            long end = removeRegion(start);
+            BLOCK_BYTES.add(start - end);
+            RESERVED_BYTES.add(start - end);
+            LLVMMemory.UNSAFE.freeMemory(start);
+        }
+        return true;
+    }
+
+    /**
+     * Whether the pointer is not null and does not come from this allocator, so that it has to be
+     * resized with the <code>realloc</code> of the C library.
+     */
+    @TruffleBoundary
+    public static boolean isNativeAllocation(LLVMAddress address) {
+        long payload = address.getVal();
+        return payload != 0 && findRegion(payload) == 0;
+    }
+
+    /**
+     * Gives the slabs of the current thread up, so that they can be returned to the native heap
+     * once their blocks are freed. Has to be called when a thread of the program ends.
+     */
+    @TruffleBoundary
+    public static void releaseThreadCache() {
+        CACHE.get().release();
+        CACHE.remove();
+    }
+
+    /**
+     * Implements <code>int posix_memalign(void **memptr, size_t alignment, size_t size)</code>.
+     */
+    @TruffleBoundary
+    public static int posixMemalign(LLVMAddress memptr, long alignment, long size) {
+        if (alignment < Long.BYTES || Long.bitCount(alignment) != 1) {
+            return EINVAL;
+        }
+        long payload = allocate(size, alignment);
+        if (payload == 0) {
+            return ENOMEM;
+        }
+        LLVMMemory.putAddress(memptr, LLVMAddress.fromLong(payload));
+        return 0;
+    }
+
+    private static long allocate(long size, long alignment) {
+        if (size < 0) {
+            return 0;
+        }
+        long block;
+        long blockSize;
+        if (size <= LARGEST_CLASS_SIZE && alignment <= MIN_ALIGNMENT) {
+            int sizeClass = getSizeClass(size);
+            blockSize = getBlockSize(sizeClass);
+            block = CACHE.get().allocateBlock(sizeClass);
+            LLVMMemory.UNSAFE.putLong(block + CLASS_OFFSET, sizeClass);
+        } else {
+            blockSize = size + HEADER_SIZE + alignment;
+            long start = LLVMMemory.UNSAFE.allocateMemory(blockSize);
+            addRegion(start, start + blockSize);
+            RESERVED_BYTES.add(blockSize);
+            block = alignUp(start + HEADER_SIZE, alignment) - HEADER_SIZE;
+            LLVMMemory.UNSAFE.putLong(block + CLASS_OFFSET, start - (block + HEADER_SIZE));
+        }
+        LLVMMemory.UNSAFE.putLong(block + SIZE_OFFSET, size);
+        REQUESTED_BYTES.add(size);
+        BLOCK_BYTES.add(blockSize);
+        LIVE_BLOCKS.increment();
+        ALLOCATIONS.increment();
+        return block + HEADER_SIZE;
+    }
+
+    private static long createSlab() {
+        long slab = LLVMMemory.UNSAFE.allocateMemory(SLAB_SIZE);
+        LLVMMemory.UNSAFE.putLong(slab + STATE_OFFSET, OWNED);
+        LLVMMemory.UNSAFE.putLong(slab + REMOTE_FREE_OFFSET, 0);
+        addRegion(slab, slab + SLAB_SIZE);
+        RESERVED_BYTES.add(SLAB_SIZE);
+        return slab;
+    }
+
+    private static void abandonSlab(long slab) {
+        if (LLVMMemory.UNSAFE.getAndAddLong(null, slab + STATE_OFFSET, -OWNED) == OWNED) {
+            releaseSlab(slab);
+        }
+    }
+
+    private static void freeRemoteBlock(long block, long slab) {
+        long head;
+        do {
+            head = LLVMMemory.UNSAFE.getLongVolatile(null, slab + REMOTE_FREE_OFFSET);
+            setNextFree(block, head);
+        } while (!LLVMMemory.UNSAFE.compareAndSwapLong(null, slab + REMOTE_FREE_OFFSET, head, block));
+        // the block is only counted as free once it is in the list, so that the slab cannot be
+        // released while the list is modified
+        if (LLVMMemory.UNSAFE.getAndAddLong(null, slab + STATE_OFFSET, -1) == 1) {
+            releaseSlab(slab);
+        }
+    }
+
+    private static void releaseSlab(long slab) {
+        removeRegion(slab);
+        RESERVED_BYTES.add(-SLAB_SIZE);
+        LLVMMemory.UNSAFE.freeMemory(slab);
+    }
+
+    private static long getNextFree(long block) {
+        return LLVMMemory.UNSAFE.getLong(block + HEADER_SIZE);
+    }
+
+    private static void setNextFree(long block, long next) {
+        LLVMMemory.UNSAFE.putLong(block + HEADER_SIZE, next);
+    }
+
+    /**
+     * Returns the start of the slab or direct allocation that contains the address, or 0 if the
+     * address does not belong to this allocator.
+     */
+    private static long findRegion(long address) {
+        long[] bounds = regionBounds;
+        int index = findRegionIndex(bounds, address);
+        return index < 0 ? 0 : bounds[2 * index];
+    }
+
+    /**
+     * Returns the index of the region that contains the address, or <code>-(i + 1)</code> if the
+     * address is in none and <code>i</code> regions start below it.
+     */
+    private static int findRegionIndex(long[] bounds, long address) {
+        int low = 0;
+        int high = bounds.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (address < bounds[2 * mid]) {
+                high = mid - 1;
+            } else if (address >= bounds[2 * mid + 1]) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void addRegion(long start, long end) {
+        synchronized (REGION_LOCK) {
+            long[] oldBounds = regionBounds;
+            int offset = 2 * -(findRegionIndex(oldBounds, start) + 1);
+            long[] bounds = new long[oldBounds.length + 2];
+            System.arraycopy(oldBounds, 0, bounds, 0, offset);
+            bounds[offset] = start;
+            bounds[offset + 1] = end;
+            System.arraycopy(oldBounds, offset, bounds, offset + 2, oldBounds.length - offset);
+            regionBounds = bounds;
+        }
+    }
+
+    /**
+     * Removes the region that starts at the given address.
+     *
+     * @return the end of the region
+     */
+    private static long removeRegion(long start) {
+        synchronized (REGION_LOCK) {
+            long[] oldBounds = regionBounds;
+            int offset = 2 * findRegionIndex(oldBounds, start);
+            assert offset >= 0 && oldBounds[offset] == start;
+            long end = oldBounds[offset + 1];
+            long[] bounds = new long[oldBounds.length - 2];
+            System.arraycopy(oldBounds, 0, bounds, 0, offset);
+            System.arraycopy(oldBounds, offset + 2, bounds, offset, bounds.length - offset);
+            regionBounds = bounds;
+            return end;
+        }
+    }
+
+    private static int getSizeClass(long size) {
+        if (size <= 1L << SMALLEST_CLASS_SHIFT) {
+            return 0;
+        }
+        return Long.SIZE - Long.numberOfLeadingZeros(size - 1) - SMALLEST_CLASS_SHIFT;
+    }
+
+    private static long getBlockSize(int sizeClass) {
+        return HEADER_SIZE + (1L << (SMALLEST_CLASS_SHIFT + sizeClass));
+    }
+
+    private static long alignUp(long address, long alignment) {
+        return (address + alignment - 1) & -alignment;
+    }
+
+    /**
+     * The number of bytes the program currently holds, as requested by it.
+     */
+    public static long getLiveBytes() {
+        return REQUESTED_BYTES.sum();
+    }
+
+    public static long getLiveBlocks() {
+        return LIVE_BLOCKS.sum();
+    }
+
+    /**
+     * The number of bytes obtained from the native heap for slabs and direct allocations.
+     */
+    public static long getReservedBytes() {
+        return RESERVED_BYTES.sum();
+    }
+
+    public static long getAllocationCount() {
+        return ALLOCATIONS.sum();
+    }
+
+    /**
+     * The number of <code>free</code> calls that were passed on to the C library.
+     */
+    public static long getNativeFreeCount() {
+        return NATIVE_FREES.sum();
+    }
+
+    /**
+     * The fraction of the live blocks that is lost to headers and size class rounding.
+     */
+    public static double getInternalFragmentation() {
+        long blocks = BLOCK_BYTES.sum();
+        return blocks == 0 ? 0 : 1 - (double) REQUESTED_BYTES.sum() / blocks;
+    }
+
+    /**
+     * The fraction of the reserved memory that is not covered by live blocks, which includes the
+     * free blocks and the unused rest of the slabs.
+     */
+    public static double getExternalFragmentation() {
+        long reserved = RESERVED_BYTES.sum();
+        return reserved == 0 ? 0 : 1 - (double) BLOCK_BYTES.sum() / reserved;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.memory;
+
+import com.oracle.truffle.llvm.types.LLVMAddress;
+
+/**
+ * A single block of native memory for the global variables of a module. The layout is built first
+ * with {@link #reserve(long, long)}, which returns the offset of each variable, then the whole block
+ * is allocated with one call and released with one call.
+ */
+public final class LLVMGlobalArena {
+
+    private static final long MIN_ALIGNMENT = Long.BYTES;
+
+    private long size;
+    private long alignment = MIN_ALIGNMENT;
+    private long allocation;
+    private long base;
+
+    /**
+     * Reserves space for a variable. Every variable gets at least one byte, so that distinct
+     * globals have distinct addresses.
+     *
+     * @param bytes the size of the variable
+     * @param variableAlignment the alignment of the variable in bytes, a power of two
+     * @return the offset of the variable from the start of the arena
+     */
+    public long reserve(long bytes, long variableAlignment) {
+        assert allocation == 0 : "arena is already allocated";
+        assert Long.bitCount(variableAlignment) == 1;
+        long offset = alignUp(size, variableAlignment);
+        size = offset + Math.max(bytes, 1);
+        alignment = Math.max(alignment, variableAlignment);
+        return offset;
+    }
+
+    /**
+     * Allocates the arena with the largest alignment of its variables.
+     */
+    public void allocate() {
+        allocate(alignment);
+    }
+
+    /**
+     * Allocates the arena aligned to at least the given alignment, and rounds its size up to a
+     * multiple of it. This is used to place the arena on pages of its own.
+     */
+    public void allocate(long minimumAlignment) {
+        assert allocation == 0 : "arena is already allocated";
+        alignment = Math.max(alignment, minimumAlignment);
+        size = alignUp(size, alignment);
+        allocation = LLVMHeap.allocateZeroedMemory(size + alignment).getVal();
+        base = alignUp(allocation, alignment);
+    }
+
+    public LLVMAddress getAddress(long offset) {
+        assert allocation != 0 : "arena is not allocated";
+        assert offset >= 0 && offset < size;
+        return LLVMAddress.fromLong(base + offset);
+    }
+
+    public LLVMAddress getBase() {
+        return LLVMAddress.fromLong(base);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void free() {
+        if (allocation != 0) {
+            LLVMHeap.freeMemory(LLVMAddress.fromLong(allocation));
+            allocation = 0;
+            base = 0;
+        }
+    }
+
+    private static long alignUp(long value, long align) {
+        return (value + align - 1) & -align;
+    }
+
+}
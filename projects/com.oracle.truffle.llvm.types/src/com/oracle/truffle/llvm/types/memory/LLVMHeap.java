@@ -29,17 +29,18 @@
  */
 package com.oracle.truffle.llvm.types.memory;
 
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 
 public final class LLVMHeap extends LLVMMemory {
 
     public static LLVMAddress allocateCString(String string) {
         LLVMAddress baseAddress = LLVMHeap.allocateMemory(string.length() + 1);
-        LLVMAddress currentAddress = baseAddress;
+        long currentAddress = baseAddress.getVal();
         for (int i = 0; i < string.length(); i++) {
             byte c = (byte) string.charAt(i);
             LLVMMemory.putI8(currentAddress, c);
-            currentAddress = currentAddress.increment(1);
+            currentAddress += Byte.BYTES;
         }
         LLVMMemory.putI8(currentAddress, (byte) 0);
         return baseAddress;
@@ -56,10 +57,31 @@ public final class LLVMHeap extends LLVMMemory {
         return LLVMAddress.fromLong(allocateMemory);
     }
 
+    public static long getPageSize() {
+        return UNSAFE.pageSize();
+    }
+
     public static void freeMemory(LLVMAddress addr) {
         UNSAFE.freeMemory(extractAddrNullPointerAllowed(addr));
     }
 
+    /**
+     * Lengths up to this bound are small enough to be copied, moved or set with unrolled word
+     * accesses instead of a bulk {@link sun.misc.Unsafe} call.
+     */
+    public static final int MAX_UNROLLED_LENGTH = 64;
+
+    /**
+     * Byte pattern that replicates the lowest byte of a long into all of its bytes.
+     */
+    private static final long BYTE_PATTERN = 0x0101010101010101L;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    public static boolean isUnrollableLength(long length) {
+        return length >= 1 && length <= MAX_UNROLLED_LENGTH;
+    }
+
     public static void memCopy(LLVMAddress target, LLVMAddress source, long length) {
         long targetAddress = extractAddrNullPointerAllowed(target);
         long sourceAddress = extractAddrNullPointerAllowed(source);
@@ -67,8 +89,45 @@ public final class LLVMHeap extends LLVMMemory {
         UNSAFE.copyMemory(sourceAddress, targetAddress, length);
     }
 
-    public static void memCopy(LLVMAddress target, LLVMAddress source, long length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile) {
-        memCopy(target, source, length);
+    /**
+     * Copies with the alignment guarantee of <code>llvm.memcpy</code>: when both pointers are word
+     * aligned and the length is small, the copy is done with aligned long accesses. Volatile copies
+     * always go through the bulk copy so that none of the accesses can be removed.
+     */
+    public static void memCopy(LLVMAddress target, LLVMAddress source, long length, int align, boolean isVolatile) {
+        if (!isVolatile && align >= Long.BYTES && length <= MAX_UNROLLED_LENGTH) {
+            long targetAddress = extractAddr(target);
+            long sourceAddress = extractAddr(source);
+            long offset = copyWordsForward(targetAddress, sourceAddress, length);
+            copyBytesForward(targetAddress, sourceAddress, offset, length);
+        } else {
+            memCopy(target, source, length);
+        }
+    }
+
+    /**
+     * Copies a small constant number of bytes. The loops are exploded, so that a compiled copy is a
+     * straight sequence of long, int, short and byte accesses.
+     */
+    @ExplodeLoop
+    public static void memCopyUnrolled(LLVMAddress target, LLVMAddress source, int length) {
+        long targetAddress = extractAddr(target);
+        long sourceAddress = extractAddr(source);
+        int offset = 0;
+        for (; offset + Long.BYTES <= length; offset += Long.BYTES) {
+            UNSAFE.putLong(targetAddress + offset, UNSAFE.getLong(sourceAddress + offset));
+        }
+        if (length - offset >= Integer.BYTES) {
+            UNSAFE.putInt(targetAddress + offset, UNSAFE.getInt(sourceAddress + offset));
+            offset += Integer.BYTES;
+        }
+        if (length - offset >= Short.BYTES) {
+            UNSAFE.putShort(targetAddress + offset, UNSAFE.getShort(sourceAddress + offset));
+            offset += Short.BYTES;
+        }
+        if (offset < length) {
+            UNSAFE.putByte(targetAddress + offset, UNSAFE.getByte(sourceAddress + offset));
+        }
     }
 
     public static void memSet(LLVMAddress target, byte value, long length) {
@@ -76,21 +135,137 @@ public final class LLVMHeap extends LLVMMemory {
         UNSAFE.setMemory(targetAddress, length, value);
     }
 
-    public static void memSet(LLVMAddress target, byte value, long length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile) {
-        memSet(target, value, length);
+    /**
+     * Sets memory with the alignment guarantee of <code>llvm.memset</code>, see
+     * {@link #memCopy(LLVMAddress, LLVMAddress, long, int, boolean)}.
+     */
+    public static void memSet(LLVMAddress target, byte value, long length, int align, boolean isVolatile) {
+        if (!isVolatile && align >= Long.BYTES && length <= MAX_UNROLLED_LENGTH) {
+            long targetAddress = extractAddr(target);
+            long pattern = (value & BYTE_MASK) * BYTE_PATTERN;
+            long offset = 0;
+            for (; offset + Long.BYTES <= length; offset += Long.BYTES) {
+                UNSAFE.putLong(targetAddress + offset, pattern);
+            }
+            for (; offset < length; offset++) {
+                UNSAFE.putByte(targetAddress + offset, value);
+            }
+        } else {
+            memSet(target, value, length);
+        }
+    }
+
+    /**
+     * Sets a small constant number of bytes, see {@link #memCopyUnrolled}.
+     */
+    @ExplodeLoop
+    public static void memSetUnrolled(LLVMAddress target, byte value, int length) {
+        long targetAddress = extractAddr(target);
+        long pattern = (value & BYTE_MASK) * BYTE_PATTERN;
+        int offset = 0;
+        for (; offset + Long.BYTES <= length; offset += Long.BYTES) {
+            UNSAFE.putLong(targetAddress + offset, pattern);
+        }
+        if (length - offset >= Integer.BYTES) {
+            UNSAFE.putInt(targetAddress + offset, (int) pattern);
+            offset += Integer.BYTES;
+        }
+        if (length - offset >= Short.BYTES) {
+            UNSAFE.putShort(targetAddress + offset, (short) pattern);
+            offset += Short.BYTES;
+        }
+        if (offset < length) {
+            UNSAFE.putByte(targetAddress + offset, value);
+        }
     }
 
-    public static void memMove(LLVMAddress dest, LLVMAddress source, long length, @SuppressWarnings("unused") int align, @SuppressWarnings("unused") boolean isVolatile) {
+    @SuppressWarnings("unused")
+    public static void memMove(LLVMAddress dest, LLVMAddress source, long length, int align, boolean isVolatile) {
         memMove(dest, source, length);
     }
 
-    private static void memMove(LLVMAddress dest, LLVMAddress source, long length) {
-        byte[] bytes = new byte[(int) length];
-        for (int i = 0; i < length; i++) {
-            bytes[i] = LLVMMemory.getI8(source.increment(i));
+    /**
+     * Moves memory with <code>memmove</code> semantics. Disjoint ranges are copied in bulk. For
+     * overlapping ranges, the copy proceeds away from the overlap: chunks that are as large as the
+     * distance between the pointers cannot overlap and are still copied in bulk, smaller distances
+     * fall back to word and byte accesses in the right direction.
+     */
+    public static void memMove(LLVMAddress dest, LLVMAddress source, long length) {
+        long destAddress = extractAddrNullPointerAllowed(dest);
+        long sourceAddress = extractAddrNullPointerAllowed(source);
+        assert length == 0 || destAddress != 0 && sourceAddress != 0;
+        long distance = Math.abs(destAddress - sourceAddress);
+        if (distance == 0) {
+            return;
+        } else if (distance >= length) {
+            UNSAFE.copyMemory(sourceAddress, destAddress, length);
+        } else if (destAddress < sourceAddress) {
+            if (distance >= Long.BYTES) {
+                long offset = 0;
+                for (; offset + distance <= length; offset += distance) {
+                    UNSAFE.copyMemory(sourceAddress + offset, destAddress + offset, distance);
+                }
+                UNSAFE.copyMemory(sourceAddress + offset, destAddress + offset, length - offset);
+            } else {
+                long offset = copyWordsForward(destAddress, sourceAddress, length);
+                copyBytesForward(destAddress, sourceAddress, offset, length);
+            }
+        } else {
+            if (distance >= Long.BYTES) {
+                long end = length;
+                for (; end - distance >= 0; end -= distance) {
+                    UNSAFE.copyMemory(sourceAddress + end - distance, destAddress + end - distance, distance);
+                }
+                UNSAFE.copyMemory(sourceAddress, destAddress, end);
+            } else {
+                long end = length;
+                for (; end % Long.BYTES != 0; end--) {
+                    UNSAFE.putByte(destAddress + end - 1, UNSAFE.getByte(sourceAddress + end - 1));
+                }
+                for (; end > 0; end -= Long.BYTES) {
+                    UNSAFE.putLong(destAddress + end - Long.BYTES, UNSAFE.getLong(sourceAddress + end - Long.BYTES));
+                }
+            }
         }
-        for (int i = 0; i < length; i++) {
-            LLVMMemory.putI8(dest.increment(i), bytes[i]);
+    }
+
+    /**
+     * Moves a small constant number of bytes, see {@link #memCopyUnrolled}. Both directions are
+     * exploded and the direction is picked when the pointers are known.
+     */
+    @ExplodeLoop
+    public static void memMoveUnrolled(LLVMAddress dest, LLVMAddress source, int length) {
+        long destAddress = extractAddr(dest);
+        long sourceAddress = extractAddr(source);
+        int words = length / Long.BYTES * Long.BYTES;
+        if (destAddress <= sourceAddress) {
+            for (int offset = 0; offset < words; offset += Long.BYTES) {
+                UNSAFE.putLong(destAddress + offset, UNSAFE.getLong(sourceAddress + offset));
+            }
+            for (int offset = words; offset < length; offset++) {
+                UNSAFE.putByte(destAddress + offset, UNSAFE.getByte(sourceAddress + offset));
+            }
+        } else {
+            for (int offset = length - 1; offset >= words; offset--) {
+                UNSAFE.putByte(destAddress + offset, UNSAFE.getByte(sourceAddress + offset));
+            }
+            for (int offset = words - Long.BYTES; offset >= 0; offset -= Long.BYTES) {
+                UNSAFE.putLong(destAddress + offset, UNSAFE.getLong(sourceAddress + offset));
+            }
+        }
+    }
+
+    private static long copyWordsForward(long targetAddress, long sourceAddress, long length) {
+        long offset = 0;
+        for (; offset + Long.BYTES <= length; offset += Long.BYTES) {
+            UNSAFE.putLong(targetAddress + offset, UNSAFE.getLong(sourceAddress + offset));
+        }
+        return offset;
+    }
+
+    private static void copyBytesForward(long targetAddress, long sourceAddress, long from, long length) {
+        for (long offset = from; offset < length; offset++) {
+            UNSAFE.putByte(targetAddress + offset, UNSAFE.getByte(sourceAddress + offset));
         }
     }
 
@@ -34,6 +34,7 @@ import java.lang.reflect.Field;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.llvm.types.LLVMAddress;
+import com.oracle.truffle.llvm.types.LLVMI128;
 import com.oracle.truffle.llvm.types.LLVMIVarBit;
 import com.oracle.truffle.llvm.types.floating.LLVM80BitFloat;
 import com.oracle.truffle.llvm.types.vector.LLVMDoubleVector;
@@ -88,12 +89,18 @@ public abstract class LLVMMemory {
             CompilerDirectives.transferToInterpreter();
             throw new AssertionError();
         }
+        if (bitWidth == LLVMI128.BIT_WIDTH) {
+            long currentAddress = extractAddr(addr);
+            long low = UNSAFE.getLong(currentAddress);
+            long high = UNSAFE.getLong(currentAddress + Long.BYTES);
+            return LLVMI128.create(high, low);
+        }
         int bytes = bitWidth / Byte.SIZE;
         byte[] loadedBytes = new byte[bytes];
-        LLVMAddress currentAddress = addr;
+        long currentAddress = extractAddr(addr);
         for (int i = loadedBytes.length - 1; i >= 0; i--) {
-            loadedBytes[i] = getI8(currentAddress);
-            currentAddress = currentAddress.increment(Byte.BYTES);
+            loadedBytes[i] = UNSAFE.getByte(currentAddress);
+            currentAddress += Byte.BYTES;
         }
         return LLVMIVarBit.create(bitWidth, loadedBytes);
     }
@@ -112,10 +119,10 @@ public abstract class LLVMMemory {
 
     public static LLVM80BitFloat get80BitFloat(LLVMAddress addr) {
         byte[] bytes = new byte[LLVM80BitFloat.BYTE_WIDTH];
-        LLVMAddress currentAddress = addr;
+        long currentAddress = extractAddr(addr);
         for (int i = 0; i < bytes.length; i++) {
-            bytes[i] = getI8(currentAddress);
-            currentAddress = currentAddress.increment(Byte.BYTES);
+            bytes[i] = UNSAFE.getByte(currentAddress);
+            currentAddress += Byte.BYTES;
         }
         return LLVM80BitFloat.fromBytes(bytes);
     }
@@ -150,19 +157,25 @@ public abstract class LLVMMemory {
     }
 
     public static void putIVarBit(LLVMAddress addr, LLVMIVarBit value) {
+        if (value instanceof LLVMI128) {
+            long currentAddress = extractAddr(addr);
+            UNSAFE.putLong(currentAddress, ((LLVMI128) value).getLow());
+            UNSAFE.putLong(currentAddress + Long.BYTES, ((LLVMI128) value).getHigh());
+            return;
+        }
         byte[] bytes = value.getBytes();
-        LLVMAddress currentAddress = addr;
+        long currentAddress = extractAddr(addr);
         for (int i = bytes.length - 1; i >= 0; i--) {
-            putI8(currentAddress, bytes[i]);
-            currentAddress = currentAddress.increment(Byte.BYTES);
+            UNSAFE.putByte(currentAddress, bytes[i]);
+            currentAddress += Byte.BYTES;
         }
     }
 
     static void putByteArray(LLVMAddress addr, byte[] bytes) {
-        LLVMAddress currentAddress = addr;
+        long currentAddress = extractAddr(addr);
         for (int i = 0; i < bytes.length; i++) {
-            putI8(currentAddress, bytes[i]);
-            currentAddress = currentAddress.increment(Byte.BYTES);
+            UNSAFE.putByte(currentAddress, bytes[i]);
+            currentAddress += Byte.BYTES;
         }
     }
 
@@ -182,42 +195,216 @@ public abstract class LLVMMemory {
         UNSAFE.putAddress(extractAddr(addr), value.getVal());
     }
 
+    /*
+     * Accessors for raw addresses. They let code that walks over memory keep the address in a
+     * long instead of creating an LLVMAddress for every element.
+     */
+
+    public static boolean getI1(long addr) {
+        return UNSAFE.getByte(extractAddr(addr)) != 0;
+    }
+
+    public static byte getI8(long addr) {
+        return UNSAFE.getByte(extractAddr(addr));
+    }
+
+    public static short getI16(long addr) {
+        return UNSAFE.getShort(extractAddr(addr));
+    }
+
+    public static int getI32(long addr) {
+        return UNSAFE.getInt(extractAddr(addr));
+    }
+
+    public static long getI64(long addr) {
+        return UNSAFE.getLong(extractAddr(addr));
+    }
+
+    public static float getFloat(long addr) {
+        return UNSAFE.getFloat(extractAddr(addr));
+    }
+
+    public static double getDouble(long addr) {
+        return UNSAFE.getDouble(extractAddr(addr));
+    }
+
+    public static void putI1(long addr, boolean value) {
+        UNSAFE.putByte(extractAddr(addr), (byte) (value ? 1 : 0));
+    }
+
+    public static void putI8(long addr, byte value) {
+        UNSAFE.putByte(extractAddr(addr), value);
+    }
+
+    public static void putI16(long addr, short value) {
+        UNSAFE.putShort(extractAddr(addr), value);
+    }
+
+    public static void putI32(long addr, int value) {
+        UNSAFE.putInt(extractAddr(addr), value);
+    }
+
+    public static void putI64(long addr, long value) {
+        UNSAFE.putLong(extractAddr(addr), value);
+    }
+
+    public static void putFloat(long addr, float value) {
+        UNSAFE.putFloat(extractAddr(addr), value);
+    }
+
+    public static void putDouble(long addr, double value) {
+        UNSAFE.putDouble(extractAddr(addr), value);
+    }
+
+    private static long extractAddr(long addr) {
+        assert addr != 0;
+        return addr;
+    }
+
     public static LLVMI32Vector getI32Vector(LLVMAddress addr, int size) {
-        return LLVMI32Vector.createI32Vector(addr, size);
+        return LLVMI32Vector.readVectorFromMemory(addr, size);
     }
 
     public static LLVMI8Vector getI8Vector(LLVMAddress addr, int size) {
-        return LLVMI8Vector.createI8Vector(addr, size);
+        return LLVMI8Vector.readVectorFromMemory(addr, size);
     }
 
     public static LLVMI1Vector getI1Vector(LLVMAddress addr, int size) {
-        return LLVMI1Vector.createI1Vector(addr, size);
+        return LLVMI1Vector.readVectorFromMemory(addr, size);
     }
 
     public static LLVMI16Vector getI16Vector(LLVMAddress addr, int size) {
-        return LLVMI16Vector.createI16Vector(addr, size);
+        return LLVMI16Vector.readVectorFromMemory(addr, size);
     }
 
     public static LLVMI64Vector getI64Vector(LLVMAddress addr, int size) {
-        return LLVMI64Vector.createI64Vector(addr, size);
+        return LLVMI64Vector.readVectorFromMemory(addr, size);
     }
 
     public static LLVMFloatVector getFloatVector(LLVMAddress addr, int size) {
-        return LLVMFloatVector.createFloatVector(addr, size);
+        return LLVMFloatVector.readVectorFromMemory(addr, size);
     }
 
     public static LLVMDoubleVector getDoubleVector(LLVMAddress addr, int size) {
-        return LLVMDoubleVector.createDoubleVector(addr, size);
+        return LLVMDoubleVector.readVectorFromMemory(addr, size);
     }
 
     public static void putStruct(LLVMAddress address, LLVMAddress value, int structSize) {
         LLVMHeap.memCopy(address, value, structSize);
     }
 
-    // watch out for casts such as I32* to I32Vector* when changing the way how vectors are
-    // implemented
-    public static void putVector(LLVMAddress addr, LLVMVector<?> vector) {
-        LLVMHeap.memCopy(addr, vector.getAddress(), vector.getVectorByteSize());
+    public static void putVector(LLVMAddress addr, LLVMVector vector) {
+        vector.writeToMemory(addr);
+    }
+
+    /*
+     * Atomic accessors. The compare-and-swap methods return the value found in memory, which equals
+     * the expected value if the swap succeeded. Unsafe has no atomic operations on bytes and shorts,
+     * so these operate on the enclosing aligned int. The volatile accessors implement the atomic
+     * loads and stores.
+     */
+
+    private static final long WORD_ALIGNMENT_MASK = Integer.BYTES - 1;
+    private static final int I8_MASK = 0xFF;
+    private static final int I16_MASK = 0xFFFF;
+
+    public static byte compareAndSwapI8(LLVMAddress addr, byte expected, byte newValue) {
+        return (byte) compareAndSwapInWord(extractAddr(addr), Byte.SIZE, I8_MASK, expected, newValue);
+    }
+
+    public static short compareAndSwapI16(LLVMAddress addr, short expected, short newValue) {
+        return (short) compareAndSwapInWord(extractAddr(addr), Short.SIZE, I16_MASK, expected, newValue);
+    }
+
+    public static int compareAndSwapI32(LLVMAddress addr, int expected, int newValue) {
+        long address = extractAddr(addr);
+        while (true) {
+            int current = UNSAFE.getIntVolatile(null, address);
+            if (current != expected || UNSAFE.compareAndSwapInt(null, address, expected, newValue)) {
+                return current;
+            }
+        }
+    }
+
+    public static long compareAndSwapI64(LLVMAddress addr, long expected, long newValue) {
+        long address = extractAddr(addr);
+        while (true) {
+            long current = UNSAFE.getLongVolatile(null, address);
+            if (current != expected || UNSAFE.compareAndSwapLong(null, address, expected, newValue)) {
+                return current;
+            }
+        }
+    }
+
+    private static int compareAndSwapInWord(long address, int bits, int mask, int expected, int newValue) {
+        assert (address & (bits / Byte.SIZE - 1)) == 0 : "unaligned atomic access";
+        long wordAddress = address & ~WORD_ALIGNMENT_MASK;
+        // memory is little endian
+        int shift = (int) (address & WORD_ALIGNMENT_MASK) * Byte.SIZE;
+        int shiftedMask = mask << shift;
+        while (true) {
+            int word = UNSAFE.getIntVolatile(null, wordAddress);
+            int current = (word & shiftedMask) >>> shift;
+            if (current != (expected & mask)) {
+                return current;
+            }
+            int newWord = (word & ~shiftedMask) | ((newValue & mask) << shift);
+            if (UNSAFE.compareAndSwapInt(null, wordAddress, word, newWord)) {
+                return current;
+            }
+        }
+    }
+
+    public static int getAndAddI32(LLVMAddress addr, int delta) {
+        return UNSAFE.getAndAddInt(null, extractAddr(addr), delta);
+    }
+
+    public static long getAndAddI64(LLVMAddress addr, long delta) {
+        return UNSAFE.getAndAddLong(null, extractAddr(addr), delta);
+    }
+
+    public static int getAndSetI32(LLVMAddress addr, int value) {
+        return UNSAFE.getAndSetInt(null, extractAddr(addr), value);
+    }
+
+    public static long getAndSetI64(LLVMAddress addr, long value) {
+        return UNSAFE.getAndSetLong(null, extractAddr(addr), value);
+    }
+
+    public static byte getI8Volatile(LLVMAddress addr) {
+        return UNSAFE.getByteVolatile(null, extractAddr(addr));
+    }
+
+    public static short getI16Volatile(LLVMAddress addr) {
+        return UNSAFE.getShortVolatile(null, extractAddr(addr));
+    }
+
+    public static int getI32Volatile(LLVMAddress addr) {
+        return UNSAFE.getIntVolatile(null, extractAddr(addr));
+    }
+
+    public static long getI64Volatile(LLVMAddress addr) {
+        return UNSAFE.getLongVolatile(null, extractAddr(addr));
+    }
+
+    public static void putI8Volatile(LLVMAddress addr, byte value) {
+        UNSAFE.putByteVolatile(null, extractAddr(addr), value);
+    }
+
+    public static void putI16Volatile(LLVMAddress addr, short value) {
+        UNSAFE.putShortVolatile(null, extractAddr(addr), value);
+    }
+
+    public static void putI32Volatile(LLVMAddress addr, int value) {
+        UNSAFE.putIntVolatile(null, extractAddr(addr), value);
+    }
+
+    public static void putI64Volatile(LLVMAddress addr, long value) {
+        UNSAFE.putLongVolatile(null, extractAddr(addr), value);
+    }
+
+    public static void fullFence() {
+        UNSAFE.fullFence();
     }
 
 }
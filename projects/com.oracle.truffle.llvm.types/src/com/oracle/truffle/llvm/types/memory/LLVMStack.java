@@ -29,23 +29,53 @@
  */
 package com.oracle.truffle.llvm.types.memory;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.llvm.runtime.options.LLVMBaseOptionFacade;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 
 /**
  * Implements a stack that grows from the top to the bottom.
+ *
+ * The size is given by the StackSizeKB option. The memory is never touched when it is allocated, so
+ * the operating system only backs the pages that the program actually uses. Freed stacks are kept
+ * in a pool of StackPoolSize entries and reused by the next stack of the same size, so that
+ * creating a context or a thread does not map fresh memory.
  */
 public final class LLVMStack extends LLVMMemory {
 
-    private static final int STACK_SIZE_KB = 8192 * 10;
+    private static final int BYTES_PER_KB = 1024;
+
+    /**
+     * The memory of freed stacks that is available for reuse.
+     */
+    private static final Deque<StackRegion> pool = new ArrayDeque<>();
 
-    private static final int STACK_SIZE_BYTE = STACK_SIZE_KB * 1024;
+    private final long stackSize;
 
     @CompilationFinal private long lowerBounds;
     @CompilationFinal private long upperBounds;
     private boolean isFreed = true;
 
+    /**
+     * The stack pointer of the innermost Sulong function that called out to a foreign language, or
+     * the upper bounds if there is none. Foreign calls into Sulong start their frames below it.
+     */
+    private long stackPointer;
+
+    public LLVMStack() {
+        this((long) LLVMBaseOptionFacade.getStackSizeKB() * BYTES_PER_KB);
+    }
+
+    public LLVMStack(long stackSize) {
+        assert stackSize > 0;
+        this.stackSize = stackSize;
+    }
+
     /**
      * Allocates the stack memory.
      */
@@ -54,9 +84,10 @@ public final class LLVMStack extends LLVMMemory {
         if (!isFreed) {
             throw new AssertionError("previously not deallocated");
         }
-        final long stackAllocation = UNSAFE.allocateMemory(STACK_SIZE_BYTE);
+        final long stackAllocation = allocateRegion(stackSize);
         lowerBounds = stackAllocation;
-        upperBounds = stackAllocation + STACK_SIZE_BYTE;
+        upperBounds = stackAllocation + stackSize;
+        stackPointer = upperBounds;
         isFreed = false;
         return LLVMAddress.fromLong(upperBounds);
     }
@@ -69,12 +100,49 @@ public final class LLVMStack extends LLVMMemory {
         if (isFreed) {
             throw new AssertionError("already freed");
         }
-        UNSAFE.freeMemory(lowerBounds);
+        freeRegion(lowerBounds, stackSize);
         lowerBounds = 0;
         upperBounds = 0;
+        stackPointer = 0;
         isFreed = true;
     }
 
+    private static long allocateRegion(long size) {
+        synchronized (pool) {
+            Iterator<StackRegion> regions = pool.iterator();
+            while (regions.hasNext()) {
+                StackRegion region = regions.next();
+                if (region.size == size) {
+                    regions.remove();
+                    return region.address;
+                }
+            }
+        }
+        return UNSAFE.allocateMemory(size);
+    }
+
+    private static void freeRegion(long address, long size) {
+        synchronized (pool) {
+            if (pool.size() < LLVMBaseOptionFacade.getStackPoolSize()) {
+                pool.push(new StackRegion(address, size));
+                return;
+            }
+        }
+        UNSAFE.freeMemory(address);
+    }
+
+    private static final class StackRegion {
+
+        private final long address;
+
+        private final long size;
+
+        StackRegion(long address, long size) {
+            this.address = address;
+            this.size = size;
+        }
+    }
+
     public static final int NO_ALIGNMENT_REQUIREMENTS = 1;
 
     public static class AllocationResult {
@@ -131,6 +199,20 @@ public final class LLVMStack extends LLVMMemory {
         return LLVMAddress.fromLong(upperBounds);
     }
 
+    public LLVMAddress getStackPointer() {
+        return LLVMAddress.fromLong(stackPointer);
+    }
+
+    /**
+     * Sets the stack pointer for foreign calls into Sulong and returns the previous one, which the
+     * caller restores once the foreign call returned.
+     */
+    public LLVMAddress setStackPointer(LLVMAddress newStackPointer) {
+        long previous = stackPointer;
+        stackPointer = newStackPointer.getVal();
+        return LLVMAddress.fromLong(previous);
+    }
+
     public boolean isFreed() {
         return isFreed;
     }
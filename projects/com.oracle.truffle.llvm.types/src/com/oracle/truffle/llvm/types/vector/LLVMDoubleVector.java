@@ -29,68 +29,118 @@
  */
 package com.oracle.truffle.llvm.types.vector;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
-public final class LLVMDoubleVector extends LLVMVector<Double> {
+@ValueType
+public final class LLVMDoubleVector extends LLVMVector {
 
     private static final int DOUBLE_SIZE = 8;
 
-    protected LLVMDoubleVector(LLVMAddress addr, int nrElements) {
-        super(addr, nrElements);
+    private final double[] vector;
+
+    private LLVMDoubleVector(double[] vector) {
+        this.vector = vector;
+    }
+
+    public static LLVMDoubleVector create(double[] vector) {
+        return new LLVMDoubleVector(vector);
     }
 
-    public static LLVMDoubleVector fromDoubleArray(LLVMAddress target, double[] vals) {
-        LLVMAddress currentTarget = target;
-        for (int i = 0; i < vals.length; i++) {
-            LLVMMemory.putDouble(currentTarget, vals[i]);
-            currentTarget = currentTarget.increment(DOUBLE_SIZE);
+    public static LLVMDoubleVector readVectorFromMemory(LLVMAddress address, int size) {
+        double[] vector = new double[size];
+        long currentAddress = address.getVal();
+        for (int i = 0; i < size; i++) {
+            vector[i] = LLVMMemory.getDouble(currentAddress);
+            currentAddress += DOUBLE_SIZE;
         }
-        return new LLVMDoubleVector(target, vals.length);
+        return new LLVMDoubleVector(vector);
     }
 
     @Override
-    public int getElementByteSize() {
-        return DOUBLE_SIZE;
+    public void writeToMemory(LLVMAddress address) {
+        long currentAddress = address.getVal();
+        for (int i = 0; i < vector.length; i++) {
+            LLVMMemory.putDouble(currentAddress, vector[i]);
+            currentAddress += DOUBLE_SIZE;
+        }
     }
 
-    @Override
-    protected LLVMVector<Double> create(LLVMAddress addr, int length) {
-        return new LLVMDoubleVector(addr, length);
+    public LLVMDoubleVector add(LLVMDoubleVector right) {
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            double a = vector[i];
+            double b = right.vector[i];
+            result[i] = a + b;
+        }
+        return new LLVMDoubleVector(result);
     }
 
-    @Override
-    public Double getValue(LLVMAddress addr) {
-        return LLVMMemory.getDouble(addr);
+    public LLVMDoubleVector mul(LLVMDoubleVector right) {
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            double a = vector[i];
+            double b = right.vector[i];
+            result[i] = a * b;
+        }
+        return new LLVMDoubleVector(result);
     }
 
-    @Override
-    public void setValue(LLVMAddress addr, Double value) {
-        LLVMMemory.putDouble(addr, value);
+    public LLVMDoubleVector sub(LLVMDoubleVector right) {
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            double a = vector[i];
+            double b = right.vector[i];
+            result[i] = a - b;
+        }
+        return new LLVMDoubleVector(result);
+    }
+
+    public LLVMDoubleVector div(LLVMDoubleVector right) {
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            double a = vector[i];
+            double b = right.vector[i];
+            result[i] = a / b;
+        }
+        return new LLVMDoubleVector(result);
     }
 
-    public static LLVMDoubleVector createDoubleVector(LLVMAddress addr, int size) {
-        return new LLVMDoubleVector(addr, size);
+    public LLVMDoubleVector rem(LLVMDoubleVector right) {
+        double[] result = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            double a = vector[i];
+            double b = right.vector[i];
+            result[i] = a % b;
+        }
+        return new LLVMDoubleVector(result);
     }
 
-    public LLVMDoubleVector add(LLVMAddress addr, LLVMDoubleVector right) {
-        return performOperation(addr, right, (a, b) -> a + b);
+    public LLVMDoubleVector insert(double element, int index) {
+        double[] copy = Arrays.copyOf(vector, vector.length);
+        copy[index] = element;
+        return new LLVMDoubleVector(copy);
     }
 
-    public LLVMDoubleVector mul(LLVMAddress addr, LLVMDoubleVector right) {
-        return performOperation(addr, right, (a, b) -> a * b);
+    public double getValue(int index) {
+        return vector[index];
     }
 
-    public LLVMDoubleVector sub(LLVMAddress addr, LLVMDoubleVector right) {
-        return performOperation(addr, right, (a, b) -> a - b);
+    public double[] getValues() {
+        return Arrays.copyOf(vector, vector.length);
     }
 
-    public LLVMDoubleVector div(LLVMAddress addr, LLVMDoubleVector right) {
-        return performOperation(addr, right, (a, b) -> a / b);
+    @Override
+    public int getLength() {
+        return vector.length;
     }
 
-    public LLVMDoubleVector rem(LLVMAddress addr, LLVMDoubleVector right) {
-        return performOperation(addr, right, (a, b) -> a % b);
+    @Override
+    public int getElementByteSize() {
+        return DOUBLE_SIZE;
     }
 
 }
@@ -29,68 +29,118 @@
  */
 package com.oracle.truffle.llvm.types.vector;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
-public final class LLVMFloatVector extends LLVMVector<Float> {
+@ValueType
+public final class LLVMFloatVector extends LLVMVector {
 
     private static final int FLOAT_SIZE = 4;
 
-    protected LLVMFloatVector(LLVMAddress addr, int nrElements) {
-        super(addr, nrElements);
+    private final float[] vector;
+
+    private LLVMFloatVector(float[] vector) {
+        this.vector = vector;
+    }
+
+    public static LLVMFloatVector create(float[] vector) {
+        return new LLVMFloatVector(vector);
     }
 
-    public static LLVMFloatVector fromFloatArray(LLVMAddress target, float[] vals) {
-        LLVMAddress currentTarget = target;
-        for (int i = 0; i < vals.length; i++) {
-            LLVMMemory.putFloat(currentTarget, vals[i]);
-            currentTarget = currentTarget.increment(FLOAT_SIZE);
+    public static LLVMFloatVector readVectorFromMemory(LLVMAddress address, int size) {
+        float[] vector = new float[size];
+        long currentAddress = address.getVal();
+        for (int i = 0; i < size; i++) {
+            vector[i] = LLVMMemory.getFloat(currentAddress);
+            currentAddress += FLOAT_SIZE;
         }
-        return new LLVMFloatVector(target, vals.length);
+        return new LLVMFloatVector(vector);
     }
 
     @Override
-    public int getElementByteSize() {
-        return FLOAT_SIZE;
+    public void writeToMemory(LLVMAddress address) {
+        long currentAddress = address.getVal();
+        for (int i = 0; i < vector.length; i++) {
+            LLVMMemory.putFloat(currentAddress, vector[i]);
+            currentAddress += FLOAT_SIZE;
+        }
     }
 
-    @Override
-    protected LLVMVector<Float> create(LLVMAddress addr, int length) {
-        return new LLVMFloatVector(addr, length);
+    public LLVMFloatVector add(LLVMFloatVector right) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            float a = vector[i];
+            float b = right.vector[i];
+            result[i] = a + b;
+        }
+        return new LLVMFloatVector(result);
     }
 
-    @Override
-    public Float getValue(LLVMAddress addr) {
-        return LLVMMemory.getFloat(addr);
+    public LLVMFloatVector mul(LLVMFloatVector right) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            float a = vector[i];
+            float b = right.vector[i];
+            result[i] = a * b;
+        }
+        return new LLVMFloatVector(result);
     }
 
-    @Override
-    public void setValue(LLVMAddress addr, Float value) {
-        LLVMMemory.putFloat(addr, value);
+    public LLVMFloatVector sub(LLVMFloatVector right) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            float a = vector[i];
+            float b = right.vector[i];
+            result[i] = a - b;
+        }
+        return new LLVMFloatVector(result);
+    }
+
+    public LLVMFloatVector div(LLVMFloatVector right) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            float a = vector[i];
+            float b = right.vector[i];
+            result[i] = a / b;
+        }
+        return new LLVMFloatVector(result);
     }
 
-    public static LLVMFloatVector createFloatVector(LLVMAddress addr, int size) {
-        return new LLVMFloatVector(addr, size);
+    public LLVMFloatVector rem(LLVMFloatVector right) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            float a = vector[i];
+            float b = right.vector[i];
+            result[i] = a % b;
+        }
+        return new LLVMFloatVector(result);
     }
 
-    public LLVMFloatVector add(LLVMAddress addr, LLVMFloatVector right) {
-        return performOperation(addr, right, (a, b) -> a + b);
+    public LLVMFloatVector insert(float element, int index) {
+        float[] copy = Arrays.copyOf(vector, vector.length);
+        copy[index] = element;
+        return new LLVMFloatVector(copy);
     }
 
-    public LLVMFloatVector mul(LLVMAddress addr, LLVMFloatVector right) {
-        return performOperation(addr, right, (a, b) -> a * b);
+    public float getValue(int index) {
+        return vector[index];
     }
 
-    public LLVMFloatVector sub(LLVMAddress addr, LLVMFloatVector right) {
-        return performOperation(addr, right, (a, b) -> a - b);
+    public float[] getValues() {
+        return Arrays.copyOf(vector, vector.length);
     }
 
-    public LLVMFloatVector div(LLVMAddress addr, LLVMFloatVector right) {
-        return performOperation(addr, right, (a, b) -> a / b);
+    @Override
+    public int getLength() {
+        return vector.length;
     }
 
-    public LLVMFloatVector rem(LLVMAddress addr, LLVMFloatVector right) {
-        return performOperation(addr, right, (a, b) -> a % b);
+    @Override
+    public int getElementByteSize() {
+        return FLOAT_SIZE;
     }
 
 }
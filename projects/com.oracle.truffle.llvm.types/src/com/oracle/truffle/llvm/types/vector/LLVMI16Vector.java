@@ -29,101 +29,199 @@
  */
 package com.oracle.truffle.llvm.types.vector;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
-public final class LLVMI16Vector extends LLVMVector<Short> {
+@ValueType
+public final class LLVMI16Vector extends LLVMVector {
 
     private static final int I16_SIZE = 2;
     private static final int MASK = 0xffff;
 
-    protected LLVMI16Vector(LLVMAddress addr, int nrElements) {
-        super(addr, nrElements);
+    private final short[] vector;
+
+    private LLVMI16Vector(short[] vector) {
+        this.vector = vector;
+    }
+
+    public static LLVMI16Vector create(short[] vector) {
+        return new LLVMI16Vector(vector);
     }
 
-    public static LLVMI16Vector fromI16Array(LLVMAddress target, short[] vals) {
-        LLVMAddress currentTarget = target;
-        for (int i = 0; i < vals.length; i++) {
-            LLVMMemory.putI16(currentTarget, vals[i]);
-            currentTarget = currentTarget.increment(I16_SIZE);
+    public static LLVMI16Vector readVectorFromMemory(LLVMAddress address, int size) {
+        short[] vector = new short[size];
+        long currentAddress = address.getVal();
+        for (int i = 0; i < size; i++) {
+            vector[i] = LLVMMemory.getI16(currentAddress);
+            currentAddress += I16_SIZE;
         }
-        return new LLVMI16Vector(target, vals.length);
+        return new LLVMI16Vector(vector);
     }
 
     @Override
-    public int getElementByteSize() {
-        return I16_SIZE;
+    public void writeToMemory(LLVMAddress address) {
+        long currentAddress = address.getVal();
+        for (int i = 0; i < vector.length; i++) {
+            LLVMMemory.putI16(currentAddress, vector[i]);
+            currentAddress += I16_SIZE;
+        }
     }
 
-    @Override
-    protected LLVMVector<Short> create(LLVMAddress addr, int length) {
-        return new LLVMI16Vector(addr, length);
+    public LLVMI16Vector add(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a + b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    @Override
-    public Short getValue(LLVMAddress addr) {
-        return LLVMMemory.getI16(addr);
+    public LLVMI16Vector mul(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a * b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    @Override
-    public void setValue(LLVMAddress addr, Short value) {
-        LLVMMemory.putI16(addr, value);
+    public LLVMI16Vector sub(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a - b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public static LLVMI16Vector createI16Vector(LLVMAddress addr, int size) {
-        return new LLVMI16Vector(addr, size);
+    public LLVMI16Vector div(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a / b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector add(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a + b));
+    public LLVMI16Vector rem(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a % b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector mul(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a * b));
+    public LLVMI16Vector and(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a & b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector sub(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a - b));
+    public LLVMI16Vector or(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a | b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector div(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a / b));
+    public LLVMI16Vector leftShift(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a << b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector rem(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a % b));
+    public LLVMI16Vector logicalRightShift(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) ((a & MASK) >>> b);
+        }
+        return new LLVMI16Vector(result);
+    }
+
+    public LLVMI16Vector arithmeticRightShift(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a >> b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector and(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a & b));
+    public LLVMI16Vector xor(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) (a ^ b);
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector or(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a | b));
+    public LLVMI16Vector udiv(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) ((a & MASK) / (b & MASK));
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector leftShift(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a << b));
+    public LLVMI16Vector urem(LLVMI16Vector right) {
+        short[] result = new short[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            short a = vector[i];
+            short b = right.vector[i];
+            result[i] = (short) ((a & MASK) % (b & MASK));
+        }
+        return new LLVMI16Vector(result);
     }
 
-    public LLVMI16Vector logicalRightShift(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a >>> b));
+    public LLVMI16Vector insert(short element, int index) {
+        short[] copy = Arrays.copyOf(vector, vector.length);
+        copy[index] = element;
+        return new LLVMI16Vector(copy);
     }
 
-    public LLVMI16Vector arithmeticRightShift(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a >> b));
+    public short getValue(int index) {
+        return vector[index];
     }
 
-    public LLVMI16Vector xor(LLVMAddress addr, LLVMI16Vector right) {
-        return performOperation(addr, right, (a, b) -> (short) (a ^ b));
+    public short[] getValues() {
+        return Arrays.copyOf(vector, vector.length);
     }
 
-    public LLVMI16Vector udiv(LLVMAddress target, LLVMI16Vector right) {
-        return performOperation(target, right, (a, b) -> (short) ((a & MASK) / (b & MASK)));
+    @Override
+    public int getLength() {
+        return vector.length;
     }
 
-    public LLVMI16Vector urem(LLVMAddress target, LLVMI16Vector right) {
-        return performOperation(target, right, (a, b) -> (short) ((a & MASK) % (b & MASK)));
+    @Override
+    public int getElementByteSize() {
+        return I16_SIZE;
     }
 
 }
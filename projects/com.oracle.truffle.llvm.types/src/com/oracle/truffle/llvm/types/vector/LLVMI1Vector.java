@@ -29,60 +29,98 @@
  */
 package com.oracle.truffle.llvm.types.vector;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
-public final class LLVMI1Vector extends LLVMVector<Boolean> {
+@ValueType
+public final class LLVMI1Vector extends LLVMVector {
 
     private static final int I1_SIZE = 1;
 
-    protected LLVMI1Vector(LLVMAddress addr, int nrElements) {
-        super(addr, nrElements);
+    private final boolean[] vector;
+
+    private LLVMI1Vector(boolean[] vector) {
+        this.vector = vector;
     }
 
-    public static LLVMI1Vector fromI1Array(LLVMAddress target, boolean[] vals) {
-        LLVMAddress currentTarget = target;
-        for (int i = 0; i < vals.length; i++) {
-            LLVMMemory.putI1(currentTarget, vals[i]);
-            currentTarget = currentTarget.increment(I1_SIZE);
+    public static LLVMI1Vector create(boolean[] vector) {
+        return new LLVMI1Vector(vector);
+    }
+
+    public static LLVMI1Vector readVectorFromMemory(LLVMAddress address, int size) {
+        boolean[] vector = new boolean[size];
+        long currentAddress = address.getVal();
+        for (int i = 0; i < size; i++) {
+            vector[i] = LLVMMemory.getI1(currentAddress);
+            currentAddress += I1_SIZE;
         }
-        return new LLVMI1Vector(target, vals.length);
+        return new LLVMI1Vector(vector);
     }
 
     @Override
-    public int getElementByteSize() {
-        return I1_SIZE;
+    public void writeToMemory(LLVMAddress address) {
+        long currentAddress = address.getVal();
+        for (int i = 0; i < vector.length; i++) {
+            LLVMMemory.putI1(currentAddress, vector[i]);
+            currentAddress += I1_SIZE;
+        }
     }
 
-    @Override
-    protected LLVMVector<Boolean> create(LLVMAddress addr, int length) {
-        return new LLVMI1Vector(addr, length);
+    public LLVMI1Vector and(LLVMI1Vector right) {
+        boolean[] result = new boolean[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            boolean a = vector[i];
+            boolean b = right.vector[i];
+            result[i] = a & b;
+        }
+        return new LLVMI1Vector(result);
     }
 
-    @Override
-    public Boolean getValue(LLVMAddress addr) {
-        return LLVMMemory.getI1(addr);
+    public LLVMI1Vector or(LLVMI1Vector right) {
+        boolean[] result = new boolean[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            boolean a = vector[i];
+            boolean b = right.vector[i];
+            result[i] = a | b;
+        }
+        return new LLVMI1Vector(result);
     }
 
-    @Override
-    public void setValue(LLVMAddress addr, Boolean value) {
-        LLVMMemory.putI1(addr, value);
+    public LLVMI1Vector xor(LLVMI1Vector right) {
+        boolean[] result = new boolean[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            boolean a = vector[i];
+            boolean b = right.vector[i];
+            result[i] = a ^ b;
+        }
+        return new LLVMI1Vector(result);
     }
 
-    public static LLVMI1Vector createI1Vector(LLVMAddress addr, int size) {
-        return new LLVMI1Vector(addr, size);
+    public LLVMI1Vector insert(boolean element, int index) {
+        boolean[] copy = Arrays.copyOf(vector, vector.length);
+        copy[index] = element;
+        return new LLVMI1Vector(copy);
     }
 
-    public LLVMI1Vector and(LLVMAddress target, LLVMI1Vector right) {
-        return performOperation(target, right, (a, b) -> a & b);
+    public boolean getValue(int index) {
+        return vector[index];
     }
 
-    public LLVMI1Vector or(LLVMAddress target, LLVMI1Vector right) {
-        return performOperation(target, right, (a, b) -> a | b);
+    public boolean[] getValues() {
+        return Arrays.copyOf(vector, vector.length);
     }
 
-    public LLVMI1Vector xor(LLVMAddress target, LLVMI1Vector right) {
-        return performOperation(target, right, (a, b) -> a ^ b);
+    @Override
+    public int getLength() {
+        return vector.length;
+    }
+
+    @Override
+    public int getElementByteSize() {
+        return I1_SIZE;
     }
 
 }
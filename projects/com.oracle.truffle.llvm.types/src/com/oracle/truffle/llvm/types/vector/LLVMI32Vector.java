@@ -29,100 +29,198 @@
  */
 package com.oracle.truffle.llvm.types.vector;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
-public final class LLVMI32Vector extends LLVMVector<Integer> {
+@ValueType
+public final class LLVMI32Vector extends LLVMVector {
 
     private static final int I32_SIZE = 4;
 
-    public static LLVMI32Vector fromI32Array(LLVMAddress target, int[] vals) {
-        LLVMAddress currentTarget = target;
-        for (int i = 0; i < vals.length; i++) {
-            LLVMMemory.putI32(currentTarget, vals[i]);
-            currentTarget = currentTarget.increment(I32_SIZE);
+    private final int[] vector;
+
+    private LLVMI32Vector(int[] vector) {
+        this.vector = vector;
+    }
+
+    public static LLVMI32Vector create(int[] vector) {
+        return new LLVMI32Vector(vector);
+    }
+
+    public static LLVMI32Vector readVectorFromMemory(LLVMAddress address, int size) {
+        int[] vector = new int[size];
+        long currentAddress = address.getVal();
+        for (int i = 0; i < size; i++) {
+            vector[i] = LLVMMemory.getI32(currentAddress);
+            currentAddress += I32_SIZE;
         }
-        return new LLVMI32Vector(target, vals.length);
+        return new LLVMI32Vector(vector);
     }
 
-    public LLVMI32Vector(LLVMAddress address, int nrElements) {
-        super(address, nrElements);
+    @Override
+    public void writeToMemory(LLVMAddress address) {
+        long currentAddress = address.getVal();
+        for (int i = 0; i < vector.length; i++) {
+            LLVMMemory.putI32(currentAddress, vector[i]);
+            currentAddress += I32_SIZE;
+        }
     }
 
-    public LLVMI32Vector add(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a + b);
+    public LLVMI32Vector add(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a + b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector mul(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a * b);
+    public LLVMI32Vector mul(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a * b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector sub(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a - b);
+    public LLVMI32Vector sub(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a - b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector div(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a / b);
+    public LLVMI32Vector div(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a / b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector divUnsigned(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> Integer.divideUnsigned(a, b));
+    public LLVMI32Vector divUnsigned(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = Integer.divideUnsigned(a, b);
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector rem(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a % b);
+    public LLVMI32Vector rem(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a % b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector remUnsigned(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> Integer.remainderUnsigned(a, b));
+    public LLVMI32Vector remUnsigned(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = Integer.remainderUnsigned(a, b);
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector and(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a & b);
+    public LLVMI32Vector and(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a & b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector or(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a | b);
+    public LLVMI32Vector or(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a | b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector leftShift(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a << b);
+    public LLVMI32Vector leftShift(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a << b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector logicalRightShift(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a >>> b);
+    public LLVMI32Vector logicalRightShift(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a >>> b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector arithmeticRightShift(LLVMAddress addr, LLVMI32Vector right) {
-        return performOperation(addr, right, (a, b) -> a >> b);
+    public LLVMI32Vector arithmeticRightShift(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a >> b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public LLVMI32Vector xor(LLVMAddress addr, LLVMI32Vector right) {
-        return (LLVMI32Vector) performOperation(addr, right, (a, b) -> a ^ b);
+    public LLVMI32Vector xor(LLVMI32Vector right) {
+        int[] result = new int[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            int a = vector[i];
+            int b = right.vector[i];
+            result[i] = a ^ b;
+        }
+        return new LLVMI32Vector(result);
     }
 
-    public static LLVMI32Vector createI32Vector(LLVMAddress addr, int size) {
-        return new LLVMI32Vector(addr, size);
+    public LLVMI32Vector insert(int element, int index) {
+        int[] copy = Arrays.copyOf(vector, vector.length);
+        copy[index] = element;
+        return new LLVMI32Vector(copy);
     }
 
-    @Override
-    public int getElementByteSize() {
-        return I32_SIZE;
+    public int getValue(int index) {
+        return vector[index];
     }
 
-    @Override
-    protected LLVMI32Vector create(LLVMAddress addr, int length) {
-        return new LLVMI32Vector(addr, length);
+    public int[] getValues() {
+        return Arrays.copyOf(vector, vector.length);
     }
 
     @Override
-    public Integer getValue(LLVMAddress addr) {
-        return LLVMMemory.getI32(addr);
+    public int getLength() {
+        return vector.length;
     }
 
     @Override
-    public void setValue(LLVMAddress address, Integer value) {
-        LLVMMemory.putI32(address, value);
+    public int getElementByteSize() {
+        return I32_SIZE;
     }
 
 }
@@ -29,100 +29,198 @@
  */
 package com.oracle.truffle.llvm.types.vector;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
-public final class LLVMI64Vector extends LLVMVector<Long> {
+@ValueType
+public final class LLVMI64Vector extends LLVMVector {
 
     private static final int I64_SIZE = 8;
 
-    protected LLVMI64Vector(LLVMAddress addr, int nrElements) {
-        super(addr, nrElements);
+    private final long[] vector;
+
+    private LLVMI64Vector(long[] vector) {
+        this.vector = vector;
+    }
+
+    public static LLVMI64Vector create(long[] vector) {
+        return new LLVMI64Vector(vector);
     }
 
-    public static LLVMI64Vector fromI64Array(LLVMAddress target, long[] vals) {
-        LLVMAddress currentTarget = target;
-        for (int i = 0; i < vals.length; i++) {
-            LLVMMemory.putI64(currentTarget, vals[i]);
-            currentTarget = currentTarget.increment(I64_SIZE);
+    public static LLVMI64Vector readVectorFromMemory(LLVMAddress address, int size) {
+        long[] vector = new long[size];
+        long currentAddress = address.getVal();
+        for (int i = 0; i < size; i++) {
+            vector[i] = LLVMMemory.getI64(currentAddress);
+            currentAddress += I64_SIZE;
         }
-        return new LLVMI64Vector(target, vals.length);
+        return new LLVMI64Vector(vector);
     }
 
     @Override
-    public int getElementByteSize() {
-        return I64_SIZE;
+    public void writeToMemory(LLVMAddress address) {
+        long currentAddress = address.getVal();
+        for (int i = 0; i < vector.length; i++) {
+            LLVMMemory.putI64(currentAddress, vector[i]);
+            currentAddress += I64_SIZE;
+        }
     }
 
-    @Override
-    protected LLVMVector<Long> create(LLVMAddress addr, int length) {
-        return new LLVMI64Vector(addr, length);
+    public LLVMI64Vector add(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a + b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    @Override
-    public Long getValue(LLVMAddress addr) {
-        return LLVMMemory.getI64(addr);
+    public LLVMI64Vector mul(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a * b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    @Override
-    public void setValue(LLVMAddress addr, Long value) {
-        LLVMMemory.putI64(addr, value);
+    public LLVMI64Vector sub(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a - b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public static LLVMI64Vector createI64Vector(LLVMAddress addr, int size) {
-        return new LLVMI64Vector(addr, size);
+    public LLVMI64Vector div(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a / b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector add(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a + b);
+    public LLVMI64Vector divUnsigned(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = Long.divideUnsigned(a, b);
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector mul(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a * b);
+    public LLVMI64Vector rem(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a % b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector sub(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a - b);
+    public LLVMI64Vector remUnsigned(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = Long.remainderUnsigned(a, b);
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector div(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a / b);
+    public LLVMI64Vector and(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a & b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector divUnsigned(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> Long.divideUnsigned(a, b));
+    public LLVMI64Vector or(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a | b;
+        }
+        return new LLVMI64Vector(result);
+    }
+
+    public LLVMI64Vector leftShift(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a << b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector rem(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a % b);
+    public LLVMI64Vector logicalRightShift(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a >>> b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector remUnsigned(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> Long.remainderUnsigned(a, b));
+    public LLVMI64Vector arithmeticRightShift(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a >> b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector and(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a & b);
+    public LLVMI64Vector xor(LLVMI64Vector right) {
+        long[] result = new long[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            long a = vector[i];
+            long b = right.vector[i];
+            result[i] = a ^ b;
+        }
+        return new LLVMI64Vector(result);
     }
 
-    public LLVMI64Vector or(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a | b);
+    public LLVMI64Vector insert(long element, int index) {
+        long[] copy = Arrays.copyOf(vector, vector.length);
+        copy[index] = element;
+        return new LLVMI64Vector(copy);
     }
 
-    public LLVMI64Vector leftShift(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a << b);
+    public long getValue(int index) {
+        return vector[index];
     }
 
-    public LLVMI64Vector logicalRightShift(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a >>> b);
+    public long[] getValues() {
+        return Arrays.copyOf(vector, vector.length);
     }
 
-    public LLVMI64Vector arithmeticRightShift(LLVMAddress addr, LLVMI64Vector right) {
-        return performOperation(addr, right, (a, b) -> a >> b);
+    @Override
+    public int getLength() {
+        return vector.length;
     }
 
-    public LLVMI64Vector xor(LLVMAddress addr, LLVMI64Vector right) {
-        return (LLVMI64Vector) performOperation(addr, right, (a, b) -> a ^ b);
+    @Override
+    public int getElementByteSize() {
+        return I64_SIZE;
     }
 
 }
@@ -29,92 +29,179 @@
  */
 package com.oracle.truffle.llvm.types.vector;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
 import com.oracle.truffle.llvm.types.memory.LLVMMemory;
 
-public final class LLVMI8Vector extends LLVMVector<Byte> {
+@ValueType
+public final class LLVMI8Vector extends LLVMVector {
+
+    private static final int I8_SIZE = 1;
+    private static final int MASK = 0xff;
 
-    private static final int I1_SIZE = 1;
+    private final byte[] vector;
 
-    protected LLVMI8Vector(LLVMAddress addr, int nrElements) {
-        super(addr, nrElements);
+    private LLVMI8Vector(byte[] vector) {
+        this.vector = vector;
     }
 
-    @Override
-    public int getElementByteSize() {
-        return I1_SIZE;
+    public static LLVMI8Vector create(byte[] vector) {
+        return new LLVMI8Vector(vector);
     }
 
-    @Override
-    protected LLVMVector<Byte> create(LLVMAddress addr, int length) {
-        return new LLVMI8Vector(addr, length);
+    public static LLVMI8Vector readVectorFromMemory(LLVMAddress address, int size) {
+        byte[] vector = new byte[size];
+        long currentAddress = address.getVal();
+        for (int i = 0; i < size; i++) {
+            vector[i] = LLVMMemory.getI8(currentAddress);
+            currentAddress += I8_SIZE;
+        }
+        return new LLVMI8Vector(vector);
     }
 
     @Override
-    public Byte getValue(LLVMAddress addr) {
-        return LLVMMemory.getI8(addr);
+    public void writeToMemory(LLVMAddress address) {
+        long currentAddress = address.getVal();
+        for (int i = 0; i < vector.length; i++) {
+            LLVMMemory.putI8(currentAddress, vector[i]);
+            currentAddress += I8_SIZE;
+        }
     }
 
-    @Override
-    public void setValue(LLVMAddress addr, Byte value) {
-        LLVMMemory.putI8(addr, value);
+    public LLVMI8Vector add(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a + b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public static LLVMI8Vector createI8Vector(LLVMAddress addr, int size) {
-        return new LLVMI8Vector(addr, size);
+    public LLVMI8Vector mul(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a * b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public static LLVMI8Vector fromI8Array(LLVMAddress target, byte[] vals) {
-        LLVMAddress currentTarget = target;
-        for (int i = 0; i < vals.length; i++) {
-            LLVMMemory.putI8(currentTarget, vals[i]);
-            currentTarget = currentTarget.increment(I1_SIZE);
+    public LLVMI8Vector sub(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a - b);
         }
-        return new LLVMI8Vector(target, vals.length);
+        return new LLVMI8Vector(result);
     }
 
-    public LLVMI8Vector add(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a + b));
+    public LLVMI8Vector div(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a / b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public LLVMI8Vector mul(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a * b));
+    public LLVMI8Vector rem(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a % b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public LLVMI8Vector sub(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a - b));
+    public LLVMI8Vector and(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a & b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public LLVMI8Vector div(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a / b));
+    public LLVMI8Vector or(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a | b);
+        }
+        return new LLVMI8Vector(result);
+    }
+
+    public LLVMI8Vector leftShift(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a << b);
+        }
+        return new LLVMI8Vector(result);
+    }
+
+    public LLVMI8Vector logicalRightShift(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) ((a & MASK) >>> b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public LLVMI8Vector rem(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a % b));
+    public LLVMI8Vector arithmeticRightShift(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a >> b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public LLVMI8Vector and(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a & b));
+    public LLVMI8Vector xor(LLVMI8Vector right) {
+        byte[] result = new byte[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            byte a = vector[i];
+            byte b = right.vector[i];
+            result[i] = (byte) (a ^ b);
+        }
+        return new LLVMI8Vector(result);
     }
 
-    public LLVMI8Vector or(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a | b));
+    public LLVMI8Vector insert(byte element, int index) {
+        byte[] copy = Arrays.copyOf(vector, vector.length);
+        copy[index] = element;
+        return new LLVMI8Vector(copy);
     }
 
-    public LLVMI8Vector leftShift(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a << b));
+    public byte getValue(int index) {
+        return vector[index];
     }
 
-    public LLVMI8Vector logicalRightShift(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a >>> b));
+    public byte[] getValues() {
+        return Arrays.copyOf(vector, vector.length);
     }
 
-    public LLVMI8Vector arithmeticRightShift(LLVMAddress addr, LLVMI8Vector right) {
-        return performOperation(addr, right, (a, b) -> (byte) (a >> b));
+    @Override
+    public int getLength() {
+        return vector.length;
     }
 
-    public LLVMI8Vector xor(LLVMAddress addr, LLVMI8Vector right) {
-        return (LLVMI8Vector) performOperation(addr, right, (a, b) -> (byte) (a ^ b));
+    @Override
+    public int getElementByteSize() {
+        return I8_SIZE;
     }
 
 }
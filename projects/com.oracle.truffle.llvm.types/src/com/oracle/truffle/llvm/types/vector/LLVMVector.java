@@ -31,20 +31,16 @@ package com.oracle.truffle.llvm.types.vector;
 
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 import com.oracle.truffle.llvm.types.LLVMAddress;
-import com.oracle.truffle.llvm.types.memory.LLVMHeap;
 
+/**
+ * A vector value whose elements are kept in a Java primitive array. Vectors are immutable, so
+ * every operation creates a new vector and native memory is only accessed when a vector is
+ * explicitly loaded from or stored to an address.
+ */
 @ValueType
-public abstract class LLVMVector<T> {
-
-    // TODO: lambdas and PE?
+public abstract class LLVMVector {
 
-    private final LLVMAddress address;
-    private final int nrElements;
-
-    protected LLVMVector(LLVMAddress addr, int nrElements) {
-        this.address = addr;
-        this.nrElements = nrElements;
-    }
+    public abstract int getLength();
 
     public abstract int getElementByteSize();
 
@@ -52,58 +48,6 @@ public abstract class LLVMVector<T> {
         return getElementByteSize() * getLength();
     }
 
-    public int getLength() {
-        return nrElements;
-    }
-
-    public LLVMAddress getAddress() {
-        return address;
-    }
-
-    public T getValue(int index) {
-        int offset = index * getElementByteSize();
-        LLVMAddress increment = address.increment(offset);
-        return getValue(increment);
-    }
-
-    protected abstract LLVMVector<T> create(LLVMAddress addr, int length);
-
-    public abstract T getValue(LLVMAddress addr);
-
-    public abstract void setValue(LLVMAddress addr, T value);
-
-    interface Operation<T> {
-        T op(T left, T right);
-    }
-
-    public <V extends LLVMVector<T>> V performOperation(LLVMAddress addr, LLVMVector<T> other, Operation<T> op) {
-        LLVMAddress currentAddr = addr;
-        for (int i = 0; i < getLength(); i++) {
-            T elementResult = op.op(getValue(i), other.getValue(i));
-            setValue(currentAddr, elementResult);
-            currentAddr = currentAddr.increment(getElementByteSize());
-        }
-        @SuppressWarnings("unchecked")
-        V result = (V) create(addr, getLength());
-        return result;
-    }
-
-    public <V extends LLVMVector<T>> V insert(LLVMAddress target, T element, int index) {
-        LLVMHeap.memCopy(target, getAddress(), getLength() * getElementByteSize());
-        LLVMAddress elementAddress = target.increment(index * getElementByteSize());
-        setValue(elementAddress, element);
-        @SuppressWarnings("unchecked")
-        V result = (V) create(target, getLength());
-        return result;
-    }
-
-    public T[] getValues() {
-        @SuppressWarnings("unchecked")
-        T[] values = (T[]) new Object[getLength()];
-        for (int i = 0; i < values.length; i++) {
-            values[i] = getValue(i);
-        }
-        return values;
-    }
+    public abstract void writeToMemory(LLVMAddress address);
 
 }
@@ -29,11 +29,17 @@
  */
 package com.oracle.truffle.llvm;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
 
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
@@ -58,6 +64,8 @@ import com.oracle.truffle.llvm.nodes.impl.base.LLVMContext;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
 import com.oracle.truffle.llvm.parser.LLVMParserResult;
 import com.oracle.truffle.llvm.parser.bc.impl.LLVMBitcodeVisitor;
+import com.oracle.truffle.llvm.parser.bc.impl.LLVMModuleCache;
+import com.oracle.truffle.llvm.parser.bc.impl.LLVMParsedModule;
 import com.oracle.truffle.llvm.parser.factories.NodeFactoryFacadeImpl;
 import com.oracle.truffle.llvm.parser.impl.LLVMVisitor;
 import com.oracle.truffle.llvm.runtime.LLVMLogger;
@@ -91,29 +99,31 @@ public class LLVM {
                 } else if (code.getMimeType().equals(LLVMLanguage.SULONG_LIBRARY_MIME_TYPE)) {
                     final SulongLibrary library = new SulongLibrary(new File(code.getPath()));
 
+                    final List<Supplier<LLVMParserResult>> members;
                     try {
-                        library.readContents(dependentLibrary -> {
+                        members = library.readContents(dependentLibrary -> {
                             throw new UnsupportedOperationException();
-                        }, source -> {
-                            LLVMParserResult parserResult;
-                            try {
-                                parserResult = parseString(source.getCode(), context);
-                            } catch (IOException e) {
-                                throw new UncheckedIOException(e);
-                            }
-                            handleParserResult(context, parserResult);
-                            if (parserResult.getMainFunction() != null) {
-                                throw new IllegalArgumentException("main function in library");
-                            }
-                        });
+                        }, (name, entry, contents) -> parseLibraryMember(name, entry, contents, context));
                     } catch (IOException e) {
                         throw new UncheckedIOException(e);
                     }
 
+                    // the node factories are not thread safe, so only parsing happens in parallel
+                    for (Supplier<LLVMParserResult> member : members) {
+                        LLVMParserResult parserResult = member.get();
+                        handleParserResult(context, parserResult);
+                        if (parserResult.getMainFunction() != null) {
+                            throw new IllegalArgumentException("main function in library");
+                        }
+                    }
+
                     mainFunction = Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(null));
                 } else {
                     throw new IllegalArgumentException("undeclared mime type");
                 }
+                if (LLVMBaseOptionFacade.preResolveNativeFunctions()) {
+                    context.preResolveNativeFunctions();
+                }
                 if (context.isParseOnly()) {
                     return Truffle.getRuntime().createCallTarget(RootNode.createConstantNode(mainFunction));
                 } else {
@@ -173,6 +183,7 @@ public class LLVM {
                         destructor.call();
                     }
                     context.getStack().free();
+                    context.getNativeCallbacks().dispose();
                 }
             }
         };
@@ -190,34 +201,85 @@ public class LLVM {
     }
 
     public static LLVMParserResult parseString(String source, LLVMContext context) throws IOException {
-        final File file = File.createTempFile("sulong", ".ll");
+        Model model = parseModel("sulong." + LLVMLanguage.LLVM_IR_EXTENSION, new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)));
+        return translateModel(model, context);
+    }
 
-        try {
-            try (FileOutputStream stream = new FileOutputStream(file.getPath())) {
-                stream.write(source.getBytes(StandardCharsets.UTF_8));
-            }
+    public static LLVMParserResult parseFile(String filePath, LLVMContext context) {
+        XtextResourceSet resourceSet = createResourceSet();
+        Resource resource = resourceSet.getResource(URI.createURI(filePath), true);
+        return translateModel(getModel(resource), context);
+    }
 
-            return parseFile(file.getPath(), context);
-        } finally {
-            file.delete();
+    /**
+     * Parses a member of a Sulong library straight from the archive. The returned supplier
+     * translates the member and must be called on the thread that owns the context.
+     */
+    private static Supplier<LLVMParserResult> parseLibraryMember(String name, ZipEntry entry, InputStream contents, LLVMContext context) throws IOException {
+        if (SulongLibrary.isBitcode(entry)) {
+            LLVMParsedModule module = LLVMModuleCache.getModule(readBitcode(entry, contents));
+            Source source = Source.fromText("", name).withMimeType(LLVMLanguage.LLVM_BITCODE_MIME_TYPE);
+            return () -> LLVMBitcodeVisitor.getMain(source, module, context, OPTIMIZATION_CONFIGURATION);
+        } else {
+            Model model = parseModel(name, contents);
+            return () -> translateModel(model, context);
         }
     }
 
-    public static LLVMParserResult parseFile(String filePath, LLVMContext context) {
-        LLVM_IRStandaloneSetup setup = new LLVM_IRStandaloneSetup();
-        Injector injector = setup.createInjectorAndDoEMFRegistration();
-        XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
+    private static ByteBuffer readBitcode(ZipEntry entry, InputStream contents) throws IOException {
+        if (entry.getSize() < 0 || entry.getSize() > Integer.MAX_VALUE) {
+            throw new IOException("unsupported size of " + entry.getName() + ": " + entry.getSize());
+        }
+        byte[] bitcode = new byte[(int) entry.getSize()];
+        new DataInputStream(contents).readFully(bitcode);
+        return ByteBuffer.wrap(bitcode);
+    }
+
+    private static Model parseModel(String name, InputStream contents) throws IOException {
+        XtextResourceSet resourceSet = createResourceSet();
+        Resource resource = resourceSet.createResource(URI.createURI(name));
+        resource.load(contents, resourceSet.getLoadOptions());
+        return getModel(resource);
+    }
+
+    private static XtextResourceSet createResourceSet() {
+        XtextResourceSet resourceSet = IRParser.getInjector().getInstance(XtextResourceSet.class);
         resourceSet.addLoadOption(XtextResource.OPTION_RESOLVE_ALL, Boolean.TRUE);
-        Resource resource = resourceSet.getResource(URI.createURI(filePath), true);
+        return resourceSet;
+    }
+
+    private static Model getModel(Resource resource) {
         EList<EObject> contents = resource.getContents();
         if (contents.size() == 0) {
             throw new IllegalStateException("empty file?");
         }
-        Model model = (Model) contents.get(0);
+        return (Model) contents.get(0);
+    }
+
+    private static LLVMParserResult translateModel(Model model, LLVMContext context) {
         LLVMVisitor llvmVisitor = new LLVMVisitor(OPTIMIZATION_CONFIGURATION, context.getMainArguments(), context.getSourceFile());
         return llvmVisitor.getMain(model, new NodeFactoryFacadeImpl(llvmVisitor));
     }
 
+    /**
+     * The language is registered with EMF once. Injectors share the parser, the linker, and other
+     * singletons that are not thread safe, and library members are parsed in parallel, so every
+     * thread gets an injector of its own.
+     */
+    private static final class IRParser {
+
+        static {
+            LLVM_IRStandaloneSetup.doSetup();
+        }
+
+        private static final ThreadLocal<Injector> INJECTORS = ThreadLocal.withInitial(() -> new LLVM_IRStandaloneSetup().createInjector());
+
+        static Injector getInjector() {
+            return INJECTORS.get();
+        }
+
+    }
+
     public static LLVMParserResult parseBitcodeFile(Source source, LLVMContext context) {
         return LLVMBitcodeVisitor.getMain(source, context, OPTIMIZATION_CONFIGURATION);
     }
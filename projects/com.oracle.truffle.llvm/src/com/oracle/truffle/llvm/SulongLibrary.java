@@ -29,21 +29,33 @@
  */
 package com.oracle.truffle.llvm;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
-import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.llvm.nodes.impl.base.LLVMLanguage;
 
+/**
+ * A zip archive of LLVM IR and bitcode files, optionally with a <code>libs</code> entry that lists
+ * the libraries the archive depends on.
+ *
+ * The members are read straight out of the archive. Since they do not depend on each other, they
+ * are parsed in parallel; the results are nevertheless handed back in archive order.
+ */
 public class SulongLibrary {
 
-    private static final int BUFFER_SIZE = 1024;
+    private static final String LIBRARIES_ENTRY = "libs";
 
     private File file;
 
@@ -51,46 +63,66 @@ public class SulongLibrary {
         this.file = file;
     }
 
-    public void readContents(Consumer<String> handleLibrary, Consumer<Source> handleSource) throws IOException {
-        final byte[] buffer = new byte[BUFFER_SIZE];
+    @FunctionalInterface
+    public interface MemberParser<T> {
+
+        /**
+         * Parses a single member. This is called concurrently for different members.
+         */
+        T parse(String name, ZipEntry entry, InputStream contents) throws IOException;
+
+    }
+
+    public <T> List<T> readContents(Consumer<String> handleLibrary, MemberParser<T> parseMember) throws IOException {
+        try (ZipFile zipFile = new ZipFile(file)) {
+            final List<ZipEntry> members = new ArrayList<>();
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
 
-        try (ZipInputStream zipStream = new ZipInputStream(new FileInputStream(file))) {
-            ZipEntry zipEntry = zipStream.getNextEntry();
+            while (entries.hasMoreElements()) {
+                final ZipEntry zipEntry = entries.nextElement();
 
-            while (zipEntry != null) {
                 if (zipEntry.isDirectory()) {
                     continue;
                 }
 
-                if (!(zipEntry.getName().equals("libs") || zipEntry.getName().endsWith(LLVMLanguage.LLVM_IR_EXTENSION))) {
-                    continue;
+                if (zipEntry.getName().equals(LIBRARIES_ENTRY)) {
+                    readLibraries(zipFile, zipEntry, handleLibrary);
+                } else if (isMember(zipEntry)) {
+                    members.add(zipEntry);
                 }
+            }
 
-                final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-
-                while (true) {
-                    final int read = zipStream.read(buffer);
-                    if (read == -1) {
-                        break;
-                    }
-                    byteStream.write(buffer, 0, read);
-                }
+            try {
+                return members.parallelStream().map(zipEntry -> parseMember(zipFile, zipEntry, parseMember)).collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
 
-                final String string = byteStream.toString("UTF-8");
+    public static boolean isBitcode(ZipEntry zipEntry) {
+        return zipEntry.getName().endsWith("." + LLVMLanguage.LLVM_BITCODE_EXTENSION);
+    }
 
-                if (zipEntry.getName().equals("libs")) {
-                    try (Scanner scanner = new Scanner(string)) {
-                        while (scanner.hasNextLine()) {
-                            handleLibrary.accept(scanner.nextLine());
-                        }
-                    }
-                } else {
-                    handleSource.accept(Source.fromText(string, file.getPath() + "@" + zipEntry.getName()));
-                }
+    private static boolean isMember(ZipEntry zipEntry) {
+        return isBitcode(zipEntry) || zipEntry.getName().endsWith("." + LLVMLanguage.LLVM_IR_EXTENSION);
+    }
 
-                zipEntry = zipStream.getNextEntry();
+    private static void readLibraries(ZipFile zipFile, ZipEntry zipEntry, Consumer<String> handleLibrary) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(zipFile.getInputStream(zipEntry), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                handleLibrary.accept(line);
             }
         }
     }
 
+    private <T> T parseMember(ZipFile zipFile, ZipEntry zipEntry, MemberParser<T> parseMember) {
+        try (InputStream stream = zipFile.getInputStream(zipEntry)) {
+            return parseMember.parse(file.getPath() + "@" + zipEntry.getName(), zipEntry, stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -30,79 +30,140 @@
 package uk.ac.man.cs.llvm.bc;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * Random access to the bits of a bitcode file. Bits are numbered from the least significant bit of
+ * the first byte on, which makes a little-endian 64-bit load of an aligned word return 64
+ * consecutive bits. Every read therefore needs at most two aligned word loads and a shift.
+ *
+ * Files are memory-mapped instead of being copied onto the Java heap.
+ */
 public class Bitstream {
 
     public static Bitstream create(String filename) {
-        return new Bitstream(read(filename));
+        return new Bitstream(map(filename));
     }
 
-    protected static byte[] read(String filename) {
-        try {
-            return Files.readAllBytes(Paths.get(filename));
-        } catch (IOException ignore) {
-            return new byte[0];
+    public static Bitstream create(ByteBuffer bitcode) {
+        return new Bitstream(bitcode);
+    }
+
+    /**
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static ByteBuffer map(String filename) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read the bitcode file " + filename, e);
         }
     }
 
     private static final long BYTE_MASK = 0xffL;
 
-    private final byte[] bitstream;
+    private static final int WORD_SHIFT = 6;
+
+    private static final int WORD_BYTES_SHIFT = 3;
+
+    private static final long WORD_BIT_MASK = Long.SIZE - 1L;
+
+    private final ByteBuffer bitstream;
+
+    /**
+     * The number of complete 64-bit words in the stream.
+     */
+    private final long words;
+
+    /**
+     * The incomplete last word, padded with zero bits.
+     */
+    private final long tail;
 
     protected Bitstream(byte[] bitstream) {
-        this.bitstream = bitstream;
+        this(ByteBuffer.wrap(bitstream));
+    }
+
+    protected Bitstream(ByteBuffer bitstream) {
+        this.bitstream = bitstream.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.words = this.bitstream.limit() >>> WORD_BYTES_SHIFT;
+        this.tail = readTail();
     }
 
     public long read(long offset, long bits) {
-        return read(offset) & ((1L << bits) - 1L);
+        final long index = offset >>> WORD_SHIFT;
+        final long shift = offset & WORD_BIT_MASK;
+        long value = word(index) >>> shift;
+        if (shift + bits > Long.SIZE) {
+            value |= word(index + 1) << (Long.SIZE - shift);
+        }
+        return value & mask(bits);
     }
 
+    /**
+     * Reads a variable bit rate value. The chunks are decoded from a single 64-bit window, which
+     * holds 10 chunks of a VBR6 and 8 chunks of a VBR8 value. Since almost all values in a module
+     * fit into the first chunk, that case is checked before anything else.
+     */
     public long readVBR(long offset, long width) {
+        final long dmask = 1L << (width - 1);
+        long window = read(offset, Long.SIZE);
+        if ((window & dmask) == 0) {
+            return window & (dmask - 1);
+        }
+
+        final long chunkMask = mask(width);
+        final long chunks = Long.SIZE / width;
         long value = 0;
         long shift = 0;
-        long datum;
-        long o = offset;
-        long dmask = 1 << (width - 1);
-        do {
-            datum = read(o, width);
-            o += width;
+        for (long i = 0; i < chunks; i++) {
+            long datum = window & chunkMask;
+            window >>>= width;
             value += (datum & (dmask - 1)) << shift;
             shift += width - 1;
-        } while ((datum & dmask) != 0);
-        return value;
+            if ((datum & dmask) == 0) {
+                return value;
+            }
+        }
+        // the value does not fit into the window
+        return value + (readVBR(offset + chunks * width, width) << shift);
     }
 
     public long size() {
-        return bitstream.length * Byte.SIZE;
+        return bitstream.limit() * (long) Byte.SIZE;
     }
 
     public long widthVBR(long value, long width) {
-        long total = 0;
-        long v = value;
-        do {
-            total += width;
-            v >>>= (width - 1);
-        } while (v != 0);
-        return total;
+        long bits = Long.SIZE - Long.numberOfLeadingZeros(value);
+        long chunks = (bits + width - 2) / (width - 1);
+        return Math.max(chunks, 1) * width;
     }
 
-    private long read(long offset) {
-        long div = offset / Byte.SIZE;
-        long value = 0;
-        for (int i = 0; i < Byte.SIZE; i++) {
-            value += readAlignedByte(div + i) << (i * Byte.SIZE);
+    private long word(long index) {
+        if (index < words) {
+            return bitstream.getLong((int) (index << WORD_BYTES_SHIFT));
+        } else if (index == words) {
+            return tail;
+        } else {
+            return 0;
         }
-        long mod = offset & (Byte.SIZE - 1L);
-        if (mod != 0) {
-            value >>>= mod;
-            value += readAlignedByte(div + Byte.SIZE) << (Long.SIZE - mod);
+    }
+
+    private long readTail() {
+        long value = 0;
+        int start = (int) (words << WORD_BYTES_SHIFT);
+        for (int i = start; i < bitstream.limit(); i++) {
+            value |= (bitstream.get(i) & BYTE_MASK) << ((i - start) * Byte.SIZE);
         }
         return value;
     }
 
-    private long readAlignedByte(long i) {
-        return i < bitstream.length ? bitstream[(int) i] & BYTE_MASK : 0;
+    private static long mask(long bits) {
+        return bits >= Long.SIZE ? -1L : (1L << bits) - 1L;
     }
 }
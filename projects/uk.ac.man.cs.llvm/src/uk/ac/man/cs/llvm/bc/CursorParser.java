@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2016, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.ac.man.cs.llvm.bc;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import uk.ac.man.cs.llvm.bc.blocks.Block;
+import uk.ac.man.cs.llvm.bc.records.UserRecordOperandType;
+
+/**
+ * A bitstream parser that keeps a single mutable cursor instead of creating a new {@link Parser}
+ * and {@link ParserResult} for every field it reads. The offset, the abbreviation tables and the
+ * stack of open blocks are all updated in place, so the only objects allocated while parsing are
+ * the operand arrays handed to the {@link ParserListener}s and the abbreviation definitions.
+ *
+ * The parser honours the same contracts as {@link Parser}: unknown blocks are skipped, every known
+ * block gets the listener returned by {@link ParserListener#enter(Block)} of its parent, and
+ * abbreviations defined in the {@link Block#BLOCKINFO} block apply to all subsequent blocks with
+ * the selected id.
+ */
+public final class CursorParser {
+
+    private static final int END_BLOCK = 0;
+    private static final int ENTER_SUBBLOCK = 1;
+    private static final int DEFINE_ABBREV = 2;
+    private static final int UNABBREV_RECORD = 3;
+
+    private static final int FIRST_APPLICATION_ABBREV = 4;
+
+    private static final long BLOCKINFO_SETBID = 1;
+
+    private static final int INITIAL_ID_SIZE = 2;
+
+    private static final int INITIAL_DEPTH = 16;
+
+    private static final int INITIAL_OPERANDS = 64;
+
+    private static final String CHAR6 = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789._";
+
+    private final Bitstream stream;
+
+    private long offset;
+
+    private int depth;
+
+    private Block[] blocks = new Block[INITIAL_DEPTH];
+
+    private ParserListener[] listeners = new ParserListener[INITIAL_DEPTH];
+
+    private long[] idsizes = new long[INITIAL_DEPTH];
+
+    private Abbreviation[][] localAbbreviations = new Abbreviation[INITIAL_DEPTH][];
+
+    private int[] localAbbreviationCounts = new int[INITIAL_DEPTH];
+
+    private Abbreviation[][] infoAbbreviations = new Abbreviation[0][];
+
+    private int[] infoAbbreviationCounts = new int[0];
+
+    private long infoBlockId;
+
+    private long[] operands = new long[INITIAL_OPERANDS];
+
+    private int operandCount;
+
+    public CursorParser(Bitstream stream, Block block, ParserListener listener) {
+        this.stream = Objects.requireNonNull(stream);
+        this.offset = 0;
+        this.depth = 0;
+        blocks[0] = Objects.requireNonNull(block);
+        listeners[0] = Objects.requireNonNull(listener);
+        idsizes[0] = INITIAL_ID_SIZE;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Parses abbreviation ids, blocks and records until the end of the bitstream is reached.
+     */
+    public void parse() {
+        final long size = stream.size();
+        while (offset < size) {
+            step();
+        }
+    }
+
+    /**
+     * Processes exactly one abbreviation id and everything it introduces.
+     */
+    public void step() {
+        int id = (int) read(idsizes[depth]);
+        switch (id) {
+            case END_BLOCK:
+                exitBlock();
+                break;
+            case ENTER_SUBBLOCK:
+                enterBlock();
+                break;
+            case DEFINE_ABBREV:
+                defineAbbreviation();
+                break;
+            case UNABBREV_RECORD:
+                readUnabbreviatedRecord();
+                break;
+            default:
+                readAbbreviatedRecord(getAbbreviation(id));
+                break;
+        }
+    }
+
+    public long read(long bits) {
+        long value = stream.read(offset, bits);
+        offset += bits;
+        return value;
+    }
+
+    public long read(Primitive primitive) {
+        if (primitive.isFixed()) {
+            return read(primitive.getBits());
+        } else {
+            return readVBR(primitive.getBits());
+        }
+    }
+
+    public long readVBR(long width) {
+        long value = stream.readVBR(offset, width);
+        offset += stream.widthVBR(value, width);
+        return value;
+    }
+
+    public char readChar() {
+        return CHAR6.charAt((int) read(Primitive.CHAR6.getBits()));
+    }
+
+    public void align(long bits) {
+        long mask = bits - 1;
+        if ((offset & mask) != 0) {
+            offset = (offset & ~mask) + bits;
+        }
+    }
+
+    private void enterBlock() {
+        long id = read(Primitive.SUBBLOCK_ID);
+        long idsize = read(Primitive.SUBBLOCK_ID_SIZE);
+        align(Integer.SIZE);
+        long size = read(Integer.SIZE);
+
+        Block subblock = Block.lookup(id);
+        if (subblock == null) {
+            // Cannot find block so just skip it
+            offset += size * Integer.SIZE;
+            return;
+        }
+
+        ParserListener listener = listeners[depth].enter(subblock);
+        push();
+        blocks[depth] = subblock;
+        listeners[depth] = listener;
+        idsizes[depth] = idsize;
+        localAbbreviationCounts[depth] = 0;
+        if (subblock == Block.BLOCKINFO) {
+            infoBlockId = 0;
+        }
+    }
+
+    private void exitBlock() {
+        if (depth == 0) {
+            throw new IllegalStateException("Malformed bitcode: END_BLOCK outside of a block at bit offset " + (offset - idsizes[depth]));
+        }
+        listeners[depth].exit();
+        align(Integer.SIZE);
+        // drop the references so that listeners of finished blocks can be collected
+        listeners[depth] = null;
+        Abbreviation[] local = localAbbreviations[depth];
+        if (local != null) {
+            Arrays.fill(local, 0, localAbbreviationCounts[depth], null);
+        }
+        depth--;
+    }
+
+    private void push() {
+        depth++;
+        if (depth == blocks.length) {
+            int newLength = blocks.length * 2;
+            blocks = Arrays.copyOf(blocks, newLength);
+            listeners = Arrays.copyOf(listeners, newLength);
+            idsizes = Arrays.copyOf(idsizes, newLength);
+            localAbbreviations = Arrays.copyOf(localAbbreviations, newLength);
+            localAbbreviationCounts = Arrays.copyOf(localAbbreviationCounts, newLength);
+        }
+    }
+
+    private void defineAbbreviation() {
+        long count = read(Primitive.ABBREVIATED_RECORD_OPERANDS);
+
+        UserRecordOperandType[] types = new UserRecordOperandType[(int) count];
+        long[] values = new long[(int) count];
+
+        for (int i = 0; i < count; i++) {
+            if (read(1) == 1) {
+                values[i] = read(Primitive.USER_OPERAND_LITERAL);
+                // a null type marks a literal
+            } else {
+                types[i] = UserRecordOperandType.decode(read(Primitive.USER_OPERAND_TYPE));
+                switch (types[i]) {
+                    case FIXED:
+                    case VBR:
+                        values[i] = read(Primitive.USER_OPERAND_DATA);
+                        break;
+                    case ARRAY:
+                    case CHAR6:
+                    case BLOB:
+                        break;
+                    default:
+                        throw new IllegalStateException("Illegal encoding");
+                }
+            }
+        }
+
+        Abbreviation abbreviation = new Abbreviation(types, values);
+        if (blocks[depth] == Block.BLOCKINFO) {
+            addInfoAbbreviation(infoBlockId, abbreviation);
+        } else {
+            addLocalAbbreviation(abbreviation);
+        }
+    }
+
+    private void addInfoAbbreviation(long blockId, Abbreviation abbreviation) {
+        int id = (int) blockId;
+        if (id >= infoAbbreviations.length) {
+            infoAbbreviations = Arrays.copyOf(infoAbbreviations, id + 1);
+            infoAbbreviationCounts = Arrays.copyOf(infoAbbreviationCounts, id + 1);
+        }
+        infoAbbreviations[id] = append(infoAbbreviations[id], infoAbbreviationCounts[id], abbreviation);
+        infoAbbreviationCounts[id]++;
+    }
+
+    private void addLocalAbbreviation(Abbreviation abbreviation) {
+        localAbbreviations[depth] = append(localAbbreviations[depth], localAbbreviationCounts[depth], abbreviation);
+        localAbbreviationCounts[depth]++;
+    }
+
+    private static Abbreviation[] append(Abbreviation[] array, int count, Abbreviation abbreviation) {
+        Abbreviation[] result = array;
+        if (result == null) {
+            result = new Abbreviation[INITIAL_DEPTH];
+        } else if (count == result.length) {
+            result = Arrays.copyOf(result, count * 2);
+        }
+        result[count] = abbreviation;
+        return result;
+    }
+
+    private Abbreviation getAbbreviation(int id) {
+        int index = id - FIRST_APPLICATION_ABBREV;
+        int blockId = blocks[depth].getId();
+        if (blockId >= 0 && blockId < infoAbbreviations.length) {
+            int infoCount = infoAbbreviationCounts[blockId];
+            if (index < infoCount) {
+                return infoAbbreviations[blockId][index];
+            }
+            index -= infoCount;
+        }
+        if (index >= localAbbreviationCounts[depth]) {
+            throw new IllegalStateException("Undefined abbreviation: " + id);
+        }
+        return localAbbreviations[depth][index];
+    }
+
+    private void readUnabbreviatedRecord() {
+        long id = read(Primitive.UNABBREVIATED_RECORD_ID);
+        long count = read(Primitive.UNABBREVIATED_RECORD_OPS);
+
+        long[] ops = new long[(int) count];
+        for (int i = 0; i < count; i++) {
+            ops[i] = read(Primitive.UNABBREVIATED_RECORD_OPERAND);
+        }
+
+        handleRecord(id, ops);
+    }
+
+    private void readAbbreviatedRecord(Abbreviation abbreviation) {
+        operandCount = 0;
+
+        final UserRecordOperandType[] types = abbreviation.types;
+        final long[] values = abbreviation.values;
+        int i = 0;
+        while (i < types.length) {
+            UserRecordOperandType type = types[i];
+            if (type == UserRecordOperandType.ARRAY) {
+                long length = read(Primitive.USER_OPERAND_ARRAY_LENGTH);
+                UserRecordOperandType elementType = types[i + 1];
+                long elementValue = values[i + 1];
+                for (long j = 0; j < length; j++) {
+                    addOperand(readScalar(elementType, elementValue));
+                }
+                i += 2;
+            } else if (type == UserRecordOperandType.BLOB) {
+                long length = read(Primitive.USER_OPERAND_ARRAY_LENGTH);
+                align(Integer.SIZE);
+                for (long j = 0; j < length; j++) {
+                    addOperand(read(Byte.SIZE));
+                }
+                align(Integer.SIZE);
+                i++;
+            } else {
+                addOperand(readScalar(type, values[i]));
+                i++;
+            }
+        }
+
+        handleRecord(operands[0], Arrays.copyOfRange(operands, 1, operandCount));
+    }
+
+    private long readScalar(UserRecordOperandType type, long value) {
+        if (type == null) {
+            return value;
+        }
+        switch (type) {
+            case FIXED:
+                return read(value);
+            case VBR:
+                return readVBR(value);
+            case CHAR6:
+                return readChar();
+            default:
+                throw new IllegalStateException("Illegal array element encoding: " + type);
+        }
+    }
+
+    private void addOperand(long value) {
+        if (operandCount == operands.length) {
+            operands = Arrays.copyOf(operands, operands.length * 2);
+        }
+        operands[operandCount++] = value;
+    }
+
+    private void handleRecord(long id, long[] ops) {
+        if (blocks[depth] == Block.BLOCKINFO && id == BLOCKINFO_SETBID) {
+            // SETBID selects which block subsequent abbreviations are assigned
+            infoBlockId = ops[0];
+        } else {
+            listeners[depth].record(id, ops);
+        }
+    }
+
+    private static final class Abbreviation {
+
+        /**
+         * The encoding of each operand, <code>null</code> for literals. An
+         * {@link UserRecordOperandType#ARRAY} entry is followed by the encoding of its elements.
+         */
+        private final UserRecordOperandType[] types;
+
+        /**
+         * The literal value or the bit width of each operand.
+         */
+        private final long[] values;
+
+        Abbreviation(UserRecordOperandType[] types, long[] values) {
+            this.types = types;
+            this.values = values;
+        }
+    }
+}
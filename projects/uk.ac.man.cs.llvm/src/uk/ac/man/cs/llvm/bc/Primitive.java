@@ -44,7 +44,7 @@ public enum Primitive {
     USER_OPERAND_ARRAY_LENGTH(false, 6),
     USER_OPERAND_DATA(false, 5),
     USER_OPERAND_LITERAL(false, 8),
-    USER_OPERAND_TYPE(false, 3);
+    USER_OPERAND_TYPE(true, 3);
 
     private final boolean isFixed;
 
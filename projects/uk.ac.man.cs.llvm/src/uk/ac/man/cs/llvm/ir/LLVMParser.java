@@ -29,10 +29,10 @@
  */
 package uk.ac.man.cs.llvm.ir;
 
+import java.nio.ByteBuffer;
+
 import uk.ac.man.cs.llvm.bc.Bitstream;
-import uk.ac.man.cs.llvm.bc.Operation;
-import uk.ac.man.cs.llvm.bc.Parser;
-import uk.ac.man.cs.llvm.bc.ParserResult;
+import uk.ac.man.cs.llvm.bc.CursorParser;
 import uk.ac.man.cs.llvm.bc.blocks.Block;
 import uk.ac.man.cs.llvm.ir.module.Module;
 import uk.ac.man.cs.llvm.ir.module.ModuleVersion;
@@ -52,23 +52,22 @@ public final class LLVMParser {
     }
 
     public void parse(ModuleVersion version, String bitcode) {
-        Bitstream stream = Bitstream.create(bitcode);
+        parse(version, Bitstream.create(bitcode));
+    }
 
-        Module module = version.createModule(generator.createModule());
+    public void parse(ModuleVersion version, ByteBuffer bitcode) {
+        parse(version, Bitstream.create(bitcode));
+    }
 
-        Parser parser = new Parser(stream, Block.ROOT, module);
+    private void parse(ModuleVersion version, Bitstream stream) {
+        Module module = version.createModule(generator.createModule());
 
-        ParserResult result = parser.read(Integer.SIZE);
-        parser = result.getParser();
+        CursorParser parser = new CursorParser(stream, Block.ROOT, module);
 
-        if (result.getValue() != MAGIC_WORD) {
+        if (parser.read(Integer.SIZE) != MAGIC_WORD) {
             generator.error("Illegal file (does not exist or contains no magic word)");
         }
 
-        while (parser.getOffset() < stream.size()) {
-            result = parser.readId();
-            Operation operation = parser.getOperation(result.getValue());
-            parser = operation.apply(result.getParser());
-        }
+        parser.parse();
     }
 }
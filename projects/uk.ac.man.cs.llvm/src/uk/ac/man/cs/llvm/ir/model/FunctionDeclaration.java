@@ -36,6 +36,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class FunctionDeclaration extends FunctionType implements Constant, ValueSymbol {
 
+    private static final long serialVersionUID = 1L;
+
     private String name = ValueSymbol.UNKNOWN;
 
     public FunctionDeclaration(FunctionType type) {
@@ -29,6 +29,9 @@
  */
 package uk.ac.man.cs.llvm.ir.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,11 +62,13 @@ import uk.ac.man.cs.llvm.ir.types.VectorType;
 
 public final class FunctionDefinition extends FunctionType implements Constant, FunctionGenerator, ValueSymbol {
 
-    private final Symbols symbols = new Symbols();
+    private static final long serialVersionUID = 1L;
+
+    private transient Symbols symbols = new Symbols();
 
     private final List<FunctionParameter> parameters = new ArrayList<>();
 
-    private InstructionBlock[] blocks = new InstructionBlock[0];
+    private transient InstructionBlock[] blocks = new InstructionBlock[0];
 
     private int currentBlock = 0;
 
@@ -145,6 +150,27 @@ public final class FunctionDefinition extends FunctionType implements Constant,
         return symbols;
     }
 
+    /**
+     * The body of a function is not part of its default serialized form but is written by the
+     * enclosing {@link ModelModule} after all function symbols. Otherwise every call to a function
+     * that has not been written yet would nest the serialization of its whole body.
+     */
+    void writeBody(ObjectOutputStream out) throws IOException {
+        out.writeObject(blocks);
+        out.writeObject(symbols);
+        for (InstructionBlock block : blocks) {
+            block.writeInstructions(out);
+        }
+    }
+
+    void readBody(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        blocks = (InstructionBlock[]) in.readObject();
+        symbols = (Symbols) in.readObject();
+        for (InstructionBlock block : blocks) {
+            block.readInstructions(in);
+        }
+    }
+
     @Override
     public void nameBlock(int index, String argName) {
         blocks[index].setName(argName);
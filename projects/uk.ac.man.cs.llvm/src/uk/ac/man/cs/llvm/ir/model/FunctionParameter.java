@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class FunctionParameter implements ValueSymbol {
 
+    private static final long serialVersionUID = 1L;
+
     private final Type type;
 
     private final int index;
@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public class GlobalVariable extends GlobalValueSymbol {
 
+    private static final long serialVersionUID = 1L;
+
     public GlobalVariable(Type type, int initialiser, int align) {
         super(type, initialiser, align);
     }
@@ -29,6 +29,9 @@
  */
 package uk.ac.man.cs.llvm.ir.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -70,11 +73,13 @@ import uk.ac.man.cs.llvm.ir.types.VectorType;
 
 public final class InstructionBlock implements InstructionGenerator, ValueSymbol {
 
+    private static final long serialVersionUID = 1L;
+
     private final FunctionDefinition method;
 
     private final int blockIndex;
 
-    private final List<Instruction> instructions = new ArrayList<>();
+    private transient List<Instruction> instructions = new ArrayList<>();
 
     private String name = ValueSymbol.UNKNOWN;
 
@@ -89,6 +94,21 @@ public final class InstructionBlock implements InstructionGenerator, ValueSymbol
         }
     }
 
+    void writeInstructions(ObjectOutputStream out) throws IOException {
+        out.writeInt(instructions.size());
+        for (Instruction instruction : instructions) {
+            out.writeObject(instruction);
+        }
+    }
+
+    void readInstructions(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        int count = in.readInt();
+        instructions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instructions.add((Instruction) in.readObject());
+        }
+    }
+
     private void addInstruction(Instruction element) {
         if (element instanceof ValueInstruction) {
             method.getSymbols().addSymbol(element);
@@ -29,10 +29,14 @@
  */
 package uk.ac.man.cs.llvm.ir.model;
 
+import java.io.Serializable;
+
 import uk.ac.man.cs.llvm.ir.ApplicationGenerator;
 import uk.ac.man.cs.llvm.ir.ModuleGenerator;
 
-public final class Model implements ApplicationGenerator {
+public final class Model implements ApplicationGenerator, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final ModelModule module = new ModelModule();
 
@@ -29,6 +29,10 @@
  */
 package uk.ac.man.cs.llvm.ir.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -54,7 +58,9 @@ import uk.ac.man.cs.llvm.ir.types.IntegerType;
 import uk.ac.man.cs.llvm.ir.types.Type;
 import uk.ac.man.cs.llvm.ir.types.VectorType;
 
-public final class ModelModule implements ModuleGenerator {
+public final class ModelModule implements ModuleGenerator, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final List<Type> types = new ArrayList<>();
 
@@ -86,6 +92,20 @@ public final class ModelModule implements ModuleGenerator {
         }
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (FunctionDefinition define : defines) {
+            define.writeBody(out);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        for (FunctionDefinition define : defines) {
+            define.readBody(in);
+        }
+    }
+
     @Override
     public void createBinaryOperationExpression(Type type, int opcode, int lhs, int rhs) {
         boolean isFloatingPoint = type instanceof FloatingPointType || (type instanceof VectorType && ((VectorType) type).getElementType() instanceof FloatingPointType);
@@ -29,9 +29,11 @@
  */
 package uk.ac.man.cs.llvm.ir.model;
 
+import java.io.Serializable;
+
 import uk.ac.man.cs.llvm.ir.types.Type;
 
-public interface Symbol {
+public interface Symbol extends Serializable {
 
     Type getType();
 
@@ -29,6 +29,7 @@
  */
 package uk.ac.man.cs.llvm.ir.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -37,7 +38,9 @@ import uk.ac.man.cs.llvm.ir.model.constants.Constant;
 import uk.ac.man.cs.llvm.ir.types.MetaType;
 import uk.ac.man.cs.llvm.ir.types.Type;
 
-public final class Symbols {
+public final class Symbols implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private static final int INITIAL_CAPACITY = 16;
 
@@ -131,6 +134,8 @@ public final class Symbols {
 
     private static class ForwardReference implements Symbol {
 
+        private static final long serialVersionUID = 1L;
+
         private final List<Symbol> dependents = new ArrayList<>();
 
         ForwardReference() {
@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public abstract class AbstractConstant implements Constant {
 
+    private static final long serialVersionUID = 1L;
+
     private final Type type;
 
     protected AbstractConstant(Type type) {
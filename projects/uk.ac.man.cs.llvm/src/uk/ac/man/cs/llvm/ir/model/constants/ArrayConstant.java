@@ -35,6 +35,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class ArrayConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final Constant[] values;
 
     public ArrayConstant(Constant value, int size) {
@@ -35,6 +35,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public class BinaryOperationConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final BinaryOperator operator;
 
     private final Symbol lhs;
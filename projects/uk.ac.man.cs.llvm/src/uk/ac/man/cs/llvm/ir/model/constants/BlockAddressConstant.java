@@ -34,6 +34,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public class BlockAddressConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol method;
 
     private final Symbol block;
@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.FloatingPointType;
 
 public class FloatingPointConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final long bits;
 
     public FloatingPointConstant(FloatingPointType type, long bits) {
@@ -37,6 +37,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public class GetElementPointerConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final boolean isInbounds;
 
     private Symbol base;
@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class InlineASMConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final String asm;
 
     public InlineASMConstant(Type type, String asm) {
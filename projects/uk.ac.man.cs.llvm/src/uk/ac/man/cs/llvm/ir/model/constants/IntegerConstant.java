@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.IntegerType;
 
 public final class IntegerConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final long value;
 
     public IntegerConstant(IntegerType type, long value) {
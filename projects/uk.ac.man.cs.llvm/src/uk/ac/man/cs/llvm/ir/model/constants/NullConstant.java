@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class NullConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     public NullConstant(Type type) {
         super(type);
     }
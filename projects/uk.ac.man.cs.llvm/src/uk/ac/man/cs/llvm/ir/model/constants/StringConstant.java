@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class StringConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final String value;
 
     private final boolean isCString;
@@ -34,6 +34,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class StructureConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final Constant[] values;
 
     public StructureConstant(StructureType type, Constant[] values) {
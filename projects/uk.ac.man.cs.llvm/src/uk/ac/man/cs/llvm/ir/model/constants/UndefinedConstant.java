@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class UndefinedConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     public UndefinedConstant(Type type) {
         super(type);
     }
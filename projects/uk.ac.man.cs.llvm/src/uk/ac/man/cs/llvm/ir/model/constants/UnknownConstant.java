@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class UnknownConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     public UnknownConstant(Type type) {
         super(type);
     }
@@ -35,6 +35,8 @@ import uk.ac.man.cs.llvm.ir.types.VectorType;
 
 public final class VectorConstant extends AbstractConstant {
 
+    private static final long serialVersionUID = 1L;
+
     private final Constant[] elements;
 
     public VectorConstant(VectorType type, Constant[] elements) {
@@ -36,6 +36,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class AllocateInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol count;
 
     private final int align;
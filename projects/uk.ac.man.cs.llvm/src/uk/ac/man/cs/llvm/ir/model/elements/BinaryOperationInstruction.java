@@ -37,6 +37,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class BinaryOperationInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final BinaryOperator operator;
 
     private final Flag[] flags;
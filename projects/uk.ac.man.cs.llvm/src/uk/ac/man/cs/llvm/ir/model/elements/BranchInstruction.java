@@ -34,6 +34,8 @@ import uk.ac.man.cs.llvm.ir.model.InstructionVisitor;
 
 public final class BranchInstruction implements VoidInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final InstructionBlock successor;
 
     public BranchInstruction(InstructionBlock successor) {
@@ -38,6 +38,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class CallInstruction extends ValueInstruction implements Call {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol target;
 
     private final List<Symbol> arguments = new ArrayList<>();
@@ -36,6 +36,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class CompareInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final CompareOperator operator;
 
     private Symbol lhs;
@@ -56,6 +56,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class ExtractElementInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol vector;
 
     private final Symbol index;
@@ -35,6 +35,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public class ExtractValueInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol aggregate;
 
     private final int index;
@@ -39,6 +39,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class GetElementPointerInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private Symbol base;
 
     private final List<Symbol> indices = new ArrayList<>();
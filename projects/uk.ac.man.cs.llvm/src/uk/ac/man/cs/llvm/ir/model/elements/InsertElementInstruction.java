@@ -35,6 +35,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class InsertElementInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol vector;
 
     private final Symbol index;
@@ -36,6 +36,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class LoadInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final int align;
 
     private final boolean isVolatile;
@@ -39,6 +39,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class PhiInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final List<Symbol> values = new ArrayList<>();
 
     private final List<InstructionBlock> blocks = new ArrayList<>();
@@ -35,6 +35,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public final class SelectInstruction extends ValueInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private Symbol condition;
 
     private Symbol trueValue;
@@ -34,6 +34,8 @@ import uk.ac.man.cs.llvm.ir.model.Symbol;
 
 public final class StoreInstruction implements VoidInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final int align;
 
     private final boolean isVolatile;
@@ -35,6 +35,8 @@ import uk.ac.man.cs.llvm.ir.model.Symbol;
 
 public final class SwitchInstruction implements VoidInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol condition;
 
     private final InstructionBlock defaultBlock;
@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.model.InstructionVisitor;
 
 public final class UnreachableInstruction implements VoidInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     public UnreachableInstruction() {
     }
 
@@ -34,6 +34,8 @@ import uk.ac.man.cs.llvm.ir.types.Type;
 
 public abstract class ValueInstruction implements Instruction, ValueSymbol {
 
+    private static final long serialVersionUID = 1L;
+
     private final Type type;
 
     public String name = ValueSymbol.UNKNOWN;
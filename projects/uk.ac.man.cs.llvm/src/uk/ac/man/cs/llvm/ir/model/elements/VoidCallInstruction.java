@@ -36,6 +36,8 @@ import uk.ac.man.cs.llvm.ir.model.Symbol;
 
 public final class VoidCallInstruction implements Call, VoidInstruction {
 
+    private static final long serialVersionUID = 1L;
+
     private final Symbol target;
 
     private final List<Symbol> arguments = new ArrayList<>();
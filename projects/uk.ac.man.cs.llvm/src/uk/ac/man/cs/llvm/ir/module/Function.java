@@ -36,6 +36,7 @@ import uk.ac.man.cs.llvm.bc.blocks.Block;
 import uk.ac.man.cs.llvm.bc.records.Records;
 import uk.ac.man.cs.llvm.ir.FunctionGenerator;
 import uk.ac.man.cs.llvm.ir.InstructionGenerator;
+import uk.ac.man.cs.llvm.ir.UnsupportedInstructionException;
 import uk.ac.man.cs.llvm.ir.module.records.FunctionRecord;
 import uk.ac.man.cs.llvm.ir.types.AggregateType;
 import uk.ac.man.cs.llvm.ir.types.ArrayType;
@@ -195,6 +196,15 @@ public class Function implements ParserListener {
                 createStore(args);
                 break;
 
+            case FENCE:
+            case CMPXCHG_OLD:
+            case CMPXCHG:
+            case ATOMICRMW:
+            case LOADATOMIC:
+            case STOREATOMIC_OLD:
+            case STOREATOMIC:
+                throw new UnsupportedInstructionException(record);
+
             default:
                 System.out.printf("BLOCK #12-METHOD: INSTRUCTION %s%n", record);
                 break;
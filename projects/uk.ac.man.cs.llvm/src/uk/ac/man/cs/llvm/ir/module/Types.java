@@ -216,6 +216,8 @@ public final class Types implements ParserListener, Iterable<Type> {
 
     private static class UnresolvedPointeeType implements Type {
 
+        private static final long serialVersionUID = 1L;
+
         private final int idx;
 
         UnresolvedPointeeType(int idx) {
@@ -234,6 +236,8 @@ public final class Types implements ParserListener, Iterable<Type> {
 
     private static final class UnresolvedNamedPointeeType extends UnresolvedPointeeType {
 
+        private static final long serialVersionUID = 1L;
+
         private final String name;
 
         UnresolvedNamedPointeeType(String name, int idx) {
@@ -248,6 +252,8 @@ public final class Types implements ParserListener, Iterable<Type> {
 
     private static final class UnresolvedNamedType implements Type {
 
+        private static final long serialVersionUID = 1L;
+
         private final String name;
 
         UnresolvedNamedType(String name) {
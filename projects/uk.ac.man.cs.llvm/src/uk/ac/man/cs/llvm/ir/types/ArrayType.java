@@ -33,6 +33,8 @@ import java.util.Objects;
 
 public class ArrayType implements AggregateType {
 
+    private static final long serialVersionUID = 1L;
+
     public final Type type;
 
     private final int size;
@@ -31,6 +31,8 @@ package uk.ac.man.cs.llvm.ir.types;
 
 public class FunctionType implements Type {
 
+    private static final long serialVersionUID = 1L;
+
     private final Type type;
 
     private final Type[] args;
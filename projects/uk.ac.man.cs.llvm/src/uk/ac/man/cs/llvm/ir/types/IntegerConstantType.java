@@ -31,6 +31,8 @@ package uk.ac.man.cs.llvm.ir.types;
 
 public final class IntegerConstantType implements Type {
 
+    private static final long serialVersionUID = 1L;
+
     public final IntegerType type;
 
     private final long value;
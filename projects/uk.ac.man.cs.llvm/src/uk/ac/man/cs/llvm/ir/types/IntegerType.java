@@ -31,6 +31,8 @@ package uk.ac.man.cs.llvm.ir.types;
 
 public final class IntegerType implements Type {
 
+    private static final long serialVersionUID = 1L;
+
     public static final IntegerType BOOLEAN = new IntegerType(1);
 
     public static final IntegerType BYTE = new IntegerType(8);
@@ -31,6 +31,8 @@ package uk.ac.man.cs.llvm.ir.types;
 
 public final class PointerType implements Type {
 
+    private static final long serialVersionUID = 1L;
+
     /* This must be mutable to handle circular references */
     private Type type;
 
@@ -33,6 +33,8 @@ import uk.ac.man.cs.llvm.ir.model.ValueSymbol;
 
 public final class StructureType implements AggregateType, ValueSymbol {
 
+    private static final long serialVersionUID = 1L;
+
     private String name = ValueSymbol.UNKNOWN;
 
     private final boolean isPacked;
@@ -29,7 +29,9 @@
  */
 package uk.ac.man.cs.llvm.ir.types;
 
-public interface Type {
+import java.io.Serializable;
+
+public interface Type extends Serializable {
 
     default int getAlignment() {
         return Long.BYTES;
@@ -33,6 +33,8 @@ import java.util.Objects;
 
 public class VectorType implements Type {
 
+    private static final long serialVersionUID = 1L;
+
     public final Type type;
 
     private final int length;